@@ -0,0 +1,127 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.io.RecordGenerator;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * Benchmarks looking up courses in a CourseCatalog and checking the whole
+ * catalog against a schedule.
+ *
+ * @author Dania Swelam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseCatalogBenchmark {
+
+	/** Number of lookups prepared ahead of time */
+	private static final int LOOKUPS = 1024;
+	/** Number of courses the schedule tries to take */
+	private static final int SCHEDULE_ATTEMPTS = 16;
+	/** Number of courses in the catalog */
+	@Param({ "100", "1000", "10000" })
+	public int catalogSize;
+	/** Catalog being searched */
+	private CourseCatalog catalog;
+	/** Names of the courses to look up */
+	private String[] names;
+	/** Sections of the courses to look up */
+	private String[] sections;
+	/** Schedule the catalog is checked against */
+	private Schedule schedule;
+	/** Index of the next lookup */
+	private int next;
+
+	/**
+	 * Fills the catalog with generated courses and picks the courses to look up.
+	 */
+	@Setup
+	public void setUp() {
+		catalog = new CourseCatalog();
+		for (int i = 0; i < catalogSize; i++) {
+			String[] fields = RecordGenerator.courseRecord(i).split(",");
+			boolean arranged = fields.length == 7;
+			catalog.addCourseToCatalog(fields[0], fields[1], fields[2], Integer.parseInt(fields[3]), fields[4],
+					Integer.parseInt(fields[5]), fields[6], arranged ? 0 : Integer.parseInt(fields[7]),
+					arranged ? 0 : Integer.parseInt(fields[8]));
+		}
+		Random random = new Random(216);
+		names = new String[LOOKUPS];
+		sections = new String[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			String[] fields = RecordGenerator.courseRecord(random.nextInt(catalogSize)).split(",");
+			names[i] = fields[0];
+			sections[i] = fields[2];
+		}
+		schedule = new Schedule();
+		for (int i = 0; i < SCHEDULE_ATTEMPTS; i++) {
+			Course course = catalog.getCourseFromCatalog(names[i], sections[i]);
+			if (schedule.canAdd(course)) {
+				schedule.addCourseToSchedule(course);
+			}
+		}
+	}
+
+	/**
+	 * Looks up a course that is in the catalog.
+	 *
+	 * @return the course found
+	 */
+	@Benchmark
+	public Course getCourseFromCatalog() {
+		int i = next++ & (LOOKUPS - 1);
+		return catalog.getCourseFromCatalog(names[i], sections[i]);
+	}
+
+	/**
+	 * Looks up a course that is not in the catalog.
+	 *
+	 * @return null, since the course is not found
+	 */
+	@Benchmark
+	public Course getMissingCourseFromCatalog() {
+		int i = next++ & (LOOKUPS - 1);
+		return catalog.getCourseFromCatalog(names[i], "999");
+	}
+
+	/**
+	 * Builds the catalog's display array, as the GUI does after every change.
+	 *
+	 * @return the display array
+	 */
+	@Benchmark
+	public String[][] getCourseCatalog() {
+		return catalog.getCourseCatalog();
+	}
+
+	/**
+	 * Finds the catalog rows that cannot be added to a schedule of up to 16
+	 * courses.
+	 *
+	 * @return the conflicting rows
+	 */
+	@Benchmark
+	public BitSet getConflicts() {
+		return catalog.getConflicts(schedule);
+	}
+}
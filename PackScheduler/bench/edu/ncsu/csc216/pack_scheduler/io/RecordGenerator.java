@@ -0,0 +1,125 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
+
+/**
+ * Generates synthetic course and student records in the same formats as
+ * test-files/course_records.txt and test-files/student_records.txt. Record i is
+ * always the same, so every benchmark run sees the same data.
+ *
+ * @author Dania Swelam
+ */
+public class RecordGenerator {
+
+	/** Password of every generated student */
+	public static final String PASSWORD = "pw";
+	/** Hash of the password of every generated student */
+	private static final String HASHED_PASSWORD = PasswordHasher.hash(PASSWORD);
+	/** Course name prefixes */
+	private static final String[] PREFIXES = { "CSC", "MA", "PY", "E", "HI", "ST", "BIO", "CH", "ECE", "ENG" };
+	/** Number of sections generated for each course name */
+	private static final int SECTIONS = 10;
+	/** Number of course numbers available for each prefix */
+	private static final int NUMBERS = 900;
+	/** Meeting days of courses that are not arranged */
+	private static final String[] DAYS = { "MW", "TH", "MWF", "T", "F", "MTWHF" };
+	/** Start times of courses that are not arranged */
+	private static final String[] START_TIMES = { "0830", "0945", "1100", "1215", "1330", "1445", "1600" };
+	/** End times matching START_TIMES */
+	private static final String[] END_TIMES = { "0920", "1035", "1150", "1305", "1420", "1535", "1650" };
+	/** Largest number of course records that can be generated */
+	public static final int MAX_COURSES = PREFIXES.length * NUMBERS * SECTIONS;
+
+	/**
+	 * RecordGenerator only has static methods and is never constructed.
+	 */
+	private RecordGenerator() {
+		// Not used
+	}
+
+	/**
+	 * Returns the course record with the given index. Every tenth course is
+	 * arranged, and the rest meet at one of a few common times.
+	 *
+	 * @param i the index of the record, from 0 to MAX_COURSES - 1
+	 * @return the course record
+	 * @throws IllegalArgumentException if the index is out of range
+	 */
+	public static String courseRecord(int i) {
+		if (i < 0 || i >= MAX_COURSES) {
+			throw new IllegalArgumentException("Invalid course index.");
+		}
+		int course = i / SECTIONS;
+		String name = PREFIXES[course / NUMBERS] + (100 + course % NUMBERS);
+		String section = String.format("%03d", i % SECTIONS + 1);
+		int credits = i % 4 == 0 ? 4 : 3;
+		String instructorId = "faculty" + i % 50;
+		int enrollmentCap = 10 + (i * 7) % 241;
+		String record = name + ",Synthetic Course " + course + "," + section + "," + credits + "," + instructorId + ","
+				+ enrollmentCap + ",";
+		if (i % 10 == 9) {
+			return record + "A";
+		}
+		int time = i % START_TIMES.length;
+		return record + DAYS[i % DAYS.length] + "," + START_TIMES[time] + "," + END_TIMES[time];
+	}
+
+	/**
+	 * Returns the student record with the given index.
+	 *
+	 * @param i the index of the record
+	 * @return the student record
+	 */
+	public static String studentRecord(int i) {
+		return "First" + i + ",Last" + i + ",student" + i + ",student" + i + "@ncsu.edu," + HASHED_PASSWORD + ","
+				+ (3 + i % 16);
+	}
+
+	/**
+	 * Returns the given number of course records.
+	 *
+	 * @param count the number of records
+	 * @return the course records
+	 */
+	public static List<String> courseRecords(int count) {
+		List<String> records = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++) {
+			records.add(courseRecord(i));
+		}
+		return records;
+	}
+
+	/**
+	 * Returns the given number of student records.
+	 *
+	 * @param count the number of records
+	 * @return the student records
+	 */
+	public static List<String> studentRecords(int count) {
+		List<String> records = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++) {
+			records.add(studentRecord(i));
+		}
+		return records;
+	}
+
+	/**
+	 * Writes records to a file, one per line.
+	 *
+	 * @param fileName the file to write
+	 * @param records  the records to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeRecords(String fileName, List<String> records) throws IOException {
+		try (PrintStream fileWriter = new PrintStream(fileName, "UTF-8")) {
+			for (String record : records) {
+				fileWriter.println(record);
+			}
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+import edu.ncsu.csc217.collections.list.SortedList;
+
+/**
+ * Benchmarks reading generated course and student record files.
+ *
+ * @author Dania Swelam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordIOBenchmark {
+
+	/** Number of records in each file */
+	@Param({ "1000", "10000" })
+	public int recordCount;
+	/** Generated course records */
+	private File courseFile;
+	/** Generated student records */
+	private File studentFile;
+
+	/**
+	 * Writes the record files.
+	 *
+	 * @throws IOException if the files cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		courseFile = File.createTempFile("course_records", ".txt");
+		studentFile = File.createTempFile("student_records", ".txt");
+		RecordGenerator.writeRecords(courseFile.getPath(), RecordGenerator.courseRecords(recordCount));
+		RecordGenerator.writeRecords(studentFile.getPath(), RecordGenerator.studentRecords(recordCount));
+	}
+
+	/**
+	 * Deletes the record files.
+	 */
+	@TearDown
+	public void tearDown() {
+		courseFile.delete();
+		studentFile.delete();
+	}
+
+	/**
+	 * Reads the course records.
+	 *
+	 * @return the courses read
+	 * @throws FileNotFoundException if the file cannot be found
+	 */
+	@Benchmark
+	public SortedList<Course> readCourseRecords() throws FileNotFoundException {
+		return CourseRecordIO.readCourseRecords(courseFile.getPath());
+	}
+
+	/**
+	 * Reads the course records from the file mapped into memory.
+	 *
+	 * @return the courses read
+	 * @throws FileNotFoundException if the file cannot be found
+	 */
+	@Benchmark
+	public SortedList<Course> mapCourseRecords() throws FileNotFoundException {
+		return CourseRecordIO.mapCourseRecords(courseFile.getPath(), new StringPool());
+	}
+
+	/**
+	 * Reads the student records.
+	 *
+	 * @return the students read
+	 * @throws FileNotFoundException if the file cannot be found
+	 */
+	@Benchmark
+	public SortedList<Student> readStudentRecords() throws FileNotFoundException {
+		return StudentRecordIO.readStudentRecords(studentFile.getPath());
+	}
+}
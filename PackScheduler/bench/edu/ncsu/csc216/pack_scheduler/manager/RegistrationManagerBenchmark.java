@@ -0,0 +1,119 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.RecordGenerator;
+
+/**
+ * Benchmarks enrolling students in courses and dropping them again through
+ * RegistrationManager sessions. Run with -t to measure several threads
+ * registering at once.
+ *
+ * @author Dania Swelam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationManagerBenchmark {
+
+	/** Number of courses in the catalog */
+	@Param({ "100", "1000" })
+	public int catalogSize;
+	/** Number of students in the directory, each with an open session */
+	@Param({ "100", "1000" })
+	public int directorySize;
+	/** Manager being benchmarked */
+	private RegistrationManager manager;
+	/** Courses in the catalog */
+	private Course[] courses;
+	/** Session of each student */
+	private String[] sessions;
+
+	/**
+	 * Each thread's position in the sequence of students and courses.
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		/** Number of registrations made by this thread */
+		private int next;
+		/** Offset that keeps threads on different students and courses */
+		private int offset = System.identityHashCode(this);
+	}
+
+	/**
+	 * Replaces the manager's data with generated courses and students and opens
+	 * a session for every student.
+	 */
+	@Setup
+	public void setUp() {
+		manager = RegistrationManager.getInstance();
+		manager.clearData();
+		CourseCatalog catalog = manager.getCourseCatalog();
+		courses = new Course[catalogSize];
+		for (int i = 0; i < catalogSize; i++) {
+			String[] fields = RecordGenerator.courseRecord(i).split(",");
+			boolean arranged = fields.length == 7;
+			catalog.addCourseToCatalog(fields[0], fields[1], fields[2], Integer.parseInt(fields[3]), null,
+					Integer.parseInt(fields[5]), fields[6], arranged ? 0 : Integer.parseInt(fields[7]),
+					arranged ? 0 : Integer.parseInt(fields[8]));
+			courses[i] = catalog.getCourseFromCatalog(fields[0], fields[2]);
+		}
+		StudentDirectory directory = manager.getStudentDirectory();
+		sessions = new String[directorySize];
+		for (int i = 0; i < directorySize; i++) {
+			String[] fields = RecordGenerator.studentRecord(i).split(",");
+			directory.addStudent(fields[0], fields[1], fields[2], fields[3], RecordGenerator.PASSWORD,
+					RecordGenerator.PASSWORD, Integer.parseInt(fields[5]));
+			sessions[i] = manager.openSession(fields[2], RecordGenerator.PASSWORD);
+		}
+	}
+
+	/**
+	 * Closes the sessions and clears the manager's data.
+	 */
+	@TearDown
+	public void tearDown() {
+		for (String session : sessions) {
+			manager.closeSession(session);
+		}
+		manager.clearData();
+	}
+
+	/**
+	 * Enrolls the next student in the next course and, if that succeeded, drops
+	 * the course again so the schedules and rolls stay the same size.
+	 *
+	 * @param cursor the calling thread's position
+	 * @return true if the student was enrolled
+	 */
+	@Benchmark
+	public boolean enrollAndDrop(Cursor cursor) {
+		int i = cursor.offset + cursor.next++;
+		String session = sessions[Math.floorMod(i, sessions.length)];
+		Course course = courses[Math.floorMod(i * 31, courses.length)];
+		boolean enrolled = manager.enrollStudentInCourse(session, course);
+		if (enrolled) {
+			manager.dropStudentFromCourse(session, course);
+		}
+		return enrolled;
+	}
+}
@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.pack_scheduler.user.schedule;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Benchmarks building a Schedule, which checks every new course for duplicates
+ * and conflicts against the courses already in the schedule.
+ *
+ * @author Dania Swelam
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+
+	/** Meeting days, one per course, cycled through */
+	private static final String DAYS = "MTWHF";
+	/** Number of courses in the schedule */
+	@Param({ "4", "16", "64" })
+	public int scheduleSize;
+	/** Courses that do not conflict with each other */
+	private Course[] courses;
+	/** Course that conflicts with the last course in a full schedule */
+	private Course conflicting;
+	/** Schedule holding every course */
+	private Schedule full;
+
+	/**
+	 * Creates courses that each meet in their own 50 minute slot.
+	 */
+	@Setup
+	public void setUp() {
+		if (scheduleSize > 65) {
+			throw new IllegalArgumentException("Only 65 non-conflicting courses fit in a week.");
+		}
+		courses = new Course[scheduleSize];
+		for (int i = 0; i < scheduleSize; i++) {
+			courses[i] = slotCourse("CSC" + (100 + i), i);
+		}
+		conflicting = slotCourse("MA" + (100 + scheduleSize), scheduleSize - 1);
+		full = new Schedule();
+		for (Course c : courses) {
+			full.addCourseToSchedule(c);
+		}
+	}
+
+	/**
+	 * Creates a course meeting in the given weekly slot.
+	 *
+	 * @param name the name of the course
+	 * @param slot the slot, from 0 to 64
+	 * @return the course
+	 */
+	private static Course slotCourse(String name, int slot) {
+		int start = (8 + slot / DAYS.length()) * 100;
+		return new Course(name, "Benchmark Course", "001", 3, null, 10, String.valueOf(DAYS.charAt(slot % DAYS.length())),
+				start, start + 50);
+	}
+
+	/**
+	 * Adds every course to an empty schedule.
+	 *
+	 * @return the schedule
+	 */
+	@Benchmark
+	public Schedule addCoursesToSchedule() {
+		Schedule schedule = new Schedule();
+		for (Course c : courses) {
+			schedule.addCourseToSchedule(c);
+		}
+		return schedule;
+	}
+
+	/**
+	 * Checks a course that conflicts only with the last course in a full schedule.
+	 *
+	 * @return false, since the course conflicts
+	 */
+	@Benchmark
+	public boolean canAddConflictingCourse() {
+		return full.canAdd(conflicting);
+	}
+}
@@ -0,0 +1,37 @@
+#!/bin/sh
+# Builds the PackScheduler sources together with the JMH benchmarks in bench/
+# and runs them. Any arguments are passed on to JMH, for example:
+#
+#   bench/run-benchmarks.sh CourseCatalogBenchmark -p catalogSize=1000
+#   bench/run-benchmarks.sh RegistrationManagerBenchmark -t 8
+#   bench/run-benchmarks.sh -l
+#
+# The JMH jars are downloaded from Maven Central into bench/lib the first time.
+set -e
+cd "$(dirname "$0")/.."
+
+JMH_VERSION=1.37
+LIB=bench/lib
+MAVEN=https://repo1.maven.org/maven2
+
+fetch() {
+	if [ ! -f "$LIB/$2" ]; then
+		echo "Downloading $2"
+		curl -fsSL -o "$LIB/$2" "$MAVEN/$1/$2"
+	fi
+}
+
+mkdir -p "$LIB"
+fetch org/openjdk/jmh/jmh-core/$JMH_VERSION jmh-core-$JMH_VERSION.jar
+fetch org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION jmh-generator-annprocess-$JMH_VERSION.jar
+fetch net/sf/jopt-simple/jopt-simple/5.0.4 jopt-simple-5.0.4.jar
+fetch org/apache/commons/commons-math3/3.6.1 commons-math3-3.6.1.jar
+
+CLASSPATH_JARS="lib/*:$LIB/*"
+PROCESSOR_JARS="$LIB/jmh-generator-annprocess-$JMH_VERSION.jar:$LIB/jmh-core-$JMH_VERSION.jar"
+
+rm -rf bin-bench
+mkdir bin-bench
+javac -encoding UTF-8 -d bin-bench -cp "$CLASSPATH_JARS" -processorpath "$PROCESSOR_JARS" \
+	$(find src bench -name "*.java")
+java -cp "bin-bench:$CLASSPATH_JARS" org.openjdk.jmh.Main "$@"
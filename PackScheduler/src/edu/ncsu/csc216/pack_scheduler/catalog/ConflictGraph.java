@@ -0,0 +1,491 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Graph of the sections in a catalog that conflict with each other. Each
+ * section is identified by its name and section number, and two sections are
+ * joined when Activity.conflictsWith() says they conflict.
+ *
+ * Sections are stored as small integer nodes, and each node keeps the nodes it
+ * conflicts with in a sorted int array, so checking whether two sections
+ * conflict is a hash lookup and a binary search. The whole graph is built at
+ * once by sweeping over the sections meeting on each day in order of start
+ * time, with the days swept in parallel, and is then kept current as single
+ * sections are added and removed. The sections meeting on each day are also
+ * kept by start time, so a section being added is only compared with the
+ * sections that start close enough to it to overlap.
+ *
+ * The graph holds the meeting times the sections had when they were added. A
+ * section whose times change must be removed and added again.
+ *
+ * @author Dania Swelam
+ */
+public class ConflictGraph {
+
+	/** Days that a Course may meet on */
+	private static final String DAYS = "MTWHF";
+	/** Initial number of nodes the graph can hold */
+	private static final int INIT_SIZE = 16;
+	/** Neighbors of a node with no conflicts */
+	private static final int[] NO_CONFLICTS = new int[0];
+
+	/** Nodes of the sections in the graph, by section id */
+	private Map<String, Integer> ids;
+	/** Section at each node, or null if the node is free */
+	private Course[] sections;
+	/** Nodes each node conflicts with, sorted; only the first degrees[n] are used */
+	private int[][] neighbors;
+	/** Number of nodes each node conflicts with */
+	private int[] degrees;
+	/** Nodes freed by removed sections, reused before new nodes */
+	private Deque<Integer> free;
+	/** Number of nodes ever used, including free ones */
+	private int used;
+	/** Number of pairs of conflicting sections */
+	private long edges;
+	/** Nodes of the sections meeting on each day, by start time */
+	private List<TreeMap<Integer, Set<Integer>>> starts;
+	/**
+	 * Longest time from start to end of any section that has met on each day,
+	 * so a section overlapping one that starts at t starts no earlier than t
+	 * less this
+	 */
+	private int[] spans;
+
+	/**
+	 * Constructs an empty ConflictGraph.
+	 */
+	public ConflictGraph() {
+		clear();
+	}
+
+	/**
+	 * Returns the id of a section, made from its name and section number. Course
+	 * names never contain a comma, so joining on one keeps every id unique.
+	 *
+	 * @param name    the name of the course
+	 * @param section the section of the course
+	 * @return the section id
+	 */
+	public static String sectionId(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Returns the id of a section.
+	 *
+	 * @param course the section
+	 * @return the section id
+	 */
+	public static String sectionId(Course course) {
+		return sectionId(course.getName(), course.getSection());
+	}
+
+	/**
+	 * Removes every section from the graph.
+	 */
+	public void clear() {
+		ids = new HashMap<String, Integer>();
+		sections = new Course[INIT_SIZE];
+		neighbors = new int[INIT_SIZE][];
+		degrees = new int[INIT_SIZE];
+		free = new ArrayDeque<Integer>();
+		used = 0;
+		edges = 0;
+		starts = new ArrayList<TreeMap<Integer, Set<Integer>>>(DAYS.length());
+		for (int day = 0; day < DAYS.length(); day++) {
+			starts.add(new TreeMap<Integer, Set<Integer>>());
+		}
+		spans = new int[DAYS.length()];
+	}
+
+	/**
+	 * Replaces the contents of the graph with the given sections and every
+	 * conflict between them.
+	 *
+	 * @param courses the sections to build the graph from
+	 * @throws IllegalArgumentException if two sections have the same id
+	 */
+	public void build(Course[] courses) {
+		clear();
+		ensureCapacity(courses.length);
+		for (Course course : courses) {
+			if (ids.putIfAbsent(sectionId(course), used) != null) {
+				throw new IllegalArgumentException("Duplicate section " + sectionId(course));
+			}
+			sections[used] = course;
+			neighbors[used] = NO_CONFLICTS;
+			index(used);
+			used++;
+		}
+
+		long[] pairs = IntStream.range(0, DAYS.length()).parallel()
+				.mapToObj(day -> sweep(DAYS.charAt(day)))
+				.reduce(new long[0], ConflictGraph::concat);
+		Arrays.parallelSort(pairs);
+
+		int unique = 0;
+		for (int i = 0; i < pairs.length; i++) {
+			if (unique == 0 || pairs[unique - 1] != pairs[i]) {
+				pairs[unique++] = pairs[i];
+				degrees[first(pairs[i])]++;
+				degrees[second(pairs[i])]++;
+			}
+		}
+		for (int node = 0; node < used; node++) {
+			if (degrees[node] > 0) {
+				neighbors[node] = new int[degrees[node]];
+				degrees[node] = 0;
+			}
+		}
+		// Pairs are sorted by their first node and then their second, so every
+		// node's neighbors are added in ascending order
+		for (int i = 0; i < unique; i++) {
+			int a = first(pairs[i]);
+			int b = second(pairs[i]);
+			neighbors[a][degrees[a]++] = b;
+			neighbors[b][degrees[b]++] = a;
+		}
+		edges = unique;
+	}
+
+	/**
+	 * Finds every pair of sections that meet on the given day at overlapping
+	 * times. The sections are visited in order of start time while keeping
+	 * those that have not yet ended, so each section is only compared with the
+	 * sections it overlaps.
+	 *
+	 * @param day the day to sweep
+	 * @return the conflicting pairs, each with the lower node first
+	 */
+	private long[] sweep(char day) {
+		int[] meeting = new int[used];
+		int count = 0;
+		for (int node = 0; node < used; node++) {
+			if (meetsOn(sections[node], day)) {
+				meeting[count++] = node;
+			}
+		}
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = meeting[i];
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(sections[a].getStartTime(), sections[b].getStartTime()));
+
+		long[] pairs = new long[INIT_SIZE];
+		int found = 0;
+		int[] active = new int[count];
+		int open = 0;
+		for (int i = 0; i < count; i++) {
+			int node = order[i];
+			int start = sections[node].getStartTime();
+			int kept = 0;
+			for (int j = 0; j < open; j++) {
+				int other = active[j];
+				if (sections[other].getEndTime() >= start) {
+					active[kept++] = other;
+					if (found == pairs.length) {
+						pairs = Arrays.copyOf(pairs, found * 2);
+					}
+					pairs[found++] = pair(node, other);
+				}
+			}
+			open = kept;
+			active[open++] = node;
+		}
+		return Arrays.copyOf(pairs, found);
+	}
+
+	/**
+	 * Adds a section to the graph along with its conflicts with every section
+	 * already in the graph. Only the sections that meet on one of the section's
+	 * days, and start between the longest span on that day before its start and
+	 * its end, can overlap it, so only those are compared with it.
+	 *
+	 * @param course the section to add
+	 * @throws IllegalArgumentException if a section with the same id is already
+	 *                                  in the graph
+	 */
+	public void add(Course course) {
+		String id = sectionId(course);
+		if (ids.containsKey(id)) {
+			throw new IllegalArgumentException("Duplicate section " + id);
+		}
+		int node;
+		if (free.isEmpty()) {
+			ensureCapacity(used + 1);
+			node = used++;
+		} else {
+			node = free.pop();
+		}
+		ids.put(id, node);
+		sections[node] = course;
+		neighbors[node] = NO_CONFLICTS;
+		degrees[node] = 0;
+		for (int day = 0; day < DAYS.length(); day++) {
+			if (!meetsOn(course, DAYS.charAt(day))) {
+				continue;
+			}
+			int from = course.getStartTime() - spans[day];
+			for (Set<Integer> nodes : starts.get(day).subMap(from, true, course.getEndTime(), true).values()) {
+				for (int other : nodes) {
+					// A section meeting on several of the same days is found once for each
+					if (!isNeighbor(node, other) && course.conflictsWith(sections[other])) {
+						insert(node, other);
+						insert(other, node);
+						edges++;
+					}
+				}
+			}
+		}
+		index(node);
+	}
+
+	/**
+	 * Removes a section and its conflicts from the graph.
+	 *
+	 * @param course the section to remove
+	 * @return true if the section was in the graph
+	 */
+	public boolean remove(Course course) {
+		Integer node = ids.remove(sectionId(course));
+		if (node == null) {
+			return false;
+		}
+		for (int i = 0; i < degrees[node]; i++) {
+			delete(neighbors[node][i], node);
+		}
+		edges -= degrees[node];
+		unindex(node);
+		sections[node] = null;
+		neighbors[node] = NO_CONFLICTS;
+		degrees[node] = 0;
+		free.push(node);
+		return true;
+	}
+
+	/**
+	 * Returns true if the two sections with the given ids conflict.
+	 *
+	 * @param sectionId      the id of one section
+	 * @param otherSectionId the id of the other section
+	 * @return true if both sections are in the graph and conflict
+	 */
+	public boolean conflicts(String sectionId, String otherSectionId) {
+		Integer node = ids.get(sectionId);
+		Integer other = ids.get(otherSectionId);
+		return node != null && other != null && isNeighbor(node, other);
+	}
+
+	/**
+	 * Returns true if the two sections conflict. Sections that are both in the
+	 * graph are looked up; otherwise their meeting times are compared.
+	 *
+	 * @param course the first section
+	 * @param other  the second section
+	 * @return true if the sections conflict
+	 */
+	public boolean conflicts(Course course, Course other) {
+		Integer node = ids.get(sectionId(course));
+		Integer otherNode = ids.get(sectionId(other));
+		if (node != null && otherNode != null && sections[node] == course && sections[otherNode] == other) {
+			return isNeighbor(node, otherNode);
+		}
+		return course.conflictsWith(other);
+	}
+
+	/**
+	 * Returns the ids of the sections that conflict with the section with the
+	 * given id.
+	 *
+	 * @param sectionId the id of the section
+	 * @return the ids of the conflicting sections, or an empty array if the
+	 *         section is not in the graph
+	 */
+	public String[] getConflicts(String sectionId) {
+		Integer node = ids.get(sectionId);
+		if (node == null) {
+			return new String[0];
+		}
+		String[] conflicts = new String[degrees[node]];
+		for (int i = 0; i < conflicts.length; i++) {
+			conflicts[i] = sectionId(sections[neighbors[node][i]]);
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Returns the number of sections in the graph.
+	 *
+	 * @return the number of sections
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Returns the number of pairs of conflicting sections.
+	 *
+	 * @return the number of conflicts
+	 */
+	public long getConflictCount() {
+		return edges;
+	}
+
+	/**
+	 * Returns true if the section meets on the given day. Arranged sections
+	 * meet on no day.
+	 *
+	 * @param course the section
+	 * @param day    the day
+	 * @return true if the section meets on the day
+	 */
+	private static boolean meetsOn(Course course, char day) {
+		String days = course.getMeetingDays();
+		return !"A".equals(days) && days.indexOf(day) >= 0;
+	}
+
+	/**
+	 * Adds a node to the start times of the days its section meets on.
+	 *
+	 * @param node the node to add
+	 */
+	private void index(int node) {
+		Course course = sections[node];
+		for (int day = 0; day < DAYS.length(); day++) {
+			if (meetsOn(course, DAYS.charAt(day))) {
+				starts.get(day).computeIfAbsent(course.getStartTime(), time -> new HashSet<Integer>()).add(node);
+				spans[day] = Math.max(spans[day], course.getEndTime() - course.getStartTime());
+			}
+		}
+	}
+
+	/**
+	 * Removes a node from the start times of the days its section meets on.
+	 *
+	 * @param node the node to remove
+	 */
+	private void unindex(int node) {
+		Course course = sections[node];
+		for (int day = 0; day < DAYS.length(); day++) {
+			Set<Integer> nodes = starts.get(day).get(course.getStartTime());
+			if (nodes != null && nodes.remove(node) && nodes.isEmpty()) {
+				starts.get(day).remove(course.getStartTime());
+			}
+		}
+	}
+
+	/**
+	 * Returns true if node b is among the neighbors of node a.
+	 *
+	 * @param a the node whose neighbors are searched
+	 * @param b the node to search for
+	 * @return true if the nodes are neighbors
+	 */
+	private boolean isNeighbor(int a, int b) {
+		return Arrays.binarySearch(neighbors[a], 0, degrees[a], b) >= 0;
+	}
+
+	/**
+	 * Adds node b to the neighbors of node a, keeping them sorted.
+	 *
+	 * @param a the node gaining a neighbor
+	 * @param b the new neighbor
+	 */
+	private void insert(int a, int b) {
+		int degree = degrees[a];
+		if (degree == neighbors[a].length) {
+			neighbors[a] = Arrays.copyOf(neighbors[a], Math.max(4, degree * 2));
+		}
+		int position = -Arrays.binarySearch(neighbors[a], 0, degree, b) - 1;
+		System.arraycopy(neighbors[a], position, neighbors[a], position + 1, degree - position);
+		neighbors[a][position] = b;
+		degrees[a]++;
+	}
+
+	/**
+	 * Removes node b from the neighbors of node a.
+	 *
+	 * @param a the node losing a neighbor
+	 * @param b the neighbor to remove
+	 */
+	private void delete(int a, int b) {
+		int position = Arrays.binarySearch(neighbors[a], 0, degrees[a], b);
+		if (position >= 0) {
+			System.arraycopy(neighbors[a], position + 1, neighbors[a], position, degrees[a] - position - 1);
+			degrees[a]--;
+		}
+	}
+
+	/**
+	 * Grows the node arrays to hold at least the given number of nodes.
+	 *
+	 * @param capacity the number of nodes needed
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > sections.length) {
+			int size = Math.max(capacity, sections.length * 2);
+			sections = Arrays.copyOf(sections, size);
+			neighbors = Arrays.copyOf(neighbors, size);
+			degrees = Arrays.copyOf(degrees, size);
+		}
+	}
+
+	/**
+	 * Encodes two nodes as one value, with the lower node in the high bits so
+	 * that sorted values are ordered by their lower node.
+	 *
+	 * @param a one node
+	 * @param b the other node
+	 * @return the encoded pair
+	 */
+	private static long pair(int a, int b) {
+		return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+	}
+
+	/**
+	 * Returns the lower node of an encoded pair.
+	 *
+	 * @param pair the encoded pair
+	 * @return the lower node
+	 */
+	private static int first(long pair) {
+		return (int) (pair >>> 32);
+	}
+
+	/**
+	 * Returns the higher node of an encoded pair.
+	 *
+	 * @param pair the encoded pair
+	 * @return the higher node
+	 */
+	private static int second(long pair) {
+		return (int) pair;
+	}
+
+	/**
+	 * Joins two arrays of pairs.
+	 *
+	 * @param a the first array
+	 * @param b the second array
+	 * @return an array holding the pairs of both
+	 */
+	private static long[] concat(long[] a, long[] b) {
+		long[] joined = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, joined, a.length, b.length);
+		return joined;
+	}
+}
@@ -2,19 +2,48 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeSupport;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
 
 /**
  * Class to house a catalog of courses.
  * 
+ * Listeners added to the catalog are told which rows of getCourseCatalog()
+ * each change touches, so a view of the catalog only redoes those rows.
+ * 
  * @author Dania Swelam
  */
 public class CourseCatalog {
 
 	/** SortedList of courses */
 	private SortedList<Course> catalog;
+	/** Index of the courses in the catalog keyed by name and section */
+	private Map<String, Course> index;
+	/**
+	 * Conflicts between the sections in the catalog, or null until the graph is
+	 * first asked for
+	 */
+	private ConflictGraph conflicts;
+	/** Text shared by the courses in the catalog, such as names and titles */
+	private StringPool strings;
+	/** Listeners told about changes to the rows of the catalog */
+	private final ListChangeSupport changes = new ListChangeSupport();
 
 	/**
 	 * Constructs a new CourseCatalog and initializes the catalog.
@@ -28,23 +57,131 @@ public class CourseCatalog {
 	 */
 	public void newCourseCatalog() {
 		catalog = new SortedList<Course>();
+		index = new HashMap<String, Course>();
+		conflicts = null;
+		strings = new StringPool();
+		changes.fireListChanged();
 	}
 
 	/**
-	 * Loads courses from a file and adds them to the catalog.
+	 * Loads courses from a file and adds them to the catalog, without
+	 * instructors. Courses that repeat the same name, title, section, meeting
+	 * days or instructor id share one String from the catalog's pool.
 	 * 
 	 * @param fileName the name of the file to load courses from
 	 * @throws IllegalArgumentException if the file cannot be read
 	 */
 	public void loadCoursesFromFile(String fileName) {
-		
+		loadCoursesFromFile(fileName, null);
+	}
+
+	/**
+	 * Loads courses from a file and adds them to the catalog, assigning each to
+	 * the Faculty the given resolver returns for its instructor id. Courses that
+	 * repeat the same name, title, section, meeting days or instructor id share
+	 * one String from the catalog's pool.
+	 * 
+	 * @param fileName    the name of the file to load courses from
+	 * @param instructors the resolver of instructor ids to Faculty, or null to
+	 *                    load the courses without instructors
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	public void loadCoursesFromFile(String fileName, Function<String, Faculty> instructors) {
+		StringPool loaded = new StringPool();
 		try {
-            catalog = CourseRecordIO.readCourseRecords(fileName);         
+            catalog = CourseRecordIO.readCourseRecords(fileName, loaded, instructors);         
         } catch (FileNotFoundException e) {
             throw new IllegalArgumentException("Cannot find file.", e);
         }
+		strings = loaded;
+		rebuildIndex();
+		changes.fireListChanged();
     }
 
+	/**
+	 * Loads courses from a file on the given pool and adds them to the catalog,
+	 * as loadCoursesFromFile(String, Function) does. The chunks of the file are
+	 * parsed at the same time, and only making the courses and assigning them
+	 * to their instructors is done on the calling thread.
+	 * 
+	 * @param fileName    the name of the file to load courses from
+	 * @param instructors the resolver of instructor ids to Faculty, or null to
+	 *                    load the courses without instructors
+	 * @param pool        the pool to parse the file on
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	public void loadCoursesFromFile(String fileName, Function<String, Faculty> instructors, ForkJoinPool pool) {
+		StringPool loaded = new StringPool();
+		try {
+			catalog = CourseRecordIO.readCourseRecords(fileName, loaded, instructors, pool);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.", e);
+		}
+		strings = loaded;
+		rebuildIndex();
+		changes.fireListChanged();
+	}
+
+	/**
+	 * Replaces the courses in the catalog with the given courses, skipping any
+	 * with the same name and section as an earlier one. The courses take their
+	 * text from the given pool, which the catalog keeps for courses added later.
+	 * 
+	 * @param courses the courses of the catalog
+	 * @param loaded  the pool of Strings the courses were made from
+	 */
+	public void loadCourses(List<Course> courses, StringPool loaded) {
+		List<Course> unique = new ArrayList<Course>(courses.size());
+		Set<String> sections = new HashSet<String>();
+		for (Course course : courses) {
+			if (sections.add(key(course.getName(), course.getSection()))) {
+				unique.add(course);
+			}
+		}
+		SortedList<Course> sorted = new SortedList<Course>();
+		sorted.addAll(unique);
+		catalog = sorted;
+		strings = loaded;
+		rebuildIndex();
+		changes.fireListChanged();
+	}
+
+	/**
+	 * Rebuilds the name and section index from the courses currently in the
+	 * catalog, and drops the conflict graph until it is next asked for.
+	 */
+	private void rebuildIndex() {
+		index = new HashMap<String, Course>(catalog.size() * 2);
+		for (int i = 0; i < catalog.size(); i++) {
+			Course course = catalog.get(i);
+			index.put(key(course.getName(), course.getSection()), course);
+		}
+		conflicts = null;
+	}
+
+	/**
+	 * Builds the index key for a course name and section, which is the
+	 * course's section id in the conflict graph.
+	 * 
+	 * @param name    the name of the course
+	 * @param section the section of the course
+	 * @return the index key for the course
+	 */
+	private static String key(String name, String section) {
+		return ConflictGraph.sectionId(name, section);
+	}
+
+	/**
+	 * Finds the position of the given course in the sorted catalog with a binary
+	 * search on the course's name and section.
+	 * 
+	 * @param course the course to find
+	 * @return the index of the course, or -1 if it is not in the catalog
+	 */
+	private int indexOf(Course course) {
+		return catalog.indexOf(course);
+	}
+
 	/**
 	 * Adds a course to the catalog. Returns true if the course is added
 	 * successfully, false if the course already exists in the catalog.
@@ -69,15 +206,21 @@ public class CourseCatalog {
 			throw new IllegalArgumentException("Invalid Course catalog.");
 		}
 
-		for (int i = 0; i < catalog.size(); i++) {
-			Course course = catalog.get(i);
-			if (course.getName().equals(name) && course.getSection().equals(section)) {
-				return false;
-			}
+		if (index.containsKey(key(name, section))) {
+			return false;
 		}
 
-		Course newCourse = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime, endTime);
+		Course newCourse = new Course(strings.intern(name), strings.intern(title), strings.intern(section), credits,
+				strings.intern(instructorId), enrollmentCap, strings.intern(meetingDays), startTime, endTime);
 		catalog.add(newCourse);
+		index.put(key(name, section), newCourse);
+		if (conflicts != null) {
+			conflicts.add(newCourse);
+		}
+		if (changes.hasListeners()) {
+			int row = indexOf(newCourse);
+			changes.fireRowsInserted(row, row);
+		}
 		return true;
 	}
 
@@ -90,14 +233,19 @@ public class CourseCatalog {
 	 *         not found in the catalog
 	 */
 	public boolean removeCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < catalog.size(); i++) {
-			Course course = catalog.get(i);
-			if (course.getName().equals(name) && course.getSection().equals(section)) {
-				catalog.remove(i);
-				return true;
-			}
+		Course course = index.get(key(name, section));
+		if (course == null) {
+			return false;
+		}
+		int row = indexOf(course);
+		changes.fireRowsDeleting(row, row);
+		index.remove(key(name, section));
+		catalog.remove(row);
+		if (conflicts != null) {
+			conflicts.remove(course);
 		}
-		return false;
+		changes.fireRowsDeleted(row, row);
+		return true;
 	}
 
 	/**
@@ -109,13 +257,7 @@ public class CourseCatalog {
 	 *         catalog
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < catalog.size(); i++) {
-			Course course = catalog.get(i);
-			if (course.getName().equals(name) && course.getSection().equals(section)) {
-				return course;
-			}
-		}
-		return null;
+		return index.get(key(name, section));
 	}
 
 	/**
@@ -133,6 +275,98 @@ public class CourseCatalog {
 		return catalogArray;
 	}
 
+	/**
+	 * Returns a single row of getCourseCatalog().
+	 * 
+	 * @param row the index of the row
+	 * @return the course in the row as an array of course attributes
+	 * @throws IndexOutOfBoundsException if there is no such row
+	 */
+	public String[] getCourseCatalogRow(int row) {
+		return catalog.get(row).getShortDisplayArray();
+	}
+
+	/**
+	 * Tells the catalog's listeners that the given course has changed in a way
+	 * that shows in its row, such as a student enrolling and taking a seat.
+	 * Nothing is done if the course is not in the catalog.
+	 * 
+	 * @param course the course that changed
+	 */
+	public void courseUpdated(Course course) {
+		if (course != null && changes.hasListeners()) {
+			int row = indexOf(course);
+			if (row >= 0) {
+				changes.fireRowsUpdated(row, row);
+			}
+		}
+	}
+
+	/**
+	 * Adds a listener to be told about changes to the rows of the catalog.
+	 * 
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addListChangeListener(ListChangeListener listener) {
+		changes.addListener(listener);
+	}
+
+	/**
+	 * Removes a listener so that it is no longer told about changes to the
+	 * catalog.
+	 * 
+	 * @param listener the listener to remove
+	 */
+	public void removeListChangeListener(ListChangeListener listener) {
+		changes.removeListener(listener);
+	}
+
+	/**
+	 * Returns the graph of conflicts between the sections in the catalog. The
+	 * graph is only built the first time it is asked for after the catalog is
+	 * created or loaded, so loading a catalog that no one asks about costs
+	 * nothing extra; from then on it is kept current as courses are added to
+	 * and removed from the catalog.
+	 * 
+	 * @return the conflict graph of the catalog
+	 */
+	public ConflictGraph getConflictGraph() {
+		if (conflicts == null) {
+			Course[] courses = new Course[catalog.size()];
+			for (int i = 0; i < catalog.size(); i++) {
+				courses[i] = catalog.get(i);
+			}
+			ConflictGraph graph = new ConflictGraph();
+			graph.build(courses);
+			conflicts = graph;
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Finds every course in the catalog that cannot be added to the given
+	 * schedule, either because it meets at the same time as a scheduled course
+	 * or because the schedule already has a section of it. Bit i of the result
+	 * is set for the course in row i of getCourseCatalog().
+	 * 
+	 * @param schedule the schedule to check the catalog against
+	 * @return the rows of the catalog that cannot be added to the schedule
+	 * @throws IllegalArgumentException if the schedule is null
+	 */
+	public BitSet getConflicts(Schedule schedule) {
+		if (schedule == null) {
+			throw new IllegalArgumentException("Invalid schedule.");
+		}
+		BitSet conflicting = new BitSet(catalog.size());
+		for (int i = 0; i < catalog.size(); i++) {
+			if (!schedule.canAdd(catalog.get(i))) {
+				conflicting.set(i);
+			}
+		}
+		return conflicting;
+	}
+
 	/**
 	 * Saves the catalog of courses to a file.
 	 * 
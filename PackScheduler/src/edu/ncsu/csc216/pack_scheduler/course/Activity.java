@@ -14,10 +14,33 @@ public abstract class Activity implements Conflict {
 	private String title;
 	/** Course's meeting days */
 	private String meetingDays;
-	/** Course's starting time */
-	private int startTime;
-	/** Course's ending time */
-	private int endTime;
+	/**
+	 * Course's meeting time packed into one int: the meeting day mask in the low
+	 * DAY_BITS bits, then the starting time and then the ending time, each in
+	 * minutes after midnight in TIME_BITS bits
+	 */
+	private int meetingTime;
+	/**
+	 * Meeting day characters, in the order of their bits in a meeting day mask.
+	 * The mask has one bit for each character of the meeting days, and the
+	 * ARRANGED_ONLY bit if the meeting days are exactly "A".
+	 */
+	private static final String DAY_CODES = "MTWHFSUA";
+	/** Meeting day mask bit set only for activities whose meeting days are exactly "A" */
+	private static final int ARRANGED_ONLY = 1 << DAY_CODES.length();
+	/** Number of bits of the meeting day mask */
+	private static final int DAY_BITS = DAY_CODES.length() + 1;
+	/** Bits of the meeting day mask */
+	private static final int DAY_MASK = (1 << DAY_BITS) - 1;
+	/**
+	 * Meeting day mask of meeting days containing a character not in DAY_CODES.
+	 * Every other mask with the ARRANGED_ONLY bit has only one other bit set.
+	 */
+	private static final int UNENCODED_DAYS = DAY_MASK;
+	/** Number of bits of a time in minutes, which is less than 24 * 60 */
+	private static final int TIME_BITS = 11;
+	/** Bits of a time in minutes */
+	private static final int TIME_MASK = (1 << TIME_BITS) - 1;
 	/** Constant integer for maximum value for the hour in a 24 hour format */
 	private static final int UPPER_HOUR = 24;
 	/** Constant integer for maximum value of minute in a time. */
@@ -121,8 +144,69 @@ public abstract class Activity implements Conflict {
 		}
 
 		this.meetingDays = meetingDays;
-		this.startTime = startTime;
-		this.endTime = endTime;
+		this.meetingTime = meetingDayMask(meetingDays) | toMinutes(startTime) << DAY_BITS
+				| toMinutes(endTime) << (DAY_BITS + TIME_BITS);
+	}
+
+	/**
+	 * Converts a time from hours and minutes, as in 1330, to minutes after
+	 * midnight.
+	 * 
+	 * @param time the time in HHMM format
+	 * @return the minutes after midnight
+	 */
+	private static int toMinutes(int time) {
+		return time / 100 * UPPER_MINUTE + time % 100;
+	}
+
+	/**
+	 * Converts a time from minutes after midnight to hours and minutes.
+	 * 
+	 * @param minutes the minutes after midnight
+	 * @return the time in HHMM format
+	 */
+	private static int toTime(int minutes) {
+		return minutes / UPPER_MINUTE * 100 + minutes % UPPER_MINUTE;
+	}
+
+	/**
+	 * Returns the starting time in minutes after midnight.
+	 * 
+	 * @return the starting minute
+	 */
+	private int startMinute() {
+		return meetingTime >>> DAY_BITS & TIME_MASK;
+	}
+
+	/**
+	 * Returns the ending time in minutes after midnight.
+	 * 
+	 * @return the ending minute
+	 */
+	private int endMinute() {
+		return meetingTime >>> (DAY_BITS + TIME_BITS) & TIME_MASK;
+	}
+
+	/**
+	 * Encodes meeting days as a bit set with one bit for each day.
+	 * 
+	 * @param meetingDays the meeting days to encode
+	 * @return the meeting day mask, or UNENCODED_DAYS if a character of the
+	 *         meeting days is not in DAY_CODES
+	 */
+	private static int meetingDayMask(String meetingDays) {
+		if ("A".equals(meetingDays)) {
+			return 1 << DAY_CODES.indexOf('A') | ARRANGED_ONLY;
+		}
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = DAY_CODES.indexOf(meetingDays.charAt(i));
+			if (day < 0) {
+				return UNENCODED_DAYS;
+			}
+			mask |= 1 << day;
+		}
+		return mask;
 	}
 
 	/**
@@ -137,8 +221,8 @@ public abstract class Activity implements Conflict {
 			return "Arranged";
 		} else {
 			String daysString = getMeetingDays();
-			String startTimeString = getTimeString(startTime);
-			String endTimeString = getTimeString(endTime);
+			String startTimeString = getTimeString(getStartTime());
+			String endTimeString = getTimeString(getEndTime());
 			return daysString + " " + startTimeString + "-" + endTimeString;
 		}
 
@@ -186,7 +270,7 @@ public abstract class Activity implements Conflict {
 	 * @return the start time of a given Course
 	 */
 	public int getStartTime() {
-		return startTime;
+		return toTime(startMinute());
 	}
 
 	/**
@@ -195,7 +279,7 @@ public abstract class Activity implements Conflict {
 	 * @return the end time of a given Course
 	 */
 	public int getEndTime() {
-		return endTime;
+		return toTime(endMinute());
 	}
 
 	/**
@@ -204,49 +288,69 @@ public abstract class Activity implements Conflict {
 	 * a @ConflictException is thrown to indicate the conflict. If there is no
 	 * conflict, this method returns normally without throwing any exceptions.
 	 * 
+	 * The exception thrown is the shared instance from ConflictException.stackless(),
+	 * so reporting a conflict allocates nothing and captures no stack trace. Callers
+	 * that only need to know whether there is a conflict should use conflictsWith().
+	 * 
 	 * @param possibleConflictingActivity the activity to check for conflicts with
 	 * @throws ConflictException if a conflict is detected between the current
 	 *                           activity and the provided activity
 	 */
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw ConflictException.stackless();
+		}
+	}
 
-		int possibleStartTime = possibleConflictingActivity.getStartTime();
-		int possibleEndTime = possibleConflictingActivity.getEndTime();
-		int thisStartTime = this.getStartTime();
-		int thisEndTime = this.getEndTime();
-		
-		if (getMeetingDays().equals("A") && possibleConflictingActivity.getMeetingDays().equals("A")) {
-
-	        return;
-	    }
-
-		for (char day : possibleConflictingActivity.getMeetingDays().toCharArray()) {
-
-			if (this.getMeetingDays().contains(String.valueOf(day))) {
-
-				if (thisStartTime <= possibleStartTime && thisEndTime >= possibleEndTime) {
-					throw new ConflictException();
-
-				} else if (possibleStartTime <= thisStartTime && possibleEndTime >= thisEndTime) {
-					throw new ConflictException();
-
-				} else if (thisStartTime <= possibleStartTime && thisEndTime >= possibleStartTime) {
-					throw new ConflictException();
+	/**
+	 * Returns true if the current activity conflicts with the provided activity.
+	 * 
+	 * Two activities conflict if they share a meeting day and their times
+	 * overlap, including when one ends in the same minute the other starts. Two
+	 * arranged activities never conflict. The shared days are found by
+	 * intersecting the activities' meeting day masks.
+	 * 
+	 * @param possibleConflictingActivity the activity to check for conflicts with
+	 * @return true if the activities conflict, false otherwise
+	 */
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		Activity other = possibleConflictingActivity;
+		int days = meetingTime & DAY_MASK;
+		int otherDays = other.meetingTime & DAY_MASK;
+		boolean sharedDay;
+		if (days == UNENCODED_DAYS || otherDays == UNENCODED_DAYS) {
+			sharedDay = sharesMeetingDay(other);
+		} else {
+			int shared = days & otherDays;
+			sharedDay = shared != 0 && (shared & ARRANGED_ONLY) == 0;
+		}
+		return sharedDay && startMinute() <= other.endMinute() && other.startMinute() <= endMinute();
+	}
 
-				} else if (possibleStartTime <= thisStartTime && possibleEndTime >= thisStartTime) {
-					throw new ConflictException();
-				}
+	/**
+	 * Returns true if any character of the other activity's meeting days is also
+	 * one of this activity's meeting days. Used for meeting days that cannot be
+	 * encoded as a mask.
+	 * 
+	 * @param other the other activity
+	 * @return true if the activities share a meeting day
+	 */
+	private boolean sharesMeetingDay(Activity other) {
+		for (int i = 0; i < other.meetingDays.length(); i++) {
+			if (meetingDays.indexOf(other.meetingDays.charAt(i)) >= 0) {
+				return true;
 			}
 		}
+		return false;
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + endTime;
+		result = prime * result + getEndTime();
 		result = prime * result + meetingDays.hashCode();
-		result = prime * result + startTime;
+		result = prime * result + getStartTime();
 		result = prime * result + title.hashCode();
 		return result;
 	}
@@ -260,8 +364,7 @@ public abstract class Activity implements Conflict {
 	        return false;
 	    }
 	    Activity other = (Activity) obj;
-	    return endTime == other.endTime &&
-	           startTime == other.startTime &&
+	    return meetingTime == other.meetingTime &&
 	           meetingDays.equals(other.meetingDays) &&
 	           title.equals(other.title);
 	}
@@ -1,10 +1,10 @@
 package edu.ncsu.csc216.pack_scheduler.course;
 
 /**
- * This interface defines a method for checking conflicts between activities.
+ * This interface defines methods for checking conflicts between activities.
  * Implementing classes should provide a way to determine whether the given
- * activity conflicts with another activity, and throw a @ConflictException 
- * to indicate the conflict.
+ * activity conflicts with another activity, either by returning the answer
+ * or by throwing a @ConflictException to indicate the conflict.
  * 
  * @author Dania Swelam
  */
@@ -20,4 +20,15 @@ public interface Conflict {
 	 */
 	void checkConflict(Activity possibleConflictingActivity) throws ConflictException;
 
+	/**
+	 * Returns true if the current activity conflicts with the provided
+	 * activity. This gives the same answer as checkConflict() without the cost
+	 * of throwing an exception.
+	 * 
+	 * @param possibleConflictingActivity the activity to check for conflicts with
+	 * @return true if a conflict is detected between the current activity and
+	 *         the provided activity
+	 */
+	boolean conflictsWith(Activity possibleConflictingActivity);
+
 }
@@ -14,6 +14,8 @@ public class ConflictException extends Exception {
 
 	/** ID used for serialization. */
 	private static final long serialVersionUID = 1L;
+	/** Shared exception with the default message and no stack trace */
+	private static final ConflictException STACKLESS = new ConflictException("Schedule conflict.", false);
 
 	/**
 	 * Constructs a new ConflictException with the specified detail message.
@@ -31,4 +33,28 @@ public class ConflictException extends Exception {
         this("Schedule conflict.");
     }
 
+    /**
+     * Constructs a new ConflictException with the specified detail message that
+     * records its stack trace only if asked to. Suppressed exceptions are never
+     * recorded, so an exception without a stack trace holds no state beyond its
+     * message and may be thrown any number of times.
+     * 
+     * @param message            the detail message
+     * @param writableStackTrace whether the stack trace should be filled in
+     */
+    public ConflictException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * Returns a shared ConflictException with the default detail message and no
+     * stack trace. Throwing it costs no more than returning a value, which makes it
+     * suitable for conflict checks that fail often.
+     * 
+     * @return the shared ConflictException
+     */
+    public static ConflictException stackless() {
+        return STACKLESS;
+    }
+
 }
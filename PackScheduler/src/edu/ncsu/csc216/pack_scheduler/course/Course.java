@@ -2,7 +2,6 @@ package edu.ncsu.csc216.pack_scheduler.course;
 
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidator;
-import edu.ncsu.csc216.pack_scheduler.course.validator.InvalidTransitionException;
 
 /**
  * Represents a Course within the university's scheduling system. Each course
@@ -33,9 +32,6 @@ public class Course extends Activity implements Comparable<Course> {
 	/** Constant integer for minimum Course credits */
 	private static final int MIN_CREDITS = 1;
 
-	/** Validator for course name */
-	private CourseNameValidator validator = new CourseNameValidator();
-
 	/**
 	 * Constructs a Course object with values for all fields.
 	 * 
@@ -91,6 +87,9 @@ public class Course extends Activity implements Comparable<Course> {
 	 * between 5 and 8 characters (inclusive). - It must start with 1 to 4 letter
 	 * characters. - It must end with three digit characters.
 	 * 
+	 * The name is checked with the shared CourseNameValidator table, so a Course
+	 * keeps no validator of its own.
+	 * 
 	 * @param name The name to set for the course.
 	 * @throws IllegalArgumentException If the provided name violates any of the
 	 *                                  specified requirements.
@@ -102,15 +101,10 @@ public class Course extends Activity implements Comparable<Course> {
 		if (name.length() < 4 || name.length() > 8) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
-		try {
-			if (validator.isValid(name)) {
-				this.name = name;
-			} else {
-				throw new IllegalArgumentException("Invalid course name.");
-			}
-		} catch (InvalidTransitionException e) {
+		if (CourseNameValidator.validate(name) != CourseNameValidator.VALID) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
+		this.name = name;
 	}
 
 	/**
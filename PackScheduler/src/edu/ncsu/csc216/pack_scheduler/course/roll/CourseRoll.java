@@ -1,13 +1,27 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedAbstractList;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
+import edu.ncsu.csc216.pack_scheduler.util.ConcurrentBoundedQueue;
 
 /**
  * CourseRoll manages the enrollment of students in a course.
- * 
+ *
+ * A CourseRoll may be used from many threads at once without locking. Seats
+ * are claimed from an atomic counter, the waitlist is a lock-free queue, and
+ * the students on the roll and the waitlist are also kept in concurrent maps
+ * by id so that checking whether a student is enrolled takes constant time.
+ *
+ * A student moved from the waitlist onto the roll is handed to the caller of
+ * enroll() or drop(), which can add the course to their schedule while holding
+ * whatever it guards that student's schedule with. Callers that guard nothing
+ * can leave that to the roll.
+ *
  * @author Dania Swelam
  */
 public class CourseRoll {
@@ -18,32 +32,39 @@ public class CourseRoll {
 	public static final int MIN_ENROLLMENT = 10;
 	/** Maximum enrollment for a course */
 	public static final int MAX_ENROLLMENT = 250;
-	/** The list of students enrolled in the course */
-	private LinkedAbstractList<Student> roll;
-	/** The list of students in a course waitlist */
-	private LinkedQueue<Student> waitlist;
-	/** The enrollment capacity of the course */
-	private int enrollmentCap;
+	/** The students enrolled in the course, by id */
+	private final Map<String, Student> roll;
+	/** The students in the course waitlist, in the order they joined */
+	private final ConcurrentBoundedQueue<Student> waitlist;
+	/** The students in the course waitlist, by id */
+	private final Map<String, Student> waitlisted;
+	/**
+	 * The enrollment capacity of the course in the high 32 bits and the number
+	 * of students enrolled in the low 32 bits, so both change together
+	 */
+	private final AtomicLong seats;
 	/** A course for enrollment */
 	private Course course;
 
 	/**
 	 * Constructs a CourseRoll with a given course and enrollment capacity.
-	 * 
+	 *
 	 * @param course        the course associated with the CourseRoll
 	 * @param enrollmentCap the enrollment capacity of the course
 	 */
 	public CourseRoll(Course course, int enrollmentCap) {
 
-		roll = new LinkedAbstractList<>(enrollmentCap);
-		waitlist = new LinkedQueue<>(WAITLIST_SIZE);
+		roll = new ConcurrentHashMap<String, Student>();
+		waitlist = new ConcurrentBoundedQueue<Student>(WAITLIST_SIZE);
+		waitlisted = new ConcurrentHashMap<String, Student>();
+		seats = new AtomicLong();
 		setEnrollmentCap(enrollmentCap);
 		setCourse(course);
 	}
 
 	/**
 	 * Private method to set the course associated with the CourseRoll.
-	 * 
+	 *
 	 * @param course the course to associate with this CourseRoll
 	 * @throws IllegalArgumentException if the course is null or if the
 	 *                                  enrollmentCap is invalid
@@ -57,120 +78,296 @@ public class CourseRoll {
 
 	/**
 	 * Gets the number of open seats in the course.
-	 * 
+	 *
 	 * @return the number of open seats
 	 */
 	public int getOpenSeats() {
-		return enrollmentCap - roll.size();
+		long current = seats.get();
+		return capacity(current) - enrolled(current);
 	}
 
 	/**
 	 * Gets the enrollment capacity of the course.
-	 * 
+	 *
 	 * @return the enrollment capacity
 	 */
 	public int getEnrollmentCap() {
-		return enrollmentCap;
+		return capacity(seats.get());
 	}
 
 	/**
 	 * Sets the enrollment capacity of the course.
-	 * 
+	 *
 	 * @param enrollmentCap the new enrollment capacity
 	 * @throws IllegalArgumentException if the enrollmentCap is less than
 	 *                                  MIN_ENROLLMENT or greater than
 	 *                                  MAX_ENROLLMENT
 	 */
 	public void setEnrollmentCap(int enrollmentCap) {
-		 if (enrollmentCap < MIN_ENROLLMENT || enrollmentCap > MAX_ENROLLMENT) {
-	            throw new IllegalArgumentException();
-	        }
-	        if (enrollmentCap < roll.size()) {
-	            throw new IllegalArgumentException();
-	        }
-
-	        this.enrollmentCap = enrollmentCap;
-	        if (roll != null) {
-	            roll.setCapacity(enrollmentCap);
-	        }
-	}
-	
-	/**
-	 * Enrolls a student in the course.
-	 * 
+		if (enrollmentCap < MIN_ENROLLMENT || enrollmentCap > MAX_ENROLLMENT) {
+			throw new IllegalArgumentException();
+		}
+		long current;
+		do {
+			current = seats.get();
+			if (enrollmentCap < enrolled(current)) {
+				throw new IllegalArgumentException();
+			}
+		} while (!seats.compareAndSet(current, pack(enrollmentCap, enrolled(current))));
+	}
+
+	/**
+	 * Enrolls a student in the course. Any student moved from the waitlist onto
+	 * the roll has the course added to their schedule if they can add it.
+	 *
 	 * @param s the student to enroll
 	 * @throws IllegalArgumentException if the student cannot be enrolled or added
 	 *                                  to the waitlist
 	 */
 	public void enroll(Student s) {
+		enroll(s, this::addToSchedule);
+	}
+
+	/**
+	 * Enrolls a student in the course, handing any student moved from the
+	 * waitlist onto the roll to the given consumer rather than changing their
+	 * schedule.
+	 *
+	 * @param s        the student to enroll
+	 * @param promoted the consumer of each student moved onto the roll
+	 * @throws IllegalArgumentException if the student cannot be enrolled or added
+	 *                                  to the waitlist
+	 */
+	public void enroll(Student s, Consumer<? super Student> promoted) {
 		if (s == null) {
 			throw new IllegalArgumentException("Course cannot be added to schedule.");
 		}
-		
-		if (roll.contains(s)) {
+
+		String id = s.getId();
+		if (roll.containsKey(id)) {
 			throw new IllegalArgumentException("The course cannot be added");
 		}
-		
-		if (roll.size() < enrollmentCap) {
-			roll.add(roll.size(), s);
+
+		if (reserveSeat()) {
+			if (roll.putIfAbsent(id, s) != null) {
+				releaseSeat();
+				throw new IllegalArgumentException("The course cannot be added");
+			}
 		} else {
-			if (waitlist.size() >= WAITLIST_SIZE) {
+			if (waitlisted.putIfAbsent(id, s) != null) {
+				throw new IllegalArgumentException("The course cannot be added");
+			}
+			try {
+				waitlist.enqueue(s);
+			} catch (IllegalArgumentException e) {
+				waitlisted.remove(id, s);
 				throw new IllegalArgumentException("The course cannot be added");
 			}
-			waitlist.enqueue(s);
+			// A seat may have opened after the student was found not to fit
+			promoteFromWaitlist(promoted);
 		}
 	}
 
 	/**
-    /**
-     * Drops a student from the course.
-     * 
-     * @param s the student to drop
-     * @throws IllegalArgumentException if the student is not enrolled in the course or waitlist
-     */
-    public void drop(Student s) {
-        if (s == null) {
-            throw new IllegalArgumentException("Student cannot be null.");
-        }
-        try {
-            if (roll.contains(s)) {
-                roll.remove(roll.indexOf(s));
-                if (!waitlist.isEmpty()) {
-                    Student nextStudent = waitlist.dequeue();
-                    roll.add(roll.size(), nextStudent);
-                    nextStudent.getSchedule().addCourseToSchedule(course); 
-                }
-            } else if (waitlist.contains(s)) {
-                waitlist.remove(s);
-            }
-        } catch (Exception e) {
-            throw new IllegalArgumentException(e);
-        }
-    }
+	 * Drops a student from the course. If the student was enrolled, the first
+	 * student on the waitlist takes their seat and has the course added to
+	 * their schedule if they can add it.
+	 *
+	 * @param s the student to drop
+	 * @throws IllegalArgumentException if the student is null
+	 */
+	public void drop(Student s) {
+		drop(s, this::addToSchedule);
+	}
+
+	/**
+	 * Drops a student from the course. If the student was enrolled, the first
+	 * student on the waitlist takes their seat and is handed to the given
+	 * consumer rather than having their schedule changed.
+	 *
+	 * @param s        the student to drop
+	 * @param promoted the consumer of each student moved onto the roll
+	 * @throws IllegalArgumentException if the student is null
+	 */
+	public void drop(Student s, Consumer<? super Student> promoted) {
+		if (s == null) {
+			throw new IllegalArgumentException("Student cannot be null.");
+		}
+		String id = s.getId();
+		if (roll.remove(id) != null) {
+			releaseSeat();
+			promoteFromWaitlist(promoted);
+		} else {
+			Student queued = waitlisted.remove(id);
+			if (queued != null) {
+				waitlist.remove(queued);
+			}
+		}
+	}
 
 	/**
 	 * Checks if a student can enroll in the course or be added to the waitlist.
-	 * 
+	 *
 	 * @param s the student to check
 	 * @return true if the student can be added to the course or waitlist
 	 */
-    public boolean canEnroll(Student s) {
-        if (s == null) {
-            return false;
-        }
-        if (roll.contains(s) || waitlist.contains(s)) {
-            return false;
-        }
-        return roll.size() < enrollmentCap || waitlist.size() < WAITLIST_SIZE;
-    }
+	public boolean canEnroll(Student s) {
+		if (s == null) {
+			return false;
+		}
+		if (roll.containsKey(s.getId()) || waitlisted.containsKey(s.getId())) {
+			return false;
+		}
+		return getOpenSeats() > 0 || waitlist.size() < WAITLIST_SIZE;
+	}
+
+	/**
+	 * Checks if a student is enrolled in the course, rather than on its
+	 * waitlist.
+	 *
+	 * @param s the student to check
+	 * @return true if the student is on the roll
+	 */
+	public boolean isEnrolled(Student s) {
+		return s != null && roll.get(s.getId()) == s;
+	}
+
+	/**
+	 * Gets the student at the front of the waitlist, who is the next to be
+	 * enrolled when a seat opens.
+	 *
+	 * @return the next student on the waitlist, or null if the waitlist is empty
+	 */
+	public Student getNextOnWaitlist() {
+		return waitlist.peek();
+	}
 
 	/**
 	 * Gets the number of students on the waitlist.
-	 * 
+	 *
 	 * @return the number of students on the waitlist
 	 */
 	public int getNumberOnWaitlist() {
 		return waitlist.size();
 	}
 
+	/**
+	 * Gets the students enrolled in the course, in no particular order.
+	 *
+	 * @return the students enrolled in the course
+	 */
+	public Student[] getEnrolledStudents() {
+		return roll.values().toArray(new Student[0]);
+	}
+
+	/**
+	 * Gets the students on the waitlist, from the next to be enrolled to the
+	 * last.
+	 *
+	 * @return the students on the waitlist
+	 */
+	public Student[] getWaitlistedStudents() {
+		return waitlist.toArray(new Student[0]);
+	}
+
+	/**
+	 * Moves students from the front of the waitlist onto the roll while there
+	 * are open seats, handing each to the given consumer once it is on the
+	 * roll.
+	 *
+	 * @param promoted the consumer of each student moved onto the roll
+	 */
+	private void promoteFromWaitlist(Consumer<? super Student> promoted) {
+		while (!waitlist.isEmpty() && reserveSeat()) {
+			Student next = pollWaitlist();
+			if (next == null) {
+				releaseSeat();
+				return;
+			}
+			roll.put(next.getId(), next);
+			promoted.accept(next);
+		}
+	}
+
+	/**
+	 * Adds the course to the schedule of a student moved onto the roll. A
+	 * student who joined the waitlist through registration already has the
+	 * course in their schedule; anyone else has it added.
+	 *
+	 * @param s the student moved onto the roll
+	 */
+	private void addToSchedule(Student s) {
+		if (s.getSchedule().canAdd(course)) {
+			s.getSchedule().addCourseToSchedule(course);
+		}
+	}
+
+	/**
+	 * Removes the student at the front of the waitlist, skipping any student
+	 * another thread dropped from the waitlist while they were being removed.
+	 *
+	 * @return the student removed, or null if the waitlist is empty
+	 */
+	private Student pollWaitlist() {
+		Student next = waitlist.poll();
+		while (next != null && !waitlisted.remove(next.getId(), next)) {
+			next = waitlist.poll();
+		}
+		return next;
+	}
+
+	/**
+	 * Claims an open seat.
+	 *
+	 * @return true if a seat was claimed, false if the course is full
+	 */
+	private boolean reserveSeat() {
+		long current;
+		do {
+			current = seats.get();
+			if (enrolled(current) >= capacity(current)) {
+				return false;
+			}
+		} while (!seats.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	/**
+	 * Gives back a claimed seat.
+	 */
+	private void releaseSeat() {
+		seats.decrementAndGet();
+	}
+
+	/**
+	 * Combines an enrollment capacity and a number of enrolled students.
+	 *
+	 * @param enrollmentCap the enrollment capacity
+	 * @param enrolled      the number of enrolled students
+	 * @return the combined value
+	 */
+	private static long pack(int enrollmentCap, int enrolled) {
+		return ((long) enrollmentCap << 32) | enrolled;
+	}
+
+	/**
+	 * Returns the enrollment capacity from a combined value.
+	 *
+	 * @param seats the combined value
+	 * @return the enrollment capacity
+	 */
+	private static int capacity(long seats) {
+		return (int) (seats >>> 32);
+	}
+
+	/**
+	 * Returns the number of enrolled students from a combined value.
+	 *
+	 * @param seats the combined value
+	 * @return the number of enrolled students
+	 */
+	private static int enrolled(long seats) {
+		return (int) seats;
+	}
+
 }
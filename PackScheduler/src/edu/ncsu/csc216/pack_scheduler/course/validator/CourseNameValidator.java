@@ -1,169 +1,198 @@
 package edu.ncsu.csc216.pack_scheduler.course.validator;
 
 /**
- * Validates course names using a state pattern. The course name must be in the
+ * Validates course names using a finite state machine. The course name must be in the
  * format of 1-4 letters, exactly 3 digits, and an optional letter suffix.
- * 
+ *
+ * The machine is a transition table indexed by state and character class that is built
+ * once and shared, so validating a name keeps no state outside the call, allocates
+ * nothing, and is safe from any number of threads. Each invalid transition leads to an
+ * error state that every later character leaves in place, so the first mistake in a name
+ * decides its result and the loop over the characters never exits early.
+ *
+ * validate() returns a result code instead of throwing. isValid() keeps the original
+ * contract of throwing an InvalidTransitionException that describes the mistake.
+ *
  * @author Dania Swelam
  */
 public class CourseNameValidator {
 
-    /** The current state of the FSM */
-    private State currentState;
-    /** State for when letters are read */
-    private State letterState = new LetterState();
-    /** Initial state */
-    private State initialState = new InitialState();
-    /** State for when digits are read */
-    private State numberState = new NumberState();
-    /** State for when a suffix letter is read */
-    private State suffixState = new SuffixState();
-    /** Indicates if the current state is a valid end state */
-    private boolean validEndState;
-    /** Count of letters read */
-    private int letterCount;
-    /** Count of digits read */
-    private int digitCount;
+    /** Result code of a valid course name */
+    public static final int VALID = 0;
+    /** Result code of a name that ends before it has 3 digits */
+    public static final int INCOMPLETE = 1;
+    /** Result code of a name with a character that is not a letter or digit */
+    public static final int INVALID_CHARACTER = 2;
+    /** Result code of a name that starts with a digit */
+    public static final int STARTS_WITH_DIGIT = 3;
+    /** Result code of a name with more than 4 letters before its digits */
+    public static final int TOO_MANY_LETTERS = 4;
+    /** Result code of a name with a letter after fewer than 3 digits */
+    public static final int TOO_FEW_DIGITS = 5;
+    /** Result code of a name with more than 3 digits */
+    public static final int TOO_MANY_DIGITS = 6;
+    /** Result code of a name with more than one suffix letter */
+    public static final int SUFFIX_TOO_LONG = 7;
+    /** Result code of a name with a digit after its suffix */
+    public static final int DIGIT_AFTER_SUFFIX = 8;
+
+    /** Exception message for each result code, or null if the code is not an error */
+    private static final String[] MESSAGES = {
+        null,
+        null,
+        "Course name can only contain letters and digits.",
+        "Course name must start with a letter.",
+        "Course name cannot start with more than 4 letters.",
+        "Course name must have 3 digits.",
+        "Course name can only have 3 digits.",
+        "Course name can only have a 1 letter suffix.",
+        "Course name cannot contain digits after the suffix."
+    };
+
+    /** Character class of letters */
+    private static final int LETTER = 0;
+    /** Character class of digits */
+    private static final int DIGIT = 1;
+    /** Character class of every other character */
+    private static final int OTHER = 2;
+    /** Number of character classes */
+    private static final int CLASSES = 3;
+    /** Character class of each ASCII character */
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    /** Initial state before any character is read */
+    private static final int INITIAL = 0;
+    /** State after 1 to 4 letters, in states LETTERS + 0 to LETTERS + 3 */
+    private static final int LETTERS = 1;
+    /** State after 1 to 3 digits, in states DIGITS + 0 to DIGITS + 2 */
+    private static final int DIGITS = 5;
+    /** State after a suffix letter */
+    private static final int SUFFIX = 8;
+    /** Error state of result code 0, so the error state of code c is ERRORS + c */
+    private static final int ERRORS = 9;
+    /** Number of states, including an error state for every error result code */
+    private static final int STATES = ERRORS + MESSAGES.length;
+    /** Next state for each state and character class, at state * CLASSES + class */
+    private static final byte[] TRANSITIONS = new byte[STATES * CLASSES];
+    /** Result code of ending in each state */
+    private static final byte[] RESULTS = new byte[STATES];
+
+    static {
+        for (int c = 0; c < ASCII_CLASSES.length; c++) {
+            ASCII_CLASSES[c] = (byte) classOf((char) c);
+        }
 
-    /**
-     * Validates if the given course name is valid.
-     * 
-     * @param courseName the course name to validate
-     * @return true if valid, false otherwise
-     * @throws InvalidTransitionException if an invalid transition occurs
-     */
-    public boolean isValid(String courseName) throws InvalidTransitionException {
-        currentState = initialState;
-        validEndState = false;
-        letterCount = 0;
-        digitCount = 0;
-        
-        for (int i = 0; i < courseName.length(); i++) {
-            char c = courseName.charAt(i);
-            if (Character.isLetter(c)) {
-                currentState.onLetter(c);
-            } else if (Character.isDigit(c)) {
-                currentState.onDigit(c);
-            } else {
-                currentState.onOther();
+        // Anything other than a letter or digit is an error in every state
+        for (int state = 0; state < ERRORS; state++) {
+            transition(state, OTHER, ERRORS + INVALID_CHARACTER);
+            RESULTS[state] = INCOMPLETE;
+        }
+        transition(INITIAL, LETTER, LETTERS);
+        transition(INITIAL, DIGIT, ERRORS + STARTS_WITH_DIGIT);
+        for (int letters = 0; letters < 4; letters++) {
+            transition(LETTERS + letters, LETTER, letters < 3 ? LETTERS + letters + 1 : ERRORS + TOO_MANY_LETTERS);
+            transition(LETTERS + letters, DIGIT, DIGITS);
+        }
+        for (int digits = 0; digits < 3; digits++) {
+            transition(DIGITS + digits, LETTER, digits < 2 ? ERRORS + TOO_FEW_DIGITS : SUFFIX);
+            transition(DIGITS + digits, DIGIT, digits < 2 ? DIGITS + digits + 1 : ERRORS + TOO_MANY_DIGITS);
+        }
+        transition(SUFFIX, LETTER, ERRORS + SUFFIX_TOO_LONG);
+        transition(SUFFIX, DIGIT, ERRORS + DIGIT_AFTER_SUFFIX);
+        RESULTS[DIGITS + 2] = VALID;
+        RESULTS[SUFFIX] = VALID;
+
+        // Error states keep their error whatever follows
+        for (int code = 0; code < MESSAGES.length; code++) {
+            for (int characterClass = 0; characterClass < CLASSES; characterClass++) {
+                transition(ERRORS + code, characterClass, ERRORS + code);
             }
+            RESULTS[ERRORS + code] = (byte) code;
         }
-        
-        return validEndState;
     }
 
     /**
-     * Abstract state class for FSM.
+     * Sets the next state of a state for a character class.
+     *
+     * @param state          the current state
+     * @param characterClass the class of the character read
+     * @param next           the next state
      */
-    private abstract class State {
-        /**
-         * Handles letter input.
-         * 
-         * @param c the letter character
-         * @throws InvalidTransitionException if an invalid transition occurs
-         */
-        abstract void onLetter(char c) throws InvalidTransitionException;
-
-        /**
-         * Handles digit input.
-         * 
-         * @param c the digit character
-         * @throws InvalidTransitionException if an invalid transition occurs
-         */
-        abstract void onDigit(char c) throws InvalidTransitionException;
-
-        /**
-         * Handles non-letter and non-digit input.
-         * 
-         * @throws InvalidTransitionException if an invalid transition occurs
-         */
-        void onOther() throws InvalidTransitionException {
-            throw new InvalidTransitionException("Course name can only contain letters and digits.");
-        }
+    private static void transition(int state, int characterClass, int next) {
+        TRANSITIONS[state * CLASSES + characterClass] = (byte) next;
     }
 
     /**
-     * Initial state of the FSM.
+     * Returns the class of a character.
+     *
+     * @param c the character
+     * @return LETTER, DIGIT, or OTHER
      */
-    private class InitialState extends State {
-        @Override
-        void onLetter(char c) {
-            letterCount++;
-            currentState = letterState;
-        }
-
-        @Override
-        void onDigit(char c) throws InvalidTransitionException {
-            throw new InvalidTransitionException("Course name must start with a letter.");
+    private static int classOf(char c) {
+        if (Character.isLetter(c)) {
+            return LETTER;
         }
+        return Character.isDigit(c) ? DIGIT : OTHER;
     }
 
     /**
-     * State for when one or more letters are read.
+     * Validates a course name without throwing or allocating.
+     *
+     * @param courseName the course name to validate
+     * @return VALID if the name is valid, INCOMPLETE if it is a valid start of a name, or
+     *         the code of the first mistake in the name
      */
-    private class LetterState extends State {
-        
-        /** The maximum count of letters in prefix. */
-        private static final int MAX_PREFIX_LETTERS = 4;
-
-        @Override
-        void onLetter(char c) throws InvalidTransitionException {
-            letterCount++;
-            if (letterCount > MAX_PREFIX_LETTERS) {
-                throw new InvalidTransitionException("Course name cannot start with more than 4 letters.");
-            }
-        }
-
-        @Override
-        void onDigit(char c) {
-            digitCount++;
-            currentState = numberState;
+    public static int validate(CharSequence courseName) {
+        int state = INITIAL;
+        for (int i = 0; i < courseName.length(); i++) {
+            char c = courseName.charAt(i);
+            int characterClass = c < ASCII_CLASSES.length ? ASCII_CLASSES[c] : classOf(c);
+            state = TRANSITIONS[state * CLASSES + characterClass];
         }
+        return RESULTS[state];
     }
 
     /**
-     * State for when one or more digits are read.
+     * Validates every course name in an array.
+     *
+     * @param courseNames the course names to validate
+     * @return the result code of each name, in the same order as the names
      */
-    private class NumberState extends State {
-        
-        /** The exact count of digits needed in course name. */
-        private static final int COURSE_NUMBER_LENGTH = 3;
-
-        @Override
-        void onLetter(char c) throws InvalidTransitionException {
-            if (digitCount == COURSE_NUMBER_LENGTH) {
-                validEndState = true;
-                currentState = suffixState;
-            } else {
-                throw new InvalidTransitionException("Course name must have 3 digits.");
-            }
-        }
-
-        @Override
-        void onDigit(char c) throws InvalidTransitionException {
-            digitCount++;
-            if (digitCount > COURSE_NUMBER_LENGTH) {
-                throw new InvalidTransitionException("Course name can only have 3 digits.");
-            }
-            if (digitCount == COURSE_NUMBER_LENGTH) {
-                validEndState = true;
-            }
+    public static int[] validateAll(CharSequence[] courseNames) {
+        int[] results = new int[courseNames.length];
+        for (int i = 0; i < courseNames.length; i++) {
+            results[i] = validate(courseNames[i]);
         }
+        return results;
     }
 
     /**
-     * State for when a suffix letter is read.
+     * Returns the message describing the mistake a result code stands for.
+     *
+     * @param result the result code
+     * @return the message, or null if the result code is VALID or INCOMPLETE
+     * @throws IllegalArgumentException if the result code is not one of the codes above
      */
-    private class SuffixState extends State {
-        @Override
-        void onLetter(char c) throws InvalidTransitionException {
-            throw new InvalidTransitionException("Course name can only have a 1 letter suffix.");
+    public static String getMessage(int result) {
+        if (result < 0 || result >= MESSAGES.length) {
+            throw new IllegalArgumentException("Invalid result code.");
         }
+        return MESSAGES[result];
+    }
 
-        @Override
-        void onDigit(char c) throws InvalidTransitionException {
-            throw new InvalidTransitionException("Course name cannot contain digits after the suffix.");
+    /**
+     * Validates if the given course name is valid.
+     *
+     * @param courseName the course name to validate
+     * @return true if valid, false otherwise
+     * @throws InvalidTransitionException if an invalid transition occurs
+     */
+    public boolean isValid(String courseName) throws InvalidTransitionException {
+        int result = validate(courseName);
+        if (result > INCOMPLETE) {
+            throw new InvalidTransitionException(MESSAGES[result]);
         }
+        return result == VALID;
     }
-    
+
 }
@@ -3,26 +3,37 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.ParallelRecordParser;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeSupport;
 
 /**
  * Maintains a directory of all faculty at NC State. All faculty have
  * a unique id.
  * 
+ * Listeners added to the directory are told which rows of
+ * getFacultyDirectory() each change touches.
+ * 
  * @author Dania Swelam
  */
 public class FacultyDirectory {
 
     /** List of faculty in the directory */
     private LinkedList<Faculty> facultyDirectory;
-    /** Hashing algorithm */
-    private static final String HASH_ALGORITHM = "SHA-256";
+    /** Index of the faculty in the directory keyed by id */
+    private Map<String, Faculty> facultyById;
+    /** Listeners told about changes to the rows of the directory */
+    private final ListChangeSupport changes = new ListChangeSupport();
 
     /**
      * Creates an empty faculty directory.
@@ -37,6 +48,8 @@ public class FacultyDirectory {
      */
     public void newFacultyDirectory() {
         facultyDirectory = new LinkedList<>();
+        facultyById = new HashMap<>();
+        changes.fireListChanged();
     }
 
     /**
@@ -46,11 +59,11 @@ public class FacultyDirectory {
      * @throws IllegalArgumentException if the file is not found
      */
     public void loadFacultyFromFile(String fileName) {
+        List<Faculty> faculty = new ArrayList<>();
         try (Scanner fileScanner = new Scanner(new FileInputStream(fileName))) {
             while (fileScanner.hasNextLine()) {
                 try {
-                    Faculty faculty = processFaculty(fileScanner.nextLine());
-                    facultyDirectory.add(faculty);
+                    faculty.add(processFaculty(fileScanner.nextLine()));
                 } catch (IllegalArgumentException e) {
                     // Skip the invalid faculty
                 }
@@ -58,6 +71,57 @@ public class FacultyDirectory {
         } catch (FileNotFoundException e) {
             throw new IllegalArgumentException("Unable to read file " + fileName);
         }
+        addLoadedFaculty(faculty);
+    }
+
+    /**
+     * Constructs the faculty directory by reading faculty records from the file
+     * on the given pool. The UTF-8 encoded file is split into chunks of lines
+     * that are parsed at the same time, and the directory ends up with the same
+     * faculty as loadFacultyFromFile(String) gives it.
+     * 
+     * @param fileName the file to read faculty records from
+     * @param pool     the pool to parse the file on
+     * @throws IllegalArgumentException if the file is not found
+     */
+    public void loadFacultyFromFile(String fileName, ForkJoinPool pool) {
+        try {
+            addLoadedFaculty(ParallelRecordParser.parse(fileName, reader -> processFaculty(reader.getLine()), pool));
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("Unable to read file " + fileName);
+        }
+    }
+
+    /**
+     * Adds the given faculty to the directory, skipping any whose id is already
+     * in the directory or belongs to an earlier faculty in the list.
+     * 
+     * @param faculty the faculty to add
+     */
+    public void loadFaculty(List<Faculty> faculty) {
+        addLoadedFaculty(faculty);
+    }
+
+    /**
+     * Adds the faculty read from a file to the directory, skipping any whose id
+     * is already in the directory or belongs to an earlier faculty in the file.
+     * 
+     * @param loaded the faculty read, in the order of the file
+     */
+    private void addLoadedFaculty(List<Faculty> loaded) {
+        int first = facultyDirectory.size();
+        List<Faculty> faculty = new ArrayList<>();
+        for (Faculty f : loaded) {
+            if (facultyById.putIfAbsent(f.getId(), f) == null) {
+                faculty.add(f);
+            }
+        }
+        // Faculty with different ids are never equal, so none needs checking again
+        facultyDirectory.appendDistinct(faculty);
+        // New faculty are appended, so they are the rows after the first
+        if (facultyDirectory.size() > first) {
+            changes.fireRowsInserted(first, facultyDirectory.size() - 1);
+        }
     }
 
     /**
@@ -115,8 +179,8 @@ public class FacultyDirectory {
             throw new IllegalArgumentException("Invalid password");
         }
 
-        hashPW = hashString(password);
-        repeatHashPW = hashString(repeatPassword);
+        hashPW = PasswordHasher.hash(password);
+        repeatHashPW = PasswordHasher.hash(repeatPassword);
 
         if (!hashPW.equals(repeatHashPW)) {
             throw new IllegalArgumentException("Passwords do not match");
@@ -124,33 +188,15 @@ public class FacultyDirectory {
 
         Faculty faculty = new Faculty(firstName, lastName, id, email, hashPW, maxCourses);
 
-        for (int i = 0; i < facultyDirectory.size(); i++) {
-            Faculty f = facultyDirectory.get(i);
-            if (f.getId().equals(faculty.getId())) {
-                return false;
-            }
+        if (facultyById.containsKey(faculty.getId())) {
+            return false;
         }
         
-        return facultyDirectory.add(faculty);
-    }
-
-    /**
-     * Hashes a String according to the SHA-256 algorithm, and outputs the digest in
-     * base64 encoding. This allows the encoded digest to be safely copied, as it
-     * only uses [a-zA-Z0-9+/=].
-     * 
-     * @param password the String to hash
-     * @return the encoded digest of the hash algorithm in base64
-     * @throws IllegalArgumentException if the hashing algorithm is not available
-     */
-    private static String hashString(String password) {
-        try {
-            MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-            digest1.update(password.getBytes());
-            return Base64.getEncoder().encodeToString(digest1.digest());
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalArgumentException("Cannot hash password", e);
-        }
+        facultyDirectory.add(faculty);
+        facultyById.put(faculty.getId(), faculty);
+        int row = facultyDirectory.size() - 1;
+        changes.fireRowsInserted(row, row);
+        return true;
     }
 
     /**
@@ -162,14 +208,20 @@ public class FacultyDirectory {
      * @return true if removed
      */
     public boolean removeFaculty(String facultyId) {
-        for (int i = 0; i < facultyDirectory.size(); i++) {
-            Faculty f = facultyDirectory.get(i);
-            if (f.getId().equals(facultyId)) {
-                facultyDirectory.remove(i);
-                return true;
-            }
+        Faculty f = facultyById.get(facultyId);
+        if (f == null) {
+            return false;
+        }
+        int row = facultyDirectory.indexOf(f);
+        if (row < 0) {
+            facultyById.remove(facultyId);
+            return false;
         }
-        return false;
+        changes.fireRowsDeleting(row, row);
+        facultyById.remove(facultyId);
+        facultyDirectory.remove(row);
+        changes.fireRowsDeleted(row, row);
+        return true;
     }
 
     /**
@@ -180,15 +232,48 @@ public class FacultyDirectory {
      */
     public String[][] getFacultyDirectory() {
         String[][] directory = new String[facultyDirectory.size()][3];
-        for (int i = 0; i < facultyDirectory.size(); i++) {
-            Faculty f = facultyDirectory.get(i);
+        int i = 0;
+        for (Faculty f : facultyDirectory) {
             directory[i][0] = f.getFirstName();
             directory[i][1] = f.getLastName();
             directory[i][2] = f.getId();
+            i++;
         }
         return directory;
     }
 
+    /**
+     * Returns a single row of getFacultyDirectory().
+     * 
+     * @param row the index of the row
+     * @return the faculty's first name, last name, and id
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public String[] getFacultyDirectoryRow(int row) {
+        Faculty f = facultyDirectory.get(row);
+        return new String[] { f.getFirstName(), f.getLastName(), f.getId() };
+    }
+
+    /**
+     * Adds a listener to be told about changes to the rows of the directory.
+     * 
+     * @param listener the listener to add
+     * @throws IllegalArgumentException if the listener is null
+     */
+    public void addListChangeListener(ListChangeListener listener) {
+        changes.addListener(listener);
+    }
+
+    /**
+     * Removes a listener so that it is no longer told about changes to the
+     * directory.
+     * 
+     * @param listener the listener to remove
+     */
+    public void removeListChangeListener(ListChangeListener listener) {
+        changes.removeListener(listener);
+    }
+
     /**
      * Saves all faculty in the directory to a file.
      * 
@@ -210,12 +295,6 @@ public class FacultyDirectory {
      * @return the faculty's information for registration
      */
     public Faculty getFacultyById(String id) {
-        for (int i = 0; i < facultyDirectory.size(); i++) {
-            Faculty f = facultyDirectory.get(i);
-            if (f.getId().equals(id)) {
-                return f;
-            }
-        }
-        return null;
+        return facultyById.get(id);
     }
 }
@@ -3,27 +3,38 @@ package edu.ncsu.csc216.pack_scheduler.directory;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.FileInputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
+import edu.ncsu.csc216.pack_scheduler.io.ParallelRecordParser;
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeSupport;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 /**
  * Maintains a directory of all students enrolled at NC State. All students have
  * a unique id.
  * 
+ * Listeners added to the directory are told which rows of
+ * getStudentDirectory() each change touches.
+ * 
  * @author Sarah Heckman
  */
 public class StudentDirectory {
 
 	/** List of students in the directory */
 	private SortedList<Student> studentDirectory;
-	/** Hashing algorithm */
-	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Index of the students in the directory keyed by id */
+	private Map<String, Student> studentsById;
+	/** Listeners told about changes to the rows of the directory */
+	private final ListChangeSupport changes = new ListChangeSupport();
 
 	/**
 	 * Creates an empty student directory.
@@ -38,6 +49,8 @@ public class StudentDirectory {
 	 */
 	public void newStudentDirectory() {
 		studentDirectory = new SortedList<>();
+		studentsById = new HashMap<>();
+		changes.fireListChanged();
 	}
 
 	 /**
@@ -47,11 +60,11 @@ public class StudentDirectory {
      * @throws IllegalArgumentException if the file is not found
      */
     public void loadStudentsFromFile(String fileName) {
+        List<Student> students = new ArrayList<>();
         try (Scanner fileScanner = new Scanner(new FileInputStream(fileName))) {
             while (fileScanner.hasNextLine()) {
                 try {
-                    Student student = processStudent(fileScanner.nextLine());
-                    studentDirectory.add(student);
+                    students.add(processStudent(fileScanner.nextLine()));
                 } catch (IllegalArgumentException e) {
                     // Skip the invalid student
                 }
@@ -59,6 +72,56 @@ public class StudentDirectory {
         } catch (FileNotFoundException e) {
             throw new IllegalArgumentException("Unable to read file " + fileName);
         }
+        addLoadedStudents(students);
+    }
+
+    /**
+     * Constructs the student directory by reading student records from the file
+     * on the given pool. The UTF-8 encoded file is split into chunks of lines
+     * that are parsed at the same time, and the directory ends up with the same
+     * students as loadStudentsFromFile(String) gives it.
+     * 
+     * @param fileName the file to read student records from
+     * @param pool     the pool to parse the file on
+     * @throws IllegalArgumentException if the file is not found
+     */
+    public void loadStudentsFromFile(String fileName, ForkJoinPool pool) {
+        try {
+            addLoadedStudents(ParallelRecordParser.parse(fileName, reader -> processStudent(reader.getLine()), pool));
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("Unable to read file " + fileName);
+        }
+    }
+
+    /**
+     * Adds the given students to the directory, skipping any whose id is
+     * already in the directory or belongs to an earlier student in the list.
+     * 
+     * @param students the students to add
+     */
+    public void loadStudents(List<Student> students) {
+        addLoadedStudents(students);
+    }
+
+    /**
+     * Adds the students read from a file to the directory, skipping any whose id
+     * is already in the directory or belongs to an earlier student in the file.
+     * 
+     * @param loaded the students read, in the order of the file
+     */
+    private void addLoadedStudents(List<Student> loaded) {
+        List<Student> students = new ArrayList<>();
+        for (Student student : loaded) {
+            if (!studentsById.containsKey(student.getId())) {
+                students.add(student);
+                studentsById.put(student.getId(), student);
+            }
+        }
+        // Sort the new students once instead of on every insert
+        studentDirectory.addAll(students);
+        if (!students.isEmpty()) {
+            changes.fireListChanged();
+        }
     }
 
     /**
@@ -116,8 +179,8 @@ public class StudentDirectory {
 			throw new IllegalArgumentException("Invalid password");
 		}
 
-		hashPW = hashString(password);
-		repeatHashPW = hashString(repeatPassword);
+		hashPW = PasswordHasher.hash(password);
+		repeatHashPW = PasswordHasher.hash(repeatPassword);
 
 		if (!hashPW.equals(repeatHashPW)) {
 			throw new IllegalArgumentException("Passwords do not match");
@@ -130,33 +193,17 @@ public class StudentDirectory {
 			student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
 		}
 
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(student.getId())) {
-				return false;
-			}
+		if (studentsById.containsKey(student.getId())) {
+			return false;
 		}
 		
-		return studentDirectory.add(student);
-	}
-
-	/**
-	 * Hashes a String according to the SHA-256 algorithm, and outputs the digest in
-	 * base64 encoding. This allows the encoded digest to be safely copied, as it
-	 * only uses [a-zA-Z0-9+/=].
-	 * 
-	 * @param password the String to hash
-	 * @return the encoded digest of the hash algorithm in base64
-	 * @throws IllegalArgumentException if the hashing algorithm is not available
-	 */
-	private static String hashString(String password) {
-		try {
-			MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-			digest1.update(password.getBytes());
-			return Base64.getEncoder().encodeToString(digest1.digest());
-		} catch (NoSuchAlgorithmException e) {
-			throw new IllegalArgumentException("Cannot hash password", e);
+		studentDirectory.add(student);
+		studentsById.put(student.getId(), student);
+		if (changes.hasListeners()) {
+			int row = indexOf(student);
+			changes.fireRowsInserted(row, row);
 		}
+		return true;
 	}
 
 	/**
@@ -168,14 +215,27 @@ public class StudentDirectory {
 	 * @return true if removed
 	 */
 	public boolean removeStudent(String studentId) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			if (s.getId().equals(studentId)) {
-				studentDirectory.remove(i);
-				return true;
-			}
+		Student s = studentsById.get(studentId);
+		if (s == null) {
+			return false;
 		}
-		return false;
+		int row = indexOf(s);
+		changes.fireRowsDeleting(row, row);
+		studentsById.remove(studentId);
+		studentDirectory.remove(row);
+		changes.fireRowsDeleted(row, row);
+		return true;
+	}
+
+	/**
+	 * Finds the position of the given student in the sorted directory with a
+	 * binary search on the student's last name, first name, and id.
+	 * 
+	 * @param student the student to find
+	 * @return the index of the student, or -1 if they are not in the directory
+	 */
+	private int indexOf(Student student) {
+		return studentDirectory.indexOf(student);
 	}
 
 	/**
@@ -187,14 +247,43 @@ public class StudentDirectory {
 	public String[][] getStudentDirectory() {
 		String[][] directory = new String[studentDirectory.size()][3];
 		for (int i = 0; i < studentDirectory.size(); i++) {
-			Student s = studentDirectory.get(i);
-			directory[i][0] = s.getFirstName();
-			directory[i][1] = s.getLastName();
-			directory[i][2] = s.getId();
+			directory[i] = getStudentDirectoryRow(i);
 		}
 		return directory;
 	}
 
+	/**
+	 * Returns a single row of getStudentDirectory().
+	 * 
+	 * @param row the index of the row
+	 * @return the student's first name, last name, and id
+	 * @throws IndexOutOfBoundsException if there is no such row
+	 */
+	public String[] getStudentDirectoryRow(int row) {
+		Student s = studentDirectory.get(row);
+		return new String[] { s.getFirstName(), s.getLastName(), s.getId() };
+	}
+
+	/**
+	 * Adds a listener to be told about changes to the rows of the directory.
+	 * 
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addListChangeListener(ListChangeListener listener) {
+		changes.addListener(listener);
+	}
+
+	/**
+	 * Removes a listener so that it is no longer told about changes to the
+	 * directory.
+	 * 
+	 * @param listener the listener to remove
+	 */
+	public void removeListChangeListener(ListChangeListener listener) {
+		changes.removeListener(listener);
+	}
+
 	/**
 	 * Saves all students in the directory to a file.
 	 * 
@@ -216,12 +305,6 @@ public class StudentDirectory {
 	 * @return the student's information for registration
 	 */
 	public Student getStudentById(String id) {
-	    for (int i = 0; i < studentDirectory.size(); i++) {
-	        Student s = studentDirectory.get(i);
-	        if (s.getId().equals(id)) {
-	            return s;
-	        }
-	    }
-	    return null;
+	    return studentsById.get(id);
 	}
 }
\ No newline at end of file
@@ -1,155 +1,438 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
-import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.course.validator.CourseNameValidator;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
 
 /**
  * Reads Course records from text files and writes a set of Course records to a
  * file.
  * 
+ * Courses are read in two phases. The lines are first parsed into records of
+ * their fields, which depends on nothing but the line and may be done on
+ * several threads at once. The records are then made into Courses and bound
+ * to their instructors on one thread, in file order: each instructor id in the
+ * file is looked up once through the resolver given to the reader. Reading
+ * without a resolver leaves every Course without an instructor.
+ * 
  * @author Sarah Heckman
  * @author Dania Swelam
  */
 public class CourseRecordIO {
 
+	/** Size in bytes from which readCourseRecords() maps a file instead of streaming it */
+	public static final long MAP_THRESHOLD = 16L * 1024 * 1024;
+
 	/**
-	 * Reads course records from a file and generates a list of valid Courses. Any
-	 * invalid Courses are ignored. If the file to read cannot be found or the
-	 * permissions are incorrect a FileNotFoundException is thrown.
+	 * Reads course records from a file and generates a list of valid Courses
+	 * without instructors. Any invalid Courses are ignored. If the file to read
+	 * cannot be found or the permissions are incorrect a FileNotFoundException is
+	 * thrown.
+	 * 
+	 * Every line is parsed first, and the course names of all of them are then
+	 * checked in one call to CourseNameValidator.validateAll(), so records with
+	 * an invalid name are dropped without constructing a Course for them.
 	 * 
 	 * @param fileName the file to read Course records from
 	 * @return a list of valid Courses
 	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
 	 */
 	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
-		SortedList<Course> courses = new SortedList<Course>(); // Create an empty array of Course objects
-		while (fileReader.hasNextLine()) { // While we have more lines in the file
+		return readCourseRecords(fileName, new StringPool());
+	}
+
+	/**
+	 * Reads course records from a file and generates a list of valid Courses
+	 * without instructors, taking the names, titles, sections, meeting days and
+	 * instructor ids of the courses from the given pool. Courses that repeat the
+	 * same text then share one String, as do courses read later through the same
+	 * pool.
+	 * 
+	 * @param fileName the file to read Course records from
+	 * @param strings  the pool of Strings shared by the courses
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, StringPool strings) throws FileNotFoundException {
+		return readCourseRecords(fileName, strings, null);
+	}
+
+	/**
+	 * Reads course records from a file and generates a list of valid Courses,
+	 * taking their text from the given pool and their instructors from the given
+	 * resolver. A Course whose instructor id the resolver does not know is left
+	 * without an instructor, and one that cannot be added to its instructor's
+	 * schedule, because it conflicts with or repeats an earlier course of
+	 * theirs, is ignored.
+	 * 
+	 * Files of MAP_THRESHOLD bytes or more are read with mapCourseRecords().
+	 * 
+	 * @param fileName    the file to read Course records from
+	 * @param strings     the pool of Strings shared by the courses
+	 * @param instructors the resolver of instructor ids to Faculty, or null to
+	 *                    leave every Course without an instructor
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, StringPool strings,
+			Function<String, Faculty> instructors) throws FileNotFoundException {
+		long size = new File(fileName).length();
+		if (size >= MAP_THRESHOLD && size <= Integer.MAX_VALUE) {
+			return mapCourseRecords(fileName, strings, instructors);
+		}
+		List<CourseRecord> records = new ArrayList<CourseRecord>(); // Records whose fields could be read
+		try (RecordReader fileReader = RecordReader.open(fileName)) { // Create a reader for the file
+			while (fileReader.nextLine()) { // While we have more lines in the file
+				try {
+					records.add(readRecord(fileReader, strings));
+				} catch (IllegalArgumentException e) {
+					continue;
+				}
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName, e);
+		}
+
+		String[] names = new String[records.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = records.get(i).name;
+		}
+		int[] results = CourseNameValidator.validateAll(names);
+
+		List<CourseRecord> valid = new ArrayList<CourseRecord>(records.size());
+		for (int i = 0; i < names.length; i++) {
+			if (results[i] == CourseNameValidator.VALID) {
+				valid.add(records.get(i));
+			}
+		}
+		return readCourses(valid, null, instructors);
+	}
+
+	/**
+	 * Reads course records from a file on the given pool and generates a list of
+	 * valid Courses, taking their text from the given pool of Strings and their
+	 * instructors from the given resolver. The file is split into chunks by
+	 * ParallelRecordParser, and each chunk is parsed into records with a
+	 * StringPool of its own, so the threads never wait on one another for
+	 * text. The text of the records is then moved into the given pool, and the
+	 * Courses made and bound to their instructors, on the calling thread. The
+	 * Courses read are the same as those readCourseRecords(String, StringPool,
+	 * Function) reads.
+	 * 
+	 * @param fileName    the file to read Course records from
+	 * @param strings     the pool of Strings shared by the courses
+	 * @param instructors the resolver of instructor ids to Faculty, or null to
+	 *                    leave every Course without an instructor
+	 * @param pool        the pool to parse the file on
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, StringPool strings,
+			Function<String, Faculty> instructors, ForkJoinPool pool) throws FileNotFoundException {
+		List<CourseRecord> records = ParallelRecordParser.parseChunks(fileName, () -> {
+			StringPool chunkStrings = new StringPool();
+			return reader -> {
+				if (reader.getFieldCount() == 0
+						|| CourseNameValidator.validate(reader.getChars(0)) != CourseNameValidator.VALID) {
+					throw new IllegalArgumentException("Invalid course name.");
+				}
+				return readRecord(reader, chunkStrings);
+			};
+		}, pool);
+		return readCourses(records, strings, instructors);
+	}
+
+	/**
+	 * Reads course records from a file mapped into memory and generates a list
+	 * of valid Courses without instructors, taking their text from the given
+	 * pool.
+	 * 
+	 * @param fileName the file to read Course records from
+	 * @param strings  the pool of Strings shared by the courses
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be mapped
+	 */
+	public static SortedList<Course> mapCourseRecords(String fileName, StringPool strings) throws FileNotFoundException {
+		return mapCourseRecords(fileName, strings, null);
+	}
+
+	/**
+	 * Reads course records from a file mapped into memory and generates a list
+	 * of valid Courses, taking their text from the given pool and their
+	 * instructors from the given resolver. The file is scanned in place, and the
+	 * course name of each line is checked before any of its fields is decoded,
+	 * so lines with an invalid name or malformed numbers never become Strings.
+	 * The Courses read are the same as those readCourseRecords() reads from the
+	 * file.
+	 * 
+	 * @param fileName    the file to read Course records from
+	 * @param strings     the pool of Strings shared by the courses
+	 * @param instructors the resolver of instructor ids to Faculty, or null to
+	 *                    leave every Course without an instructor
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be mapped
+	 */
+	public static SortedList<Course> mapCourseRecords(String fileName, StringPool strings,
+			Function<String, Faculty> instructors) throws FileNotFoundException {
+		List<CourseRecord> records = new ArrayList<CourseRecord>(); // Records with a valid name whose fields could be read
+		try {
+			MappedRecordReader fileReader = MappedRecordReader.map(fileName);
+			while (fileReader.nextLine()) {
+				if (fileReader.getFieldCount() == 0
+						|| CourseNameValidator.validate(fileReader.getChars(0)) != CourseNameValidator.VALID) {
+					continue;
+				}
+				try {
+					records.add(readRecord(fileReader, strings));
+				} catch (IllegalArgumentException e) {
+					continue;
+				}
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName, e);
+		}
+		return readCourses(records, null, instructors);
+	}
+
+	/**
+	 * Helper method to create the Courses of the given records and bind them to
+	 * their instructors, in file order, skipping any whose fields are invalid,
+	 * any that their instructor cannot teach, and any with the same name and
+	 * section as an earlier one that was kept. A line that repeats a section
+	 * whose earlier line was skipped is therefore still read. Records parsed
+	 * with pools of their own first have their text moved into the given pool,
+	 * so every Course shares the same Strings as if one pool had read them all.
+	 * 
+	 * @param records     the records of the courses, in the order they were read
+	 * @param strings     the pool to move the text of the records into, or null
+	 *                    if the records were read through the pool of the Courses
+	 * @param instructors the resolver of instructor ids to Faculty, or null
+	 * @return a list of the valid Courses
+	 */
+	private static SortedList<Course> readCourses(List<CourseRecord> records, StringPool strings,
+			Function<String, Faculty> instructors) {
+		List<Course> courses = new ArrayList<Course>(records.size());
+		Set<String> sections = new HashSet<String>(); // Names and sections of the courses kept so far
+		Map<String, Faculty> faculty = new HashMap<String, Faculty>(); // Instructors resolved so far
+		for (CourseRecord record : records) {
 			try { // Attempt to do the following
-					// Read the line, process it in readCourse, and get the object
-					// If trying to construct a Course in readCourse() results in an exception, flow
-					// of control will transfer to the catch block, below
-				Course course = readCourse(fileReader.nextLine());
-
-				// Create a flag to see if the newly created Course is a duplicate of something
-				// already in the list
-				boolean duplicate = false;
-				// Look at all the courses in our list
-				for (int i = 0; i < courses.size(); i++) {
-					// Get the course at index i
-					Course current = courses.get(i);
-					// Check if the name and section are the same
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						// It's a duplicate!
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
-					}
+				// A course is a duplicate if an earlier course kept has the same name and section
+				String section = record.name + "," + record.section;
+				// If the course is a duplicate ignore it
+				if (sections.contains(section)) {
+					continue;
+				}
+				if (strings != null) {
+					record.intern(strings);
 				}
-				// If the course is NOT a duplicate
-				if (!duplicate) {
-					courses.add(course); // Add to the SortedList!
-				} // Otherwise ignore it
+				// Construct a Course from the record and bind it to its instructor
+				// If either results in an exception, flow of control will transfer to
+				// the catch block, below
+				Course course = readCourse(record);
+				bindInstructor(course, record.instructorId, instructors, faculty);
+				courses.add(course); // Add to the list!
+				sections.add(section);
 			} catch (IllegalArgumentException e) {
 				continue;
 			}
 		}
-		// Close the Scanner b/c we're responsible with our file handles
-		fileReader.close();
-		// Return the SortedList with all the courses we read!
-		return courses;
+		// Sort the courses we read once and return them in a SortedList!
+		SortedList<Course> sortedCourses = new SortedList<Course>();
+		sortedCourses.addAll(courses);
+		return sortedCourses;
 	}
 
 	/**
-	 * Helper method to read in each line from the input file and create a Course
-	 * object.
+	 * Helper method to add a Course to the schedule of its instructor. Each
+	 * instructor id is resolved once, the first time a course names it.
 	 * 
-	 * @param line the line from the input file
-	 * @return a Course object with data extracted from the line
+	 * @param course       the course to bind
+	 * @param instructorId the id of the course's instructor, or null
+	 * @param instructors  the resolver of instructor ids to Faculty, or null to
+	 *                     bind no Course
+	 * @param resolved     the instructors resolved so far, by id
+	 * @throws IllegalArgumentException if the instructor cannot teach the course
 	 */
-	private static Course readCourse(String line) {
-		Scanner readLine = new Scanner(line);
-		readLine.useDelimiter(",");
+	private static void bindInstructor(Course course, String instructorId, Function<String, Faculty> instructors,
+			Map<String, Faculty> resolved) {
+		if (instructors == null || instructorId == null) {
+			return;
+		}
+		Faculty faculty = resolved.computeIfAbsent(instructorId, instructors);
+		if (faculty != null) {
+			faculty.getSchedule().addCourseToSchedule(course); // This will set the instructorId
+		}
+	}
 
+	/**
+	 * Helper method to read the fields of a course record from the current line
+	 * of the reader.
+	 * 
+	 * @param fileReader the reader positioned at the line from the input file
+	 * @param strings    the pool of Strings to take text fields from
+	 * @return the fields of the record
+	 * @throws IllegalArgumentException if a field is missing or malformed
+	 */
+	private static CourseRecord readRecord(RecordFields fileReader, StringPool strings) {
 		try {
-			String name = readLine.next();
-			String title = readLine.next();
-			String section = readLine.next();
-			int credits = readInt(readLine, "Invalid credits format.");
-			String instructorId = readLine.hasNext() ? readLine.next() : null; // Allow null
-			int enrollmentCap = readInt(readLine, "Invalid enrollment capacity format.");
-			String meetingDays = readLine.next();
-
-			Course course;
-			if ("A".equals(meetingDays)) {
-				if (meetingDays.length() > 1 || readLine.hasNext()) {
+			CourseRecord record = new CourseRecord();
+			record.credits = readInt(fileReader, 3, "Invalid credits format.");
+			record.enrollmentCap = readInt(fileReader, 5, "Invalid enrollment capacity format.");
+			record.meetingDays = fileReader.getString(6, strings);
+			int fields = fileReader.getFieldCount();
+
+			if ("A".equals(record.meetingDays)) {
+				if (fields > 7) {
 					throw new IllegalArgumentException("Invalid meeting days format.");
 				}
-				course = new Course(name, title, section, credits, null, enrollmentCap, meetingDays);
+				record.arranged = true;
 			} else {
-				int startTime = readInt(readLine, "Invalid start time format.");
-				int endTime = readInt(readLine, "Invalid end time format.");
-				if (readLine.hasNext()) {
+				record.startTime = readInt(fileReader, 7, "Invalid start time format.");
+				record.endTime = readInt(fileReader, 8, "Invalid end time format.");
+				if (fields > 9) {
 					throw new IllegalArgumentException("Extra data after end time.");
 				}
-				course = new Course(name, title, section, credits, null, enrollmentCap, meetingDays, startTime,
-						endTime);
 			}
-
-			// Check for a Faculty with the given instructorId
-			if (instructorId != null) {
-				Faculty faculty = RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(instructorId);
-				if (faculty != null) {
-					faculty.getSchedule().addCourseToSchedule(course); // This will set the instructorId
-				}
-			}
-
-			return course;
+			record.name = fileReader.getString(0, strings);
+			record.title = fileReader.getString(1, strings);
+			record.section = fileReader.getString(2, strings);
+			record.instructorId = fileReader.getString(4, strings);
+			return record;
 		} catch (NoSuchElementException e) {
 			throw new IllegalArgumentException("Incomplete course data.", e);
-		} finally {
-			readLine.close();
 		}
 	}
 
 	/**
-	 * Helper method to read an integer from the Scanner with error checking.
+	 * Helper method to create a Course object from the fields of a record. The
+	 * Course is given no instructor, which is left to bindInstructor().
+	 * 
+	 * @param record the fields read from a line of the input file
+	 * @return a Course object with data extracted from the line
+	 */
+	private static Course readCourse(CourseRecord record) {
+		Course course;
+		if (record.arranged) {
+			course = new Course(record.name, record.title, record.section, record.credits, null,
+					record.enrollmentCap, record.meetingDays);
+		} else {
+			course = new Course(record.name, record.title, record.section, record.credits, null,
+					record.enrollmentCap, record.meetingDays, record.startTime, record.endTime);
+		}
+		return course;
+	}
+
+	/**
+	 * Helper method to read an integer field from the reader with error checking.
 	 * 
-	 * @param scanner      the Scanner to read from
+	 * @param fileReader   the reader positioned at the line to read from
+	 * @param index        the index of the field to read
 	 * @param errorMessage the error message to use if reading the integer fails
-	 * @return the next integer in the scanner
+	 * @return the integer value of the field
 	 */
-	private static int readInt(Scanner scanner, String errorMessage) {
-		if (!scanner.hasNextInt()) {
+	private static int readInt(RecordFields fileReader, int index, String errorMessage) {
+		if (!fileReader.hasInt(index)) {
 			throw new IllegalArgumentException(errorMessage);
 		}
-		return scanner.nextInt();
+		return fileReader.getInt(index);
 	}
 
 	/**
-	 * Writes the given list of Courses to a .txt file.
+	 * Writes the given list of Courses to a file. The file is only replaced once
+	 * every record has been written, so a failed write leaves it as it was.
 	 * 
 	 * @param fileName the file to write the schedule of Courses to
 	 * @param courses  the list of courses to write
+	 * @return the number of records and bytes written and how long they took
 	 * @throws IOException if the file cannot be written to
 	 */
-	public static void writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+	public static WriteStats writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
+		return writeCourseRecords(fileName, courses, false);
+	}
 
-		for (int i = 0; i < courses.size(); i++) {
-			fileWriter.println(courses.get(i).toString());
+	/**
+	 * Writes the given list of Courses to a file through a RecordWriter, which
+	 * writes them to a temporary file and renames it over the file once every
+	 * record has been written.
+	 * 
+	 * @param fileName the file to write the schedule of Courses to
+	 * @param courses  the list of courses to write
+	 * @param sync     true if the file is forced to disk before it replaces the
+	 *                 old file
+	 * @return the number of records and bytes written and how long they took
+	 * @throws IOException if the file cannot be written to
+	 */
+	public static WriteStats writeCourseRecords(String fileName, SortedList<Course> courses, boolean sync) throws IOException {
+		try (RecordWriter fileWriter = RecordWriter.open(fileName, sync)) {
+			for (int i = 0; i < courses.size(); i++) {
+				fileWriter.write(courses.get(i).toString());
+			}
+			return fileWriter.commit();
 		}
+	}
 
-		fileWriter.close();
+	/**
+	 * Fields of a course record, read before the record is turned into a Course.
+	 */
+	private static class CourseRecord {
+		/** Course name */
+		private String name;
+		/** Course title */
+		private String title;
+		/** Course section */
+		private String section;
+		/** Course credit hours */
+		private int credits;
+		/** Id of the course instructor */
+		private String instructorId;
+		/** Course enrollment capacity */
+		private int enrollmentCap;
+		/** Course meeting days */
+		private String meetingDays;
+		/** True if the course meeting days are arranged */
+		private boolean arranged;
+		/** Course start time */
+		private int startTime;
+		/** Course end time */
+		private int endTime;
+
+		/**
+		 * Replaces the text fields of the record with the equal Strings of the
+		 * given pool.
+		 * 
+		 * @param strings the pool to take the text from
+		 */
+		private void intern(StringPool strings) {
+			name = strings.intern(name);
+			title = strings.intern(title);
+			section = strings.intern(section);
+			instructorId = strings.intern(instructorId);
+			meetingDays = strings.intern(meetingDays);
+		}
 	}
 
 }
@@ -1,13 +1,13 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.InputMismatchException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
@@ -27,56 +27,81 @@ public class FacultyRecordIO {
      * @param fileName the file to read Faculty records from
      * @return a list of valid Faculty
      * @throws FileNotFoundException if the file cannot be found or read
+     * @throws IllegalArgumentException if the file cannot be read after it is opened
      */
     public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
-        Scanner fileReader = new Scanner(new FileInputStream(fileName));
-        LinkedList<Faculty> faculties = new LinkedList<Faculty>();
-        while (fileReader.hasNextLine()) {
-            try {
-                // Read a single line and construct a Faculty object from it
-                Faculty faculty = processFaculty(fileReader.nextLine());
-
-                // Check for duplicates
-                boolean duplicate = false;
-                for (int i = 0; i < faculties.size(); i++) {
-                    Faculty current = faculties.get(i);
-                    if (faculty.getFirstName().equals(current.getFirstName())
-                            && faculty.getLastName().equals(current.getLastName())) {
-                        duplicate = true;
-                        break;
-                    }
+        List<Faculty> faculties = new ArrayList<Faculty>();
+        try (RecordReader fileReader = RecordReader.open(fileName)) {
+            while (fileReader.nextLine()) {
+                try {
+                    // Construct a Faculty object from the current line
+                    faculties.add(processFaculty(fileReader));
+                } catch (IllegalArgumentException e) {
+                    // Ignore invalid records
                 }
+            }
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read file " + fileName, e);
+        }
+        return listFaculty(faculties);
+    }
 
-                // If not a duplicate, add the Faculty to the list
-                if (!duplicate) {
-                    faculties.add(faculty);
-                }
-            } catch (IllegalArgumentException e) {
-                // Ignore invalid records
+    /**
+     * Reads Faculty records from a file on the given pool and generates a list of
+     * valid Faculty. The file is parsed in chunks by ParallelRecordParser, and the
+     * Faculty read are the same as those readFacultyRecords(String) reads.
+     * 
+     * @param fileName the file to read Faculty records from
+     * @param pool     the pool to parse the file on
+     * @return a list of valid Faculty
+     * @throws FileNotFoundException if the file cannot be found or read
+     * @throws IllegalArgumentException if the file cannot be read after it is opened
+     */
+    public static LinkedList<Faculty> readFacultyRecords(String fileName, ForkJoinPool pool) throws FileNotFoundException {
+        return listFaculty(ParallelRecordParser.parse(fileName, FacultyRecordIO::processFaculty, pool));
+    }
+
+    /**
+     * Lists the Faculty read from a file, skipping any with the same first and
+     * last name as an earlier Faculty.
+     * 
+     * @param faculties the Faculty read, in the order of the file
+     * @return a list of the Faculty without duplicates
+     */
+    private static LinkedList<Faculty> listFaculty(List<Faculty> faculties) {
+        List<Faculty> unique = new ArrayList<Faculty>(faculties.size());
+        // First and last names of the Faculty read so far
+        Set<String> names = new HashSet<String>();
+        for (Faculty faculty : faculties) {
+            // If no earlier Faculty has the same name, add the Faculty to the list
+            if (names.add(faculty.getFirstName() + "," + faculty.getLastName())) {
+                unique.add(faculty);
             }
         }
-        fileReader.close();
-        return faculties;
+        // Faculty with different names are never equal, so none needs checking again
+        LinkedList<Faculty> list = new LinkedList<Faculty>();
+        list.appendDistinct(unique);
+        return list;
     }
 
     /**
-     * Processes Faculty information from a string and constructs a Faculty object.
+     * Processes Faculty information from the current line of the reader and
+     * constructs a Faculty object.
      *
-     * @param nextLine the string containing Faculty information
+     * @param fileReader the reader positioned at the line containing Faculty information
      * @return a Faculty object constructed from the provided information
-     * @throws InputMismatchException if the input does not match the expected format
-     * @throws FileNotFoundException  if the input string cannot be processed
+     * @throws IllegalArgumentException if the line does not match the expected format
      */
-    private static Faculty processFaculty(String nextLine) throws InputMismatchException, FileNotFoundException {
-        try (Scanner fileReader = new Scanner(nextLine)) {
-            fileReader.useDelimiter(",");
-
-            String firstName = fileReader.next();
-            String lastName = fileReader.next();
-            String id = fileReader.next();
-            String email = fileReader.next();
-            String password = fileReader.next();
-            int maxCourses = fileReader.nextInt();
+    private static Faculty processFaculty(RecordFields fileReader) {
+        try {
+            int maxCourses = fileReader.getInt(5);
+            String firstName = fileReader.getString(0);
+            String lastName = fileReader.getString(1);
+            String id = fileReader.getString(2);
+            String email = fileReader.getString(3);
+            String password = fileReader.getString(4);
 
             return new Faculty(firstName, lastName, id, email, password, maxCourses);
 
@@ -86,20 +111,38 @@ public class FacultyRecordIO {
     }
 
     /**
-     * Writes the given list of Faculty to a file.
+     * Writes the given list of Faculty to a file. The file is only replaced once
+     * every record has been written, so a failed write leaves it as it was.
      * 
      * @param fileName the file to write the list of Faculty to
      * @param faculties the list of Faculty members to write
+     * @return the number of records and bytes written and how long they took
      * @throws IOException if the file cannot be written to
      */
-    public static void writeFacultyRecords(String fileName, LinkedList<Faculty> faculties) throws IOException {
-        PrintStream fileWriter = new PrintStream(new File(fileName));
+    public static WriteStats writeFacultyRecords(String fileName, LinkedList<Faculty> faculties) throws IOException {
+        return writeFacultyRecords(fileName, faculties, false);
+    }
 
-        for (int i = 0; i < faculties.size(); i++) {
-            fileWriter.println(faculties.get(i).toString());
+    /**
+     * Writes the given list of Faculty to a file through a RecordWriter, which
+     * writes them to a temporary file and renames it over the file once every
+     * record has been written.
+     * 
+     * @param fileName the file to write the list of Faculty to
+     * @param faculties the list of Faculty members to write
+     * @param sync     true if the file is forced to disk before it replaces the
+     *                 old file
+     * @return the number of records and bytes written and how long they took
+     * @throws IOException if the file cannot be written to
+     */
+    public static WriteStats writeFacultyRecords(String fileName, LinkedList<Faculty> faculties, boolean sync) throws IOException {
+        try (RecordWriter fileWriter = RecordWriter.open(fileName, sync)) {
+            // Walk the list once rather than calling get(), which starts from the front each time
+            for (Faculty faculty : faculties) {
+                fileWriter.write(faculty.toString());
+            }
+            return fileWriter.commit();
         }
-
-        fileWriter.close();
     }
     
 }
@@ -0,0 +1,364 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of small binary records, each a type code and a few String
+ * fields. Records are only ever added to the end of the file, so writing one
+ * costs a short sequential write instead of rewriting a whole record file.
+ *
+ * Writing a record is split in two. append() encodes the record into a buffer
+ * in memory and returns its sequence number; commit() returns once the record
+ * with that number is in the file. Whichever thread commits first writes every
+ * record appended so far in one write, and any thread that appended while that
+ * write was running has its record written by the next commit along with all
+ * the others that arrived in the meantime. Many threads registering at once
+ * therefore share each write, and each force to disk when sync is on.
+ *
+ * Every record is framed by its length and a CRC32 checksum. When a journal is
+ * opened its records are read back in order, and a record cut short or
+ * garbled by a crash part way through a write ends the journal there; the
+ * damaged tail is cut off before new records are appended.
+ *
+ * @author Dania Swelam
+ */
+public class Journal implements Closeable {
+
+	/** Bytes at the start of every journal file */
+	private static final byte[] MAGIC = { 'P', 'S', 'J', '1' };
+	/** Number of bytes before the payload of a record: its length and checksum */
+	private static final int FRAME_SIZE = 8;
+	/** Initial number of bytes in each buffer of appended records */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	/** Most fields a record may have */
+	private static final int MAX_FIELDS = 255;
+	/** Most bytes a field may encode to */
+	private static final int MAX_FIELD_SIZE = 0xFFFF;
+	/** Channel to the journal file */
+	private final FileChannel channel;
+	/** True if every commit forces the file to disk */
+	private final boolean sync;
+	/** Checksum of the records being appended */
+	private final CRC32 checksum = new CRC32();
+	/** Held by the thread writing records to the file */
+	private final Object writeLock = new Object();
+	/** Records appended and not yet taken to be written */
+	private ByteBuffer pending;
+	/** Empty buffer swapped in for pending when its records are written */
+	private ByteBuffer spare;
+	/** Sequence number of the last record appended */
+	private long appended;
+	/** Sequence number of the last record written to the file */
+	private volatile long committed;
+	/** Number of writes made to the file */
+	private volatile long batches;
+	/** True once the journal has been closed */
+	private boolean closed;
+	/** Error that stopped records from being written, after which none are */
+	private IOException failure;
+
+	/**
+	 * Constructs a Journal that appends to the given channel.
+	 *
+	 * @param channel the channel to the journal file, positioned at its end
+	 * @param sync    true if every commit forces the file to disk
+	 */
+	private Journal(FileChannel channel, boolean sync) {
+		this.channel = channel;
+		this.sync = sync;
+		this.pending = ByteBuffer.allocate(BUFFER_SIZE);
+		this.spare = ByteBuffer.allocate(BUFFER_SIZE);
+	}
+
+	/**
+	 * Opens the journal file with the given name, creating it if it does not
+	 * exist. Every record already in the file is passed to replay in the order
+	 * it was appended before the journal is returned.
+	 *
+	 * @param fileName the journal file
+	 * @param sync     true if every commit forces the file to disk
+	 * @param replay   the consumer of the records already in the file
+	 * @return the journal, ready to append to
+	 * @throws IOException if the file cannot be read or written, or is not a
+	 *                     journal
+	 */
+	public static Journal open(String fileName, boolean sync, Consumer<? super JournalEntry> replay)
+			throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			long end = replay(channel, replay);
+			if (end < 0) {
+				channel.truncate(0);
+				channel.position(0);
+				ByteBuffer header = ByteBuffer.wrap(MAGIC);
+				while (header.hasRemaining()) {
+					channel.write(header);
+				}
+				if (sync) {
+					channel.force(true);
+				}
+			} else {
+				channel.truncate(end);
+				channel.position(end);
+			}
+			return new Journal(channel, sync);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads every whole record in a journal file and passes it to the consumer.
+	 *
+	 * @param channel the channel to the journal file
+	 * @param replay  the consumer of the records
+	 * @return the position after the last whole record, or -1 if the file does
+	 *         not yet have a header
+	 * @throws IOException if the file cannot be read or is not a journal
+	 */
+	private static long replay(FileChannel channel, Consumer<? super JournalEntry> replay) throws IOException {
+		long size = channel.size();
+		if (size < MAGIC.length) {
+			return -1;
+		}
+		channel.position(0);
+		// Not closed, which would close the channel
+		DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+		byte[] magic = new byte[MAGIC.length];
+		in.readFully(magic);
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (magic[i] != MAGIC[i]) {
+				throw new IOException("Not a journal file.");
+			}
+		}
+		long end = MAGIC.length;
+		CRC32 crc = new CRC32();
+		byte[] payload = new byte[256];
+		while (size - end >= FRAME_SIZE) {
+			int length = in.readInt();
+			int expected = in.readInt();
+			if (length < 2 || length > size - end - FRAME_SIZE) {
+				break;
+			}
+			if (length > payload.length) {
+				payload = new byte[Math.max(length, payload.length * 2)];
+			}
+			try {
+				in.readFully(payload, 0, length);
+			} catch (EOFException e) {
+				break;
+			}
+			crc.reset();
+			crc.update(payload, 0, length);
+			if ((int) crc.getValue() != expected) {
+				break;
+			}
+			JournalEntry entry = decode(payload, length);
+			if (entry == null) {
+				break;
+			}
+			replay.accept(entry);
+			end += FRAME_SIZE + length;
+		}
+		return end;
+	}
+
+	/**
+	 * Decodes the payload of a record.
+	 *
+	 * @param payload the bytes of the payload
+	 * @param length  the number of bytes in the payload
+	 * @return the record, or null if the payload is not a valid record
+	 */
+	private static JournalEntry decode(byte[] payload, int length) {
+		ByteBuffer in = ByteBuffer.wrap(payload, 0, length);
+		byte type = in.get();
+		String[] fields = new String[in.get() & 0xFF];
+		for (int i = 0; i < fields.length; i++) {
+			if (in.remaining() < 2) {
+				return null;
+			}
+			int size = in.getShort() & 0xFFFF;
+			if (in.remaining() < size) {
+				return null;
+			}
+			fields[i] = new String(payload, in.position(), size, StandardCharsets.UTF_8);
+			in.position(in.position() + size);
+		}
+		return in.hasRemaining() ? null : new JournalEntry(type, fields);
+	}
+
+	/**
+	 * Appends a record to the journal. The record is not in the file until
+	 * commit() has been called with the sequence number returned.
+	 *
+	 * @param type   the type of the record
+	 * @param fields the fields of the record
+	 * @return the sequence number of the record
+	 * @throws IllegalArgumentException if a field is null or too long, or there
+	 *                                  are too many fields
+	 * @throws IllegalStateException    if the journal is closed or could not be
+	 *                                  written
+	 */
+	public long append(byte type, String... fields) {
+		if (fields.length > MAX_FIELDS) {
+			throw new IllegalArgumentException("Too many fields.");
+		}
+		byte[][] bytes = new byte[fields.length][];
+		int length = 2;
+		for (int i = 0; i < fields.length; i++) {
+			if (fields[i] == null) {
+				throw new IllegalArgumentException("Invalid field.");
+			}
+			bytes[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+			if (bytes[i].length > MAX_FIELD_SIZE) {
+				throw new IllegalArgumentException("Invalid field.");
+			}
+			length += 2 + bytes[i].length;
+		}
+
+		synchronized (this) {
+			if (closed || failure != null) {
+				throw new IllegalStateException("Journal is closed.");
+			}
+			if (pending.remaining() < FRAME_SIZE + length) {
+				int capacity = Math.max(pending.capacity() * 2, pending.position() + FRAME_SIZE + length);
+				ByteBuffer grown = ByteBuffer.allocate(capacity);
+				pending.flip();
+				grown.put(pending);
+				pending = grown;
+			}
+			int start = pending.position();
+			pending.position(start + FRAME_SIZE);
+			pending.put(type);
+			pending.put((byte) fields.length);
+			for (byte[] field : bytes) {
+				pending.putShort((short) field.length);
+				pending.put(field);
+			}
+			checksum.reset();
+			checksum.update(pending.array(), start + FRAME_SIZE, length);
+			pending.putInt(start, length);
+			pending.putInt(start + 4, (int) checksum.getValue());
+			return ++appended;
+		}
+	}
+
+	/**
+	 * Waits until the record with the given sequence number, and every record
+	 * before it, has been written to the file, writing them if no other thread
+	 * is already doing so.
+	 *
+	 * @param sequence the sequence number returned by append()
+	 * @throws IOException if the records cannot be written
+	 */
+	public void commit(long sequence) throws IOException {
+		if (committed >= sequence) {
+			return;
+		}
+		synchronized (writeLock) {
+			if (committed < sequence) {
+				write();
+			}
+		}
+	}
+
+	/**
+	 * Writes every record appended so far to the file. The buffer of appended
+	 * records is swapped for the spare, so other threads keep appending while
+	 * the records are written.
+	 *
+	 * @throws IOException if the records cannot be written
+	 */
+	private void write() throws IOException {
+		ByteBuffer batch;
+		long last;
+		synchronized (this) {
+			if (failure != null) {
+				throw new IOException("Journal could not be written.", failure);
+			}
+			batch = pending;
+			pending = spare;
+			last = appended;
+		}
+		batch.flip();
+		if (batch.hasRemaining()) {
+			try {
+				while (batch.hasRemaining()) {
+					channel.write(batch);
+				}
+				if (sync) {
+					channel.force(false);
+				}
+			} catch (IOException e) {
+				synchronized (this) {
+					failure = e;
+				}
+				throw e;
+			}
+			batches++;
+		}
+		batch.clear();
+		spare = batch;
+		committed = last;
+	}
+
+	/**
+	 * Returns the number of records appended to the journal since it was
+	 * opened.
+	 *
+	 * @return the number of records appended
+	 */
+	public synchronized long getRecords() {
+		return appended;
+	}
+
+	/**
+	 * Returns the number of writes made to the file since the journal was
+	 * opened. Each write holds every record appended since the one before.
+	 *
+	 * @return the number of writes
+	 */
+	public long getBatches() {
+		return batches;
+	}
+
+	/**
+	 * Writes any records not yet committed and closes the journal.
+	 *
+	 * @throws IOException if the records cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (writeLock) {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+			}
+			try {
+				if (failure == null) {
+					write();
+				}
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+/**
+ * One record read back from a Journal: a type code chosen by whoever wrote it,
+ * followed by its fields.
+ *
+ * @author Dania Swelam
+ */
+public class JournalEntry {
+
+	/** Type of the record */
+	private final byte type;
+	/** Fields of the record */
+	private final String[] fields;
+
+	/**
+	 * Constructs a JournalEntry.
+	 *
+	 * @param type   the type of the record
+	 * @param fields the fields of the record
+	 */
+	public JournalEntry(byte type, String... fields) {
+		this.type = type;
+		this.fields = fields.clone();
+	}
+
+	/**
+	 * Returns the type of the record.
+	 *
+	 * @return the type
+	 */
+	public byte getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the number of fields in the record.
+	 *
+	 * @return the number of fields
+	 */
+	public int getFieldCount() {
+		return fields.length;
+	}
+
+	/**
+	 * Returns the field at the given index.
+	 *
+	 * @param index the index of the field
+	 * @return the field
+	 * @throws IndexOutOfBoundsException if the record has no field at the index
+	 */
+	public String getField(int index) {
+		if (index < 0 || index >= fields.length) {
+			throw new IndexOutOfBoundsException("Invalid field: " + index);
+		}
+		return fields[index];
+	}
+}
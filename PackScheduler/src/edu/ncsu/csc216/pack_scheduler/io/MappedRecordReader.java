@@ -0,0 +1,342 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
+/**
+ * Reads comma separated records from UTF-8 encoded bytes one line at a time,
+ * usually a file mapped into memory. Lines and fields are found by scanning
+ * the bytes in place, and nothing is decoded until a caller asks for a field,
+ * so a line that is skipped after looking at one field never has its other
+ * fields turned into characters or Strings.
+ *
+ * Lines end and fields are split exactly as RecordReader does it, so both
+ * readers return the same records from the same file. Commas, carriage
+ * returns and line feeds never appear inside a multi-byte UTF-8 character,
+ * so they can be found without decoding.
+ *
+ * @author Dania Swelam
+ */
+public class MappedRecordReader implements RecordFields {
+
+	/** Byte separating fields in a record */
+	private static final byte DELIMITER = ',';
+	/** Bytes holding the records */
+	private final ByteBuffer bytes;
+	/** Decoder for fields that are not plain ASCII */
+	private final CharsetDecoder decoder;
+	/** View of the chars of a field, reused for every call to getChars() */
+	private final FieldChars view;
+	/** Position of the first byte of the next line */
+	private int position;
+	/** Position of the first byte of the current line */
+	private int lineStart;
+	/** Position after the last byte of the current line */
+	private int lineEnd;
+	/** Start position of each field in the current line */
+	private int[] starts;
+	/** End position (exclusive) of each field in the current line */
+	private int[] ends;
+	/** Number of fields in the current line */
+	private int fields;
+	/** Chars of the last field decoded */
+	private char[] chars;
+
+	/**
+	 * Constructs a MappedRecordReader over the bytes from the position to the
+	 * limit of the given buffer.
+	 *
+	 * @param bytes the UTF-8 encoded records
+	 */
+	public MappedRecordReader(ByteBuffer bytes) {
+		if (bytes == null) {
+			throw new NullPointerException();
+		}
+		this.bytes = bytes.slice();
+		this.decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.view = new FieldChars();
+		this.starts = new int[16];
+		this.ends = new int[16];
+		this.chars = new char[128];
+	}
+
+	/**
+	 * Maps the file with the given name into memory and opens a reader over it.
+	 * The file is closed once it is mapped; the mapping itself is released when
+	 * the reader is no longer used.
+	 *
+	 * @param fileName the file to read records from
+	 * @return a MappedRecordReader over the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException           if the file cannot be mapped, or is 2 GB or
+	 *                               larger
+	 */
+	public static MappedRecordReader map(String fileName) throws IOException {
+		return new MappedRecordReader(mapFile(fileName));
+	}
+
+	/**
+	 * Maps the file with the given name into memory, read only.
+	 *
+	 * @param fileName the file to map
+	 * @return the bytes of the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException           if the file cannot be mapped, or is 2 GB or
+	 *                               larger
+	 */
+	public static ByteBuffer mapFile(String fileName) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("File too large to map: " + fileName);
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} catch (FileSystemException e) {
+			FileNotFoundException notFound = new FileNotFoundException(fileName);
+			notFound.initCause(e);
+			throw notFound;
+		}
+	}
+
+	/**
+	 * Advances to the next line and splits it into fields.
+	 *
+	 * @return true if a line was read, false if the end of the bytes was reached
+	 */
+	public boolean nextLine() {
+		int limit = bytes.limit();
+		if (position >= limit) {
+			return false;
+		}
+		int start = position;
+		int p = start;
+		int terminator = 0;
+		while (p < limit) {
+			terminator = terminatorAt(p, limit);
+			if (terminator > 0) {
+				break;
+			}
+			p++;
+		}
+		lineStart = start;
+		lineEnd = p;
+		split(start, p);
+		position = p + terminator;
+		// A carriage return followed by a line feed ends a single line
+		if (terminator == 1 && bytes.get(p) == '\r' && position < limit && bytes.get(position) == '\n') {
+			position++;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the length of the line terminator at the given position, or 0 if
+	 * there is none. The terminators are those java.util.Scanner.nextLine()
+	 * recognizes: a line feed, a carriage return, or U+0085, U+2028 or U+2029.
+	 *
+	 * @param p     the position to check
+	 * @param limit the end of the bytes
+	 * @return the number of bytes in the terminator, or 0
+	 */
+	private int terminatorAt(int p, int limit) {
+		byte b = bytes.get(p);
+		if (b == '\n' || b == '\r') {
+			return 1;
+		}
+		if (b == (byte) 0xC2 && p + 1 < limit && bytes.get(p + 1) == (byte) 0x85) {
+			return 2;
+		}
+		if (b == (byte) 0xE2 && p + 2 < limit && bytes.get(p + 1) == (byte) 0x80
+				&& (bytes.get(p + 2) == (byte) 0xA8 || bytes.get(p + 2) == (byte) 0xA9)) {
+			return 3;
+		}
+		return 0;
+	}
+
+	/**
+	 * Records the start and end of each field in a line.
+	 *
+	 * @param start the position of the first byte of the line
+	 * @param end   the position after the last byte of the line
+	 */
+	private void split(int start, int end) {
+		fields = 0;
+		int p = start;
+		while (true) {
+			if (p < end && bytes.get(p) == DELIMITER) {
+				p++;
+			}
+			if (p >= end) {
+				return;
+			}
+			int fieldStart = p;
+			while (p < end && bytes.get(p) != DELIMITER) {
+				p++;
+			}
+			if (fields == starts.length) {
+				int[] grownStarts = new int[fields * 2];
+				int[] grownEnds = new int[fields * 2];
+				System.arraycopy(starts, 0, grownStarts, 0, fields);
+				System.arraycopy(ends, 0, grownEnds, 0, fields);
+				starts = grownStarts;
+				ends = grownEnds;
+			}
+			starts[fields] = fieldStart;
+			ends[fields] = p;
+			fields++;
+		}
+	}
+
+	/**
+	 * Returns the whole current line, without its line terminator.
+	 *
+	 * @return the current line
+	 */
+	public String getLine() {
+		return decode(lineStart, lineEnd);
+	}
+
+	@Override
+	public int getFieldCount() {
+		return fields;
+	}
+
+	@Override
+	public String getString(int index) {
+		int length = decode(index);
+		return new String(chars, 0, length);
+	}
+
+	@Override
+	public String getString(int index, StringPool pool) {
+		int length = decode(index);
+		return pool.intern(chars, 0, length);
+	}
+
+	/**
+	 * Returns the chars of the field at the given index of the current line
+	 * without creating a String. The returned view is reused, and only holds
+	 * the field until the next call to a method of this reader.
+	 *
+	 * @param index the index of the field
+	 * @return the chars of the field
+	 * @throws NoSuchElementException if the line has no field at the index
+	 */
+	public CharSequence getChars(int index) {
+		view.length = decode(index);
+		return view;
+	}
+
+	@Override
+	public boolean hasInt(int index) {
+		return index >= 0 && index < fields && RecordReader.parseInt(chars, 0, decode(index)) != RecordReader.NOT_AN_INT;
+	}
+
+	@Override
+	public int getInt(int index) {
+		long value = RecordReader.parseInt(chars, 0, decode(index));
+		if (value == RecordReader.NOT_AN_INT) {
+			throw new InputMismatchException();
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Decodes the field at the given index into the chars buffer. Fields that
+	 * are plain ASCII, as nearly all are, are copied a byte at a time.
+	 *
+	 * @param index the index of the field
+	 * @return the number of chars in the field
+	 * @throws NoSuchElementException if the line has no field at the index
+	 */
+	private int decode(int index) {
+		if (index < 0 || index >= fields) {
+			throw new NoSuchElementException();
+		}
+		return decodeChars(starts[index], ends[index]);
+	}
+
+	/**
+	 * Decodes a range of the bytes as a String.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position after the last byte
+	 * @return the decoded String
+	 */
+	private String decode(int start, int end) {
+		int length = decodeChars(start, end);
+		return new String(chars, 0, length);
+	}
+
+	/**
+	 * Decodes a range of the bytes into the chars buffer.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position after the last byte
+	 * @return the number of chars decoded
+	 */
+	private int decodeChars(int start, int end) {
+		int length = end - start;
+		if (length > chars.length) {
+			chars = new char[Math.max(length, chars.length * 2)];
+		}
+		for (int i = 0; i < length; i++) {
+			byte b = bytes.get(start + i);
+			if (b < 0) {
+				CharBuffer out = CharBuffer.wrap(chars);
+				decoder.reset();
+				decoder.decode(bytes.slice(start, length), out, true);
+				decoder.flush(out);
+				return out.position();
+			}
+			chars[i] = (char) b;
+		}
+		return length;
+	}
+
+	/**
+	 * Chars of the last field decoded, seen as a CharSequence.
+	 */
+	private class FieldChars implements CharSequence {
+		/** Number of chars in the field */
+		private int length;
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= length) {
+				throw new IndexOutOfBoundsException();
+			}
+			return chars[index];
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return toString().substring(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, 0, length);
+		}
+	}
+}
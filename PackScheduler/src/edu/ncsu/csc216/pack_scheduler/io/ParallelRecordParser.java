@@ -0,0 +1,254 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Parses the lines of a record file on several threads at once. The file is
+ * mapped into memory and split into chunks that each end at a line feed, so no
+ * line is ever divided between two chunks. The chunks are parsed as tasks on a
+ * ForkJoinPool, each with its own MappedRecordReader, and their records are
+ * joined in the order of the chunks. The result is the records of the file in
+ * the same order a single reader would return them.
+ *
+ * The parser given for the lines must be safe to call from several threads.
+ * A parser that keeps state, such as a StringPool, can instead be made once
+ * for each chunk with parseChunks(), so no two threads ever share it. Lines it
+ * rejects with an IllegalArgumentException are left out, the same as
+ * the sequential readers do; removing duplicate records is left to the caller,
+ * which sees every record in file order.
+ *
+ * @author Dania Swelam
+ */
+public class ParallelRecordParser {
+
+	/** Number of bytes in each chunk, before it is extended to the end of a line */
+	public static final int CHUNK_SIZE = 256 * 1024;
+
+	/**
+	 * ParallelRecordParser only has static methods and is never constructed.
+	 */
+	private ParallelRecordParser() {
+		// Not used
+	}
+
+	/**
+	 * Parses every line of the file with the given name on the given pool.
+	 *
+	 * @param <T>      the type of record a line is parsed into
+	 * @param fileName the file to read records from
+	 * @param parser   the parser applied to the reader at each line
+	 * @param pool     the pool to parse the chunks of the file on
+	 * @return the records parsed, in the order of their lines in the file
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be mapped
+	 */
+	public static <T> List<T> parse(String fileName, Function<? super MappedRecordReader, ? extends T> parser,
+			ForkJoinPool pool) throws FileNotFoundException {
+		return parse(fileName, parser, pool, CHUNK_SIZE);
+	}
+
+	/**
+	 * Parses every line of the file with the given name on the given pool,
+	 * splitting the file into chunks of about the given size.
+	 *
+	 * @param <T>       the type of record a line is parsed into
+	 * @param fileName  the file to read records from
+	 * @param parser    the parser applied to the reader at each line
+	 * @param pool      the pool to parse the chunks of the file on
+	 * @param chunkSize the number of bytes in each chunk, before it is extended
+	 *                  to the end of a line
+	 * @return the records parsed, in the order of their lines in the file
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be mapped or the chunk
+	 *                                  size is not positive
+	 */
+	public static <T> List<T> parse(String fileName, Function<? super MappedRecordReader, ? extends T> parser,
+			ForkJoinPool pool, int chunkSize) throws FileNotFoundException {
+		return parseChunks(fileName, () -> parser, pool, chunkSize);
+	}
+
+	/**
+	 * Parses every line of the file with the given name on the given pool,
+	 * with a parser of its own for each chunk.
+	 *
+	 * @param <T>      the type of record a line is parsed into
+	 * @param fileName the file to read records from
+	 * @param parsers  the supplier of the parser for each chunk, called on the
+	 *                 thread that parses the chunk
+	 * @param pool     the pool to parse the chunks of the file on
+	 * @return the records parsed, in the order of their lines in the file
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be mapped
+	 */
+	public static <T> List<T> parseChunks(String fileName,
+			Supplier<? extends Function<? super MappedRecordReader, ? extends T>> parsers, ForkJoinPool pool)
+			throws FileNotFoundException {
+		return parseChunks(fileName, parsers, pool, CHUNK_SIZE);
+	}
+
+	/**
+	 * Parses every line of the file with the given name on the given pool,
+	 * splitting the file into chunks of about the given size and parsing each
+	 * chunk with a parser of its own.
+	 *
+	 * @param <T>       the type of record a line is parsed into
+	 * @param fileName  the file to read records from
+	 * @param parsers   the supplier of the parser for each chunk, called on the
+	 *                  thread that parses the chunk
+	 * @param pool      the pool to parse the chunks of the file on
+	 * @param chunkSize the number of bytes in each chunk, before it is extended
+	 *                  to the end of a line
+	 * @return the records parsed, in the order of their lines in the file
+	 * @throws FileNotFoundException    if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be mapped or the chunk
+	 *                                  size is not positive
+	 */
+	public static <T> List<T> parseChunks(String fileName,
+			Supplier<? extends Function<? super MappedRecordReader, ? extends T>> parsers, ForkJoinPool pool,
+			int chunkSize) throws FileNotFoundException {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Invalid chunk size.");
+		}
+		ByteBuffer bytes;
+		try {
+			bytes = MappedRecordReader.mapFile(fileName);
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName, e);
+		}
+
+		int[] bounds = split(bytes, chunkSize);
+		List<List<T>> chunks = new ArrayList<List<T>>(bounds.length - 1);
+		for (int i = 1; i < bounds.length; i++) {
+			chunks.add(null);
+		}
+		pool.invoke(new ChunkTask<T>(bytes, bounds, 0, bounds.length - 1, parsers, chunks));
+
+		int count = 0;
+		for (List<T> chunk : chunks) {
+			count += chunk.size();
+		}
+		List<T> records = new ArrayList<T>(count);
+		for (List<T> chunk : chunks) {
+			records.addAll(chunk);
+		}
+		return records;
+	}
+
+	/**
+	 * Finds the positions where the chunks of the bytes start. Each chunk after
+	 * the first starts just after the first line feed at least chunkSize bytes
+	 * into the chunk before it.
+	 *
+	 * @param bytes     the bytes to split
+	 * @param chunkSize the smallest number of bytes in a chunk other than the last
+	 * @return the start of every chunk, followed by the end of the bytes
+	 */
+	private static int[] split(ByteBuffer bytes, int chunkSize) {
+		int limit = bytes.limit();
+		int[] bounds = new int[] { 0, 0, 0, 0 };
+		int count = 1;
+		int p = chunkSize;
+		while (p < limit) {
+			while (p < limit && bytes.get(p - 1) != '\n') {
+				p++;
+			}
+			if (p >= limit) {
+				break;
+			}
+			if (count == bounds.length - 1) {
+				bounds = Arrays.copyOf(bounds, bounds.length * 2);
+			}
+			bounds[count++] = p;
+			p = (int) Math.min((long) p + chunkSize, limit);
+		}
+		bounds[count++] = limit;
+		return Arrays.copyOf(bounds, count);
+	}
+
+	/**
+	 * Parses the lines of a range of bytes with one reader.
+	 *
+	 * @param <T>    the type of record a line is parsed into
+	 * @param bytes  the bytes to parse
+	 * @param parser the parser applied to the reader at each line
+	 * @return the records parsed, in order
+	 */
+	private static <T> List<T> parseChunk(ByteBuffer bytes, Function<? super MappedRecordReader, ? extends T> parser) {
+		List<T> records = new ArrayList<T>();
+		MappedRecordReader reader = new MappedRecordReader(bytes);
+		while (reader.nextLine()) {
+			try {
+				records.add(parser.apply(reader));
+			} catch (IllegalArgumentException e) {
+				// Ignore invalid records
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Task that parses a range of chunks, splitting it in half until each task
+	 * has a single chunk.
+	 *
+	 * @param <T> the type of record a line is parsed into
+	 */
+	private static class ChunkTask<T> extends RecursiveAction {
+		/** Serial version for RecursiveAction's Serializable */
+		private static final long serialVersionUID = 1L;
+		/** Bytes of the whole file */
+		private final transient ByteBuffer bytes;
+		/** Start of every chunk, followed by the end of the bytes */
+		private final int[] bounds;
+		/** Index of the first chunk of the task */
+		private final int low;
+		/** Index after the last chunk of the task */
+		private final int high;
+		/** Supplier of the parser for each chunk */
+		private final transient Supplier<? extends Function<? super MappedRecordReader, ? extends T>> parsers;
+		/** Records of each chunk, set as each chunk is parsed */
+		private final transient List<List<T>> chunks;
+
+		/**
+		 * Constructs a task for the chunks from low up to high.
+		 *
+		 * @param bytes   the bytes of the whole file
+		 * @param bounds  the start of every chunk, followed by the end of the bytes
+		 * @param low     the index of the first chunk
+		 * @param high    the index after the last chunk
+		 * @param parsers the supplier of the parser for each chunk
+		 * @param chunks  the records of each chunk
+		 */
+		ChunkTask(ByteBuffer bytes, int[] bounds, int low, int high,
+				Supplier<? extends Function<? super MappedRecordReader, ? extends T>> parsers, List<List<T>> chunks) {
+			this.bytes = bytes;
+			this.bounds = bounds;
+			this.low = low;
+			this.high = high;
+			this.parsers = parsers;
+			this.chunks = chunks;
+		}
+
+		@Override
+		protected void compute() {
+			if (high - low == 1) {
+				ByteBuffer chunk = bytes.slice(bounds[low], bounds[high] - bounds[low]);
+				chunks.set(low, parseChunk(chunk, parsers.get()));
+				return;
+			}
+			int middle = (low + high) >>> 1;
+			invokeAll(new ChunkTask<T>(bytes, bounds, low, middle, parsers, chunks),
+					new ChunkTask<T>(bytes, bounds, middle, high, parsers, chunks));
+		}
+	}
+}
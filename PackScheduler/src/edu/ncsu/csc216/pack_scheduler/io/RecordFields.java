@@ -0,0 +1,63 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
+/**
+ * Fields of the current line of a comma separated record file. Readers of
+ * record files implement this so that a record can be parsed the same way
+ * whichever reader it comes from.
+ *
+ * @author Dania Swelam
+ */
+public interface RecordFields {
+
+	/**
+	 * Returns the number of fields in the current line.
+	 *
+	 * @return the number of fields
+	 */
+	int getFieldCount();
+
+	/**
+	 * Returns the field at the given index of the current line.
+	 *
+	 * @param index the index of the field
+	 * @return the field as a String
+	 * @throws NoSuchElementException if the line has no field at the index
+	 */
+	String getString(int index);
+
+	/**
+	 * Returns the field at the given index of the current line as the String
+	 * from the given pool, which is only created if the pool does not already
+	 * hold an equal String.
+	 *
+	 * @param index the index of the field
+	 * @param pool  the pool of Strings to take the field from
+	 * @return the pooled field
+	 * @throws NoSuchElementException if the line has no field at the index
+	 */
+	String getString(int index, StringPool pool);
+
+	/**
+	 * Returns true if the field at the given index of the current line is an int.
+	 *
+	 * @param index the index of the field
+	 * @return true if the field exists and holds an int
+	 */
+	boolean hasInt(int index);
+
+	/**
+	 * Returns the field at the given index of the current line as an int. An
+	 * optional sign followed by one or more decimal digits is accepted.
+	 *
+	 * @param index the index of the field
+	 * @return the value of the field
+	 * @throws NoSuchElementException if the line has no field at the index
+	 * @throws InputMismatchException if the field does not hold an int
+	 */
+	int getInt(int index);
+}
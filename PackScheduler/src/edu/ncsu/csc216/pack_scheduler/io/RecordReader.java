@@ -0,0 +1,307 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
+/**
+ * Reads comma separated records from a character stream one line at a time.
+ * The stream is read in large blocks, and the current line and the positions of
+ * its fields are kept in buffers that are reused for every line, so only the
+ * fields a caller asks for as Strings are ever allocated. Integer fields are
+ * parsed in place.
+ *
+ * Lines end at the same terminators java.util.Scanner.nextLine() recognizes,
+ * and fields are split the way a Scanner delimited by commas splits them: a
+ * single comma at the start or end of a line does not begin an empty field, but
+ * every other pair of adjacent commas does.
+ *
+ * @author Dania Swelam
+ */
+public class RecordReader implements Closeable, RecordFields {
+
+	/** Number of characters read from the stream at a time */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	/** Character separating fields in a record */
+	private static final char DELIMITER = ',';
+	/** Value parseInt returns for a field that does not hold an int */
+	static final long NOT_AN_INT = Long.MIN_VALUE;
+	/** Largest magnitude of an int, which is that of Integer.MIN_VALUE */
+	private static final long MAX_MAGNITUDE = -(long) Integer.MIN_VALUE;
+	/** Stream the records are read from */
+	private final Reader in;
+	/** Block of characters read from the stream */
+	private final char[] buffer;
+	/** Position of the next unread character in the buffer */
+	private int position;
+	/** Number of valid characters in the buffer */
+	private int limit;
+	/** True if the last line ended with a carriage return that may precede a line feed */
+	private boolean skipLineFeed;
+	/** Characters of the current line */
+	private char[] line;
+	/** Number of characters in the current line */
+	private int length;
+	/** Start offset of each field in the current line */
+	private int[] starts;
+	/** End offset (exclusive) of each field in the current line */
+	private int[] ends;
+	/** Number of fields in the current line */
+	private int fields;
+
+	/**
+	 * Constructs a RecordReader over the given character stream.
+	 *
+	 * @param in the stream to read records from
+	 */
+	public RecordReader(Reader in) {
+		if (in == null) {
+			throw new NullPointerException();
+		}
+		this.in = in;
+		this.buffer = new char[BUFFER_SIZE];
+		this.line = new char[128];
+		this.starts = new int[16];
+		this.ends = new int[16];
+	}
+
+	/**
+	 * Opens a RecordReader over the UTF-8 encoded file with the given name.
+	 *
+	 * @param fileName the file to read records from
+	 * @return a RecordReader over the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static RecordReader open(String fileName) throws FileNotFoundException {
+		return new RecordReader(new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Advances to the next line of the stream and splits it into fields.
+	 *
+	 * @return true if a line was read, false if the end of the stream was reached
+	 * @throws IOException if the stream cannot be read
+	 */
+	public boolean nextLine() throws IOException {
+		length = 0;
+		boolean read = false;
+		while (position < limit || fill()) {
+			char c = buffer[position++];
+			if (skipLineFeed) {
+				skipLineFeed = false;
+				if (c == '\n') {
+					continue;
+				}
+			}
+			read = true;
+			if (c == '\r') {
+				skipLineFeed = true;
+				split();
+				return true;
+			}
+			if (c == '\n' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+				split();
+				return true;
+			}
+			if (length == line.length) {
+				char[] grown = new char[line.length * 2];
+				System.arraycopy(line, 0, grown, 0, length);
+				line = grown;
+			}
+			line[length++] = c;
+		}
+		if (!read) {
+			return false;
+		}
+		split();
+		return true;
+	}
+
+	/**
+	 * Reads the next block of characters from the stream into the buffer.
+	 *
+	 * @return true if any characters were read
+	 * @throws IOException if the stream cannot be read
+	 */
+	private boolean fill() throws IOException {
+		int count = in.read(buffer, 0, buffer.length);
+		position = 0;
+		limit = count > 0 ? count : 0;
+		return limit > 0;
+	}
+
+	/**
+	 * Records the start and end of each field in the current line.
+	 */
+	private void split() {
+		fields = 0;
+		int p = 0;
+		while (true) {
+			if (p < length && line[p] == DELIMITER) {
+				p++;
+			}
+			if (p >= length) {
+				return;
+			}
+			int start = p;
+			while (p < length && line[p] != DELIMITER) {
+				p++;
+			}
+			if (fields == starts.length) {
+				int[] grownStarts = new int[fields * 2];
+				int[] grownEnds = new int[fields * 2];
+				System.arraycopy(starts, 0, grownStarts, 0, fields);
+				System.arraycopy(ends, 0, grownEnds, 0, fields);
+				starts = grownStarts;
+				ends = grownEnds;
+			}
+			starts[fields] = start;
+			ends[fields] = p;
+			fields++;
+		}
+	}
+
+	/**
+	 * Returns the number of fields in the current line.
+	 *
+	 * @return the number of fields
+	 */
+	@Override
+	public int getFieldCount() {
+		return fields;
+	}
+
+	/**
+	 * Returns the field at the given index of the current line.
+	 *
+	 * @param index the index of the field
+	 * @return the field as a String
+	 * @throws NoSuchElementException if the line has no field at the index
+	 */
+	@Override
+	public String getString(int index) {
+		checkField(index);
+		return new String(line, starts[index], ends[index] - starts[index]);
+	}
+
+	/**
+	 * Returns the field at the given index of the current line as the String
+	 * from the given pool, which is only created if the pool does not already
+	 * hold an equal String.
+	 *
+	 * @param index the index of the field
+	 * @param pool  the pool of Strings to take the field from
+	 * @return the pooled field
+	 * @throws NoSuchElementException if the line has no field at the index
+	 */
+	@Override
+	public String getString(int index, StringPool pool) {
+		checkField(index);
+		return pool.intern(line, starts[index], ends[index] - starts[index]);
+	}
+
+	/**
+	 * Returns true if the field at the given index of the current line is an int.
+	 *
+	 * @param index the index of the field
+	 * @return true if the field exists and holds an int
+	 */
+	@Override
+	public boolean hasInt(int index) {
+		return index >= 0 && index < fields && parseInt(index) != NOT_AN_INT;
+	}
+
+	/**
+	 * Returns the field at the given index of the current line as an int. An
+	 * optional sign followed by one or more decimal digits is accepted.
+	 *
+	 * @param index the index of the field
+	 * @return the value of the field
+	 * @throws NoSuchElementException if the line has no field at the index
+	 * @throws InputMismatchException if the field does not hold an int
+	 */
+	@Override
+	public int getInt(int index) {
+		checkField(index);
+		long value = parseInt(index);
+		if (value == NOT_AN_INT) {
+			throw new InputMismatchException();
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Parses the field at the given index without copying it.
+	 *
+	 * @param index the index of the field
+	 * @return the value of the field, or NOT_AN_INT if the field is not an int
+	 */
+	private long parseInt(int index) {
+		return parseInt(line, starts[index], ends[index]);
+	}
+
+	/**
+	 * Parses a range of a char array as an int.
+	 *
+	 * @param chars the array holding the text
+	 * @param start the index of the first char of the text
+	 * @param end   the index after the last char of the text
+	 * @return the value of the text, or NOT_AN_INT if the text is not an int
+	 */
+	static long parseInt(char[] chars, int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			return NOT_AN_INT;
+		}
+		long result = 0;
+		while (i < end) {
+			int digit = Character.digit(chars[i++], 10);
+			if (digit < 0) {
+				return NOT_AN_INT;
+			}
+			result = result * 10 + digit;
+			if (result > MAX_MAGNITUDE) {
+				return NOT_AN_INT;
+			}
+		}
+		if (negative) {
+			return -result;
+		}
+		return result > Integer.MAX_VALUE ? NOT_AN_INT : result;
+	}
+
+	/**
+	 * Checks that the current line has a field at the given index.
+	 *
+	 * @param index the index of the field
+	 * @throws NoSuchElementException if the line has no field at the index
+	 */
+	private void checkField(int index) {
+		if (index < 0 || index >= fields) {
+			throw new NoSuchElementException();
+		}
+	}
+
+	/**
+	 * Closes the underlying stream.
+	 *
+	 * @throws IOException if the stream cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
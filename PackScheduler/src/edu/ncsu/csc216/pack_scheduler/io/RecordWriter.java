@@ -0,0 +1,241 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes records to a file one line at a time, replacing the file only once
+ * every record has been written. Records are written to a temporary file next
+ * to the target, encoded as UTF-8 through a large buffer, and the temporary
+ * file is renamed over the target by commit(). A crash or an error part way
+ * through leaves the target as it was, and closing a writer that was never
+ * committed deletes the temporary file.
+ *
+ * With sync on, the temporary file is forced to disk before it is renamed and
+ * the directory is forced after, so the new file also survives the system
+ * losing power. Without it the rename is still atomic, but the operating
+ * system decides when the data reaches the disk.
+ *
+ * @author Dania Swelam
+ */
+public class RecordWriter implements Closeable {
+
+	/** Number of bytes encoded before they are written to the file */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	/** Line separator written after each record, as PrintStream.println() writes */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	/** File the records replace */
+	private final Path target;
+	/** Temporary file the records are written to */
+	private final Path temp;
+	/** Channel to the temporary file */
+	private final FileChannel channel;
+	/** True if the file is forced to disk before it replaces the target */
+	private final boolean sync;
+	/** Encoder of the records */
+	private final CharsetEncoder encoder;
+	/** Bytes encoded and not yet written */
+	private final ByteBuffer buffer;
+	/** Time the writer was opened, in nanoseconds */
+	private final long started;
+	/** Number of records written */
+	private int records;
+	/** Number of bytes written to the file */
+	private long bytes;
+	/** True once the temporary file has been renamed over the target */
+	private boolean committed;
+
+	/**
+	 * Constructs a RecordWriter for the given files.
+	 *
+	 * @param target  the file the records replace
+	 * @param temp    the temporary file the records are written to
+	 * @param channel the channel to the temporary file
+	 * @param sync    true if the file is forced to disk before it replaces the
+	 *                target
+	 */
+	private RecordWriter(Path target, Path temp, FileChannel channel, boolean sync) {
+		this.target = target;
+		this.temp = temp;
+		this.channel = channel;
+		this.sync = sync;
+		this.encoder = StandardCharsets.UTF_8.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		this.started = System.nanoTime();
+	}
+
+	/**
+	 * Opens a RecordWriter that replaces the file with the given name. The
+	 * temporary file is created in the same directory, so that it can be
+	 * renamed over the target.
+	 *
+	 * @param fileName the file the records replace
+	 * @param sync     true if the file is forced to disk before it replaces the
+	 *                 target
+	 * @return a RecordWriter for the file
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	public static RecordWriter open(String fileName, boolean sync) throws IOException {
+		Path target = Paths.get(fileName).toAbsolutePath();
+		String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+		Path temp = target.resolveSibling("." + target.getFileName() + "." + suffix + ".tmp");
+		FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		return new RecordWriter(target, temp, channel, sync);
+	}
+
+	/**
+	 * Writes a record followed by a line separator.
+	 *
+	 * @param record the record to write
+	 * @throws IOException           if the record cannot be written
+	 * @throws IllegalStateException if the writer has been committed or closed
+	 */
+	public void write(CharSequence record) throws IOException {
+		if (!channel.isOpen()) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+		encode(record);
+		encode(LINE_SEPARATOR);
+		records++;
+	}
+
+	/**
+	 * Writes a binary record as it is, without a line separator, for files
+	 * whose records are not lines of text.
+	 *
+	 * @param bytes  the array holding the record
+	 * @param offset the index of the first byte of the record
+	 * @param length the number of bytes in the record
+	 * @throws IOException               if the record cannot be written
+	 * @throws IllegalStateException     if the writer has been committed or closed
+	 * @throws IndexOutOfBoundsException if the range is not within the array
+	 */
+	public void write(byte[] bytes, int offset, int length) throws IOException {
+		if (!channel.isOpen()) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+		if (offset < 0 || length < 0 || offset > bytes.length - length) {
+			throw new IndexOutOfBoundsException();
+		}
+		while (length > 0) {
+			if (!buffer.hasRemaining()) {
+				drain();
+			}
+			int count = Math.min(length, buffer.remaining());
+			buffer.put(bytes, offset, count);
+			offset += count;
+			length -= count;
+		}
+		records++;
+	}
+
+	/**
+	 * Encodes text into the buffer, writing the buffer out whenever it fills.
+	 *
+	 * @param text the text to encode
+	 * @throws IOException if the buffer cannot be written
+	 */
+	private void encode(CharSequence text) throws IOException {
+		CharBuffer in = CharBuffer.wrap(text);
+		encoder.reset();
+		CoderResult result = encoder.encode(in, buffer, true);
+		while (result.isOverflow()) {
+			drain();
+			result = encoder.encode(in, buffer, true);
+		}
+		while (encoder.flush(buffer).isOverflow()) {
+			drain();
+		}
+	}
+
+	/**
+	 * Writes everything in the buffer to the file.
+	 *
+	 * @throws IOException if the buffer cannot be written
+	 */
+	private void drain() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			bytes += channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Finishes writing the records and renames the temporary file over the
+	 * target.
+	 *
+	 * @return the number of records and bytes written and how long they took
+	 * @throws IOException           if the records cannot be written or the file
+	 *                               cannot be renamed
+	 * @throws IllegalStateException if the writer has been committed or closed
+	 */
+	public WriteStats commit() throws IOException {
+		if (!channel.isOpen()) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+		try {
+			drain();
+			if (sync) {
+				channel.force(true);
+			}
+		} finally {
+			channel.close();
+		}
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		committed = true;
+		if (sync) {
+			syncDirectory(target.getParent());
+		}
+		return new WriteStats(records, bytes, System.nanoTime() - started);
+	}
+
+	/**
+	 * Forces a directory to disk, so that a file renamed into it stays renamed.
+	 * Not every platform can open a directory to force it, and those that
+	 * cannot already write renames through.
+	 *
+	 * @param directory the directory to force
+	 */
+	private static void syncDirectory(Path directory) {
+		try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+			dir.force(true);
+		} catch (IOException e) {
+			// The platform cannot force a directory
+		}
+	}
+
+	/**
+	 * Closes the writer. If it was never committed the temporary file is
+	 * deleted and the target is left as it was.
+	 *
+	 * @throws IOException if the temporary file cannot be deleted
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+		if (!committed) {
+			Files.deleteIfExists(temp);
+		}
+	}
+}
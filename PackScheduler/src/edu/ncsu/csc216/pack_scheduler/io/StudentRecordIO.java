@@ -1,16 +1,16 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.InputMismatchException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 /**
  * Reads Student records from text files and writes a set of Student records to a
@@ -28,56 +28,81 @@ public class StudentRecordIO {
      * @param fileName the file to read Student records from
      * @return a list of valid Students
      * @throws FileNotFoundException if the file cannot be found or read
+     * @throws IllegalArgumentException if the file cannot be read after it is opened
      */
     public static SortedList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
-        Scanner fileReader = new Scanner(new FileInputStream(fileName));
-        SortedList<Student> students = new SortedList<Student>();
-        while (fileReader.hasNextLine()) {
-            try {
-                // Read a single line and construct a Student object from it
-                Student student = processStudent(fileReader.nextLine());
-
-                // Check for duplicates
-                boolean duplicate = false;
-                for (int i = 0; i < students.size(); i++) {
-                    Student current = students.get(i);
-                    if (student.getFirstName().equals(current.getFirstName())
-                            && student.getLastName().equals(current.getLastName())) {
-                        duplicate = true;
-                        break;
-                    }
+        List<Student> students = new ArrayList<Student>();
+        try (RecordReader fileReader = RecordReader.open(fileName)) {
+            while (fileReader.nextLine()) {
+                try {
+                    // Construct a Student object from the current line
+                    students.add(processStudent(fileReader));
+                } catch (IllegalArgumentException e) {
+                    // Ignore invalid records
                 }
+            }
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read file " + fileName, e);
+        }
+        return sortStudents(students);
+    }
 
-                // If not a duplicate, add the student to the list
-                if (!duplicate) {
-                    students.add(student);
-                }
-            } catch (IllegalArgumentException e) {
-                // Ignore invalid records
+    /**
+     * Reads student records from a file on the given pool and generates a list of
+     * valid students. The file is parsed in chunks by ParallelRecordParser, and
+     * the Students read are the same as those readStudentRecords(String) reads.
+     * 
+     * @param fileName the file to read Student records from
+     * @param pool     the pool to parse the file on
+     * @return a list of valid Students
+     * @throws FileNotFoundException if the file cannot be found or read
+     * @throws IllegalArgumentException if the file cannot be read after it is opened
+     */
+    public static SortedList<Student> readStudentRecords(String fileName, ForkJoinPool pool) throws FileNotFoundException {
+        return sortStudents(ParallelRecordParser.parse(fileName, StudentRecordIO::processStudent, pool));
+    }
+
+    /**
+     * Sorts the Students read from a file, skipping any with the same first and
+     * last name as an earlier Student.
+     * 
+     * @param students the Students read, in the order of the file
+     * @return a list of the Students without duplicates
+     */
+    private static SortedList<Student> sortStudents(List<Student> students) {
+        List<Student> unique = new ArrayList<Student>(students.size());
+        // First and last names of the Students read so far
+        Set<String> names = new HashSet<String>();
+        for (Student student : students) {
+            // If no earlier Student has the same name, add the student to the list
+            if (names.add(student.getFirstName() + "," + student.getLastName())) {
+                unique.add(student);
             }
         }
-        fileReader.close();
-        return students;
+        // Sort the Students once instead of on every insert
+        SortedList<Student> sortedStudents = new SortedList<Student>();
+        sortedStudents.addAll(unique);
+        return sortedStudents;
     }
 
     /**
-     * Processes student information from a string and constructs a Student object.
+     * Processes student information from the current line of the reader and
+     * constructs a Student object.
      *
-     * @param nextLine the string containing Student information
+     * @param fileReader the reader positioned at the line containing Student information
      * @return a Student object constructed from the provided information
-     * @throws InputMismatchException if the input does not match the expected format
-     * @throws FileNotFoundException  if the input string cannot be processed
+     * @throws IllegalArgumentException if the line does not match the expected format
      */
-    private static Student processStudent(String nextLine) throws InputMismatchException, FileNotFoundException {
-        try (Scanner fileReader = new Scanner(nextLine)) {
-            fileReader.useDelimiter(",");
-
-            String firstName = fileReader.next();
-            String lastName = fileReader.next();
-            String id = fileReader.next();
-            String email = fileReader.next();
-            String password = fileReader.next();
-            int maxCredits = fileReader.nextInt();
+    private static Student processStudent(RecordFields fileReader) {
+        try {
+            int maxCredits = fileReader.getInt(5);
+            String firstName = fileReader.getString(0);
+            String lastName = fileReader.getString(1);
+            String id = fileReader.getString(2);
+            String email = fileReader.getString(3);
+            String password = fileReader.getString(4);
 
             return new Student(firstName, lastName, id, email, password, maxCredits);
 
@@ -87,20 +112,37 @@ public class StudentRecordIO {
     }
 
     /**
-     * Writes the given list of Students to a file.
+     * Writes the given list of Students to a file. The file is only replaced once
+     * every record has been written, so a failed write leaves it as it was.
      * 
      * @param fileName the file to write the list of Students to
      * @param students the list of Students to write
+     * @return the number of records and bytes written and how long they took
      * @throws IOException if the file cannot be written to
      */
-    public static void writeStudentRecords(String fileName, SortedList<Student> students) throws IOException {
-        PrintStream fileWriter = new PrintStream(new File(fileName));
+    public static WriteStats writeStudentRecords(String fileName, SortedList<Student> students) throws IOException {
+        return writeStudentRecords(fileName, students, false);
+    }
 
-        for (int i = 0; i < students.size(); i++) {
-            fileWriter.println(students.get(i).toString());
+    /**
+     * Writes the given list of Students to a file through a RecordWriter, which
+     * writes them to a temporary file and renames it over the file once every
+     * record has been written.
+     * 
+     * @param fileName the file to write the list of Students to
+     * @param students the list of Students to write
+     * @param sync     true if the file is forced to disk before it replaces the
+     *                 old file
+     * @return the number of records and bytes written and how long they took
+     * @throws IOException if the file cannot be written to
+     */
+    public static WriteStats writeStudentRecords(String fileName, SortedList<Student> students, boolean sync) throws IOException {
+        try (RecordWriter fileWriter = RecordWriter.open(fileName, sync)) {
+            for (int i = 0; i < students.size(); i++) {
+                fileWriter.write(students.get(i).toString());
+            }
+            return fileWriter.commit();
         }
-
-        fileWriter.close();
     }
     
 }
@@ -0,0 +1,78 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+/**
+ * Number of records and bytes a RecordWriter wrote and how long it took, from
+ * opening the file until it replaced its target.
+ *
+ * @author Dania Swelam
+ */
+public class WriteStats {
+
+	/** Number of records written */
+	private final int records;
+	/** Number of bytes written */
+	private final long bytes;
+	/** Time taken, in nanoseconds */
+	private final long nanos;
+
+	/**
+	 * Constructs WriteStats.
+	 *
+	 * @param records the number of records written
+	 * @param bytes   the number of bytes written
+	 * @param nanos   the time taken, in nanoseconds
+	 */
+	public WriteStats(int records, long bytes, long nanos) {
+		this.records = records;
+		this.bytes = bytes;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Returns the number of records written.
+	 *
+	 * @return the number of records
+	 */
+	public int getRecords() {
+		return records;
+	}
+
+	/**
+	 * Returns the number of bytes written.
+	 *
+	 * @return the number of bytes
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Returns the time taken, in nanoseconds.
+	 *
+	 * @return the time taken
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * Returns the rate the bytes were written at, in megabytes (a million
+	 * bytes) per second.
+	 *
+	 * @return the throughput in MB/s, or 0 if no time was taken
+	 */
+	public double getMegabytesPerSecond() {
+		return nanos <= 0 ? 0 : bytes * 1000.0 / nanos;
+	}
+
+	/**
+	 * Returns the statistics as a line of text.
+	 *
+	 * @return the records, bytes, time and throughput
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d records, %d bytes in %.1f ms (%.1f MB/s)", records, bytes, nanos / 1e6,
+				getMegabytesPerSecond());
+	}
+}
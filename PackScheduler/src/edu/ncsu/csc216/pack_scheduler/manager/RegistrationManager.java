@@ -3,60 +3,269 @@ package edu.ncsu.csc216.pack_scheduler.manager;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.Journal;
+import edu.ncsu.csc216.pack_scheduler.io.JournalEntry;
+import edu.ncsu.csc216.pack_scheduler.io.WriteStats;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.PasswordHasher;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.LazyLoader;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.StripedLock;
 
 /**
  * Manages the registration of users, including the course catalog, student
  * directory, and user login. Handles the operations related to course enrollment
  * and schedule management. Implements the singleton design pattern.
  * 
+ * Any number of users may be logged in at once through sessions. A session is
+ * opened with openSession(), which returns a token that is passed to the
+ * session versions of the registration operations. The GUI's single current
+ * user is kept separately and is managed by login() and logout().
+ * 
+ * Registration operations lock only the users and courses they change, so
+ * operations on different courses and students run in parallel. A change to
+ * a course's roll is passed on to the catalog's listeners while the course is
+ * locked, so a view of the catalog redoes only that course's row.
+ * 
+ * The course catalog, student directory, and faculty directory are each loaded
+ * from their record file the first time they are used, so a caller that only
+ * needs the catalog never reads the student records. Loading the catalog loads
+ * the faculty directory first, to bind each course to its instructor, but
+ * loading either directory loads nothing else. The files are named by
+ * the course.records, student.records, and faculty.records properties, which
+ * default to the files in test-files; an empty name starts that data empty.
+ * When the preload property is true, all three are loaded on a background
+ * thread as soon as the manager is created, directories first, so the first
+ * login waits for at most the directories rather than the catalog.
+ * 
+ * Every change to a roll or schedule may also be recorded in a journal, which
+ * is replayed on top of the record files when the manager starts, so that
+ * registrations survive a restart. The journal is opened at startup when the
+ * properties file names one with the journal property, or by openJournal().
+ * Each change appends a record while its users and courses are locked, before
+ * any of them is changed, and waits for the record to be written once they are
+ * unlocked, so changes made at the same time share a single write. A journal
+ * named by the properties file is opened, and replayed, the first time any of
+ * the data is used.
+ * 
+ * Data is loaded from its record file before the manager is locked, never
+ * while it is, and loading takes no lock on the manager, so a thread loading
+ * data never waits for a thread opening the journal or taking a snapshot.
+ * 
+ * Every registration operation fails the same way when the journal does. If
+ * its record cannot be appended, it throws an IllegalArgumentException and
+ * changes nothing. If the record cannot be written, the change has already
+ * been made and the operation throws the same exception once its locks are
+ * released; the journal then refuses every later record, so no change is
+ * made after it until the journal is opened again.
+ * 
+ * When a snapshot file is also named, by the snapshot property or through
+ * openJournal(), the manager starts from the snapshot instead of the record
+ * files and replays only the journal records written since it was taken.
+ * saveSnapshot() takes a snapshot with every user and course locked, starts a
+ * new journal, and writes the snapshot on a background thread; journals the
+ * snapshot holds the records of are then deleted. The snapshot.interval
+ * property takes a snapshot every so many seconds.
+ * 
+ * Adding or removing a single course, student, or faculty is journaled too,
+ * once the change has been made, so if its record cannot be appended the
+ * change stays made and the exception is thrown after it. Replacing the
+ * catalog or a directory, such as by loading a file, is not journaled; the
+ * next periodic snapshot holds it instead. A record file written after the
+ * snapshot was taken holds newer data than the snapshot does, so that data is
+ * loaded from the record file and the registrations the snapshot holds are
+ * made again on it.
+ * 
  * @author Dania Swelam
  */
 public class RegistrationManager {
 
-    /** Hashing algorithm used for password encryption */
-    private static final String HASH_ALGORITHM = "SHA-256";
     /** Properties file containing registrar details */
     private static final String PROP_FILE = "registrar.properties";
+    /** Number of random bytes in a session token */
+    private static final int TOKEN_BYTES = 24;
+    /** Number of locks shared by all students, faculty, and courses */
+    private static final int LOCK_STRIPES = 1024;
+    /** Source of session tokens */
+    private static final SecureRandom TOKEN_SOURCE = new SecureRandom();
+    /** Course records loaded when the properties file does not name a file */
+    private static final String COURSE_RECORDS = "test-files/course_records.txt";
+    /** Student records loaded when the properties file does not name a file */
+    private static final String STUDENT_RECORDS = "test-files/student_records.txt";
+    /** Faculty records loaded when the properties file does not name a file */
+    private static final String FACULTY_RECORDS = "test-files/faculty_records.txt";
+    /** Journal record of a student enrolling in a course */
+    private static final byte ENROLL = 1;
+    /** Journal record of a student dropping a course */
+    private static final byte DROP = 2;
+    /** Journal record of a student leaving a course as their schedule is reset */
+    private static final byte WITHDRAW = 3;
+    /** Journal record of a student's schedule being reset */
+    private static final byte RESET = 4;
+    /** Journal record of a faculty being assigned a course */
+    private static final byte ASSIGN = 5;
+    /** Journal record of a faculty being removed from a course */
+    private static final byte UNASSIGN = 6;
+    /** Journal record of a faculty's schedule being reset */
+    private static final byte RESET_FACULTY = 7;
+    /** Journal record of a course being added to the catalog */
+    private static final byte ADD_COURSE = 8;
+    /** Journal record of a course being removed from the catalog */
+    private static final byte REMOVE_COURSE = 9;
+    /** Journal record of a student being added to the directory */
+    private static final byte ADD_STUDENT = 10;
+    /** Journal record of a student being removed from the directory */
+    private static final byte REMOVE_STUDENT = 11;
+    /** Journal record of a faculty being added to the directory */
+    private static final byte ADD_FACULTY = 12;
+    /** Journal record of a faculty being removed from the directory */
+    private static final byte REMOVE_FACULTY = 13;
     /** Singleton instance of RegistrationManager */
-    private static RegistrationManager instance;
+    private static volatile RegistrationManager instance;
     /** The registrar user */
     private Registrar registrar;
     /** The current logged in user */
-    private User currentUser;
+    private volatile User currentUser;
+    /** Logged in users by session token */
+    private final Map<String, User> sessions = new ConcurrentHashMap<String, User>();
+    /** Locks held while the schedules of users and the rolls of courses are changed */
+    private final StripedLock locks = new StripedLock(LOCK_STRIPES);
     /** The course catalog */
-    private CourseCatalog courseCatalog;
+    private final CourseCatalog courseCatalog;
     /** The student directory */
-    private StudentDirectory studentDirectory;
+    private final StudentDirectory studentDirectory;
     /** The faculty directory */
-    private FacultyDirectory facultyDirectory;
+    private final FacultyDirectory facultyDirectory;
+    /** Loads the course catalog from its record file when first used */
+    private final LazyLoader courseLoad;
+    /** Loads the student directory from its record file when first used */
+    private final LazyLoader studentLoad;
+    /** Loads the faculty directory from its record file when first used */
+    private final LazyLoader facultyLoad;
+    /**
+     * Opens the journal named by the properties file when any data is first
+     * used. Every load goes through it first, so no data is seen before the
+     * journal has been replayed onto it. It is only run with the manager
+     * locked, by openConfiguredJournal().
+     */
+    private final LazyLoader journalLoad;
+    /** Snapshot file named by the properties file, or null if there is none */
+    private final String configuredSnapshot;
+    /** Journal of registration changes, or null if changes are not journaled */
+    private volatile Journal journal;
+    /** Name of the journal file */
+    private String journalFile;
+    /** True if each change waits for the journal to be forced to disk */
+    private boolean journalSync;
+    /** Name of the snapshot file, or null if snapshots are not taken */
+    private String snapshotFile;
+    /**
+     * Generation of the journal being appended to. Each snapshot starts a new
+     * generation, and the journals of earlier generations are kept beside the
+     * journal file, numbered by generation, until a snapshot holds them.
+     */
+    private long generation;
+    /** Course record file, or an empty name if the catalog starts empty */
+    private final String courseRecords;
+    /** Student record file, or an empty name if the directory starts empty */
+    private final String studentRecords;
+    /** Faculty record file, or an empty name if the directory starts empty */
+    private final String facultyRecords;
+    /**
+     * True if the catalog or a directory has been replaced since the last
+     * snapshot was taken. Set by whatever thread replaced it, without locking.
+     */
+    private volatile boolean snapshotPending;
+    /** Thread that preloads data and writes snapshots, created when first needed */
+    private ScheduledExecutorService background;
+    /** Periodic snapshot task, or null if snapshots are only taken when asked for */
+    private ScheduledFuture<?> snapshotTask;
 
     /**
-     * Private constructor to create a new RegistrationManager. Initializes the
-     * registrar, course catalog, student directory, and faculty directory.
+     * Private constructor to create a new RegistrationManager from the
+     * properties file.
      */
     private RegistrationManager() {
+        this(loadProperties());
+    }
+
+    /**
+     * Constructs a RegistrationManager from the given properties. Initializes
+     * the registrar and an empty course catalog, student directory, and faculty
+     * directory, which are loaded from their record files, and the journal
+     * replayed if the properties name one, when they are first used. Used by
+     * getInstance(), and by tests that need a manager of their own.
+     * 
+     * @param prop the properties, as read from the properties file
+     * @throws IllegalArgumentException if the password property is missing
+     */
+    RegistrationManager(Properties prop) {
         currentUser = null;
-        createRegistrar();
+        createRegistrar(prop);
         courseCatalog = new CourseCatalog();
         studentDirectory = new StudentDirectory();
         facultyDirectory = new FacultyDirectory();
-        studentDirectory.loadStudentsFromFile("test-files/student_records.txt");
-        facultyDirectory.loadFacultyFromFile("test-files/faculty_records.txt");
-        courseCatalog.loadCoursesFromFile("test-files/course_records.txt");
+        courseRecords = prop.getProperty("course.records", COURSE_RECORDS);
+        studentRecords = prop.getProperty("student.records", STUDENT_RECORDS);
+        facultyRecords = prop.getProperty("faculty.records", FACULTY_RECORDS);
+        courseLoad = new LazyLoader(courseRecords.isEmpty() ? null : this::loadCourseRecords);
+        studentLoad = new LazyLoader(studentRecords.isEmpty() ? null : this::loadStudentRecords);
+        facultyLoad = new LazyLoader(facultyRecords.isEmpty() ? null : this::loadFacultyRecords);
+        courseCatalog.addListChangeListener(new JournalOnChange<Course>(ADD_COURSE, REMOVE_COURSE, this::courseAt,
+                RegistrationManager::courseFields, c -> new String[] { c.getName(), c.getSection() }));
+        studentDirectory.addListChangeListener(new JournalOnChange<Student>(ADD_STUDENT, REMOVE_STUDENT,
+                this::studentAt, RegistrationManager::studentFields, s -> new String[] { s.getId() }));
+        facultyDirectory.addListChangeListener(new JournalOnChange<Faculty>(ADD_FACULTY, REMOVE_FACULTY,
+                this::facultyAt, RegistrationManager::facultyFields, f -> new String[] { f.getId() }));
+
+        String journal = prop.getProperty("journal");
+        String snapshot = prop.getProperty("snapshot");
+        configuredSnapshot = journal == null ? null : snapshot;
+        if (journal == null) {
+            journalLoad = new LazyLoader(null);
+        } else {
+            boolean sync = !"false".equalsIgnoreCase(prop.getProperty("journal.sync"));
+            String interval = prop.getProperty("snapshot.interval");
+            journalLoad = new LazyLoader(() -> {
+                replayJournal(journal, snapshot, sync);
+                if (snapshot != null && interval != null) {
+                    scheduleSnapshots(Long.parseLong(interval), TimeUnit.SECONDS);
+                }
+            });
+        }
+        if (Boolean.parseBoolean(prop.getProperty("preload"))) {
+            background().execute(this::preload);
+        }
     }
 
     /**
@@ -65,82 +274,181 @@ public class RegistrationManager {
      * @return instance the singleton instance
      */
     public static RegistrationManager getInstance() {
-        if (instance == null) {
-            instance = new RegistrationManager();
+        RegistrationManager manager = instance;
+        if (manager == null) {
+            synchronized (RegistrationManager.class) {
+                manager = instance;
+                if (manager == null) {
+                    manager = new RegistrationManager();
+                    instance = manager;
+                }
+            }
         }
-        return instance;
+        return manager;
     }
 
     /**
-     * Creates the registrar user by reading properties from the properties file.
+     * Reads the properties file.
      * 
-     * @throws IllegalArgumentException if the registrar properties file cannot be read or 
-     *                                  if the password property is missing
+     * @return the properties
+     * @throws IllegalArgumentException if the registrar properties file cannot be read
      */
-    private void createRegistrar() {
+    private static Properties loadProperties() {
         Properties prop = new Properties();
-
         try (InputStream input = new FileInputStream(PROP_FILE)) {
             prop.load(input);
-
-            String password = prop.getProperty("pw");
-            if (password == null) {
-                throw new IllegalArgumentException("Password property is missing in registrar.properties file.");
-            }
-
-            String hashPW = hashPW(password);
-
-            registrar = new Registrar(prop.getProperty("first"), prop.getProperty("last"), prop.getProperty("id"),
-                    prop.getProperty("email"), hashPW);
         } catch (IOException e) {
             throw new IllegalArgumentException("Cannot create registrar.", e);
         }
+        return prop;
     }
 
     /**
-     * Hashes the given password using the specified hashing algorithm.
+     * Creates the registrar user from the properties file.
      * 
-     * @param pw the password to hash
-     * @return the hashed password
-     * @throws IllegalArgumentException if the hashing algorithm is not found
+     * @param prop the properties read from the properties file
+     * @throws IllegalArgumentException if the password property is missing
      */
-    private String hashPW(String pw) {
-        try {
-            MessageDigest digest1 = MessageDigest.getInstance(HASH_ALGORITHM);
-            digest1.update(pw.getBytes());
-            return Base64.getEncoder().encodeToString(digest1.digest());
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalArgumentException("Cannot hash password", e);
+    private void createRegistrar(Properties prop) {
+        String password = prop.getProperty("pw");
+        if (password == null) {
+            throw new IllegalArgumentException("Password property is missing in registrar.properties file.");
         }
+
+        String hashPW = PasswordHasher.hash(password);
+
+        registrar = new Registrar(prop.getProperty("first"), prop.getProperty("last"), prop.getProperty("id"),
+                prop.getProperty("email"), hashPW);
     }
 
     /**
-     * Returns the course catalog.
+     * Returns the course catalog, loading it first if it has not been used yet.
      * 
      * @return the course catalog
+     * @throws IllegalArgumentException if the catalog or journal cannot be loaded
      */
     public CourseCatalog getCourseCatalog() {
+        load(courseLoad);
         return courseCatalog;
     }
 
     /**
-     * Returns the student directory.
+     * Returns the student directory, loading it first if it has not been used
+     * yet.
      * 
      * @return the student directory
+     * @throws IllegalArgumentException if the directory or journal cannot be loaded
      */
     public StudentDirectory getStudentDirectory() {
+        load(studentLoad);
         return studentDirectory;
     }
 
     /**
-     * Returns the faculty directory.
+     * Returns the faculty directory, loading it first if it has not been used
+     * yet.
      * 
      * @return the faculty directory
+     * @throws IllegalArgumentException if the directory or journal cannot be loaded
      */
     public FacultyDirectory getFacultyDirectory() {
+        load(facultyLoad);
         return facultyDirectory;
     }
 
+    /**
+     * Loads the course catalog from the course record file, binding each course
+     * to its instructor in the faculty directory, which is loaded first.
+     */
+    private void loadCourseRecords() {
+        facultyLoad.load();
+        loadCourses();
+    }
+
+    /**
+     * Loads the course catalog from the course record file, binding each course
+     * to its instructor in the faculty directory as it is now.
+     */
+    private void loadCourses() {
+        courseCatalog.loadCoursesFromFile(courseRecords, facultyDirectory::getFacultyById);
+    }
+
+    /**
+     * Loads the student directory from the student record file.
+     */
+    private void loadStudentRecords() {
+        studentDirectory.loadStudentsFromFile(studentRecords);
+    }
+
+    /**
+     * Loads the faculty directory from the faculty record file.
+     */
+    private void loadFacultyRecords() {
+        facultyDirectory.loadFacultyFromFile(facultyRecords);
+    }
+
+    /**
+     * Runs the given load, and the journal's before it, if they have not run.
+     * 
+     * @param data the load of the data about to be used
+     */
+    private void load(LazyLoader data) {
+        openConfiguredJournal();
+        data.load();
+    }
+
+    /**
+     * Opens the journal named by the properties file, if it has not been
+     * opened. The data it is replayed onto is made ready first, without the
+     * manager locked, and the journal is then opened with it locked, so the
+     * manager is always locked before journalLoad and never waited for by a
+     * thread running a load.
+     */
+    private void openConfiguredJournal() {
+        if (!journalLoad.isLoaded()) {
+            prepareData(configuredSnapshot);
+            synchronized (this) {
+                journalLoad.load();
+            }
+        }
+    }
+
+    /**
+     * Makes the data ready for a journal to be replayed onto, before the
+     * manager is locked to replay it. Data not yet loaded is loaded, unless the
+     * snapshot with the given name exists and replaces it, in which case its
+     * loads are skipped once any that are running have finished.
+     * 
+     * @param snapshotFile the snapshot file, or null if there is none
+     * @throws IllegalArgumentException if the data cannot be loaded
+     */
+    private void prepareData(String snapshotFile) {
+        if (snapshotFile != null && Files.exists(Paths.get(snapshotFile))) {
+            studentLoad.skip();
+            facultyLoad.skip();
+            courseLoad.skip();
+        } else {
+            studentLoad.load();
+            facultyLoad.load();
+            courseLoad.load();
+        }
+    }
+
+    /**
+     * Loads all of the data. Run on the background thread when the preload
+     * property is set. The directories are loaded before the catalog since
+     * logging in needs only them.
+     */
+    private void preload() {
+        try {
+            getStudentDirectory();
+            getFacultyDirectory();
+            getCourseCatalog();
+        } catch (IllegalArgumentException e) {
+            // Loaded again, and the error reported, when the data is first used
+        }
+    }
+
     /**
      * Logs in a user with the given id and password.
      * 
@@ -157,48 +465,24 @@ public class RegistrationManager {
             return false; // Only one user can be logged in at a time
         }
 
-        String localHashPW = hashPW(password);
-
-        // Check if the ID matches the registrar's ID
-        if (id.equals(registrar.getId())) {
-            if (localHashPW.equals(registrar.getPassword())) {
-                currentUser = registrar;
-                return true;
-            } else {
-                return false;
-            }
-        }
-
-        // Check if the ID matches a student in the directory
-        Student s = studentDirectory.getStudentById(id);
-        if (s != null) {
-            if (localHashPW.equals(s.getPassword())) {
-                currentUser = s;
-                return true;
-            } else {
-                return false;
-            }
+        // Authenticated before locking, since it may wait for the directories to load
+        User user = authenticate(id, password);
+        if (user == null) {
+            return false;
         }
-
-        // Check if the ID matches a faculty in the directory
-        Faculty f = facultyDirectory.getFacultyById(id);
-        if (f != null) {
-            if (localHashPW.equals(f.getPassword())) {
-                currentUser = f;
-                return true;
-            } else {
+        synchronized (this) {
+            if (currentUser != null) {
                 return false;
             }
+            currentUser = user;
+            return true;
         }
-
-        // If the ID doesn't match any user, throw an IllegalArgumentException
-        throw new IllegalArgumentException("User doesn't exist.");
     }
 
     /**
      * Logs out the current user.
      */
-    public void logout() {
+    public synchronized void logout() {
         currentUser = null;
     }
 
@@ -212,14 +496,270 @@ public class RegistrationManager {
     }
 
     /**
-     * Clears the data in the course catalog, student directory, and faculty directory.
+     * Opens a new session for the user with the given id and password. Unlike
+     * login(), a session may be opened while other users are logged in, and the
+     * same user may have several sessions open at once.
+     * 
+     * @param id       the user id
+     * @param password the user password
+     * @return the session token, or null if the password is incorrect
+     * @throws IllegalArgumentException if the id or password is null or if the id
+     *                                  does not match any user
+     */
+    public String openSession(String id, String password) {
+        User user = authenticate(id, password);
+        if (user == null) {
+            return null;
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        String session;
+        do {
+            TOKEN_SOURCE.nextBytes(bytes);
+            session = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        } while (sessions.putIfAbsent(session, user) != null);
+        return session;
+    }
+
+    /**
+     * Closes the given session. Closing a session that is not open does nothing.
+     * 
+     * @param session the session token
+     */
+    public void closeSession(String session) {
+        if (session != null) {
+            sessions.remove(session);
+        }
+    }
+
+    /**
+     * Returns the user logged in to the given session.
+     * 
+     * @param session the session token
+     * @return the user of the session, or null if the session is not open
+     */
+    public User getSessionUser(String session) {
+        return session == null ? null : sessions.get(session);
+    }
+
+    /**
+     * Returns the registrar, student, or faculty with the given id if the
+     * password matches theirs.
+     * 
+     * @param id       the user id
+     * @param password the user password
+     * @return the user, or null if the password is incorrect
+     * @throws IllegalArgumentException if the id or password is null or if the id
+     *                                  does not match any user
+     */
+    private User authenticate(String id, String password) {
+        if (id == null || password == null) {
+            throw new IllegalArgumentException("User doesn't exist.");
+        }
+        String localHashPW = PasswordHasher.hash(password);
+
+        // Check if the ID matches the registrar's ID
+        User user;
+        if (id.equals(registrar.getId())) {
+            user = registrar;
+        } else {
+            // Check if the ID matches a student or faculty in the directories
+            user = getStudentDirectory().getStudentById(id);
+            if (user == null) {
+                user = getFacultyDirectory().getFacultyById(id);
+            }
+        }
+
+        // If the ID doesn't match any user, throw an IllegalArgumentException
+        if (user == null) {
+            throw new IllegalArgumentException("User doesn't exist.");
+        }
+        return localHashPW.equals(user.getPassword()) ? user : null;
+    }
+
+    /**
+     * Clears the data in the course catalog, student directory, and faculty
+     * directory. Data not yet loaded from its record file is never loaded. A
+     * journal named by the properties file is opened first if it has not been,
+     * so that it is not replayed onto the cleared data later.
      */
     public void clearData() {
+        openConfiguredJournal();
+        courseLoad.skip();
+        studentLoad.skip();
+        facultyLoad.skip();
         courseCatalog.newCourseCatalog();
         studentDirectory.newStudentDirectory();
         facultyDirectory.newFacultyDirectory();
     }
 
+    /**
+     * Journals each course, student, or faculty added to or removed from the
+     * catalog or a directory. The record is appended once the change has been
+     * made, with the element locked so that the record does not fall between
+     * the journals of a snapshot being taken. A snapshot taken between the
+     * change and its record may already hold the change, which replaying the
+     * record then skips. Several rows changed at once, as by a load, are left
+     * for the next periodic snapshot, so a listener never takes a snapshot or
+     * locks the manager itself. An updated row is a change to a course's roll,
+     * which the registration operations journal.
+     *
+     * @param <E> the type of element in the list
+     */
+    private class JournalOnChange<E> implements ListChangeListener {
+
+        /** Type of the record of an added element */
+        private final byte addType;
+        /** Type of the record of a removed element */
+        private final byte removeType;
+        /** Returns the element in a row */
+        private final IntFunction<E> elementAt;
+        /** Returns the fields of the record of an added element */
+        private final Function<E, String[]> addFields;
+        /** Returns the fields of the record of a removed element */
+        private final Function<E, String[]> removeFields;
+        /** Element of the row about to be deleted, or null if several are */
+        private E removing;
+
+        /**
+         * Constructs a JournalOnChange for a list.
+         * 
+         * @param addType      the type of the record of an added element
+         * @param removeType   the type of the record of a removed element
+         * @param elementAt    returns the element in a row of the list
+         * @param addFields    returns the fields of the record of an added element
+         * @param removeFields returns the fields of the record of a removed element
+         */
+        JournalOnChange(byte addType, byte removeType, IntFunction<E> elementAt, Function<E, String[]> addFields,
+                Function<E, String[]> removeFields) {
+            this.addType = addType;
+            this.removeType = removeType;
+            this.elementAt = elementAt;
+            this.addFields = addFields;
+            this.removeFields = removeFields;
+        }
+
+        @Override
+        public void rowsInserted(int first, int last) {
+            journal(addType, first == last ? elementAt.apply(first) : null, addFields);
+        }
+
+        @Override
+        public void rowsUpdated(int first, int last) {
+            // Roll changes are journaled by the operations that make them
+        }
+
+        @Override
+        public void rowsDeleting(int first, int last) {
+            removing = first == last ? elementAt.apply(first) : null;
+        }
+
+        @Override
+        public void rowsDeleted(int first, int last) {
+            E removed = removing;
+            removing = null;
+            journal(removeType, removed, removeFields);
+        }
+
+        @Override
+        public void listChanged() {
+            snapshotPending = true;
+        }
+
+        /**
+         * Journals the addition or removal of an element, or leaves the change
+         * for the next snapshot if it was not of a single known element.
+         * 
+         * @param type    the type of the record
+         * @param element the element added or removed, or null
+         * @param fields  returns the fields of the record of the element
+         * @throws IllegalArgumentException if the journal cannot be written
+         */
+        private void journal(byte type, E element, Function<E, String[]> fields) {
+            if (element == null) {
+                snapshotPending = true;
+                return;
+            }
+            long sequence;
+            int[] held = locks.lock(element);
+            try {
+                sequence = log(type, fields.apply(element));
+            } finally {
+                locks.unlock(held);
+            }
+            commit(sequence);
+        }
+    }
+
+    /**
+     * Returns the course in a row of the catalog.
+     * 
+     * @param row the row
+     * @return the course, or null if it is not found
+     */
+    private Course courseAt(int row) {
+        String[] fields = courseCatalog.getCourseCatalogRow(row);
+        return courseCatalog.getCourseFromCatalog(fields[0], fields[1]);
+    }
+
+    /**
+     * Returns the student in a row of the student directory.
+     * 
+     * @param row the row
+     * @return the student, or null if it is not found
+     */
+    private Student studentAt(int row) {
+        return studentDirectory.getStudentById(studentDirectory.getStudentDirectoryRow(row)[2]);
+    }
+
+    /**
+     * Returns the faculty in a row of the faculty directory.
+     * 
+     * @param row the row
+     * @return the faculty, or null if it is not found
+     */
+    private Faculty facultyAt(int row) {
+        return facultyDirectory.getFacultyById(facultyDirectory.getFacultyDirectoryRow(row)[2]);
+    }
+
+    /**
+     * Returns the fields of the record of a course added to the catalog, in
+     * the order addCourseToCatalog() takes them. A course without an
+     * instructor has an empty instructor id.
+     * 
+     * @param c the course
+     * @return the fields of the record
+     */
+    private static String[] courseFields(Course c) {
+        String instructorId = c.getInstructorId() == null ? "" : c.getInstructorId();
+        return new String[] { c.getName(), c.getTitle(), c.getSection(), Integer.toString(c.getCredits()),
+                instructorId, Integer.toString(c.getCourseRoll().getEnrollmentCap()), c.getMeetingDays(),
+                Integer.toString(c.getStartTime()), Integer.toString(c.getEndTime()) };
+    }
+
+    /**
+     * Returns the fields of the record of a student added to the directory,
+     * with the student's hashed password.
+     * 
+     * @param s the student
+     * @return the fields of the record
+     */
+    private static String[] studentFields(Student s) {
+        return new String[] { s.getFirstName(), s.getLastName(), s.getId(), s.getEmail(), s.getPassword(),
+                Integer.toString(s.getMaxCredits()) };
+    }
+
+    /**
+     * Returns the fields of the record of a faculty added to the directory,
+     * with the faculty's hashed password.
+     * 
+     * @param f the faculty
+     * @return the fields of the record
+     */
+    private static String[] facultyFields(Faculty f) {
+        return new String[] { f.getFirstName(), f.getLastName(), f.getId(), f.getEmail(), f.getPassword(),
+                Integer.toString(f.getMaxCourses()) };
+    }
+
     /**
      * Represents the registrar user, extending the User class.
      */
@@ -246,24 +786,69 @@ public class RegistrationManager {
      * @throws IllegalArgumentException if the current user is not a student
      */
     public boolean enrollStudentInCourse(Course c) {
-        if (!(currentUser instanceof Student)) {
+        return enrollStudentInCourse(currentUser, c);
+    }
+
+    /**
+     * Returns true if the student logged in to the given session can enroll in
+     * the given course.
+     * 
+     * @param session the session token
+     * @param c       the Course to enroll in
+     * @return true if the student is enrolled in the course, false otherwise
+     * @throws IllegalArgumentException if the session is not open or its user is
+     *                                  not a student
+     */
+    public boolean enrollStudentInCourse(String session, Course c) {
+        return enrollStudentInCourse(getSessionUser(session), c);
+    }
+
+    /**
+     * Returns true if the given user is a student who can enroll in the given
+     * course.
+     * 
+     * @param user the user enrolling
+     * @param c    the Course to enroll in
+     * @return true if the student is enrolled in the course, false otherwise
+     * @throws IllegalArgumentException if the user is not a student
+     */
+    private boolean enrollStudentInCourse(User user, Course c) {
+        if (!(user instanceof Student)) {
             throw new IllegalArgumentException("Illegal Action");
         }
+        return enroll((Student) user, c);
+    }
+
+    /**
+     * Enrolls a student in a course if they can add it and the course has room
+     * for them, and journals the enrollment.
+     * 
+     * @param s the student enrolling
+     * @param c the Course to enroll in
+     * @return true if the student is enrolled in the course, false otherwise
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    private boolean enroll(Student s, Course c) {
+        long sequence;
+        List<Student> promoted = new ArrayList<Student>();
+        int[] held = locks.lock(s, c);
         try {
-            Student s = (Student) currentUser;
             Schedule schedule = s.getSchedule();
             CourseRoll roll = c.getCourseRoll();
 
-            if (s.canAdd(c) && roll.canEnroll(s)) {
-                schedule.addCourseToSchedule(c);
-                roll.enroll(s);
-                return true;
+            if (!s.canAdd(c) || !roll.canEnroll(s)) {
+                return false;
             }
-
-        } catch (IllegalArgumentException e) {
-            return false;
+            sequence = log(ENROLL, s.getId(), c.getName(), c.getSection());
+            schedule.addCourseToSchedule(c);
+            roll.enroll(s, promoter(c, promoted));
+            courseCatalog.courseUpdated(c);
+        } finally {
+            locks.unlock(held);
+            admit(promoted, c);
         }
-        return false;
+        commit(sequence);
+        return true;
     }
 
     /**
@@ -274,86 +859,947 @@ public class RegistrationManager {
      * @throws IllegalArgumentException if the current user is not a student
      */
     public boolean dropStudentFromCourse(Course c) {
-        if (!(currentUser instanceof Student)) {
-            throw new IllegalArgumentException("Illegal Action");
-        }
-        try {
-            Student s = (Student) currentUser;
-            c.getCourseRoll().drop(s);
-            return s.getSchedule().removeCourseFromSchedule(c);
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return dropStudentFromCourse(currentUser, c);
     }
 
     /**
-     * Resets the logged in student's schedule by dropping them from every course
-     * and then resetting the schedule.
+     * Returns true if the student logged in to the given session can drop the
+     * given course.
      * 
-     * @throws IllegalArgumentException if the current user is not a student
+     * @param session the session token
+     * @param c       the Course to drop
+     * @return true if the student is dropped from the course, false otherwise
+     * @throws IllegalArgumentException if the session is not open or its user is
+     *                                  not a student
      */
-    public void resetSchedule() {
-        if (!(currentUser instanceof Student)) {
-            throw new IllegalArgumentException("Illegal Action");
-        }
-        try {
-            Student s = (Student) currentUser;
-            Schedule schedule = s.getSchedule();
-            String[][] scheduleArray = schedule.getScheduledCourses();
-            for (int i = 0; i < scheduleArray.length; i++) {
-                Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
-                c.getCourseRoll().drop(s);
-            }
-            schedule.resetSchedule();
-        } catch (IllegalArgumentException e) {
-            // do nothing
-        }
+    public boolean dropStudentFromCourse(String session, Course c) {
+        return dropStudentFromCourse(getSessionUser(session), c);
     }
-    
+
     /**
-     * Adds a course to a faculty's schedule if the current user is the registrar.
+     * Returns true if the given user is a student who can drop the given course.
      * 
-     * @param course  the course to add
-     * @param faculty the faculty to add the course to
-     * @return true if the course is successfully added, false otherwise
-     * @throws IllegalArgumentException if the current user is not the registrar or if unable to add course to faculty's schedule
+     * @param user the user dropping
+     * @param c    the Course to drop
+     * @return true if the student is dropped from the course, false otherwise
+     * @throws IllegalArgumentException if the user is not a student
      */
-    public boolean addFacultyToCourse(Course course, Faculty faculty) {
-        if (currentUser != null && currentUser.equals(registrar)) {
-            return faculty.getSchedule().addCourseToSchedule(course);
-        } else {
+    private boolean dropStudentFromCourse(User user, Course c) {
+        if (!(user instanceof Student)) {
             throw new IllegalArgumentException("Illegal Action");
         }
+        return drop((Student) user, c);
     }
 
     /**
-     * Removes a course from a faculty's schedule if the current user is the registrar.
+     * Drops a student from a course and journals the drop. The drop is
+     * journaled even if the course was not in the student's schedule, since
+     * the student may still have left its roll and let in a student from the
+     * waitlist.
      * 
-     * @param course  the course to remove
-     * @param faculty the faculty to remove the course from
-     * @return true if the course is successfully removed, false otherwise
-     * @throws IllegalArgumentException if the current user is not the registrar or if unable to remove course from faculty's schedule
+     * @param s the student dropping
+     * @param c the Course to drop
+     * @return true if the course was removed from the student's schedule
+     * @throws IllegalArgumentException if the journal cannot be written
      */
-    public boolean removeFacultyFromCourse(Course course, Faculty faculty) {
-        if (currentUser != null && currentUser.equals(registrar)) {
-            return faculty.getSchedule().removeCourseFromSchedule(course);
-        } else {
-            throw new IllegalArgumentException("Illegal Action");
+    private boolean drop(Student s, Course c) {
+        long sequence;
+        boolean removed;
+        List<Student> promoted = new ArrayList<Student>();
+        int[] held = lockForDrop(s, c);
+        try {
+            sequence = log(DROP, s.getId(), c.getName(), c.getSection());
+            c.getCourseRoll().drop(s, promoter(c, promoted));
+            removed = s.getSchedule().removeCourseFromSchedule(c);
+            courseCatalog.courseUpdated(c);
+        } finally {
+            locks.unlock(held);
+            admit(promoted, c);
         }
+        commit(sequence);
+        return removed;
     }
 
     /**
-     * Resets the schedule for a faculty member if the current user is the registrar.
+     * Returns the consumer given to a course's roll for the students it moves
+     * from its waitlist onto the roll. The course is only ever added to a
+     * student's schedule while that student is locked: right away if the
+     * calling thread holds their lock, as it does for the front of the waitlist
+     * when dropping, and otherwise by admit() once the calling thread has
+     * released its locks.
      * 
-     * @param faculty the faculty to reset the schedule for
-     * @throws IllegalArgumentException if the current user is not the registrar or if unable to reset faculty's schedule
+     * @param c        the course whose roll is changing
+     * @param deferred the list to add students the calling thread has not locked to
+     * @return the consumer of the students moved onto the roll
      */
-    public void resetFacultySchedule(Faculty faculty) {
-        if (currentUser != null && currentUser.equals(registrar)) {
-            faculty.getSchedule().resetSchedule();
-        } else {
-            throw new IllegalArgumentException("Illegal Action");
-        }
-    }
+    private Consumer<Student> promoter(Course c, List<Student> deferred) {
+        return next -> {
+            if (locks.isHeldByCurrentThread(next)) {
+                addPromoted(next, c);
+            } else {
+                deferred.add(next);
+            }
+        };
+    }
+
+    /**
+     * Adds a course to the schedule of each of the given students moved onto
+     * its roll, locking each student in turn. A student who left the roll
+     * before they were locked is skipped.
+     * 
+     * @param promoted the students moved onto the roll
+     * @param c        the course
+     */
+    private void admit(List<Student> promoted, Course c) {
+        for (Student next : promoted) {
+            int[] held = locks.lock(next, c);
+            try {
+                if (c.getCourseRoll().isEnrolled(next)) {
+                    addPromoted(next, c);
+                }
+            } finally {
+                locks.unlock(held);
+            }
+        }
+    }
+
+    /**
+     * Adds a course to the schedule of a locked student moved onto its roll. A
+     * student who joined the waitlist through registration already has the
+     * course in their schedule; anyone else has it added if they can add it.
+     * 
+     * @param s the student moved onto the roll
+     * @param c the course
+     */
+    private static void addPromoted(Student s, Course c) {
+        Schedule schedule = s.getSchedule();
+        if (schedule.canAdd(c)) {
+            schedule.addCourseToSchedule(c);
+        }
+    }
+
+    /**
+     * Locks a student and a course along with the student at the front of the
+     * course's waitlist, who is enrolled if the student drops the course. The
+     * front of the waitlist is read first and then checked again once all three
+     * are locked, retrying if another thread changed it in between.
+     * 
+     * @param s the student dropping the course
+     * @param c the course being dropped
+     * @return the stripes that were locked
+     */
+    private int[] lockForDrop(Student s, Course c) {
+        CourseRoll roll = c.getCourseRoll();
+        while (true) {
+            int[] held = locks.lock(c);
+            Student next;
+            try {
+                next = roll.getNextOnWaitlist();
+            } finally {
+                locks.unlock(held);
+            }
+            held = locks.lock(s, c, next);
+            if (roll.getNextOnWaitlist() == next) {
+                return held;
+            }
+            locks.unlock(held);
+        }
+    }
+
+    /**
+     * Resets the logged in student's schedule by dropping them from every course
+     * and then resetting the schedule.
+     * 
+     * @throws IllegalArgumentException if the current user is not a student
+     */
+    public void resetSchedule() {
+        resetSchedule(currentUser);
+    }
+
+    /**
+     * Resets the schedule of the student logged in to the given session by
+     * dropping them from every course and then resetting the schedule.
+     * 
+     * @param session the session token
+     * @throws IllegalArgumentException if the session is not open or its user is
+     *                                  not a student
+     */
+    public void resetSchedule(String session) {
+        resetSchedule(getSessionUser(session));
+    }
+
+    /**
+     * Resets the given student's schedule by dropping them from every course and
+     * then resetting the schedule.
+     * 
+     * @param user the user whose schedule is reset
+     * @throws IllegalArgumentException if the user is not a student
+     */
+    private void resetSchedule(User user) {
+        if (!(user instanceof Student)) {
+            throw new IllegalArgumentException("Illegal Action");
+        }
+        Student s = (Student) user;
+        int[] held = locks.lock(s);
+        String[][] scheduleArray;
+        try {
+            scheduleArray = s.getSchedule().getScheduledCourses();
+        } finally {
+            locks.unlock(held);
+        }
+        long sequence = 0;
+        for (int i = 0; i < scheduleArray.length; i++) {
+            Course c = getCourseCatalog().getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
+            if (c != null) {
+                sequence = withdraw(s, c);
+            }
+        }
+        sequence = clearSchedule(s);
+        commit(sequence);
+    }
+
+    /**
+     * Drops a student from a course's roll or waitlist, leaving their schedule
+     * as it is, and journals it without waiting for the record to be written.
+     * 
+     * @param s the student leaving the course
+     * @param c the course
+     * @return the sequence number of the journal record
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    private long withdraw(Student s, Course c) {
+        List<Student> promoted = new ArrayList<Student>();
+        int[] held = lockForDrop(s, c);
+        try {
+            long sequence = log(WITHDRAW, s.getId(), c.getName(), c.getSection());
+            c.getCourseRoll().drop(s, promoter(c, promoted));
+            courseCatalog.courseUpdated(c);
+            return sequence;
+        } finally {
+            locks.unlock(held);
+            admit(promoted, c);
+        }
+    }
+
+    /**
+     * Resets a student's schedule and journals it without waiting for the
+     * record to be written.
+     * 
+     * @param s the student whose schedule is reset
+     * @return the sequence number of the journal record
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    private long clearSchedule(Student s) {
+        int[] held = locks.lock(s);
+        try {
+            long sequence = log(RESET, s.getId());
+            s.getSchedule().resetSchedule();
+            return sequence;
+        } finally {
+            locks.unlock(held);
+        }
+    }
     
+    /**
+     * Adds a course to a faculty's schedule if the current user is the registrar.
+     * 
+     * @param course  the course to add
+     * @param faculty the faculty to add the course to
+     * @return true if the course is successfully added, false otherwise
+     * @throws IllegalArgumentException if the current user is not the registrar or if unable to add course to faculty's schedule
+     */
+    public boolean addFacultyToCourse(Course course, Faculty faculty) {
+        return addFacultyToCourse(currentUser, course, faculty);
+    }
+
+    /**
+     * Adds a course to a faculty's schedule if the user of the given session is
+     * the registrar.
+     * 
+     * @param session the session token
+     * @param course  the course to add
+     * @param faculty the faculty to add the course to
+     * @return true if the course is successfully added, false otherwise
+     * @throws IllegalArgumentException if the session is not open, its user is not the registrar, or if unable to add course to faculty's schedule
+     */
+    public boolean addFacultyToCourse(String session, Course course, Faculty faculty) {
+        return addFacultyToCourse(getSessionUser(session), course, faculty);
+    }
+
+    /**
+     * Adds a course to a faculty's schedule if the given user is the registrar.
+     * 
+     * @param user    the user making the change
+     * @param course  the course to add
+     * @param faculty the faculty to add the course to
+     * @return true if the course is successfully added, false otherwise
+     * @throws IllegalArgumentException if the user is not the registrar or if unable to add course to faculty's schedule
+     */
+    private boolean addFacultyToCourse(User user, Course course, Faculty faculty) {
+        checkRegistrar(user);
+        return assign(faculty, course);
+    }
+
+    /**
+     * Adds a course to a faculty's schedule and journals it. The schedule checks
+     * whether the course can be added as it adds it, so the course is removed
+     * again if its record cannot be appended.
+     * 
+     * @param faculty the faculty to add the course to
+     * @param course  the course to add
+     * @return true if the course is successfully added, false otherwise
+     * @throws IllegalArgumentException if unable to add course to faculty's schedule
+     *                                  or the journal cannot be written
+     */
+    private boolean assign(Faculty faculty, Course course) {
+        long sequence = 0;
+        boolean added;
+        int[] held = locks.lock(faculty, course);
+        try {
+            added = faculty.getSchedule().addCourseToSchedule(course);
+            if (added) {
+                try {
+                    sequence = log(ASSIGN, faculty.getId(), course.getName(), course.getSection());
+                } catch (IllegalArgumentException e) {
+                    faculty.getSchedule().removeCourseFromSchedule(course);
+                    throw e;
+                }
+            }
+        } finally {
+            locks.unlock(held);
+        }
+        commit(sequence);
+        return added;
+    }
+
+    /**
+     * Removes a course from a faculty's schedule if the current user is the registrar.
+     * 
+     * @param course  the course to remove
+     * @param faculty the faculty to remove the course from
+     * @return true if the course is successfully removed, false otherwise
+     * @throws IllegalArgumentException if the current user is not the registrar or if unable to remove course from faculty's schedule
+     */
+    public boolean removeFacultyFromCourse(Course course, Faculty faculty) {
+        return removeFacultyFromCourse(currentUser, course, faculty);
+    }
+
+    /**
+     * Removes a course from a faculty's schedule if the user of the given session
+     * is the registrar.
+     * 
+     * @param session the session token
+     * @param course  the course to remove
+     * @param faculty the faculty to remove the course from
+     * @return true if the course is successfully removed, false otherwise
+     * @throws IllegalArgumentException if the session is not open, its user is not the registrar, or if unable to remove course from faculty's schedule
+     */
+    public boolean removeFacultyFromCourse(String session, Course course, Faculty faculty) {
+        return removeFacultyFromCourse(getSessionUser(session), course, faculty);
+    }
+
+    /**
+     * Removes a course from a faculty's schedule if the given user is the registrar.
+     * 
+     * @param user    the user making the change
+     * @param course  the course to remove
+     * @param faculty the faculty to remove the course from
+     * @return true if the course is successfully removed, false otherwise
+     * @throws IllegalArgumentException if the user is not the registrar or if unable to remove course from faculty's schedule
+     */
+    private boolean removeFacultyFromCourse(User user, Course course, Faculty faculty) {
+        checkRegistrar(user);
+        return unassign(faculty, course);
+    }
+
+    /**
+     * Removes a course from a faculty's schedule and journals it. The course is
+     * added back if its record cannot be appended.
+     * 
+     * @param faculty the faculty to remove the course from
+     * @param course  the course to remove
+     * @return true if the course is successfully removed, false otherwise
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    private boolean unassign(Faculty faculty, Course course) {
+        long sequence = 0;
+        boolean removed;
+        int[] held = locks.lock(faculty, course);
+        try {
+            removed = faculty.getSchedule().removeCourseFromSchedule(course);
+            if (removed) {
+                try {
+                    sequence = log(UNASSIGN, faculty.getId(), course.getName(), course.getSection());
+                } catch (IllegalArgumentException e) {
+                    faculty.getSchedule().addCourseToSchedule(course);
+                    throw e;
+                }
+            }
+        } finally {
+            locks.unlock(held);
+        }
+        commit(sequence);
+        return removed;
+    }
+
+    /**
+     * Resets the schedule for a faculty member if the current user is the registrar.
+     * 
+     * @param faculty the faculty to reset the schedule for
+     * @throws IllegalArgumentException if the current user is not the registrar or if unable to reset faculty's schedule
+     */
+    public void resetFacultySchedule(Faculty faculty) {
+        resetFacultySchedule(currentUser, faculty);
+    }
+
+    /**
+     * Resets the schedule for a faculty member if the user of the given session
+     * is the registrar.
+     * 
+     * @param session the session token
+     * @param faculty the faculty to reset the schedule for
+     * @throws IllegalArgumentException if the session is not open, its user is not the registrar, or if unable to reset faculty's schedule
+     */
+    public void resetFacultySchedule(String session, Faculty faculty) {
+        resetFacultySchedule(getSessionUser(session), faculty);
+    }
+
+    /**
+     * Resets the schedule for a faculty member if the given user is the registrar.
+     * 
+     * @param user    the user making the change
+     * @param faculty the faculty to reset the schedule for
+     * @throws IllegalArgumentException if the user is not the registrar or if unable to reset faculty's schedule
+     */
+    private void resetFacultySchedule(User user, Faculty faculty) {
+        checkRegistrar(user);
+        resetFaculty(faculty);
+    }
+
+    /**
+     * Resets a faculty's schedule and journals it.
+     * 
+     * @param faculty the faculty to reset the schedule for
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    private void resetFaculty(Faculty faculty) {
+        long sequence;
+        int[] held = locks.lock(faculty);
+        try {
+            sequence = log(RESET_FACULTY, faculty.getId());
+            faculty.getSchedule().resetSchedule();
+        } finally {
+            locks.unlock(held);
+        }
+        commit(sequence);
+    }
+
+    /**
+     * Checks that the given user is the registrar.
+     * 
+     * @param user the user to check
+     * @throws IllegalArgumentException if the user is not the registrar
+     */
+    private void checkRegistrar(User user) {
+        if (user == null || !user.equals(registrar)) {
+            throw new IllegalArgumentException("Illegal Action");
+        }
+    }
+
+    /**
+     * Opens the journal file with the given name and replays its records onto
+     * the rolls and schedules, then journals every change made after. Records
+     * naming a user or course that is no longer loaded are skipped. Any journal
+     * already open is closed first. The journal should be opened before users
+     * start registering, since changes made while it is replayed are not
+     * journaled.
+     * 
+     * @param fileName the journal file
+     * @param sync     true if each change waits for the journal to be forced to disk
+     * @throws IllegalArgumentException if the journal cannot be read or written
+     */
+    public void openJournal(String fileName, boolean sync) {
+        openJournal(fileName, null, sync);
+    }
+
+    /**
+     * Opens the journal file with the given name, restoring the snapshot with
+     * the given name first if it exists. The snapshot replaces everything in
+     * the catalog and directories. The journals of earlier generations that the
+     * snapshot does not hold are replayed, in order, and then the journal
+     * itself. Later calls to saveSnapshot() write the snapshot file.
+     * 
+     * @param fileName     the journal file
+     * @param snapshotFile the snapshot file, or null to take no snapshots
+     * @param sync         true if each change waits for the journal to be forced to disk
+     * @throws IllegalArgumentException if the snapshot or journal cannot be read or written
+     */
+    public void openJournal(String fileName, String snapshotFile, boolean sync) {
+        openConfiguredJournal();
+        prepareData(snapshotFile);
+        replayJournal(fileName, snapshotFile, sync);
+    }
+
+    /**
+     * Opens a journal as openJournal() does, once any journal named by the
+     * properties file has been opened and the data made ready by
+     * prepareData(). Nothing is loaded lazily while the manager is locked.
+     * 
+     * @param fileName     the journal file
+     * @param snapshotFile the snapshot file, or null to take no snapshots
+     * @param sync         true if each change waits for the journal to be forced to disk
+     * @throws IllegalArgumentException if the data, snapshot, or journal cannot be read or written
+     */
+    private synchronized void replayJournal(String fileName, String snapshotFile, boolean sync) {
+        closeOpenJournal();
+        try {
+            long base = 0;
+            boolean stale = false;
+            if (snapshotFile != null && Files.exists(Paths.get(snapshotFile))) {
+                FileTime taken = Files.getLastModifiedTime(Paths.get(snapshotFile));
+                Snapshot snapshot = Snapshot.read(snapshotFile);
+                boolean courses = isNewer(courseRecords, taken);
+                boolean students = isNewer(studentRecords, taken);
+                boolean faculty = isNewer(facultyRecords, taken);
+                stale = courses || students || faculty;
+                if (stale) {
+                    restoreStale(snapshot, courses, students, faculty);
+                } else {
+                    snapshot.restore(courseCatalog, studentDirectory, facultyDirectory);
+                }
+                base = snapshot.getGeneration();
+            }
+            long active = base;
+            for (long segment : listGenerations(fileName)) {
+                Path path = generationPath(fileName, segment);
+                if (segment < base) {
+                    Files.delete(path);
+                } else {
+                    Journal.open(path.toString(), false, this::replay).close();
+                    active = segment + 1;
+                }
+            }
+            journal = Journal.open(fileName, sync, this::replay);
+            journalFile = fileName;
+            journalSync = sync;
+            this.snapshotFile = snapshotFile;
+            generation = active;
+            if (stale) {
+                // A new snapshot is no longer older than the record files
+                saveSnapshot();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to open journal " + fileName, e);
+        }
+    }
+
+    /**
+     * Returns true if the record file with the given name exists and was last
+     * written after the given time.
+     * 
+     * @param fileName the record file, or an empty name for none
+     * @param time     the time to compare with
+     * @return true if the file is newer than the time
+     * @throws IOException if the time of the file cannot be read
+     */
+    private static boolean isNewer(String fileName, FileTime time) throws IOException {
+        if (fileName.isEmpty() || !Files.exists(Paths.get(fileName))) {
+            return false;
+        }
+        return Files.getLastModifiedTime(Paths.get(fileName)).compareTo(time) > 0;
+    }
+
+    /**
+     * Restores a snapshot whose data is older than some of the record files.
+     * The courses and users of the snapshot are restored, and the data whose
+     * record file is newer is loaded from that file in their place. The
+     * registrations the snapshot holds are then made again through the same
+     * operations as journal records, which skip any whose student, faculty, or
+     * course is no longer there. Faculty assignments are only made again when
+     * the catalog comes from the snapshot, since a newer course record file
+     * names the instructors itself.
+     * 
+     * @param snapshot the snapshot
+     * @param courses  true if the course record file is newer than the snapshot
+     * @param students true if the student record file is newer than the snapshot
+     * @param faculty  true if the faculty record file is newer than the snapshot
+     */
+    private void restoreStale(Snapshot snapshot, boolean courses, boolean students, boolean faculty) {
+        List<String[]> assignments = new ArrayList<String[]>();
+        List<String[]> enrollments = new ArrayList<String[]>();
+        snapshot.restoreRecords(courseCatalog, studentDirectory, facultyDirectory, assignments, enrollments);
+        if (students) {
+            loadStudentRecords();
+        }
+        if (faculty) {
+            loadFacultyRecords();
+        }
+        if (courses) {
+            loadCourses();
+        } else {
+            for (String[] assignment : assignments) {
+                replay(new JournalEntry(ASSIGN, assignment));
+            }
+        }
+        for (String[] enrollment : enrollments) {
+            replay(new JournalEntry(ENROLL, enrollment));
+        }
+    }
+
+    /**
+     * Writes any journal records not yet written and closes the journal. Changes
+     * made after are no longer journaled. Closing when no journal is open does
+     * nothing. A journal named by the properties file that has not been opened
+     * yet is not opened later.
+     * 
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    public void closeJournal() {
+        journalLoad.skip();
+        closeOpenJournal();
+    }
+
+    /**
+     * Closes the open journal, if there is one, as closeJournal() does.
+     * 
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    private synchronized void closeOpenJournal() {
+        Journal current = journal;
+        journal = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unable to write to journal.", e);
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of all registration data and writes it to the snapshot
+     * file on a background thread. Every user and course is locked while the
+     * snapshot is taken, and a new journal generation is started before they
+     * are unlocked, so the snapshot holds exactly the records of the journals
+     * before it. Once the snapshot is written those journals are deleted.
+     * 
+     * @return the result of writing the snapshot, which fails if the file
+     *         cannot be written
+     * @throws IllegalStateException    if no journal with a snapshot file is open
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    public synchronized Future<WriteStats> saveSnapshot() {
+        if (journal == null || snapshotFile == null) {
+            throw new IllegalStateException("Snapshots are not enabled.");
+        }
+        Snapshot snapshot;
+        int[] held = locks.lockAll();
+        try {
+            snapshotPending = false;
+            snapshot = Snapshot.capture(generation + 1, courseCatalog, studentDirectory, facultyDirectory);
+            rotateJournal();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to write to journal.", e);
+        } finally {
+            locks.unlock(held);
+        }
+        String snapshotName = snapshotFile;
+        String journalName = journalFile;
+        return background().submit(() -> {
+            WriteStats stats;
+            try {
+                stats = snapshot.write(snapshotName, true);
+            } catch (IOException e) {
+                // The next periodic snapshot takes it again
+                snapshotPending = true;
+                throw e;
+            }
+            for (long segment : listGenerations(journalName)) {
+                if (segment < snapshot.getGeneration()) {
+                    Files.deleteIfExists(generationPath(journalName, segment));
+                }
+            }
+            return stats;
+        });
+    }
+
+    /**
+     * Takes a snapshot every period, as long as a journal with a snapshot file
+     * is open and changes have been journaled since the last one. A period of
+     * zero or less stops taking periodic snapshots.
+     * 
+     * @param period the time between snapshots
+     * @param unit   the unit of the period
+     */
+    public synchronized void scheduleSnapshots(long period, TimeUnit unit) {
+        if (snapshotTask != null) {
+            snapshotTask.cancel(false);
+            snapshotTask = null;
+        }
+        if (period > 0) {
+            snapshotTask = background().scheduleWithFixedDelay(this::saveChangedSnapshot, period, period, unit);
+        }
+    }
+
+    /**
+     * Takes a snapshot if snapshots are enabled and the journal has records, or
+     * the catalog or a directory has been replaced since the last one was
+     * taken. Failures are left for the next period to retry.
+     */
+    private synchronized void saveChangedSnapshot() {
+        if (journal != null && snapshotFile != null && (journal.getRecords() > 0 || snapshotPending)) {
+            try {
+                saveSnapshot();
+            } catch (IllegalArgumentException e) {
+                // Try again next period
+                snapshotPending = true;
+            }
+        }
+    }
+
+    /**
+     * Closes the journal, renames it after its generation, and opens a new
+     * empty journal for the next generation. If the journal cannot be renamed
+     * it is opened again and the generation stays the same.
+     * 
+     * @throws IOException if the journal cannot be written, renamed, or opened
+     */
+    private void rotateJournal() throws IOException {
+        Journal current = journal;
+        journal = null;
+        current.close();
+        try {
+            Files.move(Paths.get(journalFile), generationPath(journalFile, generation));
+            generation++;
+        } finally {
+            journal = Journal.open(journalFile, journalSync, entry -> { });
+        }
+    }
+
+    /**
+     * Returns the path of the journal of the given generation, which is the
+     * journal file's name followed by the generation.
+     * 
+     * @param fileName   the journal file
+     * @param generation the generation
+     * @return the path of the journal of the generation
+     */
+    private static Path generationPath(String fileName, long generation) {
+        return Paths.get(fileName + "." + generation);
+    }
+
+    /**
+     * Lists the generations of the journals kept beside the journal file, in
+     * ascending order.
+     * 
+     * @param fileName the journal file
+     * @return the generations
+     * @throws IOException if the directory of the journal cannot be read
+     */
+    private static List<Long> listGenerations(String fileName) throws IOException {
+        Path journalPath = Paths.get(fileName).toAbsolutePath();
+        String prefix = journalPath.getFileName() + ".";
+        List<Long> generations = new ArrayList<Long>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journalPath.getParent())) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix)) {
+                    String suffix = name.substring(prefix.length());
+                    try {
+                        long segment = Long.parseLong(suffix);
+                        if (segment >= 0 && suffix.equals(Long.toString(segment))) {
+                            generations.add(segment);
+                        }
+                    } catch (NumberFormatException e) {
+                        // Not the journal of a generation
+                    }
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    /**
+     * Returns the thread that preloads data and writes snapshots, starting it
+     * if needed. The thread does not keep the program running.
+     * 
+     * @return the background thread's executor
+     */
+    private synchronized ScheduledExecutorService background() {
+        if (background == null) {
+            background = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "registration-background");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return background;
+    }
+
+    /**
+     * Applies a journal record to the rolls and schedules, or to the catalog
+     * or a directory. The record is applied through the same operations that
+     * journaled it, so the rolls, waitlists, and schedules end up as they were
+     * when it was written. A course or user already added or removed is
+     * skipped.
+     * 
+     * @param entry the journal record
+     */
+    private void replay(JournalEntry entry) {
+        try {
+            switch (entry.getType()) {
+            case ENROLL:
+                enroll(studentOf(entry), courseOf(entry));
+                break;
+            case DROP:
+                drop(studentOf(entry), courseOf(entry));
+                break;
+            case WITHDRAW:
+                withdraw(studentOf(entry), courseOf(entry));
+                break;
+            case RESET:
+                clearSchedule(studentOf(entry));
+                break;
+            case ASSIGN:
+                assign(facultyOf(entry), courseOf(entry));
+                break;
+            case UNASSIGN:
+                unassign(facultyOf(entry), courseOf(entry));
+                break;
+            case RESET_FACULTY:
+                resetFaculty(facultyOf(entry));
+                break;
+            case ADD_COURSE:
+                addCourse(entry);
+                break;
+            case REMOVE_COURSE:
+                courseCatalog.removeCourseFromCatalog(entry.getField(0), entry.getField(1));
+                break;
+            case ADD_STUDENT:
+                studentDirectory.loadStudents(Collections.singletonList(new Student(entry.getField(0),
+                        entry.getField(1), entry.getField(2), entry.getField(3), entry.getField(4),
+                        Integer.parseInt(entry.getField(5)))));
+                break;
+            case REMOVE_STUDENT:
+                studentDirectory.removeStudent(entry.getField(0));
+                break;
+            case ADD_FACULTY:
+                facultyDirectory.loadFaculty(Collections.singletonList(new Faculty(entry.getField(0),
+                        entry.getField(1), entry.getField(2), entry.getField(3), entry.getField(4),
+                        Integer.parseInt(entry.getField(5)))));
+                break;
+            case REMOVE_FACULTY:
+                facultyDirectory.removeFaculty(entry.getField(0));
+                break;
+            default:
+                break;
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            // Ignore records that no longer apply
+        }
+    }
+
+    /**
+     * Adds the course of a journal record to the catalog, unless a course with
+     * its name and section is already there.
+     * 
+     * @param entry the journal record, with the fields of courseFields()
+     * @throws IllegalArgumentException if the fields are not a valid course
+     */
+    private void addCourse(JournalEntry entry) {
+        String instructorId = entry.getField(4).isEmpty() ? null : entry.getField(4);
+        courseCatalog.addCourseToCatalog(entry.getField(0), entry.getField(1), entry.getField(2),
+                Integer.parseInt(entry.getField(3)), instructorId, Integer.parseInt(entry.getField(5)),
+                entry.getField(6), Integer.parseInt(entry.getField(7)), Integer.parseInt(entry.getField(8)));
+    }
+
+    /**
+     * Returns the student named by the first field of a journal record.
+     * 
+     * @param entry the journal record
+     * @return the student
+     * @throws IllegalArgumentException if there is no student with the id
+     */
+    private Student studentOf(JournalEntry entry) {
+        Student s = studentDirectory.getStudentById(entry.getField(0));
+        if (s == null) {
+            throw new IllegalArgumentException("Student doesn't exist.");
+        }
+        return s;
+    }
+
+    /**
+     * Returns the faculty named by the first field of a journal record.
+     * 
+     * @param entry the journal record
+     * @return the faculty
+     * @throws IllegalArgumentException if there is no faculty with the id
+     */
+    private Faculty facultyOf(JournalEntry entry) {
+        Faculty f = facultyDirectory.getFacultyById(entry.getField(0));
+        if (f == null) {
+            throw new IllegalArgumentException("Faculty doesn't exist.");
+        }
+        return f;
+    }
+
+    /**
+     * Returns the course named by the second and third fields of a journal
+     * record.
+     * 
+     * @param entry the journal record
+     * @return the course
+     * @throws IllegalArgumentException if the course is not in the catalog
+     */
+    private Course courseOf(JournalEntry entry) {
+        Course c = courseCatalog.getCourseFromCatalog(entry.getField(1), entry.getField(2));
+        if (c == null) {
+            throw new IllegalArgumentException("Course doesn't exist.");
+        }
+        return c;
+    }
+
+    /**
+     * Appends a record to the journal, if one is open. Called while the users
+     * and courses the record names are locked, so the records of each of them
+     * are in the order the changes were made. Registration operations call it
+     * before any of them is changed, so nothing is changed without its record.
+     * 
+     * @param type   the type of the record
+     * @param fields the fields of the record
+     * @return the sequence number of the record, or 0 if no journal is open
+     * @throws IllegalArgumentException if the journal is closed or could not be
+     *                                  written
+     */
+    private long log(byte type, String... fields) {
+        Journal current = journal;
+        if (current == null) {
+            return 0;
+        }
+        try {
+            return current.append(type, fields);
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException("Unable to write to journal.", e);
+        }
+    }
+
+    /**
+     * Waits until the journal record with the given sequence number has been
+     * written, along with any others appended before it.
+     * 
+     * @param sequence the sequence number of the record, or 0 for none
+     * @throws IllegalArgumentException if the journal cannot be written
+     */
+    private void commit(long sequence) {
+        Journal current = journal;
+        if (current != null && sequence > 0) {
+            try {
+                current.commit(sequence);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unable to write to journal.", e);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,427 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.RecordWriter;
+import edu.ncsu.csc216.pack_scheduler.io.WriteStats;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.User;
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
+/**
+ * Binary image of all registration data: the course catalog, the student and
+ * faculty directories, every course's roll and waitlist, and every student's
+ * and faculty's schedule. Restoring a snapshot reads the whole file at once
+ * and rebuilds the data without parsing any text records or looking anything
+ * up through the RegistrationManager.
+ *
+ * Courses and students are written once each, and rolls, waitlists and
+ * schedules refer to them by their position in the snapshot. Waitlists and
+ * schedules keep their order. The file ends with a CRC32 checksum of
+ * everything before it, so a damaged snapshot is never restored.
+ *
+ * Each snapshot has a generation, the generation of the first journal whose
+ * records are not in it.
+ *
+ * @author Dania Swelam
+ */
+public class Snapshot {
+
+    /** Bytes at the start of every snapshot file */
+    private static final byte[] MAGIC = { 'P', 'S', 'S', '1' };
+    /** Number of bytes before the data: the magic bytes and the generation */
+    private static final int HEADER_SIZE = MAGIC.length + 8;
+    /** Number of bytes in the checksum at the end of the file */
+    private static final int CHECKSUM_SIZE = 4;
+    /** Generation of the first journal not in the snapshot */
+    private final long generation;
+    /** Bytes of the snapshot file */
+    private final byte[] bytes;
+
+    /**
+     * Constructs a Snapshot from the bytes of its file.
+     *
+     * @param generation the generation of the first journal not in the snapshot
+     * @param bytes      the bytes of the snapshot file
+     */
+    private Snapshot(long generation, byte[] bytes) {
+        this.generation = generation;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Takes a snapshot of the given catalog and directories. Nothing in them
+     * may change while the snapshot is taken. Schedules, rolls and waitlists
+     * only keep courses in the catalog and students in the directory.
+     *
+     * @param generation the generation of the first journal not in the snapshot
+     * @param catalog    the course catalog
+     * @param students   the student directory
+     * @param faculty    the faculty directory
+     * @return the snapshot
+     */
+    public static Snapshot capture(long generation, CourseCatalog catalog, StudentDirectory students,
+            FacultyDirectory faculty) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(buffer);
+        try {
+            out.write(MAGIC);
+            out.writeLong(generation);
+
+            String[][] facultyRows = faculty.getFacultyDirectory();
+            Faculty[] facultyList = new Faculty[facultyRows.length];
+            out.writeInt(facultyList.length);
+            for (int i = 0; i < facultyList.length; i++) {
+                facultyList[i] = faculty.getFacultyById(facultyRows[i][2]);
+                writeUser(out, facultyList[i]);
+                out.writeInt(facultyList[i].getMaxCourses());
+            }
+
+            String[][] courseRows = catalog.getCourseCatalog();
+            Course[] courses = new Course[courseRows.length];
+            Map<Course, Integer> courseIndex = new IdentityHashMap<Course, Integer>(courses.length * 2);
+            out.writeInt(courses.length);
+            for (int i = 0; i < courses.length; i++) {
+                Course c = catalog.getCourseFromCatalog(courseRows[i][0], courseRows[i][1]);
+                courses[i] = c;
+                courseIndex.put(c, i);
+                out.writeUTF(c.getName());
+                out.writeUTF(c.getTitle());
+                out.writeUTF(c.getSection());
+                out.writeInt(c.getCredits());
+                out.writeBoolean(c.getInstructorId() != null);
+                if (c.getInstructorId() != null) {
+                    out.writeUTF(c.getInstructorId());
+                }
+                out.writeInt(c.getCourseRoll().getEnrollmentCap());
+                out.writeUTF(c.getMeetingDays());
+                out.writeInt(c.getStartTime());
+                out.writeInt(c.getEndTime());
+            }
+
+            String[][] studentRows = students.getStudentDirectory();
+            Map<Student, Integer> studentIndex = new IdentityHashMap<Student, Integer>(studentRows.length * 2);
+            out.writeInt(studentRows.length);
+            for (int i = 0; i < studentRows.length; i++) {
+                Student s = students.getStudentById(studentRows[i][2]);
+                studentIndex.put(s, i);
+                writeUser(out, s);
+                out.writeInt(s.getMaxCredits());
+                out.writeUTF(s.getSchedule().getTitle());
+                writeCourses(out, s.getSchedule().getScheduledCourses(), catalog, courseIndex);
+            }
+
+            for (Faculty f : facultyList) {
+                writeCourses(out, f.getSchedule().getScheduledCourses(), catalog, courseIndex);
+            }
+
+            for (Course c : courses) {
+                writeStudents(out, c.getCourseRoll().getEnrolledStudents(), studentIndex);
+                writeStudents(out, c.getCourseRoll().getWaitlistedStudents(), studentIndex);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.toByteArray());
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            // A ByteArrayOutputStream is never full
+            throw new IllegalStateException(e);
+        }
+        return new Snapshot(generation, buffer.toByteArray());
+    }
+
+    /**
+     * Writes the fields of a user.
+     *
+     * @param out  the stream to write to
+     * @param user the user
+     * @throws IOException if the fields cannot be written
+     */
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        out.writeUTF(user.getFirstName());
+        out.writeUTF(user.getLastName());
+        out.writeUTF(user.getId());
+        out.writeUTF(user.getEmail());
+        out.writeUTF(user.getPassword());
+    }
+
+    /**
+     * Writes the positions of the courses of a schedule, skipping any that are
+     * not in the catalog.
+     *
+     * @param out         the stream to write to
+     * @param scheduled   the courses of the schedule, with their names and
+     *                    sections in the first two columns
+     * @param catalog     the course catalog
+     * @param courseIndex the position of each course of the catalog
+     * @throws IOException if the positions cannot be written
+     */
+    private static void writeCourses(DataOutputStream out, String[][] scheduled, CourseCatalog catalog,
+            Map<Course, Integer> courseIndex) throws IOException {
+        int[] positions = new int[scheduled.length];
+        int count = 0;
+        for (String[] row : scheduled) {
+            Integer position = courseIndex.get(catalog.getCourseFromCatalog(row[0], row[1]));
+            if (position != null) {
+                positions[count++] = position;
+            }
+        }
+        writePositions(out, positions, count);
+    }
+
+    /**
+     * Writes the positions of students, skipping any that are not in the
+     * directory.
+     *
+     * @param out          the stream to write to
+     * @param students     the students
+     * @param studentIndex the position of each student of the directory
+     * @throws IOException if the positions cannot be written
+     */
+    private static void writeStudents(DataOutputStream out, Student[] students, Map<Student, Integer> studentIndex)
+            throws IOException {
+        int[] positions = new int[students.length];
+        int count = 0;
+        for (Student s : students) {
+            Integer position = studentIndex.get(s);
+            if (position != null) {
+                positions[count++] = position;
+            }
+        }
+        writePositions(out, positions, count);
+    }
+
+    /**
+     * Writes a count followed by that many positions.
+     *
+     * @param out       the stream to write to
+     * @param positions the positions
+     * @param count     the number of positions to write
+     * @throws IOException if the positions cannot be written
+     */
+    private static void writePositions(DataOutputStream out, int[] positions, int count) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(positions[i]);
+        }
+    }
+
+    /**
+     * Reads the snapshot file with the given name in a single read and checks
+     * its checksum.
+     *
+     * @param fileName the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or is not a whole snapshot
+     */
+    public static Snapshot read(String fileName) throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(fileName));
+        if (bytes.length < HEADER_SIZE + CHECKSUM_SIZE) {
+            throw new IOException("Invalid snapshot file.");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                throw new IOException("Invalid snapshot file.");
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - CHECKSUM_SIZE);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt(bytes.length - CHECKSUM_SIZE) != (int) crc.getValue()) {
+            throw new IOException("Invalid snapshot file.");
+        }
+        return new Snapshot(buffer.getLong(MAGIC.length), bytes);
+    }
+
+    /**
+     * Returns the generation of the first journal whose records are not in the
+     * snapshot.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of bytes in the snapshot file.
+     *
+     * @return the size of the snapshot
+     */
+    public int getSize() {
+        return bytes.length;
+    }
+
+    /**
+     * Writes the snapshot to the file with the given name, replacing it only
+     * once the whole snapshot has been written.
+     *
+     * @param fileName the snapshot file
+     * @param sync     true if the file is forced to disk before it replaces the
+     *                 old snapshot
+     * @return the number of bytes written and how long they took
+     * @throws IOException if the file cannot be written
+     */
+    public WriteStats write(String fileName, boolean sync) throws IOException {
+        try (RecordWriter writer = RecordWriter.open(fileName, sync)) {
+            writer.write(bytes, 0, bytes.length);
+            return writer.commit();
+        }
+    }
+
+    /**
+     * Replaces the contents of the given catalog and directories with the
+     * snapshot. The snapshot is read in full before anything is replaced.
+     *
+     * @param catalog  the course catalog
+     * @param students the student directory
+     * @param faculty  the faculty directory
+     * @throws IllegalArgumentException if the snapshot holds invalid data
+     */
+    public void restore(CourseCatalog catalog, StudentDirectory students, FacultyDirectory faculty) {
+        restore(catalog, students, faculty, null, null);
+    }
+
+    /**
+     * Replaces the contents of the given catalog and directories with the
+     * courses and users of the snapshot, leaving every schedule, roll and
+     * waitlist empty and every course without an instructor. The registrations
+     * the snapshot holds are instead added to the given lists as the id of the
+     * user followed by the name and section of the course, so they can be made
+     * again once some of the data has been replaced. Enrollments are listed
+     * course by course, each course's roll before its waitlist, with the
+     * waitlist in order.
+     *
+     * @param catalog     the course catalog
+     * @param students    the student directory
+     * @param faculty     the faculty directory
+     * @param assignments the list to add the course of each faculty to
+     * @param enrollments the list to add the students of each course to
+     * @throws IllegalArgumentException if the snapshot holds invalid data
+     */
+    public void restoreRecords(CourseCatalog catalog, StudentDirectory students, FacultyDirectory faculty,
+            List<String[]> assignments, List<String[]> enrollments) {
+        if (assignments == null || enrollments == null) {
+            throw new IllegalArgumentException("Invalid registration list.");
+        }
+        restore(catalog, students, faculty, assignments, enrollments);
+    }
+
+    /**
+     * Replaces the contents of the given catalog and directories with the
+     * snapshot, either with its registrations or with them listed instead.
+     *
+     * @param catalog     the course catalog
+     * @param students    the student directory
+     * @param faculty     the faculty directory
+     * @param assignments the list to add the course of each faculty to, or
+     *                    null to restore the faculty schedules
+     * @param enrollments the list to add the students of each course to, or
+     *                    null to restore the rolls, waitlists and student
+     *                    schedules
+     * @throws IllegalArgumentException if the snapshot holds invalid data
+     */
+    private void restore(CourseCatalog catalog, StudentDirectory students, FacultyDirectory faculty,
+            List<String[]> assignments, List<String[]> enrollments) {
+        StringPool strings = new StringPool();
+        List<Faculty> facultyList = new ArrayList<Faculty>();
+        List<Course> courseList = new ArrayList<Course>();
+        List<Student> studentList = new ArrayList<Student>();
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE - CHECKSUM_SIZE));
+        try {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                facultyList.add(new Faculty(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+                        in.readInt()));
+            }
+
+            count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = strings.intern(in.readUTF());
+                String title = strings.intern(in.readUTF());
+                String section = strings.intern(in.readUTF());
+                int credits = in.readInt();
+                String instructorId = in.readBoolean() ? strings.intern(in.readUTF()) : null;
+                if (assignments != null) {
+                    instructorId = null;
+                }
+                int enrollmentCap = in.readInt();
+                String meetingDays = strings.intern(in.readUTF());
+                courseList.add(new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays,
+                        in.readInt(), in.readInt()));
+            }
+
+            count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Student s = new Student(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+                        in.readInt());
+                s.getSchedule().setTitle(in.readUTF());
+                int scheduled = in.readInt();
+                for (int j = 0; j < scheduled; j++) {
+                    Course c = courseList.get(in.readInt());
+                    if (enrollments == null) {
+                        s.getSchedule().addCourseToSchedule(c);
+                    }
+                }
+                studentList.add(s);
+            }
+
+            for (Faculty f : facultyList) {
+                int scheduled = in.readInt();
+                for (int j = 0; j < scheduled; j++) {
+                    Course c = courseList.get(in.readInt());
+                    if (assignments != null) {
+                        assignments.add(new String[] { f.getId(), c.getName(), c.getSection() });
+                    } else {
+                        // Adding the course to the schedule sets its instructor again
+                        c.setInstructorId(null);
+                        f.getSchedule().addCourseToSchedule(c);
+                    }
+                }
+            }
+
+            for (Course c : courseList) {
+                // The roll and then the waitlist, each a count followed by that many students
+                for (int list = 0; list < 2; list++) {
+                    for (int listed = in.readInt(); listed > 0; listed--) {
+                        Student s = studentList.get(in.readInt());
+                        if (enrollments != null) {
+                            enrollments.add(new String[] { s.getId(), c.getName(), c.getSection() });
+                        } else {
+                            c.getCourseRoll().enroll(s);
+                        }
+                    }
+                }
+            }
+            if (in.available() > 0) {
+                throw new IOException("Extra data after the rolls.");
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid snapshot.", e);
+        }
+
+        catalog.loadCourses(courseList, strings);
+        students.newStudentDirectory();
+        students.loadStudents(studentList);
+        faculty.newFacultyDirectory();
+        faculty.loadFaculty(facultyList);
+    }
+}
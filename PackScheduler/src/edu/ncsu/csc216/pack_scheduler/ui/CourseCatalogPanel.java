@@ -25,7 +25,6 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
@@ -373,11 +372,10 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 		if (e.getSource() == btnLoadCourseCatalog) {
 			try {
 				String fileName = getFileName(true);
-				catalog.loadCoursesFromFile(fileName);
-				courseCatalogTableModel.updateData();
+				catalog.loadCoursesFromFile(fileName,
+						RegistrationManager.getInstance().getFacultyDirectory()::getFacultyById);
 				scrollCourseCatalog.revalidate();
 				scrollCourseCatalog.repaint();
-				courseCatalogTableModel.fireTableDataChanged();
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
@@ -390,10 +388,8 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			}
 		} else if (e.getSource() == btnNewCourseCatalog) {
 			catalog.newCourseCatalog();
-			courseCatalogTableModel.updateData();
 			scrollCourseCatalog.revalidate();
 			scrollCourseCatalog.repaint();
-			courseCatalogTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddCourse) {
 			String name = txtName.getText();
 			String title = txtTitle.getText();
@@ -488,7 +484,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			courseCatalogTableModel.updateData();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableCourseCatalog.getSelectedRow();
 			if (row == -1 || row == courseCatalogTableModel.getRowCount()) {
@@ -500,7 +495,6 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No course selected.");
 				}
 			}
-			courseCatalogTableModel.updateData();
 		}
 		
 		this.validate();
@@ -537,78 +531,38 @@ public class CourseCatalogPanel extends JPanel implements ActionListener {
 	 * the list of Courses to the user.
 	 * @author Sarah Heckman
 	 */
-	private class CourseCatalogTableModel extends AbstractTableModel {
+	private class CourseCatalogTableModel extends ListTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Information", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
-		 * Constructs the CourseCatalogTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * Constructs the CourseCatalogTableModel with the courses in the CourseCatalog,
+		 * and keeps it current as the catalog changes.
 		 */
 		public CourseCatalogTableModel() {
-			updateData();
+			super(new String[] {"Name", "Section", "Title", "Meeting Information", "Open Seats"});
+			catalog.addListChangeListener(this);
+			listChanged();
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
+		 * Reads a single row from the model.
+		 * @param row index of the row
+		 * @return the values in the row
 		 */
-		public int getColumnCount() {
-			return columnNames.length;
+		@Override
+		protected Object[] getRow(int row) {
+			return catalog.getCourseCatalogRow(row);
 		}
 
 		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
+		 * Reads every row from the model.
+		 * @return the values in each row
 		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Course information from the CourseCatalog.
-		 */
-		public void updateData() {
-			data = catalog.getCourseCatalog();
+		@Override
+		protected Object[][] getRows() {
+			return catalog.getCourseCatalog();
 		}
 	}
 
@@ -23,7 +23,6 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
@@ -223,10 +222,8 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 			String fileName = getFileName(true);
 			try {
 				facultyDirectory.loadFacultyFromFile(fileName);
-				facultyDirectoryTableModel.updateData();
 				scrollFacultyDirectory.revalidate();
 				scrollFacultyDirectory.repaint();
-				facultyDirectoryTableModel.fireTableDataChanged();
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
@@ -239,10 +236,8 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 			}
 		} else if (e.getSource() == btnNewFacultyList) {
 			facultyDirectory.newFacultyDirectory();
-			facultyDirectoryTableModel.updateData();
 			scrollFacultyDirectory.revalidate();
 			scrollFacultyDirectory.repaint();
-			facultyDirectoryTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddFaculty) {
 			String firstName = txtFirstName.getText();
 			String lastName = txtLastName.getText();
@@ -283,7 +278,6 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			facultyDirectoryTableModel.updateData();
 		} else if (e.getSource() == btnRemoveFaculty) {
 			int row = tableFacultyDirectory.getSelectedRow();
 			if (row == -1) {
@@ -295,7 +289,6 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No faculty selected.");
 				}
 			}
-			facultyDirectoryTableModel.updateData();
 		}
 		
 		this.validate();
@@ -332,78 +325,38 @@ public class FacultyDirectoryPanel extends JPanel implements ActionListener {
 	 * the list of Faculty to the system.
 	 * @author Sarah Heckman
 	 */
-	private class FacultyDirectoryTableModel extends AbstractTableModel {
+	private class FacultyDirectoryTableModel extends ListTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"First Name", "Last Name", "Faculty ID"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
-		 * Constructs the {@link FacultyDirectoryTableModel} by requesting the latest information
-		 * from the {@link RequirementTrackerModel}.
+		 * Constructs the FacultyDirectoryTableModel with the faculty in the FacultyDirectory,
+		 * and keeps it current as the directory changes.
 		 */
 		public FacultyDirectoryTableModel() {
-			updateData();
+			super(new String[] {"First Name", "Last Name", "Faculty ID"});
+			facultyDirectory.addListChangeListener(this);
+			listChanged();
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
+		 * Reads a single row from the model.
+		 * @param row index of the row
+		 * @return the values in the row
 		 */
-		public int getColumnCount() {
-			return columnNames.length;
+		@Override
+		protected Object[] getRow(int row) {
+			return facultyDirectory.getFacultyDirectoryRow(row);
 		}
 
 		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
+		 * Reads every row from the model.
+		 * @return the values in each row
 		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col location of the column
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row location to get the data
-		 * @param col location to get the data
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with {@link Faculty} information from the {@link FacultyDirectory}.
-		 */
-		public void updateData() {
-			data = facultyDirectory.getFacultyDirectory();
+		@Override
+		protected Object[][] getRows() {
+			return facultyDirectory.getFacultyDirectory();
 		}
 	}
 
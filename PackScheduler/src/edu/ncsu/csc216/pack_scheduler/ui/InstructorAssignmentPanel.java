@@ -20,7 +20,6 @@ import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
@@ -175,6 +174,9 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 
 			@Override
 			public void valueChanged(ListSelectionEvent e) {
+				if (tableCatalog.getSelectedRow() == -1) {
+					return;
+				}
 				String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 				String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 				Course c = catalog.getCourseFromCatalog(name, section);
@@ -218,6 +220,9 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 
 			@Override
 			public void valueChanged(ListSelectionEvent e) {
+				if (tableFaculty.getSelectedRow() == -1) {
+					return;
+				}
 				String id = tableFaculty.getValueAt(tableFaculty.getSelectedRow(), 2).toString();
 				Faculty f = facultyDirectory.getFacultyById(id);
 				updateFacultyDetails(f);
@@ -232,8 +237,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 		scrollFaculty.setToolTipText("Faculty Directory");
 		
 		
-		updateTables();
-		
 		//Set up the course details panel
 		pnlCourseDetails = new JPanel();
 		pnlCourseDetails.setLayout(new GridLayout(5, 1));
@@ -368,7 +371,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 					JOptionPane.showMessageDialog(this, iae.getMessage());
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnRemoveFacultyFromCourse) {
 			int catalogRow = tableCatalog.getSelectedRow();
 			int facultyRow = tableFaculty.getSelectedRow();
@@ -386,7 +388,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 				updateCourseDetails(c);
 				updateFacultyDetails(f);
 			}
-			updateTables();
 		} else if (e.getSource() == btnReset) {
 			int facultyRow = tableFaculty.getSelectedRow();
 			if (facultyRow == -1) {
@@ -394,7 +395,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 			} else {
 				Faculty f = facultyDirectory.getFacultyById(tableFaculty.getValueAt(facultyRow, 2).toString());
 				RegistrationManager.getInstance().resetFacultySchedule(f);
-				updateTables();
 			}
 		} 
 		
@@ -402,14 +402,6 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 		this.validate();
 	}
 	
-	/**
-	 * Updates the catalog and schedule tables.
-	 */
-	public void updateTables() {
-		catalogTableModel.updateData();
-		facultyTableModel.updateData();
-	}
-	
 	/**
 	 * Updates the pnlCourseDetails with full information about the most
 	 * recently selected course.
@@ -449,78 +441,38 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 	 * the list of Courses to the user.
 	 * @author Sarah Heckman
 	 */
-	private class CourseCatalogTableModel extends AbstractTableModel {
+	private class CourseCatalogTableModel extends ListTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Information", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
-		 * Constructs the CourseCatalogTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * Constructs the CourseCatalogTableModel with the courses in the CourseCatalog,
+		 * and keeps it current as the catalog changes.
 		 */
 		public CourseCatalogTableModel() {
-			updateData();
-		}
-
-		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
+			super(new String[] {"Name", "Section", "Title", "Meeting Information", "Open Seats"});
+			catalog.addListChangeListener(this);
+			listChanged();
 		}
 
 		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
+		 * Reads a single row from the model.
+		 * @param row index of the row
+		 * @return the values in the row
 		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
+		@Override
+		protected Object[] getRow(int row) {
+			return catalog.getCourseCatalogRow(row);
 		}
 
 		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
+		 * Reads every row from the model.
+		 * @return the values in each row
 		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Course information from the CourseCatalog.
-		 */
-		public void updateData() {
-			data = catalog.getCourseCatalog();
+		@Override
+		protected Object[][] getRows() {
+			return catalog.getCourseCatalog();
 		}
 	}
 	
@@ -529,78 +481,38 @@ public class InstructorAssignmentPanel  extends JPanel implements ActionListener
 	 * the list of Faculty to the system.
 	 * @author Sarah Heckman
 	 */
-	private class FacultyDirectoryTableModel extends AbstractTableModel {
+	private class FacultyDirectoryTableModel extends ListTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"First Name", "Last Name", "Faculty ID"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
-		 * Constructs the FacultyDirectoryTableModel by requesting the latest information
-		 * from the RequirementTrackerModel.
+		 * Constructs the FacultyDirectoryTableModel with the faculty in the FacultyDirectory,
+		 * and keeps it current as the directory changes.
 		 */
 		public FacultyDirectoryTableModel() {
-			updateData();
+			super(new String[] {"First Name", "Last Name", "Faculty ID"});
+			facultyDirectory.addListChangeListener(this);
+			listChanged();
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
+		 * Reads a single row from the model.
+		 * @param row index of the row
+		 * @return the values in the row
 		 */
-		public int getColumnCount() {
-			return columnNames.length;
+		@Override
+		protected Object[] getRow(int row) {
+			return facultyDirectory.getFacultyDirectoryRow(row);
 		}
 
 		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Faculty information from the FacultyDirectory.
+		 * Reads every row from the model.
+		 * @return the values in each row
 		 */
-		public void updateData() {
-			data = facultyDirectory.getFacultyDirectory();
+		@Override
+		protected Object[][] getRows() {
+			return facultyDirectory.getFacultyDirectory();
 		}
 	}
 
@@ -0,0 +1,185 @@
+package edu.ncsu.csc216.pack_scheduler.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+
+/**
+ * Table model that keeps a copy of the rows of a list-backed model, such as
+ * the course catalog, and follows the model's change events. Only the rows an
+ * event names are read back from the model, and the table is told about just
+ * those rows, so adding, removing, or enrolling in one course does not redo
+ * the whole table.
+ *
+ * The rows an event names are read from the model on the thread that fired
+ * it, while they still match the event. The copy of the rows and the table
+ * are then changed on the event dispatch thread, in the order the events were
+ * fired: right away if the event was fired on that thread with nothing queued
+ * ahead of it, and otherwise queued behind the events before it.
+ *
+ * @author Dania Swelam
+ */
+abstract class ListTableModel extends AbstractTableModel implements ListChangeListener {
+
+	/** ID number used for object serialization. */
+	private static final long serialVersionUID = 1L;
+	/** Column names for the table */
+	private final String[] columnNames;
+	/** Rows shown in the table, changed only on the event dispatch thread */
+	private final List<Object[]> rows = new ArrayList<Object[]>();
+	/** Number of changes queued for the event dispatch thread and not yet made */
+	private final AtomicInteger queued = new AtomicInteger();
+
+	/**
+	 * Constructs a ListTableModel with the given columns and no rows. The
+	 * subclass reads its rows by calling listChanged() once its model is set.
+	 *
+	 * @param columnNames the names of the columns
+	 */
+	ListTableModel(String[] columnNames) {
+		this.columnNames = columnNames;
+	}
+
+	/**
+	 * Reads a single row from the model.
+	 *
+	 * @param row the index of the row in the model
+	 * @return the values in the row
+	 */
+	protected abstract Object[] getRow(int row);
+
+	/**
+	 * Reads every row from the model.
+	 *
+	 * @return the values in each row
+	 */
+	protected abstract Object[][] getRows();
+
+	/**
+	 * Returns the number of columns in the table.
+	 * @return the number of columns in the table.
+	 */
+	@Override
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	/**
+	 * Returns the number of rows in the table.
+	 * @return the number of rows in the table.
+	 */
+	@Override
+	public int getRowCount() {
+		return rows.size();
+	}
+
+	/**
+	 * Returns the column name at the given index.
+	 * @param col column index
+	 * @return the column name at the given column.
+	 */
+	@Override
+	public String getColumnName(int col) {
+		return columnNames[col];
+	}
+
+	/**
+	 * Returns the data at the given {row, col} index.
+	 * @param row row index
+	 * @param col column index
+	 * @return the data at the given location.
+	 */
+	@Override
+	public Object getValueAt(int row, int col) {
+		return rows.get(row)[col];
+	}
+
+	/**
+	 * Sets the given value to the given {row, col} location.
+	 * @param value Object to modify in the data.
+	 * @param row location to modify the data.
+	 * @param col location to modify the data.
+	 */
+	@Override
+	public void setValueAt(Object value, int row, int col) {
+		rows.get(row)[col] = value;
+		fireTableCellUpdated(row, col);
+	}
+
+	@Override
+	public void rowsInserted(int first, int last) {
+		List<Object[]> inserted = readRows(first, last);
+		onEventThread(() -> {
+			rows.addAll(first, inserted);
+			fireTableRowsInserted(first, last);
+		});
+	}
+
+	@Override
+	public void rowsUpdated(int first, int last) {
+		List<Object[]> updated = readRows(first, last);
+		onEventThread(() -> {
+			for (int i = first; i <= last; i++) {
+				rows.set(i, updated.get(i - first));
+			}
+			fireTableRowsUpdated(first, last);
+		});
+	}
+
+	@Override
+	public void rowsDeleted(int first, int last) {
+		onEventThread(() -> {
+			rows.subList(first, last + 1).clear();
+			fireTableRowsDeleted(first, last);
+		});
+	}
+
+	@Override
+	public void listChanged() {
+		List<Object[]> all = Arrays.asList(getRows());
+		onEventThread(() -> {
+			rows.clear();
+			rows.addAll(all);
+			fireTableDataChanged();
+		});
+	}
+
+	/**
+	 * Reads the rows in the given range from the model.
+	 *
+	 * @param first the index of the first row
+	 * @param last  the index of the last row
+	 * @return the values in each row
+	 */
+	private List<Object[]> readRows(int first, int last) {
+		List<Object[]> read = new ArrayList<Object[]>(last - first + 1);
+		for (int i = first; i <= last; i++) {
+			read.add(getRow(i));
+		}
+		return read;
+	}
+
+	/**
+	 * Makes a change to the rows on the event dispatch thread after any changes
+	 * already queued for it.
+	 *
+	 * @param change the change to make
+	 */
+	private void onEventThread(Runnable change) {
+		if (SwingUtilities.isEventDispatchThread() && queued.get() == 0) {
+			change.run();
+			return;
+		}
+		queued.incrementAndGet();
+		SwingUtilities.invokeLater(() -> {
+			queued.decrementAndGet();
+			change.run();
+		});
+	}
+}
@@ -330,7 +330,6 @@ public class PackSchedulerGUI {
 				rCardLayout.show(rPanel, COURSE_CATALOG_PANEL);
 			} else if (e.getSource() == btnInstructorAssignment) {
 				rCardLayout.show(rPanel, INSTRUCTOR_ASSIGNMENT_PANEL);
-				pnlInstructorAssignment.updateTables();
 			} else if (e.getSource() == btnLogout) {
 				RegistrationManager.getInstance().logout();
 				cardLayout.show(panel, LOGIN_PANEL);
@@ -22,7 +22,6 @@ import javax.swing.ListSelectionModel;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
@@ -218,10 +217,8 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 			try {
 				String fileName = getFileName(true);
 				studentDirectory.loadStudentsFromFile(fileName);
-				studentDirectoryTableModel.updateData();
 				scrollStudentDirectory.revalidate();
 				scrollStudentDirectory.repaint();
-				studentDirectoryTableModel.fireTableDataChanged();
 			} catch (IllegalArgumentException | IllegalStateException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
@@ -234,10 +231,8 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 			}
 		} else if (e.getSource() == btnNewStudentList) {
 			studentDirectory.newStudentDirectory();
-			studentDirectoryTableModel.updateData();
 			scrollStudentDirectory.revalidate();
 			scrollStudentDirectory.repaint();
-			studentDirectoryTableModel.fireTableDataChanged();
 		} else if (e.getSource() == btnAddStudent) {
 			String firstName = txtFirstName.getText();
 			String lastName = txtLastName.getText();
@@ -277,7 +272,6 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 			} catch (IllegalArgumentException iae) {
 				JOptionPane.showMessageDialog(this, iae.getMessage());
 			}
-			studentDirectoryTableModel.updateData();
 		} else if (e.getSource() == btnRemoveStudent) {
 			int row = tableStudentDirectory.getSelectedRow();
 			if (row == -1  || row == tableStudentDirectory.getRowCount()) {
@@ -289,7 +283,6 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 					JOptionPane.showMessageDialog(this, "No student selected.");
 				}
 			}
-			studentDirectoryTableModel.updateData();
 		}
 		
 		this.validate();
@@ -326,78 +319,38 @@ public class StudentDirectoryPanel extends JPanel implements ActionListener {
 	 * the list of Students to the user.
 	 * @author Sarah Heckman
 	 */
-	private class StudentDirectoryTableModel extends AbstractTableModel {
+	private class StudentDirectoryTableModel extends ListTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"First Name", "Last Name", "Student ID"};
-		/** Data stored in the table */
-		private Object [][] data;
 		
 		/**
-		 * Constructs the StudentDirectoryTableModel by requesting the latest information
-		 * from the RegistrationManager.
+		 * Constructs the StudentDirectoryTableModel with the students in the StudentDirectory,
+		 * and keeps it current as the directory changes.
 		 */
 		public StudentDirectoryTableModel() {
-			updateData();
+			super(new String[] {"First Name", "Last Name", "Student ID"});
+			studentDirectory.addListChangeListener(this);
+			listChanged();
 		}
 
 		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
+		 * Reads a single row from the model.
+		 * @param row index of the row
+		 * @return the values in the row
 		 */
-		public int getColumnCount() {
-			return columnNames.length;
+		@Override
+		protected Object[] getRow(int row) {
+			return studentDirectory.getStudentDirectoryRow(row);
 		}
 
 		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
+		 * Reads every row from the model.
+		 * @return the values in each row
 		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col column index
-		 * @return the column name at the given column.
-		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
-		}
-
-		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row row index
-		 * @param col column index
-		 * @return the data at the given location.
-		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
-		}
-		
-		/**
-		 * Updates the given model with Student information from the StudentDirectory.
-		 */
-		public void updateData() {
-			data = studentDirectory.getStudentDirectory();
+		@Override
+		protected Object[][] getRows() {
+			return studentDirectory.getStudentDirectory();
 		}
 	}
 
@@ -22,7 +22,6 @@ import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
@@ -185,6 +184,9 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 
 			@Override
 			public void valueChanged(ListSelectionEvent e) {
+				if (tableCatalog.getSelectedRow() == -1) {
+					return;
+				}
 				String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 				String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 				Course c = catalog.getCourseFromCatalog(name, section);
@@ -316,7 +318,6 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 					JOptionPane.showMessageDialog(this, iae.getMessage());
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnRemoveCourse) {
 			int row = tableSchedule.getSelectedRow();
 			if (row == -1) {
@@ -328,7 +329,6 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 					updateCourseDetails(catalog.getCourseFromCatalog(tableCatalog.getValueAt(row, 0).toString(), tableCatalog.getValueAt(row, 1).toString()));
 				}
 			}
-			updateTables();
 		} else if (e.getSource() == btnReset) {
 			RegistrationManager.getInstance().resetSchedule();
 			updateTables();
@@ -347,10 +347,11 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	}
 	
 	/**
-	 * Updates the catalog and schedule tables.
+	 * Updates the schedule table and title for the student logged in. The
+	 * catalog table, and the schedule table once it shows a student's
+	 * schedule, follow the changes to the catalog and schedule on their own.
 	 */
 	public void updateTables() {
-		catalogTableModel.updateData();
 		scheduleTableModel.updateData();
 	}
 	
@@ -388,95 +389,75 @@ public class StudentRegistrationPanel  extends JPanel implements ActionListener
 	 * the list of Courses to the user.
 	 * @author Sarah Heckman
 	 */
-	private class CourseTableModel extends AbstractTableModel {
+	private class CourseTableModel extends ListTableModel {
 		
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
-		/** Column names for the table */
-		private String [] columnNames = {"Name", "Section", "Title", "Meeting Days", "Open Seats"};
-		/** Data stored in the table */
-		private Object [][] data;
 		/** Boolean flag if the model applies to the catalog or schedule */
 		private boolean isCatalog;
 		
 		/**
-		 * Constructs the CourseTableModel by requesting the latest information
-		 * from the manager.
+		 * Constructs the CourseTableModel. A catalog model shows the courses in the
+		 * catalog from the start; a schedule model shows no courses until updateData()
+		 * gives it the schedule of the student logged in.
 		 * @param isCatalog true if the table is showing a catalog rather than a roll
 		 */
 		public CourseTableModel(boolean isCatalog) {
+			super(new String[] {"Name", "Section", "Title", "Meeting Days", "Open Seats"});
 			this.isCatalog = isCatalog;
-			updateData();
-		}
-
-		/**
-		 * Returns the number of columns in the table.
-		 * @return the number of columns in the table.
-		 */
-		public int getColumnCount() {
-			return columnNames.length;
+			if (isCatalog) {
+				catalog.addListChangeListener(this);
+				listChanged();
+			}
 		}
 
 		/**
-		 * Returns the number of rows in the table.
-		 * @return the number of rows in the table.
-		 */
-		public int getRowCount() {
-			if (data == null) 
-				return 0;
-			return data.length;
-		}
-		
-		/**
-		 * Returns the column name at the given index.
-		 * @param col index of the column for the name
-		 * @return the column name at the given column.
+		 * Reads a single row from the model.
+		 * @param row index of the row
+		 * @return the values in the row
 		 */
-		public String getColumnName(int col) {
-			return columnNames[col];
+		@Override
+		protected Object[] getRow(int row) {
+			return isCatalog ? catalog.getCourseCatalogRow(row) : schedule.getScheduledCourseRow(row);
 		}
 
 		/**
-		 * Returns the data at the given {row, col} index.
-		 * @param row index of row for data
-		 * @param col index of column for data
-		 * @return the data at the given location.
+		 * Reads every row from the model.
+		 * @return the values in each row
 		 */
-		public Object getValueAt(int row, int col) {
-			if (data == null)
-				return null;
-			return data[row][col];
-		}
-		
-		/**
-		 * Sets the given value to the given {row, col} location.
-		 * @param value Object to modify in the data.
-		 * @param row location to modify the data.
-		 * @param col location to modify the data.
-		 */
-		public void setValueAt(Object value, int row, int col) {
-			data[row][col] = value;
-			fireTableCellUpdated(row, col);
+		@Override
+		protected Object[][] getRows() {
+			if (isCatalog) {
+				return catalog.getCourseCatalog();
+			}
+			return schedule == null ? new Object[0][] : schedule.getScheduledCourses();
 		}
 		
 		/**
-		 * Updates the given model with Course information from the PackScheduler.
+		 * Updates the schedule model to show the schedule of the student logged in,
+		 * reading it in full only if a different student has logged in since it was
+		 * last updated, and updates the schedule title.
 		 */
 		private void updateData() {
-			if (isCatalog) {
-				data = catalog.getCourseCatalog();
-			} else {
-				currentUser = (Student)RegistrationManager.getInstance().getCurrentUser();
-				if (currentUser != null) {
-					schedule = currentUser.getSchedule();
-					txtScheduleTitle.setText(schedule.getTitle());
-					borderSchedule.setTitle(schedule.getTitle());
-					scrollSchedule.setToolTipText(schedule.getTitle());
-					data = schedule.getScheduledCourses();
-					
-					StudentRegistrationPanel.this.repaint();
-					StudentRegistrationPanel.this.validate();
+			currentUser = (Student)RegistrationManager.getInstance().getCurrentUser();
+			Schedule current = currentUser == null ? null : currentUser.getSchedule();
+			if (current != schedule) {
+				if (schedule != null) {
+					schedule.removeListChangeListener(this);
 				}
+				schedule = current;
+				if (schedule != null) {
+					schedule.addListChangeListener(this);
+				}
+				listChanged();
+			}
+			if (schedule != null) {
+				txtScheduleTitle.setText(schedule.getTitle());
+				borderSchedule.setTitle(schedule.getTitle());
+				scrollSchedule.setToolTipText(schedule.getTitle());
+				
+				StudentRegistrationPanel.this.repaint();
+				StudentRegistrationPanel.this.validate();
 			}
 		}
 	}
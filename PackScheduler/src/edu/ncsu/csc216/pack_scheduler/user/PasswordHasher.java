@@ -0,0 +1,72 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Hashes passwords for every User in the system. Each thread keeps its own
+ * MessageDigest, so hashing never looks up the algorithm provider again after a
+ * thread's first call and is safe to use from any number of threads at once.
+ *
+ * @author Dania Swelam
+ */
+public class PasswordHasher {
+
+	/** Hashing algorithm */
+	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Digest for the calling thread */
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(PasswordHasher::newDigest);
+
+	/**
+	 * PasswordHasher only has static methods and is never constructed.
+	 */
+	private PasswordHasher() {
+		// Not used
+	}
+
+	/**
+	 * Creates a new digest for the hashing algorithm.
+	 *
+	 * @return a new digest
+	 * @throws IllegalArgumentException if the hashing algorithm is not available
+	 */
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException("Cannot hash password", e);
+		}
+	}
+
+	/**
+	 * Hashes the UTF-8 encoding of a String according to the SHA-256 algorithm,
+	 * and outputs the digest in base64 encoding. This allows the encoded digest to
+	 * be safely copied, as it only uses [a-zA-Z0-9+/=].
+	 *
+	 * @param password the String to hash
+	 * @return the encoded digest of the hash algorithm in base64
+	 * @throws IllegalArgumentException if the hashing algorithm is not available
+	 */
+	public static String hash(String password) {
+		MessageDigest digest = DIGEST.get();
+		digest.reset();
+		return Base64.getEncoder().encodeToString(digest.digest(password.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Hashes every String in the array, spreading the work across the available
+	 * processors.
+	 *
+	 * @param passwords the Strings to hash
+	 * @return the encoded digests, in the same order as the passwords
+	 * @throws IllegalArgumentException if the hashing algorithm is not available
+	 */
+	public static String[] hashAll(String[] passwords) {
+		String[] hashes = new String[passwords.length];
+		Arrays.parallelSetAll(hashes, i -> hash(passwords[i]));
+		return hashes;
+	}
+}
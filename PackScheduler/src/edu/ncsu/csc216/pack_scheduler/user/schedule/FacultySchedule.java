@@ -1,6 +1,6 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
+import edu.ncsu.csc216.pack_scheduler.catalog.ConflictGraph;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
 
@@ -34,9 +34,7 @@ public class FacultySchedule {
 	        if (schedule.get(i).isDuplicate(course) && schedule.get(i).getSection().equals(course.getSection())) {
 	            throw new IllegalArgumentException("Already assigned " + course.getName());
 	        }
-	        try {
-	            schedule.get(i).checkConflict(course);
-	        } catch (ConflictException e) {
+	        if (schedule.get(i).conflictsWith(course)) {
 	            throw new IllegalArgumentException("The course cannot be assigned due to a conflict.");
 	        }
 	    }
@@ -50,6 +48,22 @@ public class FacultySchedule {
 	    return false;
 	}
 	
+	/**
+	 * Checks if a course conflicts with a scheduled course by looking up their
+	 * section ids in a catalog's conflict graph.
+	 * @param course Course to check
+	 * @param conflicts conflict graph of the catalog the courses came from
+	 * @return true if the course conflicts with a scheduled course
+	 */
+	public boolean hasConflict(Course course, ConflictGraph conflicts) {
+		for (int i = 0; i < schedule.size(); i++) {
+			if (conflicts.conflicts(schedule.get(i), course)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
 	 * Removes a course from the schedule.
 	 * @param course Course to remove from the schedule
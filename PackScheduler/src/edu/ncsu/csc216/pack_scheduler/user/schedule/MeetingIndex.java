@@ -0,0 +1,206 @@
+package edu.ncsu.csc216.pack_scheduler.user.schedule;
+
+import java.util.Arrays;
+
+import edu.ncsu.csc216.pack_scheduler.course.Activity;
+
+/**
+ * Index of the meeting times of a set of activities, kept separately for each
+ * day of the week. Each day holds its meetings sorted by start time along with
+ * the latest end time of every prefix of that order, so whether a new activity
+ * overlaps any indexed meeting on a day is answered with one binary search
+ * rather than a comparison against every activity.
+ *
+ * Overlap follows the same rule as Activity.conflictsWith(): two meetings on
+ * the same day overlap if neither ends before the other starts, and activities
+ * that meet only by arrangement have no meetings and never overlap anything.
+ *
+ * @author Dania Swelam
+ */
+public class MeetingIndex {
+
+	/** Days that a Course may meet on, in the order of their index */
+	private static final String DAYS = "MTWHF";
+	/** Meeting days of activities arranged with the instructor */
+	private static final String ARRANGED = "A";
+	/** Initial number of meetings a day can hold */
+	private static final int INIT_SIZE = 4;
+
+	/** Start times of the meetings on each day, in ascending order */
+	private int[][] starts;
+	/** End times of the meetings on each day, in the same order as starts */
+	private int[][] ends;
+	/** Latest end time among the meetings up to and including each position */
+	private int[][] latestEnds;
+	/** Number of meetings on each day */
+	private int[] sizes;
+
+	/**
+	 * Constructs an empty MeetingIndex.
+	 */
+	public MeetingIndex() {
+		clear();
+	}
+
+	/**
+	 * Removes every meeting from the index.
+	 */
+	public void clear() {
+		starts = new int[DAYS.length()][INIT_SIZE];
+		ends = new int[DAYS.length()][INIT_SIZE];
+		latestEnds = new int[DAYS.length()][INIT_SIZE];
+		sizes = new int[DAYS.length()];
+	}
+
+	/**
+	 * Adds the meetings of an activity to the index.
+	 *
+	 * @param activity the activity to add
+	 */
+	public void add(Activity activity) {
+		String days = activity.getMeetingDays();
+		if (ARRANGED.equals(days)) {
+			return;
+		}
+		for (int i = 0; i < days.length(); i++) {
+			int day = DAYS.indexOf(days.charAt(i));
+			if (day >= 0) {
+				insert(day, activity.getStartTime(), activity.getEndTime());
+			}
+		}
+	}
+
+	/**
+	 * Removes the meetings of an activity from the index.
+	 *
+	 * @param activity the activity to remove
+	 */
+	public void remove(Activity activity) {
+		String days = activity.getMeetingDays();
+		if (ARRANGED.equals(days)) {
+			return;
+		}
+		for (int i = 0; i < days.length(); i++) {
+			int day = DAYS.indexOf(days.charAt(i));
+			if (day >= 0) {
+				delete(day, activity.getStartTime(), activity.getEndTime());
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the activity meets at the same time as any meeting in the
+	 * index on any of its days.
+	 *
+	 * @param activity the activity to check
+	 * @return true if the activity overlaps a meeting in the index
+	 */
+	public boolean overlaps(Activity activity) {
+		String days = activity.getMeetingDays();
+		if (ARRANGED.equals(days)) {
+			return false;
+		}
+		for (int i = 0; i < days.length(); i++) {
+			int day = DAYS.indexOf(days.charAt(i));
+			if (day >= 0 && overlaps(day, activity.getStartTime(), activity.getEndTime())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if a meeting from startTime to endTime overlaps a meeting in
+	 * the index on the given day. Every meeting starting after endTime is
+	 * clear of it, and of the rest the one that ends latest decides.
+	 *
+	 * @param day       the index of the day
+	 * @param startTime the start time of the meeting
+	 * @param endTime   the end time of the meeting
+	 * @return true if the meeting overlaps a meeting on the day
+	 */
+	private boolean overlaps(int day, int startTime, int endTime) {
+		int last = startingBy(day, endTime) - 1;
+		return last >= 0 && latestEnds[day][last] >= startTime;
+	}
+
+	/**
+	 * Returns the number of meetings on the day that start at or before the
+	 * given time.
+	 *
+	 * @param day  the index of the day
+	 * @param time the time to search for
+	 * @return the number of meetings starting at or before time
+	 */
+	private int startingBy(int day, int time) {
+		int[] dayStarts = starts[day];
+		int low = 0;
+		int high = sizes[day];
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (dayStarts[mid] <= time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Adds a meeting to a day, keeping the meetings sorted by start time.
+	 *
+	 * @param day       the index of the day
+	 * @param startTime the start time of the meeting
+	 * @param endTime   the end time of the meeting
+	 */
+	private void insert(int day, int startTime, int endTime) {
+		int size = sizes[day];
+		if (size == starts[day].length) {
+			starts[day] = Arrays.copyOf(starts[day], size * 2);
+			ends[day] = Arrays.copyOf(ends[day], size * 2);
+			latestEnds[day] = Arrays.copyOf(latestEnds[day], size * 2);
+		}
+		int position = startingBy(day, startTime);
+		System.arraycopy(starts[day], position, starts[day], position + 1, size - position);
+		System.arraycopy(ends[day], position, ends[day], position + 1, size - position);
+		starts[day][position] = startTime;
+		ends[day][position] = endTime;
+		sizes[day]++;
+		updateLatestEnds(day, position);
+	}
+
+	/**
+	 * Removes a meeting with the given times from a day, if there is one.
+	 *
+	 * @param day       the index of the day
+	 * @param startTime the start time of the meeting
+	 * @param endTime   the end time of the meeting
+	 */
+	private void delete(int day, int startTime, int endTime) {
+		int size = sizes[day];
+		for (int position = startingBy(day, startTime) - 1; position >= 0 && starts[day][position] == startTime; position--) {
+			if (ends[day][position] == endTime) {
+				System.arraycopy(starts[day], position + 1, starts[day], position, size - position - 1);
+				System.arraycopy(ends[day], position + 1, ends[day], position, size - position - 1);
+				sizes[day]--;
+				updateLatestEnds(day, position);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the latest end times of a day from the given position on.
+	 *
+	 * @param day      the index of the day
+	 * @param position the first position to recompute
+	 */
+	private void updateLatestEnds(int day, int position) {
+		int latest = position == 0 ? Integer.MIN_VALUE : latestEnds[day][position - 1];
+		for (int i = position; i < sizes[day]; i++) {
+			latest = Math.max(latest, ends[day][i]);
+			latestEnds[day][i] = latest;
+		}
+	}
+}
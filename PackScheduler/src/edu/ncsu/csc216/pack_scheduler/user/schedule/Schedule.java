@@ -1,13 +1,24 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.ConflictGraph;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeListener;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeSupport;
 
 /**
  * The Schedule class constructs a schedule of courses for a student.
  * It manages the list of courses, the title of the schedule, and the total number of credits.
  * 
+ * The names and meeting times of the scheduled courses are also indexed, so checking whether
+ * a course can be added does not depend on how many courses are already in the schedule.
+ * 
+ * Listeners added to the schedule are told which rows of getScheduledCourses() each
+ * change touches.
+ * 
  * @author Dania Swelam
  */
 public class Schedule {
@@ -18,6 +29,12 @@ public class Schedule {
     private String title;
     /** The total number of credits in the schedule */
     private int totalCredits;
+    /** The names of the courses in the schedule */
+    private Set<String> names;
+    /** The meeting times of the courses in the schedule */
+    private MeetingIndex meetings;
+    /** Listeners told about changes to the rows of the schedule */
+    private final ListChangeSupport changes = new ListChangeSupport();
 
     /**
      * Default constructor constructs a new Schedule with a default title and an empty schedule.
@@ -26,6 +43,8 @@ public class Schedule {
         this.title = "My Schedule";
         this.schedule = new ArrayList<>();
         this.totalCredits = 0;
+        this.names = new HashSet<>();
+        this.meetings = new MeetingIndex();
     }
 
     /**
@@ -64,22 +83,22 @@ public class Schedule {
             throw new NullPointerException("Course cannot be null.");
         }
 
-        for (Course courses : schedule) {
-            // Check for duplicates
-            if (courses.equals(course) || courses.isDuplicate(course)) {
-                throw new IllegalArgumentException("You are already enrolled in " + course.getName());
-            }
+        // Check for duplicates
+        if (names.contains(course.getName())) {
+            throw new IllegalArgumentException("You are already enrolled in " + course.getName());
+        }
 
-            // Check for conflicts
-            try {
-                courses.checkConflict(course);
-            } catch (ConflictException e) {
-                throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-            }
+        // Check for conflicts
+        if (meetings.overlaps(course)) {
+            throw new IllegalArgumentException("The course cannot be added due to a conflict.");
         }
 
         schedule.add(course);
+        names.add(course.getName());
+        meetings.add(course);
         totalCredits += course.getCredits();
+        int row = schedule.size() - 1;
+        changes.fireRowsInserted(row, row);
         return true;
     }
 
@@ -90,11 +109,17 @@ public class Schedule {
      * @return true if the course was removed, false otherwise
      */
     public boolean removeCourseFromSchedule(Course course) {
-        if (schedule.remove(course)) {
-            totalCredits -= course.getCredits();
-            return true;
+        int row = schedule.indexOf(course);
+        if (row < 0) {
+            return false;
         }
-        return false;
+        changes.fireRowsDeleting(row, row);
+        schedule.remove(row);
+        names.remove(course.getName());
+        meetings.remove(course);
+        totalCredits -= course.getCredits();
+        changes.fireRowsDeleted(row, row);
+        return true;
     }
 
     /**
@@ -104,6 +129,9 @@ public class Schedule {
         this.title = "My Schedule";
         this.schedule = new ArrayList<>();
         this.totalCredits = 0;
+        this.names.clear();
+        this.meetings.clear();
+        changes.fireListChanged();
     }
 
     /**
@@ -119,6 +147,37 @@ public class Schedule {
         return scheduledCourses;
     }
 
+    /**
+     * Returns a single row of getScheduledCourses().
+     * 
+     * @param row the index of the row
+     * @return the scheduled course in the row as an array of course information
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public String[] getScheduledCourseRow(int row) {
+        return schedule.get(row).getShortDisplayArray();
+    }
+
+    /**
+     * Adds a listener to be told about changes to the rows of the schedule.
+     * 
+     * @param listener the listener to add
+     * @throws IllegalArgumentException if the listener is null
+     */
+    public void addListChangeListener(ListChangeListener listener) {
+        changes.addListener(listener);
+    }
+
+    /**
+     * Removes a listener so that it is no longer told about changes to the
+     * schedule.
+     * 
+     * @param listener the listener to remove
+     */
+    public void removeListChangeListener(ListChangeListener listener) {
+        changes.removeListener(listener);
+    }
+
     /**
      * Returns the total number of credits in the schedule.
      * 
@@ -135,21 +194,40 @@ public class Schedule {
      * @return true if the course can be added, false otherwise
      */
     public boolean canAdd(Course course) {
+        if (course == null) {
+            return false;
+        }
+        return !names.contains(course.getName()) && !meetings.overlaps(course);
+    }
+
+    /**
+     * Determines if the course meets at the same time as a course in the schedule.
+     * 
+     * @param course the course to check
+     * @return true if the course conflicts with a scheduled course, false otherwise
+     */
+    public boolean hasConflict(Course course) {
+        return course != null && meetings.overlaps(course);
+    }
+
+    /**
+     * Determines if the course conflicts with a course in the schedule by looking up their
+     * section ids in a catalog's conflict graph.
+     * 
+     * @param course    the course to check
+     * @param conflicts the conflict graph of the catalog the courses came from
+     * @return true if the course conflicts with a scheduled course, false otherwise
+     */
+    public boolean hasConflict(Course course, ConflictGraph conflicts) {
         if (course == null) {
             return false;
         }
         for (int i = 0; i < schedule.size(); i++) {
-            Course existingCourse = schedule.get(i);
-            if (existingCourse.getName().equals(course.getName())) {
-                return false; // Course already in schedule
-            }
-            try {
-                existingCourse.checkConflict(course);
-            } catch (ConflictException e) {
-                return false; // Course conflicts with existing course
+            if (conflicts.conflicts(schedule.get(i), course)) {
+                return true;
             }
         }
-        return true;
+        return false;
     }
-    
+
 }
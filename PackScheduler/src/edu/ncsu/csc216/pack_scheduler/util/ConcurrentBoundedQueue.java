@@ -0,0 +1,144 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue that any number of threads may add to and remove from at once without
+ * locking. Elements are kept in a lock-free linked queue, and the capacity is
+ * enforced by reserving a slot in an atomic count before an element is added.
+ *
+ * Because another thread may empty the queue between a call to isEmpty() and a
+ * call to dequeue(), poll() and peek() return null instead of throwing when the
+ * queue is empty.
+ *
+ * @param <E> the type of elements in this queue
+ * @author Dania Swelam
+ */
+public class ConcurrentBoundedQueue<E> implements Queue<E> {
+
+	/** Elements in the queue */
+	private final ConcurrentLinkedQueue<E> queue;
+	/** Number of elements in the queue, including those being added */
+	private final AtomicInteger size;
+	/** Maximum number of elements in the queue */
+	private volatile int capacity;
+
+	/**
+	 * Constructs a ConcurrentBoundedQueue with the specified capacity.
+	 *
+	 * @param capacity the capacity of the queue
+	 * @throws IllegalArgumentException if the capacity is negative
+	 */
+	public ConcurrentBoundedQueue(int capacity) {
+		queue = new ConcurrentLinkedQueue<E>();
+		size = new AtomicInteger();
+		setCapacity(capacity);
+	}
+
+	@Override
+	public void enqueue(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		int current;
+		do {
+			current = size.get();
+			if (current >= capacity) {
+				throw new IllegalArgumentException();
+			}
+		} while (!size.compareAndSet(current, current + 1));
+		queue.offer(element);
+	}
+
+	@Override
+	public E dequeue() {
+		E element = poll();
+		if (element == null) {
+			throw new NoSuchElementException();
+		}
+		return element;
+	}
+
+	/**
+	 * Removes and returns the element at the front of the queue.
+	 *
+	 * @return the element removed from the front of the queue, or null if the
+	 *         queue is empty
+	 */
+	public E poll() {
+		E element = queue.poll();
+		if (element != null) {
+			size.decrementAndGet();
+		}
+		return element;
+	}
+
+	/**
+	 * Returns the element at the front of the queue without removing it.
+	 *
+	 * @return the element at the front of the queue, or null if the queue is
+	 *         empty
+	 */
+	public E peek() {
+		return queue.peek();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size.get() == 0;
+	}
+
+	@Override
+	public int size() {
+		return size.get();
+	}
+
+	@Override
+	public void setCapacity(int capacity) {
+		if (capacity < 0 || capacity < size.get()) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Checks if the queue contains the specified element. This walks the queue,
+	 * so callers that test membership often should track it separately.
+	 *
+	 * @param element the element to check for
+	 * @return true if the queue contains the element, false otherwise
+	 */
+	public boolean contains(E element) {
+		return queue.contains(element);
+	}
+
+	/**
+	 * Returns the elements of the queue from front to back. If other threads
+	 * change the queue at the same time, the array may or may not hold their
+	 * changes.
+	 *
+	 * @param <T>   the type of the array
+	 * @param array an array of the type to return, used if it is large enough
+	 * @return the elements of the queue
+	 */
+	public <T> T[] toArray(T[] array) {
+		return queue.toArray(array);
+	}
+
+	/**
+	 * Removes the first occurrence of the specified element from this queue, if
+	 * it is present. If this queue does not contain the element, it is unchanged.
+	 *
+	 * @param element the element to remove
+	 * @return true if the element was removed, false otherwise
+	 */
+	public boolean remove(E element) {
+		if (queue.remove(element)) {
+			size.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+}
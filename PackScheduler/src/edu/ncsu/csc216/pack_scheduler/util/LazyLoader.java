@@ -0,0 +1,67 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+/**
+ * Runs a load once, the first time anything needs what it loads. Threads that
+ * ask while the load is running wait for it to finish; once it has finished,
+ * asking costs a single volatile read.
+ *
+ * A load that throws has not finished, so the next thread to ask runs it again
+ * and sees the error for itself. A load may also be skipped altogether when
+ * what it would load is no longer wanted.
+ *
+ * The thread running a load may ask for it again, for example through code the
+ * load calls back into; it is not made to wait for itself and returns at once.
+ *
+ * @author Dania Swelam
+ */
+public class LazyLoader {
+
+	/** Load still to be run, or null once it has run or been skipped */
+	private volatile Runnable load;
+
+	/**
+	 * Constructs a LazyLoader for the given load.
+	 *
+	 * @param load the load, or null if there is nothing to load
+	 */
+	public LazyLoader(Runnable load) {
+		this.load = load;
+	}
+
+	/**
+	 * Runs the load if it has not yet run, or waits for it if another thread is
+	 * running it.
+	 *
+	 * @throws RuntimeException any error thrown by the load, which is left to
+	 *                          run again
+	 */
+	public void load() {
+		if (load == null || Thread.holdsLock(this)) {
+			return;
+		}
+		synchronized (this) {
+			Runnable pending = load;
+			if (pending != null) {
+				pending.run();
+				load = null;
+			}
+		}
+	}
+
+	/**
+	 * Marks the load as finished without running it. If another thread is
+	 * running it, waits for it to finish first.
+	 */
+	public synchronized void skip() {
+		load = null;
+	}
+
+	/**
+	 * Returns true if the load has run or been skipped.
+	 *
+	 * @return true if there is nothing left to load
+	 */
+	public boolean isLoaded() {
+		return load == null;
+	}
+}
@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractSequentialList;
+import java.util.Collection;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
@@ -51,6 +52,33 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
         super.add(index, element);
     }
 
+    /**
+     * Appends the given elements to the back of the list in a single pass.
+     * Unlike add(), the elements are not checked against the list, which would
+     * scan the whole list for each one, so the caller must already know that
+     * no element is equal to another or to one in the list, for example because
+     * each has a different id. Nothing is appended if any element is null.
+     * 
+     * @param elements the elements to append, in order
+     * @throws NullPointerException if any element is null
+     */
+    public void appendDistinct(Collection<? extends E> elements) {
+        for (E element : elements) {
+            if (element == null) {
+                throw new NullPointerException("Null elements are not allowed.");
+            }
+        }
+        ListNode last = back.prev;
+        for (E element : elements) {
+            ListNode node = new ListNode(element, last, back);
+            last.next = node;
+            last = node;
+        }
+        back.prev = last;
+        size += elements.size();
+        modCount++;
+    }
+
     @Override
     public E set(int index, E element) {
         if (element == null) {
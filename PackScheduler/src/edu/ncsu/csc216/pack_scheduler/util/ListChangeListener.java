@@ -0,0 +1,61 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+/**
+ * Listener told which rows of a list-backed model have changed, so a view of
+ * the list can redo just those rows instead of the whole list. Rows are
+ * numbered as in the model's own two-dimensional view of the list, and every
+ * range includes both its first and last row.
+ *
+ * Listeners are called on the thread that changed the model, right after the
+ * change and before any other change is made, so the rows named can be read
+ * back from the model during the call. Rows about to be deleted can be read in
+ * rowsDeleting(), which is called just before they are.
+ *
+ * @author Dania Swelam
+ */
+public interface ListChangeListener {
+
+	/**
+	 * Called after rows have been inserted. The rows that were at first and
+	 * after now follow the inserted rows.
+	 *
+	 * @param first the index of the first row inserted
+	 * @param last  the index of the last row inserted
+	 */
+	void rowsInserted(int first, int last);
+
+	/**
+	 * Called after the values in rows have changed, leaving every row where it
+	 * was.
+	 *
+	 * @param first the index of the first row changed
+	 * @param last  the index of the last row changed
+	 */
+	void rowsUpdated(int first, int last);
+
+	/**
+	 * Called just before rows are deleted, while they can still be read. Most
+	 * listeners need only rowsDeleted(), so this does nothing by default.
+	 *
+	 * @param first the index of the first row to be deleted
+	 * @param last  the index of the last row to be deleted
+	 */
+	default void rowsDeleting(int first, int last) {
+		// Nothing to do before the rows are deleted
+	}
+
+	/**
+	 * Called after rows have been deleted. The indices are those the rows had
+	 * before they were deleted.
+	 *
+	 * @param first the index of the first row deleted
+	 * @param last  the index of the last row deleted
+	 */
+	void rowsDeleted(int first, int last);
+
+	/**
+	 * Called after any number of rows have changed at once, such as when the
+	 * list is loaded from a file or cleared.
+	 */
+	void listChanged();
+}
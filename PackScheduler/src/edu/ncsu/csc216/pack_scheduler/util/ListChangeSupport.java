@@ -0,0 +1,108 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the listeners of a list-backed model and tells each of them about the
+ * model's changes. Listeners may be added and removed from any thread, and a
+ * change is told to the listeners registered when it is fired.
+ *
+ * A model with no listeners should not work out the rows a change touched just
+ * to fire it; hasListeners() lets it skip that work.
+ *
+ * @author Dania Swelam
+ */
+public class ListChangeSupport {
+
+	/** Listeners told about changes */
+	private final List<ListChangeListener> listeners = new CopyOnWriteArrayList<ListChangeListener>();
+
+	/**
+	 * Adds a listener to be told about changes.
+	 *
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addListener(ListChangeListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Invalid listener.");
+		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener so that it is no longer told about changes.
+	 *
+	 * @param listener the listener to remove
+	 */
+	public void removeListener(ListChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns true if any listener would be told about a change.
+	 *
+	 * @return true if there are listeners
+	 */
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * Tells every listener that rows have been inserted.
+	 *
+	 * @param first the index of the first row inserted
+	 * @param last  the index of the last row inserted
+	 */
+	public void fireRowsInserted(int first, int last) {
+		for (ListChangeListener listener : listeners) {
+			listener.rowsInserted(first, last);
+		}
+	}
+
+	/**
+	 * Tells every listener that the values in rows have changed.
+	 *
+	 * @param first the index of the first row changed
+	 * @param last  the index of the last row changed
+	 */
+	public void fireRowsUpdated(int first, int last) {
+		for (ListChangeListener listener : listeners) {
+			listener.rowsUpdated(first, last);
+		}
+	}
+
+	/**
+	 * Tells every listener that rows are about to be deleted.
+	 *
+	 * @param first the index of the first row to be deleted
+	 * @param last  the index of the last row to be deleted
+	 */
+	public void fireRowsDeleting(int first, int last) {
+		for (ListChangeListener listener : listeners) {
+			listener.rowsDeleting(first, last);
+		}
+	}
+
+	/**
+	 * Tells every listener that rows have been deleted.
+	 *
+	 * @param first the index the first row deleted had
+	 * @param last  the index the last row deleted had
+	 */
+	public void fireRowsDeleted(int first, int last) {
+		for (ListChangeListener listener : listeners) {
+			listener.rowsDeleted(first, last);
+		}
+	}
+
+	/**
+	 * Tells every listener that any number of rows may have changed.
+	 */
+	public void fireListChanged() {
+		for (ListChangeListener listener : listeners) {
+			listener.listChanged();
+		}
+	}
+}
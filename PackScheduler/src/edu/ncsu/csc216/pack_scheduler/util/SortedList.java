@@ -0,0 +1,256 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * List that keeps its elements in their natural order, without duplicates, in
+ * an array. It backs the course catalog and the student directory in place of
+ * edu.ncsu.csc217.collections.list.SortedList. get() is a single array read,
+ * and add(), contains(), and indexOf() find their place with a binary search.
+ * addAll() sorts the elements it is given once and merges them with the list
+ * in a single pass, so loading n records costs O(n log n) rather than O(n^2).
+ *
+ * An element is a duplicate of one in the list if the two compare as equal.
+ *
+ * @param <E> the type of elements in the list
+ * @author Dania Swelam
+ */
+public class SortedList<E extends Comparable<E>> {
+
+	/** Initial capacity of the array */
+	private static final int INIT_SIZE = 10;
+	/** Elements of the list, in order, followed by unused slots */
+	private E[] list;
+	/** Number of elements in the list */
+	private int size;
+
+	/**
+	 * Constructs an empty SortedList.
+	 */
+	public SortedList() {
+		list = newArray(INIT_SIZE);
+	}
+
+	/**
+	 * Adds an element to the list at its place in the order.
+	 *
+	 * @param element the element to add
+	 * @return true, as the list has changed
+	 * @throws NullPointerException     if the element is null
+	 * @throws IllegalArgumentException if the element is a duplicate
+	 */
+	public boolean add(E element) {
+		int index = search(element);
+		if (index >= 0) {
+			throw new IllegalArgumentException("Element already in list.");
+		}
+		index = -(index + 1);
+		if (size == list.length) {
+			list = Arrays.copyOf(list, list.length * 2);
+		}
+		System.arraycopy(list, index, list, index + 1, size - index);
+		list[index] = element;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Adds all of the given elements to the list. The elements are sorted once
+	 * and merged with the list in a single pass. An element that is a duplicate
+	 * of one already in the list, or of an earlier one in the given list, is
+	 * skipped, so the first one wins.
+	 *
+	 * @param elements the elements to add
+	 * @throws NullPointerException if any element is null
+	 */
+	public void addAll(List<E> elements) {
+		E[] added = elements.toArray(newArray(elements.size()));
+		Arrays.sort(added); // Stable, so equal elements keep the order they were given in
+		E[] merged = newArray(Math.max(INIT_SIZE, size + added.length));
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < size || j < added.length) {
+			E next;
+			if (j == added.length || i < size && list[i].compareTo(added[j]) <= 0) {
+				next = list[i++];
+			} else {
+				next = added[j++];
+			}
+			if (count == 0 || merged[count - 1].compareTo(next) != 0) {
+				merged[count++] = next;
+			}
+		}
+		list = merged;
+		size = count;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 *
+	 * @param index the index of the element
+	 * @return the element at the index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public E get(int index) {
+		checkIndex(index);
+		return list[index];
+	}
+
+	/**
+	 * Removes the element at the given index.
+	 *
+	 * @param index the index of the element
+	 * @return the element removed
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public E remove(int index) {
+		checkIndex(index);
+		E removed = list[index];
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
+		list[--size] = null;
+		return removed;
+	}
+
+	/**
+	 * Returns the index of the given element.
+	 *
+	 * @param element the element to find
+	 * @return the index of the element, or -1 if it is not in the list
+	 * @throws NullPointerException if the element is null
+	 */
+	public int indexOf(E element) {
+		int index = search(element);
+		return index >= 0 ? index : -1;
+	}
+
+	/**
+	 * Removes every element from the list.
+	 */
+	public void clear() {
+		list = newArray(INIT_SIZE);
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of elements in the list.
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the list has no elements.
+	 *
+	 * @return true if the list is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if the given element is in the list.
+	 *
+	 * @param element the element to find
+	 * @return true if the element is in the list
+	 * @throws NullPointerException if the element is null
+	 */
+	public boolean contains(E element) {
+		return search(element) >= 0;
+	}
+
+	/**
+	 * Generates a hash code from the elements of the list.
+	 *
+	 * @return the hash code of the list
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + list[i].hashCode();
+		}
+		return result;
+	}
+
+	/**
+	 * Compares this list to another object. They are equal if the other object
+	 * is a SortedList with equal elements.
+	 *
+	 * @param obj the object to compare to
+	 * @return true if the objects are equal
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		SortedList<?> other = (SortedList<?>) obj;
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (!list[i].equals(other.list[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the given element with a binary search.
+	 *
+	 * @param element the element to find
+	 * @return the index of the element, or -(insertion point) - 1 if it is not
+	 *         in the list
+	 * @throws NullPointerException if the element is null
+	 */
+	private int search(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = list[mid].compareTo(element);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * Checks that an index names an element of the list.
+	 *
+	 * @param index the index to check
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+
+	/**
+	 * Makes an array for the elements of the list.
+	 *
+	 * @param length the length of the array
+	 * @return the array
+	 */
+	@SuppressWarnings("unchecked")
+	private E[] newArray(int length) {
+		return (E[]) new Comparable<?>[length];
+	}
+}
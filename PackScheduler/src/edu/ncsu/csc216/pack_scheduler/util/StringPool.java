@@ -0,0 +1,169 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+/**
+ * Pool of Strings that returns one shared instance for every equal String
+ * added to it, so that records repeating the same text hold a single copy.
+ * Unlike String.intern(), a pool is owned by whatever uses it, such as a
+ * course catalog, and its Strings can be collected along with it.
+ *
+ * Text can also be added straight from a range of a char array. If an equal
+ * String is already in the pool it is returned without creating a new one,
+ * which lets a reader skip allocating fields it has seen before.
+ *
+ * The pool is an open-addressing hash table and is safe to use from several
+ * threads at once.
+ *
+ * @author Dania Swelam
+ */
+public class StringPool {
+
+	/** Initial number of slots in the table */
+	private static final int INIT_SIZE = 64;
+	/** Strings in the pool, placed by their hash; empty slots are null */
+	private String[] table;
+	/** Number of Strings in the pool */
+	private int size;
+
+	/**
+	 * Constructs an empty StringPool.
+	 */
+	public StringPool() {
+		table = new String[INIT_SIZE];
+	}
+
+	/**
+	 * Returns the pooled String equal to the given String, adding it to the
+	 * pool if there is none.
+	 *
+	 * @param s the String to look up
+	 * @return the pooled String equal to s, or null if s is null
+	 */
+	public synchronized String intern(String s) {
+		if (s == null) {
+			return null;
+		}
+		int slot = find(s, s.hashCode());
+		if (table[slot] == null) {
+			return add(slot, s);
+		}
+		return table[slot];
+	}
+
+	/**
+	 * Returns the pooled String equal to a range of a char array, adding a
+	 * new String made from the range if there is none.
+	 *
+	 * @param chars  the array holding the text
+	 * @param offset the index of the first char of the text
+	 * @param length the number of chars in the text
+	 * @return the pooled String equal to the text
+	 * @throws IndexOutOfBoundsException if the range is not within the array
+	 */
+	public synchronized String intern(char[] chars, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > chars.length - length) {
+			throw new IndexOutOfBoundsException();
+		}
+		int hash = 0;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + chars[offset + i];
+		}
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		while (table[slot] != null) {
+			String pooled = table[slot];
+			if (pooled.hashCode() == hash && matches(pooled, chars, offset, length)) {
+				return pooled;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return add(slot, new String(chars, offset, length));
+	}
+
+	/**
+	 * Returns the number of Strings in the pool.
+	 *
+	 * @return the number of Strings
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every String from the pool.
+	 */
+	public synchronized void clear() {
+		table = new String[INIT_SIZE];
+		size = 0;
+	}
+
+	/**
+	 * Finds the slot holding a String equal to s, or the empty slot where it
+	 * belongs.
+	 *
+	 * @param s    the String to find
+	 * @param hash the hash code of s
+	 * @return the slot of s
+	 */
+	private int find(String s, int hash) {
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		while (table[slot] != null && !table[slot].equals(s)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Puts a String in an empty slot, growing the table once it is half full.
+	 *
+	 * @param slot the empty slot where s belongs
+	 * @param s    the String to add
+	 * @return s
+	 */
+	private String add(int slot, String s) {
+		table[slot] = s;
+		size++;
+		if (size * 2 > table.length) {
+			String[] old = table;
+			table = new String[old.length * 2];
+			for (String pooled : old) {
+				if (pooled != null) {
+					table[find(pooled, pooled.hashCode())] = pooled;
+				}
+			}
+		}
+		return s;
+	}
+
+	/**
+	 * Returns true if a String holds the same chars as a range of an array.
+	 *
+	 * @param s      the String
+	 * @param chars  the array
+	 * @param offset the index of the first char of the range
+	 * @param length the number of chars in the range
+	 * @return true if they hold the same chars
+	 */
+	private static boolean matches(String s, char[] chars, int offset, int length) {
+		if (s.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(i) != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Mixes the high bits of a hash code into the low bits, which select the
+	 * slot.
+	 *
+	 * @param hash the hash code
+	 * @return the mixed hash
+	 */
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
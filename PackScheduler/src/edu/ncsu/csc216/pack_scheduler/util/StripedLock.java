@@ -0,0 +1,138 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by any number of objects. Each object is guarded
+ * by the lock, or stripe, chosen by its identity hash, so threads working on
+ * different objects rarely wait on each other while the number of locks stays
+ * bounded.
+ *
+ * Several objects are locked together by lock(), which always acquires their
+ * stripes in ascending order. Since every thread takes stripes in the same
+ * order, two threads locking overlapping sets of objects can never deadlock.
+ *
+ * @author Dania Swelam
+ */
+public class StripedLock {
+
+	/** Locks guarding the objects */
+	private final ReentrantLock[] stripes;
+	/** Mask selecting a stripe from a hash; the number of stripes is a power of two */
+	private final int mask;
+
+	/**
+	 * Constructs a StripedLock with at least the given number of stripes. The
+	 * number is rounded up to a power of two.
+	 *
+	 * @param stripes the minimum number of stripes
+	 * @throws IllegalArgumentException if stripes is less than one
+	 */
+	public StripedLock(int stripes) {
+		if (stripes < 1 || stripes > 1 << 30) {
+			throw new IllegalArgumentException("Invalid number of stripes.");
+		}
+		int size = Integer.highestOneBit(stripes);
+		if (size < stripes) {
+			size <<= 1;
+		}
+		this.stripes = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = new ReentrantLock();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Returns the number of stripes.
+	 *
+	 * @return the number of stripes
+	 */
+	public int size() {
+		return stripes.length;
+	}
+
+	/**
+	 * Returns the index of the stripe guarding the given object.
+	 *
+	 * @param key the object
+	 * @return the index of its stripe
+	 */
+	public int stripeFor(Object key) {
+		int h = System.identityHashCode(key);
+		h ^= h >>> 16;
+		h *= 0x45d9f3b;
+		h ^= h >>> 16;
+		return h & mask;
+	}
+
+	/**
+	 * Locks the stripes guarding all of the given objects, in ascending stripe
+	 * order. Null objects are ignored. The returned stripes must be passed to
+	 * unlock() once the objects are no longer in use.
+	 *
+	 * @param keys the objects to lock
+	 * @return the indexes of the stripes that were locked
+	 */
+	public int[] lock(Object... keys) {
+		int[] held = new int[keys.length];
+		int count = 0;
+		for (Object key : keys) {
+			if (key != null) {
+				held[count++] = stripeFor(key);
+			}
+		}
+		Arrays.sort(held, 0, count);
+		int unique = 0;
+		for (int i = 0; i < count; i++) {
+			if (unique == 0 || held[unique - 1] != held[i]) {
+				held[unique++] = held[i];
+			}
+		}
+		held = Arrays.copyOf(held, unique);
+		for (int i = 0; i < held.length; i++) {
+			stripes[held[i]].lock();
+		}
+		return held;
+	}
+
+	/**
+	 * Locks every stripe, in ascending order, so that no object guarded by this
+	 * StripedLock can be changed until they are unlocked. The returned stripes
+	 * must be passed to unlock().
+	 *
+	 * @return the indexes of every stripe
+	 */
+	public int[] lockAll() {
+		int[] held = new int[stripes.length];
+		for (int i = 0; i < held.length; i++) {
+			stripes[i].lock();
+			held[i] = i;
+		}
+		return held;
+	}
+
+	/**
+	 * Unlocks stripes returned by lock(), in the reverse of the order they were
+	 * acquired.
+	 *
+	 * @param held the indexes of the stripes to unlock
+	 */
+	public void unlock(int[] held) {
+		for (int i = held.length - 1; i >= 0; i--) {
+			stripes[held[i]].unlock();
+		}
+	}
+
+	/**
+	 * Returns true if the current thread holds the stripe guarding the given
+	 * object.
+	 *
+	 * @param key the object
+	 * @return true if the stripe is held by the current thread
+	 */
+	public boolean isHeldByCurrentThread(Object key) {
+		return stripes[stripeFor(key)].isHeldByCurrentThread();
+	}
+}
@@ -0,0 +1,137 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests ConflictGraph.
+ * 
+ * @author Dania Swelam
+ */
+public class ConflictGraphTest {
+
+	/** CSC116-001, MW 9:10-11:00 */
+	private final Course csc116001 = new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW", 910, 1100);
+	/** CSC116-002, MW 11:20-13:10 */
+	private final Course csc116002 = new Course("CSC116", "Intro to Programming - Java", "002", 3, "spbalik", 10, "MW", 1120, 1310);
+	/** CSC216-001, TH 13:30-14:45 */
+	private final Course csc216001 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH", 1330, 1445);
+	/** CSC216-601, arranged */
+	private final Course csc216601 = new Course("CSC216", "Software Development Fundamentals", "601", 3, "jctetter", 10, "A");
+	/** CSC226-001, MWF 9:35-10:25 */
+	private final Course csc226001 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", 10, "MWF", 935, 1025);
+	/** CSC230-001, MW 11:45-13:00 */
+	private final Course csc230001 = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "MW", 1145, 1300);
+	/** CSC316-001, MW 8:30-9:45 */
+	private final Course csc316001 = new Course("CSC316", "Data Structures and Algorithms", "001", 3, "jtking", 10, "MW", 830, 945);
+
+	/**
+	 * Tests building a graph from a set of sections.
+	 */
+	@Test
+	public void testBuild() {
+		ConflictGraph graph = new ConflictGraph();
+		graph.build(new Course[] { csc116001, csc116002, csc216001, csc216601, csc226001, csc230001, csc316001 });
+
+		assertEquals(7, graph.size());
+		assertEquals(4, graph.getConflictCount());
+		assertTrue(graph.conflicts("CSC116,001", "CSC226,001"));
+		assertTrue(graph.conflicts("CSC226,001", "CSC116,001"));
+		assertTrue(graph.conflicts("CSC116,001", "CSC316,001"));
+		assertTrue(graph.conflicts("CSC226,001", "CSC316,001"));
+		assertTrue(graph.conflicts("CSC116,002", "CSC230,001"));
+		assertFalse(graph.conflicts("CSC116,001", "CSC116,002"));
+		assertFalse(graph.conflicts("CSC216,601", "CSC216,601"));
+		assertFalse(graph.conflicts("CSC116,001", "CSC999,001"));
+
+		String[] conflicts = graph.getConflicts("CSC116,001");
+		Arrays.sort(conflicts);
+		assertArrayEquals(new String[] { "CSC226,001", "CSC316,001" }, conflicts);
+		assertEquals(0, graph.getConflicts("CSC216,001").length);
+		assertEquals(0, graph.getConflicts("CSC999,001").length);
+
+		Course duplicate = new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "TH", 910, 1100);
+		assertThrows(IllegalArgumentException.class, () -> graph.build(new Course[] { csc116001, duplicate }));
+	}
+
+	/**
+	 * Tests adding and removing single sections, including reusing the space of
+	 * a removed section.
+	 */
+	@Test
+	public void testAddRemove() {
+		ConflictGraph graph = new ConflictGraph();
+		graph.add(csc116001);
+		graph.add(csc226001);
+		graph.add(csc216601);
+		assertEquals(3, graph.size());
+		assertEquals(1, graph.getConflictCount());
+		assertThrows(IllegalArgumentException.class, () -> graph.add(csc116001));
+
+		assertTrue(graph.remove(csc116001));
+		assertFalse(graph.remove(csc116001));
+		assertEquals(0, graph.getConflictCount());
+		assertEquals(0, graph.getConflicts("CSC226,001").length);
+
+		graph.add(csc316001);
+		graph.add(csc116001);
+		assertEquals(3, graph.getConflictCount());
+		assertTrue(graph.conflicts("CSC316,001", "CSC116,001"));
+		assertTrue(graph.conflicts("CSC316,001", "CSC226,001"));
+
+		graph.clear();
+		assertEquals(0, graph.size());
+		assertEquals(0, graph.getConflictCount());
+	}
+
+	/**
+	 * Tests that adding sections one at a time finds the same conflicts as
+	 * building the graph from all of them, including a long section that starts
+	 * well before a later one it runs into.
+	 */
+	@Test
+	public void testAddMatchesBuild() {
+		Course csc492001 = new Course("CSC492", "Senior Design Project", "001", 3, "sesmith5", 10, "MW", 800, 1500);
+		Course[] courses = { csc116001, csc116002, csc216001, csc216601, csc226001, csc230001, csc316001, csc492001 };
+		ConflictGraph built = new ConflictGraph();
+		built.build(courses);
+		ConflictGraph added = new ConflictGraph();
+		for (Course course : courses) {
+			added.add(course);
+		}
+
+		assertEquals(built.getConflictCount(), added.getConflictCount());
+		for (Course course : courses) {
+			String[] expected = built.getConflicts(ConflictGraph.sectionId(course));
+			String[] actual = added.getConflicts(ConflictGraph.sectionId(course));
+			Arrays.sort(expected);
+			Arrays.sort(actual);
+			assertArrayEquals(expected, actual);
+		}
+		assertTrue(added.conflicts("CSC492,001", "CSC230,001"));
+		assertFalse(added.conflicts("CSC492,001", "CSC216,001"));
+
+		assertTrue(added.remove(csc492001));
+		assertEquals(4, added.getConflictCount());
+		assertFalse(added.conflicts("CSC492,001", "CSC230,001"));
+	}
+
+	/**
+	 * Tests checking sections that may not be in the graph.
+	 */
+	@Test
+	public void testConflictsCourses() {
+		ConflictGraph graph = new ConflictGraph();
+		graph.add(csc116001);
+		graph.add(csc226001);
+		assertTrue(graph.conflicts(csc116001, csc226001));
+		assertTrue(graph.conflicts(csc116001, csc316001));
+		assertFalse(graph.conflicts(csc116001, csc116002));
+		assertEquals("CSC116,001", ConflictGraph.sectionId(csc116001));
+	}
+}
@@ -7,11 +7,20 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeRecorder;
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
 
 /**
  * Tests CourseCatalog.
@@ -81,6 +90,31 @@ public class CourseCatalogTest {
 		assertEquals(13, cc.getCourseCatalog().length);
 	}
 
+	/**
+	 * Tests CourseCatalog.loadCoursesFromFile() with instructors, on one thread
+	 * and on a pool.
+	 */
+	@Test
+	public void testLoadCoursesFromFileInstructors() {
+		CourseCatalog cc = new CourseCatalog();
+		Faculty smith = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+		cc.loadCoursesFromFile(validTestFile, id -> "sesmith5".equals(id) ? smith : null);
+		assertEquals(13, cc.getCourseCatalog().length);
+		assertEquals("sesmith5", cc.getCourseFromCatalog("CSC216", "001").getInstructorId());
+		assertNull(cc.getCourseFromCatalog("CSC116", "001").getInstructorId());
+		assertEquals(5, smith.getSchedule().getNumScheduledCourses());
+
+		CourseCatalog parallel = new CourseCatalog();
+		Faculty parallelSmith = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+		parallel.loadCoursesFromFile(validTestFile, id -> "sesmith5".equals(id) ? parallelSmith : null,
+				ForkJoinPool.commonPool());
+		assertArrayEquals(cc.getCourseCatalog(), parallel.getCourseCatalog());
+		assertEquals("sesmith5", parallel.getCourseFromCatalog("CSC217", "601").getInstructorId());
+		assertEquals(5, parallelSmith.getSchedule().getNumScheduledCourses());
+		assertThrows(IllegalArgumentException.class, () -> parallel
+				.loadCoursesFromFile("test-files/nonexisting_course_records.txt", null, ForkJoinPool.commonPool()));
+	}
+
 	/**
 	 * Tests CourseCatalog.loadCoursesFromFile() with an invalid file.
 	 */
@@ -119,6 +153,49 @@ public class CourseCatalogTest {
 		assertFalse(cc.removeCourseFromCatalog("CSC216", "001"));
 	}
 
+	/**
+	 * Tests that listeners are told which rows each change to the catalog
+	 * touches, and that a single row matches the whole catalog.
+	 */
+	@Test
+	public void testListChangeListener() {
+		CourseCatalog cc = new CourseCatalog();
+		ListChangeRecorder listener = new ListChangeRecorder();
+		cc.addListChangeListener(listener);
+
+		cc.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330,
+				1445);
+		cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW", 910, 1100);
+		cc.addCourseToCatalog("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", 10,
+				"MWF", 935, 1025);
+		assertFalse(cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW",
+				910, 1100));
+		assertEquals(Arrays.asList("inserted 0 0", "inserted 0 0", "inserted 2 2"), listener.take());
+		String[][] catalog = cc.getCourseCatalog();
+		for (int i = 0; i < catalog.length; i++) {
+			assertArrayEquals(catalog[i], cc.getCourseCatalogRow(i));
+		}
+
+		cc.courseUpdated(cc.getCourseFromCatalog("CSC216", "001"));
+		cc.courseUpdated(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "MW", 1145, 1300));
+		cc.courseUpdated(null);
+		assertEquals(Arrays.asList("updated 1 1"), listener.take());
+
+		assertTrue(cc.removeCourseFromCatalog("CSC116", "001"));
+		assertFalse(cc.removeCourseFromCatalog("CSC116", "001"));
+		assertEquals(Arrays.asList("deleting 0 0", "deleted 0 0"), listener.take());
+
+		cc.loadCoursesFromFile(validTestFile);
+		cc.newCourseCatalog();
+		assertEquals(Arrays.asList("changed", "changed"), listener.take());
+
+		cc.removeListChangeListener(listener);
+		cc.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330,
+				1445);
+		assertTrue(listener.take().isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> cc.getCourseCatalogRow(1));
+	}
+
 	/**
 	 * Tests CourseCatalog.getCourseFromCatalog().
 	 */
@@ -133,6 +210,32 @@ public class CourseCatalogTest {
 		assertNull(cc.getCourseFromCatalog("CSC226", "001"));
 	}
 
+	/**
+	 * Tests that lookups, duplicate checks and removals stay consistent with the
+	 * courses loaded from a file.
+	 */
+	@Test
+	public void testGetCourseFromCatalogAfterLoad() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+
+		Course c = cc.getCourseFromCatalog("CSC116", "002");
+		assertNotNull(c);
+		assertEquals("002", c.getSection());
+		assertFalse(cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "002", 3, "spbalik", 10, "MW",
+				1120, 1310));
+
+		assertTrue(cc.removeCourseFromCatalog("CSC116", "002"));
+		assertNull(cc.getCourseFromCatalog("CSC116", "002"));
+		assertEquals(12, cc.getCourseCatalog().length);
+		assertEquals("CSC116", cc.getCourseCatalog()[0][0]);
+		assertEquals("001", cc.getCourseCatalog()[0][1]);
+		assertEquals("003", cc.getCourseCatalog()[1][1]);
+
+		cc.newCourseCatalog();
+		assertNull(cc.getCourseFromCatalog("CSC116", "001"));
+	}
+
 	/**
 	 * Tests CourseCatalog.getCourseCatalog().
 	 */
@@ -146,6 +249,103 @@ public class CourseCatalogTest {
 		assertEquals("CSC216", catalogArray[0][0]);
 	}
 
+	/**
+	 * Tests that courses added to the catalog share the text they repeat.
+	 */
+	@Test
+	public void testAddCourseToCatalogSharesStrings() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.addCourseToCatalog(new String("CSC116"), new String("Intro to Programming - Java"), "001", 3, "jdyoung2", 10, new String("MW"), 910, 1100);
+		cc.addCourseToCatalog(new String("CSC116"), new String("Intro to Programming - Java"), "002", 3, "spbalik", 10, new String("MW"), 1120, 1310);
+		Course c1 = cc.getCourseFromCatalog("CSC116", "001");
+		Course c2 = cc.getCourseFromCatalog("CSC116", "002");
+		assertSame(c1.getName(), c2.getName());
+		assertSame(c1.getTitle(), c2.getTitle());
+		assertSame(c1.getMeetingDays(), c2.getMeetingDays());
+	}
+
+	/**
+	 * Tests that CourseCatalog.loadCourses() replaces the courses in the
+	 * catalog, skipping repeated sections.
+	 */
+	@Test
+	public void testLoadCourses() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW", 910, 1100);
+		StringPool strings = new StringPool();
+		List<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "TH", 1330, 1445));
+		courses.add(new Course("CSC116", "Intro to Programming - Java", "002", 3, null, 10, "MW", 1120, 1310));
+		courses.add(new Course("CSC216", "Repeated", "001", 3, null, 10, "A"));
+		cc.loadCourses(courses, strings);
+
+		String[][] catalog = cc.getCourseCatalog();
+		assertEquals(2, catalog.length);
+		assertEquals("CSC116", catalog[0][0]);
+		assertEquals("002", catalog[0][1]);
+		assertEquals("CSC216", catalog[1][0]);
+		assertNull(cc.getCourseFromCatalog("CSC116", "001"));
+		assertSame(courses.get(0), cc.getCourseFromCatalog("CSC216", "001"));
+		assertEquals(2, cc.getConflictGraph().size());
+
+		cc.addCourseToCatalog("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, null, 10, "TH", 935, 1025);
+		assertSame(strings.intern(new String("CSC226")), cc.getCourseFromCatalog("CSC226", "001").getName());
+	}
+
+	/**
+	 * Tests that CourseCatalog.getConflictGraph() follows the courses in the catalog.
+	 */
+	@Test
+	public void testGetConflictGraph() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		ConflictGraph graph = cc.getConflictGraph();
+		assertEquals(cc.getCourseCatalog().length, graph.size());
+		assertTrue(graph.conflicts("CSC116,001", "CSC226,001"));
+
+		cc.addCourseToCatalog("CSC333", "Automata", "001", 3, "jtking", 10, "F", 900, 1000);
+		assertTrue(graph.conflicts("CSC333,001", "CSC226,001"));
+		assertTrue(cc.removeCourseFromCatalog("CSC226", "001"));
+		assertFalse(graph.conflicts("CSC333,001", "CSC226,001"));
+		assertEquals(0, graph.getConflicts("CSC333,001").length);
+
+		assertSame(graph, cc.getConflictGraph());
+
+		cc.newCourseCatalog();
+		assertEquals(0, cc.getConflictGraph().size());
+		cc.loadCoursesFromFile(validTestFile);
+		assertNotSame(graph, cc.getConflictGraph());
+		assertTrue(cc.getConflictGraph().conflicts("CSC116,001", "CSC226,001"));
+	}
+
+	/**
+	 * Tests CourseCatalog.getConflicts().
+	 */
+	@Test
+	public void testGetConflicts() {
+		CourseCatalog cc = new CourseCatalog();
+		cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW", 910, 1100);
+		cc.addCourseToCatalog("CSC116", "Intro to Programming - Java", "002", 3, "spbalik", 10, "MW", 1120, 1310);
+		cc.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH", 1330, 1445);
+		cc.addCourseToCatalog("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "MWF", 935, 1025);
+		cc.addCourseToCatalog("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "A", 0, 0);
+
+		Schedule schedule = new Schedule();
+		assertTrue(cc.getConflicts(schedule).isEmpty());
+
+		schedule.addCourseToSchedule(cc.getCourseFromCatalog("CSC116", "001"));
+		BitSet conflicts = cc.getConflicts(schedule);
+		// CSC116-001 is scheduled, CSC116-002 is the same course, and CSC226 overlaps
+		assertEquals(3, conflicts.cardinality());
+		assertTrue(conflicts.get(0));
+		assertTrue(conflicts.get(1));
+		assertFalse(conflicts.get(2));
+		assertTrue(conflicts.get(3));
+		assertFalse(conflicts.get(4));
+
+		assertThrows(IllegalArgumentException.class, () -> cc.getConflicts(null));
+	}
+
 	/**
 	 * Tests saving the catalog of courses to a file.
 	 */
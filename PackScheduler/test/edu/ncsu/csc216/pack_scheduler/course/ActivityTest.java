@@ -117,6 +117,46 @@ class ActivityTest {
 	    assertDoesNotThrow(() -> a1.checkConflict(a5));
 	    assertDoesNotThrow(() -> a5.checkConflict(a1));
 	}
+
+	/**
+	 * Tests that conflictsWith() agrees with checkConflict() without throwing.
+	 */
+	@Test
+	public void testConflictsWith() {
+		Activity a1 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330, 1445);
+		Activity a2 = new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "WF", 1445, 1530);
+		Activity a3 = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "TH", 1330, 1445);
+		Activity a4 = new Course("CSC316", "Data Structures and Algorithms", "001", 3, "jtking", 10, "A");
+
+		assertTrue(a1.conflictsWith(a2));
+		assertTrue(a2.conflictsWith(a1));
+		assertFalse(a1.conflictsWith(a3));
+		assertFalse(a4.conflictsWith(a4));
+
+		Exception e = assertThrows(ConflictException.class, () -> a1.checkConflict(a2));
+		assertEquals("Schedule conflict.", e.getMessage());
+		assertDoesNotThrow(() -> a1.checkConflict(a3));
+	}
+
+	/**
+	 * Tests that only a shared day causes a conflict, whatever order the days
+	 * are listed in, and that a course that touches another at a single minute
+	 * conflicts with it.
+	 */
+	@Test
+	public void testCheckConflictDayOrder() {
+		Activity a1 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "FM", 800, 915);
+		Activity a2 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "HWT", 800, 915);
+		Activity a3 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "WF", 915, 1030);
+		Activity a4 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "A");
+
+		assertDoesNotThrow(() -> a1.checkConflict(a2));
+		assertDoesNotThrow(() -> a2.checkConflict(a1));
+		assertThrows(ConflictException.class, () -> a1.checkConflict(a3));
+		assertThrows(ConflictException.class, () -> a3.checkConflict(a2));
+		assertDoesNotThrow(() -> a1.checkConflict(a4));
+		assertDoesNotThrow(() -> a4.checkConflict(a3));
+	}
 	
 	@Test
 	public void testHashCode() {
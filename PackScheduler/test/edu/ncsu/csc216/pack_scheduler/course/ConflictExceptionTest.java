@@ -17,4 +17,18 @@ class ConflictExceptionTest {
 		ConflictException ce = new ConflictException();
 		assertEquals("Schedule conflict.", ce.getMessage());
 	}
+
+	@Test
+	void testStackless() {
+		ConflictException ce = new ConflictException("Custom exception message", false);
+		assertEquals("Custom exception message", ce.getMessage());
+		assertEquals(0, ce.getStackTrace().length);
+
+		ConflictException shared = ConflictException.stackless();
+		assertSame(shared, ConflictException.stackless());
+		assertEquals("Schedule conflict.", shared.getMessage());
+		assertEquals(0, shared.getStackTrace().length);
+		shared.addSuppressed(new ConflictException());
+		assertEquals(0, shared.getSuppressed().length);
+	}
 }
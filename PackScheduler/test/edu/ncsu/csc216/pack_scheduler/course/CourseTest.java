@@ -9,6 +9,8 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+
 /**
  * Tests the Course class.
  * 
@@ -37,6 +39,12 @@ public class CourseTest {
 	private static final int START_TIME = 1330;
 	/** Course end time */
 	private static final int END_TIME = 1445;
+	/** Number of courses created to measure the heap each one retains */
+	private static final int FOOTPRINT_COURSES = 20000;
+	/** Most heap bytes a Course, including its roll, should retain */
+	private static final long MAX_COURSE_BYTES = 400;
+	/** Most heap bytes a Course should retain apart from its roll */
+	private static final long MAX_COURSE_BYTES_WITHOUT_ROLL = 120;
 
 	/**
 	 * Tests constructing a Course with meeting days and times.
@@ -518,4 +526,50 @@ public class CourseTest {
 			// Expected exception
 		}
 	}
+
+	/**
+	 * Measures the heap retained by each Course. The courses share their String
+	 * fields, so the measurement covers the Course itself and the objects it
+	 * creates. Taking away the heap retained by a CourseRoll leaves what the
+	 * Course holds apart from its roll; a Course keeps no validator, which used
+	 * to add five objects to every course.
+	 */
+	@Test
+	public void testHeapFootprint() {
+		Course[] courses = new Course[FOOTPRINT_COURSES];
+		long before = usedHeap();
+		for (int i = 0; i < courses.length; i++) {
+			courses[i] = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME, END_TIME);
+		}
+		long perCourse = (usedHeap() - before) / courses.length;
+
+		CourseRoll[] rolls = new CourseRoll[FOOTPRINT_COURSES];
+		before = usedHeap();
+		for (int i = 0; i < rolls.length; i++) {
+			rolls[i] = new CourseRoll(courses[0], ENROLLMENT_CAP);
+		}
+		long perRoll = (usedHeap() - before) / rolls.length;
+
+		assertTrue(perCourse < MAX_COURSE_BYTES, "Each Course retains " + perCourse + " bytes");
+		assertTrue(perCourse - perRoll < MAX_COURSE_BYTES_WITHOUT_ROLL,
+				"Each Course retains " + (perCourse - perRoll) + " bytes apart from its roll");
+		assertEquals(NAME, courses[courses.length - 1].getName());
+		assertEquals(ENROLLMENT_CAP, rolls[rolls.length - 1].getEnrollmentCap());
+	}
+
+	/**
+	 * Returns the heap in use after garbage collection, as the smallest of
+	 * several readings so that allocation by other threads does not inflate it.
+	 * 
+	 * @return the bytes of heap in use
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
 }
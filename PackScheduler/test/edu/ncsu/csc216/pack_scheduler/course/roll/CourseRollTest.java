@@ -2,6 +2,15 @@ package edu.ncsu.csc216.pack_scheduler.course.roll;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -210,4 +219,139 @@ public class CourseRollTest {
 
         assertFalse(roll.canEnroll(new Student("First", "Student", "firstlastid", "overflow@example.com", "password")));
     }
+
+    /**
+     * Tests the getNextOnWaitlist() method.
+     */
+    @Test
+    public void testGetNextOnWaitlist() {
+        assertNull(roll.getNextOnWaitlist());
+        roll.enroll(zahir);
+        roll.enroll(cassandra);
+        roll.enroll(shannon);
+        roll.enroll(demetrius);
+        roll.enroll(raymond);
+        roll.enroll(emerald);
+        roll.enroll(lane);
+        roll.enroll(griffith);
+        roll.enroll(althea);
+        roll.enroll(dylan);
+        assertNull(roll.getNextOnWaitlist());
+
+        Student first = new Student("Wait", "First", "wfirst", "wfirst@ncsu.edu", "pw", 15);
+        Student second = new Student("Wait", "Second", "wsecond", "wsecond@ncsu.edu", "pw", 15);
+        roll.enroll(first);
+        roll.enroll(second);
+        assertEquals(first, roll.getNextOnWaitlist());
+
+        roll.drop(zahir);
+        assertEquals(second, roll.getNextOnWaitlist());
+        assertEquals(1, first.getSchedule().getScheduledCourses().length);
+    }
+
+    /**
+     * Tests that a student moved off the waitlist is handed to the consumer given
+     * to drop() or enroll(), which is left to change their schedule.
+     */
+    @Test
+    public void testPromoted() {
+        Student[] enrolled = { zahir, cassandra, shannon, demetrius, raymond, emerald, lane, griffith, althea, dylan };
+        for (Student s : enrolled) {
+            roll.enroll(s);
+        }
+        Student first = new Student("Wait", "First", "wfirst", "wfirst@ncsu.edu", "pw", 15);
+        Student second = new Student("Wait", "Second", "wsecond", "wsecond@ncsu.edu", "pw", 15);
+        roll.enroll(first, s -> fail("No seat is open"));
+        roll.enroll(second);
+        assertFalse(roll.isEnrolled(first));
+        assertTrue(roll.isEnrolled(zahir));
+        assertFalse(roll.isEnrolled(null));
+
+        List<Student> promoted = new ArrayList<Student>();
+        roll.drop(zahir, promoted::add);
+        assertEquals(Arrays.asList(first), promoted);
+        assertTrue(roll.isEnrolled(first));
+        assertFalse(roll.isEnrolled(zahir));
+        assertEquals(0, first.getSchedule().getScheduledCourses().length);
+
+        roll.drop(second, promoted::add);
+        roll.drop(cassandra, promoted::add);
+        assertEquals(Arrays.asList(first), promoted);
+        assertEquals(1, roll.getOpenSeats());
+    }
+
+    /**
+     * Tests getEnrolledStudents() and getWaitlistedStudents().
+     */
+    @Test
+    public void testGetStudents() {
+        assertEquals(0, roll.getEnrolledStudents().length);
+        assertEquals(0, roll.getWaitlistedStudents().length);
+        Student[] enrolled = { zahir, cassandra, shannon, demetrius, raymond, emerald, lane, griffith, althea, dylan };
+        for (Student s : enrolled) {
+            roll.enroll(s);
+        }
+        Student first = new Student("Wait", "First", "wfirst", "wfirst@ncsu.edu", "pw", 15);
+        Student second = new Student("Wait", "Second", "wsecond", "wsecond@ncsu.edu", "pw", 15);
+        roll.enroll(first);
+        roll.enroll(second);
+
+        assertEquals(10, roll.getEnrolledStudents().length);
+        assertTrue(Arrays.asList(roll.getEnrolledStudents()).containsAll(Arrays.asList(enrolled)));
+        assertArrayEquals(new Student[] { first, second }, roll.getWaitlistedStudents());
+
+        roll.drop(zahir);
+        assertArrayEquals(new Student[] { second }, roll.getWaitlistedStudents());
+    }
+
+    /**
+     * Tests that students enrolling from many threads at once fill every seat
+     * and waitlist spot exactly once.
+     *
+     * @throws Exception if a thread fails or does not finish
+     */
+    @Test
+    public void testConcurrentEnroll() throws Exception {
+        Course large = new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 250, "A");
+        CourseRoll largeRoll = large.getCourseRoll();
+        int numStudents = 400;
+        Student[] students = new Student[numStudents];
+        for (int i = 0; i < numStudents; i++) {
+            students[i] = new Student("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "pw", 15);
+        }
+
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < numStudents; i++) {
+                Student s = students[i];
+                futures.add(executor.submit(() -> {
+                    try {
+                        largeRoll.enroll(s);
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, largeRoll.getOpenSeats());
+        assertEquals(10, largeRoll.getNumberOnWaitlist());
+        assertEquals(numStudents - 260, rejected.get());
+
+        // Dropping everyone empties the roll and the waitlist
+        for (Student s : students) {
+            largeRoll.drop(s);
+        }
+        assertEquals(250, largeRoll.getOpenSeats());
+        assertEquals(0, largeRoll.getNumberOnWaitlist());
+        assertNull(largeRoll.getNextOnWaitlist());
+    }
 }
@@ -235,4 +235,41 @@ class CourseNameValidatorTest {
 			assertEquals("Course name can only contain letters and digits.", e.getMessage());
 		}
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testValidate() {
+		assertEquals(CourseNameValidator.VALID, CourseNameValidator.validate("CSC216"));
+		assertEquals(CourseNameValidator.VALID, CourseNameValidator.validate("E115A"));
+		assertEquals(CourseNameValidator.INCOMPLETE, CourseNameValidator.validate(""));
+		assertEquals(CourseNameValidator.INCOMPLETE, CourseNameValidator.validate("CSC21"));
+		assertEquals(CourseNameValidator.INVALID_CHARACTER, CourseNameValidator.validate("CSC-216"));
+		assertEquals(CourseNameValidator.STARTS_WITH_DIGIT, CourseNameValidator.validate("216"));
+		assertEquals(CourseNameValidator.TOO_MANY_LETTERS, CourseNameValidator.validate("CSCAB216"));
+		assertEquals(CourseNameValidator.TOO_FEW_DIGITS, CourseNameValidator.validate("CSC21A"));
+		assertEquals(CourseNameValidator.TOO_MANY_DIGITS, CourseNameValidator.validate("CSC2160"));
+		assertEquals(CourseNameValidator.SUFFIX_TOO_LONG, CourseNameValidator.validate("CSC216AB"));
+		assertEquals(CourseNameValidator.DIGIT_AFTER_SUFFIX, CourseNameValidator.validate("CSC216A1"));
+
+		// The first mistake decides the result
+		assertEquals(CourseNameValidator.STARTS_WITH_DIGIT, CourseNameValidator.validate("1 CSC216"));
+		assertEquals(CourseNameValidator.INVALID_CHARACTER, CourseNameValidator.validate("C S12345"));
+		assertEquals(CourseNameValidator.VALID, CourseNameValidator.validate(new StringBuilder("MA141")));
+	}
+
+	@Test
+	public void testValidateAll() {
+		int[] results = CourseNameValidator.validateAll(new CharSequence[] { "CSC116", "CSC11", "CSC 116", "MA141A" });
+		assertArrayEquals(new int[] { CourseNameValidator.VALID, CourseNameValidator.INCOMPLETE,
+				CourseNameValidator.INVALID_CHARACTER, CourseNameValidator.VALID }, results);
+		assertEquals(0, CourseNameValidator.validateAll(new CharSequence[0]).length);
+	}
+
+	@Test
+	public void testGetMessage() {
+		assertNull(CourseNameValidator.getMessage(CourseNameValidator.VALID));
+		assertNull(CourseNameValidator.getMessage(CourseNameValidator.INCOMPLETE));
+		assertEquals("Course name must have 3 digits.", CourseNameValidator.getMessage(CourseNameValidator.TOO_FEW_DIGITS));
+		assertThrows(IllegalArgumentException.class, () -> CourseNameValidator.getMessage(-1));
+		assertThrows(IllegalArgumentException.class, () -> CourseNameValidator.getMessage(9));
+	}
+}
@@ -6,11 +6,18 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeRecorder;
+
 /**
  * Tests FacultyDirectory.
  * 
@@ -100,6 +107,39 @@ public class FacultyDirectoryTest {
         assertEquals("lwalls", facultyDirectory[7][2]);
     }
 
+    /**
+     * Tests loadFacultyFromFile() on a pool.
+     */
+    @Test
+    public void testLoadFacultyFromFileParallel() {
+        FacultyDirectory expected = new FacultyDirectory();
+        expected.loadFacultyFromFile(validTestFile);
+
+        fd.loadFacultyFromFile(validTestFile, ForkJoinPool.commonPool());
+        assertArrayEquals(expected.getFacultyDirectory(), fd.getFacultyDirectory());
+
+        fd.loadFacultyFromFile(validTestFile, ForkJoinPool.commonPool());
+        assertEquals(8, fd.getFacultyDirectory().length);
+        assertThrows(IllegalArgumentException.class,
+                () -> fd.loadFacultyFromFile("test-files/no_such_file.txt", ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Tests loadFaculty().
+     */
+    @Test
+    public void testLoadFaculty() {
+        fd.addFaculty("Ashely", "Witt", "awitt", "mollis@Fuscealiquetmagna.net", "pw", "pw", 2);
+        Faculty witt = new Faculty("Ashely", "Witt", "awitt", "awitt@ncsu.edu", "hash", 2);
+        Faculty meadows = new Faculty("Fiona", "Meadows", "fmeadow", "fmeadow@ncsu.edu", "hash", 3);
+        Faculty repeat = new Faculty("Fiona", "Repeat", "fmeadow", "repeat@ncsu.edu", "hash", 3);
+        fd.loadFaculty(new ArrayList<Faculty>(List.of(witt, meadows, repeat)));
+
+        assertEquals(2, fd.getFacultyDirectory().length);
+        assertSame(meadows, fd.getFacultyById("fmeadow"));
+        assertNotSame(witt, fd.getFacultyById("awitt"));
+    }
+
     /**
      * Tests saveFacultyDirectory().
      */
@@ -192,4 +232,62 @@ public class FacultyDirectoryTest {
         assertNotNull(fd.getFacultyById("awitt"));
         assertNull(fd.getFacultyById("invalid"));
     }
+
+    /**
+     * Tests that getFacultyById() stays in sync with loads, removals, and new
+     * directories.
+     */
+    @Test
+    public void testGetFacultyByIdAfterLoad() {
+        fd.newFacultyDirectory();
+        fd.loadFacultyFromFile(validTestFile);
+        assertEquals("fmeadow", fd.getFacultyById("fmeadow").getId());
+        assertFalse(fd.addFaculty("Fiona", "Meadows", "fmeadow", "pharetra.sed@et.org", "pw", "pw", 3));
+
+        assertTrue(fd.removeFaculty("fmeadow"));
+        assertNull(fd.getFacultyById("fmeadow"));
+        assertEquals(7, fd.getFacultyDirectory().length);
+        assertNotNull(fd.getFacultyById("awitt"));
+
+        fd.newFacultyDirectory();
+        assertNull(fd.getFacultyById("awitt"));
+    }
+
+    /**
+     * Tests that listeners are told which rows each change to the directory
+     * touches, and that a single row matches the whole directory.
+     */
+    @Test
+    public void testListChangeListener() {
+        ListChangeRecorder listener = new ListChangeRecorder();
+        fd.addListChangeListener(listener);
+
+        assertTrue(fd.addFaculty("Ashely", "Witt", "awitt", "mollis@Fuscealiquetmagna.net", "pw", "pw", 2));
+        assertTrue(fd.addFaculty("Fiona", "Meadows", "fmeadow", "pharetra.sed@et.org", "pw", "pw", 3));
+        assertFalse(fd.addFaculty("Fiona", "Meadows", "fmeadow", "pharetra.sed@et.org", "pw", "pw", 3));
+        assertEquals(Arrays.asList("inserted 0 0", "inserted 1 1"), listener.take());
+        assertArrayEquals(new String[] { "Fiona", "Meadows", "fmeadow" }, fd.getFacultyDirectoryRow(1));
+
+        assertTrue(fd.removeFaculty("awitt"));
+        assertFalse(fd.removeFaculty("awitt"));
+        assertEquals(Arrays.asList("deleting 0 0", "deleted 0 0"), listener.take());
+
+        // Loaded faculty are appended after the one already in the directory
+        fd.loadFacultyFromFile(validTestFile);
+        assertEquals(8, fd.getFacultyDirectory().length);
+        assertEquals(Arrays.asList("inserted 1 7"), listener.take());
+        String[][] directory = fd.getFacultyDirectory();
+        for (int i = 0; i < directory.length; i++) {
+            assertArrayEquals(directory[i], fd.getFacultyDirectoryRow(i));
+        }
+        fd.loadFacultyFromFile(validTestFile);
+        assertTrue(listener.take().isEmpty());
+
+        fd.newFacultyDirectory();
+        assertEquals(Arrays.asList("changed"), listener.take());
+
+        fd.removeListChangeListener(listener);
+        fd.addFaculty("Ashely", "Witt", "awitt", "mollis@Fuscealiquetmagna.net", "pw", "pw", 2);
+        assertTrue(listener.take().isEmpty());
+    }
 }
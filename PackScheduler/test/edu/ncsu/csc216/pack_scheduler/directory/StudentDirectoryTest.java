@@ -7,7 +7,11 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +19,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeRecorder;
 
 /**
  * Tests StudentDirectory.
@@ -109,6 +114,44 @@ public class StudentDirectoryTest {
         assertEquals("Unable to read file " + invalidTestFile, e1.getMessage());
     }
 
+    /**
+     * Tests StudentDirectory.loadStudentsFromFile() on a pool.
+     */
+    @Test
+    public void testLoadStudentsFromFileParallel() {
+        StudentDirectory expected = new StudentDirectory();
+        expected.loadStudentsFromFile(validTestFile);
+
+        StudentDirectory sd = new StudentDirectory();
+        sd.loadStudentsFromFile(validTestFile, ForkJoinPool.commonPool());
+        assertArrayEquals(expected.getStudentDirectory(), sd.getStudentDirectory());
+
+        // Students already in the directory are not added again
+        sd.loadStudentsFromFile(validTestFile, ForkJoinPool.commonPool());
+        assertEquals(10, sd.getStudentDirectory().length);
+
+        Exception e1 = assertThrows(IllegalArgumentException.class,
+                () -> sd.loadStudentsFromFile(invalidTestFile, ForkJoinPool.commonPool()));
+        assertEquals("Unable to read file " + invalidTestFile, e1.getMessage());
+    }
+
+    /**
+     * Tests StudentDirectory.loadStudents().
+     */
+    @Test
+    public void testLoadStudents() {
+        StudentDirectory sd = new StudentDirectory();
+        sd.addStudent("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", "pw", 15);
+        Student king = new Student("Zahir", "King", "zking", "zking@ncsu.edu", "hash", 15);
+        Student frost = new Student("Emerald", "Frost", "efrost", "efrost@ncsu.edu", "hash", 3);
+        Student repeat = new Student("Emerald", "Repeat", "efrost", "repeat@ncsu.edu", "hash", 3);
+        sd.loadStudents(new ArrayList<Student>(List.of(king, frost, repeat)));
+
+        assertEquals(2, sd.getStudentDirectory().length);
+        assertSame(frost, sd.getStudentById("efrost"));
+        assertNotSame(king, sd.getStudentById("zking"));
+    }
+
     /**
      * Tests StudentDirectory.addStudent().
      */
@@ -257,6 +300,67 @@ public class StudentDirectoryTest {
         assertNull(sd.getStudentById("null"));
     }
 
+    /**
+     * Tests that StudentDirectory.getStudentById() stays in sync with loads,
+     * removals, and new directories.
+     */
+    @Test
+    public void testGetStudentByIdAfterLoad() {
+        StudentDirectory sd = new StudentDirectory();
+        sd.loadStudentsFromFile(validTestFile);
+
+        Student student = sd.getStudentById("efrost");
+        assertNotNull(student);
+        assertEquals("efrost", student.getId());
+        assertFalse(sd.addStudent("Emerald", "Frost", "efrost", "adipiscing@acipsumPhasellus.ca", PASSWORD, PASSWORD, 3));
+
+        assertTrue(sd.removeStudent("efrost"));
+        assertNull(sd.getStudentById("efrost"));
+        assertFalse(sd.removeStudent("efrost"));
+        assertNotNull(sd.getStudentById(ID));
+
+        sd.newStudentDirectory();
+        assertNull(sd.getStudentById(ID));
+    }
+
+    /**
+     * Tests that listeners are told which rows each change to the directory
+     * touches, and that a single row matches the whole directory.
+     */
+    @Test
+    public void testListChangeListener() {
+        StudentDirectory sd = new StudentDirectory();
+        ListChangeRecorder listener = new ListChangeRecorder();
+        sd.addListChangeListener(listener);
+
+        assertTrue(sd.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+        assertTrue(sd.addStudent("Ashely", "Witt", "awitt", "mollis@Fuscealiquetmagna.net", PASSWORD, PASSWORD, 15));
+        assertTrue(sd.addStudent("Demetrius", "Austin", "daustin", "Curabitur.egestas.nunc@placeratorcilacus.co.uk",
+                PASSWORD, PASSWORD, 18));
+        assertFalse(sd.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+        assertEquals(Arrays.asList("inserted 0 0", "inserted 1 1", "inserted 0 0"), listener.take());
+        String[][] directory = sd.getStudentDirectory();
+        assertEquals(3, directory.length);
+        for (int i = 0; i < directory.length; i++) {
+            assertArrayEquals(directory[i], sd.getStudentDirectoryRow(i));
+        }
+        assertArrayEquals(new String[] { FIRST_NAME, LAST_NAME, ID }, sd.getStudentDirectoryRow(1));
+
+        assertTrue(sd.removeStudent(ID));
+        assertFalse(sd.removeStudent(ID));
+        assertEquals(Arrays.asList("deleting 1 1", "deleted 1 1"), listener.take());
+
+        sd.loadStudents(new ArrayList<Student>());
+        assertTrue(listener.take().isEmpty());
+        sd.loadStudentsFromFile(validTestFile);
+        sd.newStudentDirectory();
+        assertEquals(Arrays.asList("changed", "changed"), listener.take());
+
+        sd.removeListChangeListener(listener);
+        sd.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS);
+        assertTrue(listener.take().isEmpty());
+    }
+
     /**
      * Helper method to compare two files for the same contents
      * 
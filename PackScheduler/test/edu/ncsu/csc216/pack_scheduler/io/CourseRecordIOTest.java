@@ -11,10 +11,16 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
 
 /**
  * Tests CourseRecordIO.
@@ -114,6 +120,149 @@ public class CourseRecordIOTest {
         }
     }
 
+    /**
+     * Tests reading course records from a mapped file.
+     * Ensures that the same courses are read as from a stream and that invalid courses are skipped.
+     */
+    @Test
+    public void testMapCourseRecords() {
+        try {
+            SortedList<Course> courses = CourseRecordIO.mapCourseRecords(validTestFile, new StringPool());
+            assertEquals(13, courses.size());
+
+            for (int i = 0; i < validCourses.length; i++) {
+                assertEquals(validCourses[i], courses.get(i).toString());
+            }
+            assertEquals(0, CourseRecordIO.mapCourseRecords(invalidTestFile, new StringPool()).size());
+        } catch (FileNotFoundException e) {
+            fail("Unexpected FileNotFoundException");
+        }
+        assertThrows(FileNotFoundException.class,
+                () -> CourseRecordIO.mapCourseRecords("test-files/no_such_file.txt", new StringPool()));
+    }
+
+    /**
+     * Tests reading course records with an instructor resolver.
+     * Ensures that each instructor id is resolved once and that the courses of a known
+     * instructor are added to their schedule, while other courses keep no instructor.
+     */
+    @Test
+    public void testReadCourseRecordsInstructors() {
+        Faculty smith = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+        List<String> resolved = new ArrayList<String>();
+        try {
+            SortedList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, new StringPool(), id -> {
+                resolved.add(id);
+                return "sesmith5".equals(id) ? smith : null;
+            });
+            assertEquals(13, courses.size());
+            assertEquals(new HashSet<String>(resolved).size(), resolved.size());
+            assertTrue(resolved.contains("jtking"));
+
+            int assigned = 0;
+            for (int i = 0; i < courses.size(); i++) {
+                String instructor = courses.get(i).getInstructorId();
+                if (instructor != null) {
+                    assertEquals("sesmith5", instructor);
+                    assigned++;
+                }
+            }
+            assertEquals(5, assigned);
+            assertEquals(5, smith.getSchedule().getNumScheduledCourses());
+        } catch (FileNotFoundException e) {
+            fail("Unexpected FileNotFoundException");
+        }
+    }
+
+    /**
+     * Tests reading course records whose instructor cannot teach all of them.
+     * Ensures that courses conflicting with an earlier course of the same instructor are skipped.
+     */
+    @Test
+    public void testReadCourseRecordsInstructorConflicts() {
+        Faculty busy = new Faculty("Busy", "Instructor", "busy", "busy@ncsu.edu", "pw", 3);
+        try {
+            SortedList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, new StringPool(), id -> busy);
+            assertTrue(courses.size() < 13);
+            assertEquals(courses.size(), busy.getSchedule().getNumScheduledCourses());
+            for (int i = 0; i < courses.size(); i++) {
+                assertEquals("busy", courses.get(i).getInstructorId());
+            }
+        } catch (FileNotFoundException e) {
+            fail("Unexpected FileNotFoundException");
+        }
+    }
+
+    /**
+     * Tests reading a section that is repeated after its first line was
+     * skipped because its instructor could not teach it.
+     * Ensures that the later line is read, bound to its own instructor, and
+     * that a line repeating a section already read is still ignored.
+     * 
+     * @throws IOException if the test file cannot be written
+     */
+    @Test
+    public void testReadCourseRecordsDuplicateAfterConflict() throws IOException {
+        Faculty busy = new Faculty("Busy", "Instructor", "busy", "busy@ncsu.edu", "pw", 3);
+        Faculty other = new Faculty("Other", "Instructor", "other", "other@ncsu.edu", "pw", 3);
+        Path file = Files.createTempFile("course_records", ".txt");
+        try {
+            Files.write(file, List.of("CSC216,Software Development Fundamentals,001,3,busy,10,MW,0910,1100",
+                    "CSC116,Intro to Programming - Java,001,3,busy,10,MW,1000,1100",
+                    "CSC116,Intro to Programming - Java,001,3,other,10,TH,1000,1100",
+                    "CSC116,Intro to Programming - Java,001,3,busy,10,F,1000,1100"));
+            SortedList<Course> courses = CourseRecordIO.readCourseRecords(file.toString(), new StringPool(),
+                    id -> "busy".equals(id) ? busy : other);
+            assertEquals(2, courses.size());
+            assertEquals("CSC116", courses.get(0).getName());
+            assertEquals("other", courses.get(0).getInstructorId());
+            assertEquals("TH", courses.get(0).getMeetingDays());
+            assertEquals(1, busy.getSchedule().getNumScheduledCourses());
+            assertEquals(1, other.getSchedule().getNumScheduledCourses());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests reading course records on a pool.
+     * Ensures that the same courses, with the same instructors, are read as on one thread.
+     */
+    @Test
+    public void testReadCourseRecordsParallel() {
+        try {
+            String[] files = { validTestFile, invalidTestFile };
+            for (String file : files) {
+                Faculty smith = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+                Faculty parallelSmith = new Faculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", 3);
+                SortedList<Course> expected = CourseRecordIO.readCourseRecords(file, new StringPool(),
+                        id -> "sesmith5".equals(id) ? smith : null);
+                SortedList<Course> courses = CourseRecordIO.readCourseRecords(file, new StringPool(),
+                        id -> "sesmith5".equals(id) ? parallelSmith : null, ForkJoinPool.commonPool());
+                assertEquals(expected.size(), courses.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).toString(), courses.get(i).toString());
+                }
+            }
+
+            StringPool strings = new StringPool();
+            String name = strings.intern(new String("CSC216"));
+            SortedList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, strings, null,
+                    ForkJoinPool.commonPool());
+            for (int i = 0; i < courses.size(); i++) {
+                Course course = courses.get(i);
+                assertSame(strings.intern(new String(course.getTitle())), course.getTitle());
+                if ("CSC216".equals(course.getName())) {
+                    assertSame(name, course.getName());
+                }
+            }
+        } catch (FileNotFoundException e) {
+            fail("Unexpected FileNotFoundException");
+        }
+        assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseRecords(
+                "test-files/no_such_file.txt", new StringPool(), null, ForkJoinPool.commonPool()));
+    }
+
     /**
      * Tests writing course records to a file.
      * Ensures that the records are written correctly and the output matches the expected file.
@@ -134,6 +283,29 @@ public class CourseRecordIOTest {
         checkFiles("test-files/expected_course_records.txt", "test-files/actual_course_records.txt");
     }
 
+    /**
+     * Tests writing course records with sync on.
+     * Ensures that the statistics count every record and byte written.
+     */
+    @Test
+    public void testWriteCourseRecordsSync() {
+        SortedList<Course> courses = new SortedList<>();
+        courses.add(new Course("CSC116", "Intro to Programming - Java", "003", 3, "spbalik", 10, "MW", 1250, 1440));
+        courses.add(new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330, 1445));
+        courses.add(new Course("CSC216", "Software Development Fundamentals", "601", 3, "jctetter", 10, "A"));
+
+        try {
+            WriteStats stats = CourseRecordIO.writeCourseRecords("test-files/actual_course_records.txt", courses, true);
+            assertEquals(3, stats.getRecords());
+            assertEquals(new File("test-files/actual_course_records.txt").length(), stats.getBytes());
+        } catch (IOException e) {
+            fail("Cannot write to course records file");
+        }
+
+        checkFiles("test-files/expected_course_records.txt", "test-files/actual_course_records.txt");
+        assertThrows(IOException.class, () -> CourseRecordIO.writeCourseRecords("no_such_directory/courses.txt", courses));
+    }
+
     /**
      * Helper method to compare two files for the same contents.
      * 
@@ -8,6 +8,7 @@ import java.util.Base64;
 import java.util.Scanner;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
@@ -119,6 +120,27 @@ class FacultyRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests that reading Faculty records on a pool gives the same Faculty as
+	 * reading them on one thread.
+	 */
+	@Test
+	void testReadFacultyRecordsParallel() {
+		try {
+			String[] files = { validTestFile, invalidTestFile };
+			for (String file : files) {
+				LinkedList<Faculty> expected = FacultyRecordIO.readFacultyRecords(file);
+				LinkedList<Faculty> faculties = FacultyRecordIO.readFacultyRecords(file, ForkJoinPool.commonPool());
+				assertEquals(expected.size(), faculties.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(expected.get(i).toString(), faculties.get(i).toString());
+				}
+			}
+		} catch (final FileNotFoundException e) {
+			fail("Unexpected FileNotFoundException");
+		}
+	}
+
 	/**
 	 * Tests writeFacultyRecords().
 	 */
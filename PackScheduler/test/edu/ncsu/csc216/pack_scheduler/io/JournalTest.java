@@ -0,0 +1,228 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests Journal.
+ *
+ * @author Dania Swelam
+ */
+public class JournalTest {
+
+	/** Directory holding the journal */
+	private Path directory;
+	/** Journal file */
+	private Path file;
+
+	/**
+	 * Creates an empty directory for the journal.
+	 *
+	 * @throws IOException if the directory cannot be created
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("journal");
+		file = directory.resolve("registration.journal");
+	}
+
+	/**
+	 * Deletes the directory and the journal.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.delete(directory);
+	}
+
+	/**
+	 * Opens the journal and returns every record it replayed.
+	 *
+	 * @param replayed the list the replayed records are added to
+	 * @return the journal
+	 * @throws IOException if the journal cannot be opened
+	 */
+	private Journal open(List<JournalEntry> replayed) throws IOException {
+		return Journal.open(file.toString(), false, replayed::add);
+	}
+
+	/**
+	 * Tests that records appended and committed are replayed in order when the
+	 * journal is opened again.
+	 *
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	@Test
+	public void testAppendAndReplay() throws IOException {
+		List<JournalEntry> replayed = new ArrayList<JournalEntry>();
+		try (Journal journal = open(replayed)) {
+			assertTrue(replayed.isEmpty());
+			long first = journal.append((byte) 1, "efrost", "CSC216", "001");
+			long second = journal.append((byte) 4, "Caf\u00e9");
+			long third = journal.append((byte) 2);
+			assertTrue(first < second && second < third);
+			journal.commit(third);
+			assertEquals(3, journal.getRecords());
+		}
+
+		try (Journal journal = open(replayed)) {
+			assertEquals(3, replayed.size());
+			assertEquals(1, replayed.get(0).getType());
+			assertEquals(3, replayed.get(0).getFieldCount());
+			assertEquals("efrost", replayed.get(0).getField(0));
+			assertEquals("001", replayed.get(0).getField(2));
+			assertEquals(4, replayed.get(1).getType());
+			assertEquals("Caf\u00e9", replayed.get(1).getField(0));
+			assertEquals(0, replayed.get(2).getFieldCount());
+			assertThrows(IndexOutOfBoundsException.class, () -> replayed.get(2).getField(0));
+
+			journal.commit(journal.append((byte) 3, "zking"));
+		}
+
+		replayed.clear();
+		open(replayed).close();
+		assertEquals(4, replayed.size());
+		assertEquals("zking", replayed.get(3).getField(0));
+	}
+
+	/**
+	 * Tests that records appended before a commit are written together, and
+	 * that closing the journal writes records that were never committed.
+	 *
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	@Test
+	public void testGroupCommit() throws IOException {
+		List<JournalEntry> replayed = new ArrayList<JournalEntry>();
+		try (Journal journal = open(replayed)) {
+			journal.append((byte) 1, "a");
+			long second = journal.append((byte) 1, "b");
+			long third = journal.append((byte) 1, "c");
+			journal.commit(second);
+			assertEquals(1, journal.getBatches());
+			journal.commit(third);
+			assertEquals(1, journal.getBatches());
+			journal.append((byte) 1, "d");
+		}
+		try (Journal journal = open(replayed)) {
+			assertEquals(4, replayed.size());
+			assertEquals("d", replayed.get(3).getField(0));
+			assertEquals(0, journal.getBatches());
+		}
+	}
+
+	/**
+	 * Tests that records committed from many threads at once are all written.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentCommit() throws Exception {
+		int threads = 8;
+		int records = 500;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try (Journal journal = Journal.open(file.toString(), true, entry -> fail("New journal replayed a record"))) {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				String id = "s" + t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < records; i++) {
+						journal.commit(journal.append((byte) 1, id, Integer.toString(i)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			assertEquals(threads * records, journal.getRecords());
+			assertTrue(journal.getBatches() <= threads * records);
+		} finally {
+			executor.shutdown();
+		}
+
+		List<JournalEntry> replayed = new ArrayList<JournalEntry>();
+		open(replayed).close();
+		assertEquals(threads * records, replayed.size());
+		int[] next = new int[threads];
+		for (JournalEntry entry : replayed) {
+			int thread = Integer.parseInt(entry.getField(0).substring(1));
+			assertEquals(Integer.toString(next[thread]++), entry.getField(1));
+		}
+	}
+
+	/**
+	 * Tests that a record cut short by a crash ends the journal, and is removed
+	 * before new records are appended.
+	 *
+	 * @throws IOException if the journal cannot be read or written
+	 */
+	@Test
+	public void testTornTail() throws IOException {
+		List<JournalEntry> replayed = new ArrayList<JournalEntry>();
+		try (Journal journal = open(replayed)) {
+			journal.append((byte) 1, "efrost", "CSC216", "001");
+			journal.append((byte) 1, "zking", "CSC216", "001");
+		}
+		long size = Files.size(file);
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.setLength(size - 3);
+		}
+
+		try (Journal journal = open(replayed)) {
+			assertEquals(1, replayed.size());
+			assertEquals("efrost", replayed.get(0).getField(0));
+			journal.append((byte) 2, "efrost", "CSC216", "001");
+		}
+		replayed.clear();
+		open(replayed).close();
+		assertEquals(2, replayed.size());
+		assertEquals(2, replayed.get(1).getType());
+
+		// A corrupted byte fails the checksum of the last record
+		size = Files.size(file);
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.seek(size - 1);
+			raf.write('X');
+		}
+		replayed.clear();
+		open(replayed).close();
+		assertEquals(1, replayed.size());
+	}
+
+	/**
+	 * Tests that a file that is not a journal is not opened, and that invalid
+	 * records are not appended.
+	 *
+	 * @throws IOException if the files cannot be written
+	 */
+	@Test
+	public void testInvalid() throws IOException {
+		Files.write(file, "CSC216,Software Development Fundamentals".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IOException.class, () -> open(new ArrayList<JournalEntry>()));
+		Files.delete(file);
+
+		Journal journal = open(new ArrayList<JournalEntry>());
+		assertThrows(IllegalArgumentException.class, () -> journal.append((byte) 1, "a", null));
+		assertThrows(IllegalArgumentException.class, () -> journal.append((byte) 1, "x".repeat(70000)));
+		assertThrows(IllegalArgumentException.class, () -> journal.append((byte) 1, new String[256]));
+		journal.close();
+		assertThrows(IllegalStateException.class, () -> journal.append((byte) 1, "a"));
+	}
+}
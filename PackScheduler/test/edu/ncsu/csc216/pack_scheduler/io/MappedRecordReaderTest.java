@@ -0,0 +1,147 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
+/**
+ * Tests MappedRecordReader.
+ *
+ * @author Dania Swelam
+ */
+public class MappedRecordReaderTest {
+
+	/**
+	 * Returns a reader over the UTF-8 encoding of the given text.
+	 *
+	 * @param text the records to read
+	 * @return a reader over the records
+	 */
+	private static MappedRecordReader reader(String text) {
+		return new MappedRecordReader(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Tests reading lines ending in each kind of line terminator.
+	 */
+	@Test
+	public void testNextLine() {
+		MappedRecordReader reader = reader("a,b\r\nc\rd\n\ne\u2028f\u0085g");
+		assertTrue(reader.nextLine());
+		assertEquals(2, reader.getFieldCount());
+		assertEquals("a", reader.getString(0));
+		assertEquals("b", reader.getString(1));
+
+		assertTrue(reader.nextLine());
+		assertEquals("c", reader.getString(0));
+		assertTrue(reader.nextLine());
+		assertEquals("d", reader.getString(0));
+
+		assertTrue(reader.nextLine());
+		assertEquals(0, reader.getFieldCount());
+
+		assertTrue(reader.nextLine());
+		assertEquals("e", reader.getString(0));
+		assertTrue(reader.nextLine());
+		assertEquals("f", reader.getString(0));
+		assertTrue(reader.nextLine());
+		assertEquals("g", reader.getString(0));
+		assertFalse(reader.nextLine());
+	}
+
+	/**
+	 * Tests that fields are split the same way as RecordReader splits them,
+	 * and that fields that are not ASCII are decoded.
+	 */
+	@Test
+	public void testFields() {
+		MappedRecordReader reader = reader(",a,,b,\na,b,,\n, x ,\nCaf\u00e9,\u65e5\u672c\n");
+		assertTrue(reader.nextLine());
+		assertEquals(3, reader.getFieldCount());
+		assertEquals("a", reader.getString(0));
+		assertEquals("", reader.getString(1));
+		assertEquals("b", reader.getString(2));
+
+		assertTrue(reader.nextLine());
+		assertEquals(3, reader.getFieldCount());
+		assertEquals("", reader.getString(2));
+
+		assertTrue(reader.nextLine());
+		assertEquals(1, reader.getFieldCount());
+		assertEquals(" x ", reader.getString(0));
+		assertThrows(NoSuchElementException.class, () -> reader.getString(1));
+
+		assertTrue(reader.nextLine());
+		assertEquals("Caf\u00e9", reader.getString(0));
+		assertEquals("\u65e5\u672c", reader.getString(1));
+		assertFalse(reader.nextLine());
+	}
+
+	/**
+	 * Tests reading int fields.
+	 */
+	@Test
+	public void testGetInt() {
+		MappedRecordReader reader = reader("0910,+3,-2147483648,2147483647,2147483648, 4,1.0,-,");
+		assertTrue(reader.nextLine());
+		assertEquals(910, reader.getInt(0));
+		assertEquals(3, reader.getInt(1));
+		assertEquals(Integer.MIN_VALUE, reader.getInt(2));
+		assertEquals(Integer.MAX_VALUE, reader.getInt(3));
+
+		assertFalse(reader.hasInt(4));
+		assertFalse(reader.hasInt(5));
+		assertFalse(reader.hasInt(6));
+		assertFalse(reader.hasInt(7));
+		assertFalse(reader.hasInt(8));
+		assertThrows(InputMismatchException.class, () -> reader.getInt(4));
+		assertThrows(NoSuchElementException.class, () -> reader.getInt(8));
+	}
+
+	/**
+	 * Tests viewing a field without creating a String, and taking fields from
+	 * a pool.
+	 */
+	@Test
+	public void testGetChars() {
+		StringPool pool = new StringPool();
+		MappedRecordReader reader = reader("CSC216,MW\nCSC116,MW");
+		assertTrue(reader.nextLine());
+		CharSequence name = reader.getChars(0);
+		assertEquals(6, name.length());
+		assertEquals('C', name.charAt(0));
+		assertEquals("216", name.subSequence(3, 6));
+		assertEquals("CSC216", name.toString());
+		String days = reader.getString(1, pool);
+
+		assertTrue(reader.nextLine());
+		assertSame(days, reader.getString(1, pool));
+		assertEquals("CSC116", reader.getChars(0).toString());
+		assertThrows(NoSuchElementException.class, () -> reader.getChars(2));
+		assertEquals(1, pool.size());
+	}
+
+	/**
+	 * Tests mapping a file and mapping a file that does not exist.
+	 *
+	 * @throws IOException if the file cannot be mapped
+	 */
+	@Test
+	public void testMap() throws IOException {
+		MappedRecordReader reader = MappedRecordReader.map("test-files/starter_course_records.txt");
+		assertTrue(reader.nextLine());
+		assertEquals("CSC116", reader.getString(0));
+		assertEquals(9, reader.getFieldCount());
+
+		assertThrows(FileNotFoundException.class, () -> MappedRecordReader.map("test-files/no_such_file.txt"));
+	}
+}
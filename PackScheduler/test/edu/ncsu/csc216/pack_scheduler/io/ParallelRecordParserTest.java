@@ -0,0 +1,128 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests ParallelRecordParser.
+ *
+ * @author Dania Swelam
+ */
+public class ParallelRecordParserTest {
+
+	/** File with valid and invalid records */
+	private static final String RECORDS_FILE = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Returns the number of fields and the first field of every line of a file,
+	 * read with a single RecordReader.
+	 *
+	 * @param fileName the file to read
+	 * @return a description of each line
+	 * @throws IOException if the file cannot be read
+	 */
+	private static List<String> readLines(String fileName) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		try (RecordReader reader = RecordReader.open(fileName)) {
+			while (reader.nextLine()) {
+				lines.add(describe(reader));
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Describes the current line of a reader.
+	 *
+	 * @param fields the fields of the line
+	 * @return the number of fields and the first field
+	 */
+	private static String describe(RecordFields fields) {
+		return fields.getFieldCount() + ":" + (fields.getFieldCount() > 0 ? fields.getString(0) : "");
+	}
+
+	/**
+	 * Tests that every chunk size gives the lines of the file in order.
+	 *
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testParse() throws IOException {
+		List<String> expected = readLines("test-files/course_records.txt");
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertEquals(expected, ParallelRecordParser.parse("test-files/course_records.txt",
+					ParallelRecordParserTest::describe, pool));
+			for (int chunkSize : new int[] { 1, 2, 50, 1000 }) {
+				assertEquals(expected, ParallelRecordParser.parse("test-files/course_records.txt",
+						ParallelRecordParserTest::describe, pool, chunkSize));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that lines the parser rejects are left out.
+	 *
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testParseInvalid() throws IOException {
+		List<String> expected = new ArrayList<String>();
+		try (RecordReader reader = RecordReader.open(RECORDS_FILE)) {
+			while (reader.nextLine()) {
+				if (reader.hasInt(3)) {
+					expected.add(reader.getString(0));
+				}
+			}
+		}
+		List<String> names = ParallelRecordParser.parse(RECORDS_FILE, reader -> {
+			if (!reader.hasInt(3)) {
+				throw new IllegalArgumentException("Invalid credits.");
+			}
+			return reader.getString(0);
+		}, ForkJoinPool.commonPool(), 16);
+		assertEquals(expected, names);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> ParallelRecordParser.parse(RECORDS_FILE, RecordFields::getFieldCount, ForkJoinPool.commonPool(), 0));
+		assertThrows(FileNotFoundException.class, () -> ParallelRecordParser.parse("test-files/no_such_file.txt",
+				RecordFields::getFieldCount, ForkJoinPool.commonPool()));
+	}
+
+	/**
+	 * Tests that each chunk is parsed with a parser of its own, made on the
+	 * thread that parses the chunk.
+	 *
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testParseChunks() throws IOException {
+		List<String> expected = readLines("test-files/course_records.txt");
+		AtomicInteger made = new AtomicInteger();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<String> lines = ParallelRecordParser.parseChunks("test-files/course_records.txt", () -> {
+				made.incrementAndGet();
+				Thread owner = Thread.currentThread();
+				return reader -> {
+					assertSame(owner, Thread.currentThread());
+					return describe(reader);
+				};
+			}, pool, 50);
+			assertEquals(expected, lines);
+			assertTrue(made.get() > 1);
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.util.StringPool;
+
+/**
+ * Tests RecordReader.
+ *
+ * @author Dania Swelam
+ */
+public class RecordReaderTest {
+
+	/**
+	 * Tests that fields taken from a pool are shared between lines.
+	 *
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	public void testGetStringPooled() throws IOException {
+		StringPool pool = new StringPool();
+		try (RecordReader reader = new RecordReader(new StringReader("CSC216,MW\nCSC116,MW"))) {
+			assertTrue(reader.nextLine());
+			String days = reader.getString(1, pool);
+			assertEquals("CSC216", reader.getString(0, pool));
+			assertTrue(reader.nextLine());
+			assertSame(days, reader.getString(1, pool));
+			assertEquals("CSC116", reader.getString(0, pool));
+			assertThrows(NoSuchElementException.class, () -> reader.getString(2, pool));
+		}
+		assertEquals(3, pool.size());
+	}
+
+	/**
+	 * Tests reading lines ending in each kind of line terminator.
+	 *
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	public void testNextLine() throws IOException {
+		try (RecordReader reader = new RecordReader(new StringReader("a,b\r\nc\rd\n\ne"))) {
+			assertTrue(reader.nextLine());
+			assertEquals(2, reader.getFieldCount());
+			assertEquals("a", reader.getString(0));
+			assertEquals("b", reader.getString(1));
+
+			assertTrue(reader.nextLine());
+			assertEquals("c", reader.getString(0));
+			assertTrue(reader.nextLine());
+			assertEquals("d", reader.getString(0));
+
+			assertTrue(reader.nextLine());
+			assertEquals(0, reader.getFieldCount());
+
+			assertTrue(reader.nextLine());
+			assertEquals("e", reader.getString(0));
+			assertFalse(reader.nextLine());
+		}
+	}
+
+	/**
+	 * Tests that fields are split the same way as a Scanner delimited by commas.
+	 *
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	public void testFields() throws IOException {
+		try (RecordReader reader = new RecordReader(new StringReader(",a,,b,\na,b,,\n, x ,"))) {
+			assertTrue(reader.nextLine());
+			assertEquals(3, reader.getFieldCount());
+			assertEquals("a", reader.getString(0));
+			assertEquals("", reader.getString(1));
+			assertEquals("b", reader.getString(2));
+
+			assertTrue(reader.nextLine());
+			assertEquals(3, reader.getFieldCount());
+			assertEquals("", reader.getString(2));
+
+			assertTrue(reader.nextLine());
+			assertEquals(1, reader.getFieldCount());
+			assertEquals(" x ", reader.getString(0));
+			assertThrows(NoSuchElementException.class, () -> reader.getString(1));
+		}
+	}
+
+	/**
+	 * Tests reading int fields.
+	 *
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	public void testGetInt() throws IOException {
+		try (RecordReader reader = new RecordReader(
+				new StringReader("0910,+3,-2147483648,2147483647,2147483648, 4,1.0,-,"))) {
+			assertTrue(reader.nextLine());
+			assertEquals(910, reader.getInt(0));
+			assertEquals(3, reader.getInt(1));
+			assertEquals(Integer.MIN_VALUE, reader.getInt(2));
+			assertEquals(Integer.MAX_VALUE, reader.getInt(3));
+
+			assertFalse(reader.hasInt(4));
+			assertFalse(reader.hasInt(5));
+			assertFalse(reader.hasInt(6));
+			assertFalse(reader.hasInt(7));
+			assertFalse(reader.hasInt(8));
+			assertThrows(InputMismatchException.class, () -> reader.getInt(4));
+			assertThrows(NoSuchElementException.class, () -> reader.getInt(8));
+		}
+	}
+
+	/**
+	 * Tests opening a file that does not exist.
+	 */
+	@Test
+	public void testOpenInvalid() {
+		assertThrows(FileNotFoundException.class, () -> RecordReader.open("test-files/no_such_file.txt"));
+	}
+}
@@ -0,0 +1,139 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests RecordWriter.
+ *
+ * @author Dania Swelam
+ */
+public class RecordWriterTest {
+
+	/** Directory the files are written in */
+	private Path directory;
+	/** File the records replace */
+	private Path target;
+
+	/**
+	 * Creates a directory holding a file with a single record.
+	 *
+	 * @throws IOException if the file cannot be created
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("record_writer");
+		target = directory.resolve("records.txt");
+		Files.write(target, List.of("old"), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Deletes the directory and its files.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		for (File file : directory.toFile().listFiles()) {
+			Files.delete(file.toPath());
+		}
+		Files.delete(directory);
+	}
+
+	/**
+	 * Tests that committed records replace the file.
+	 *
+	 * @throws IOException if the records cannot be written
+	 */
+	@Test
+	public void testCommit() throws IOException {
+		WriteStats stats;
+		try (RecordWriter writer = RecordWriter.open(target.toString(), false)) {
+			writer.write("CSC216,Software Development Fundamentals");
+			writer.write("Caf\u00e9");
+			assertEquals(List.of("old"), Files.readAllLines(target));
+			stats = writer.commit();
+			assertThrows(IllegalStateException.class, () -> writer.write("late"));
+			assertThrows(IllegalStateException.class, () -> writer.commit());
+		}
+		assertEquals(List.of("CSC216,Software Development Fundamentals", "Caf\u00e9"),
+				Files.readAllLines(target, StandardCharsets.UTF_8));
+		assertEquals(2, stats.getRecords());
+		assertEquals(Files.size(target), stats.getBytes());
+		assertTrue(stats.getNanos() > 0);
+		assertEquals(1, directory.toFile().listFiles().length);
+	}
+
+	/**
+	 * Tests that a writer closed without committing leaves the file as it was.
+	 *
+	 * @throws IOException if the records cannot be written
+	 */
+	@Test
+	public void testClose() throws IOException {
+		try (RecordWriter writer = RecordWriter.open(target.toString(), true)) {
+			writer.write("new");
+		}
+		assertEquals(List.of("old"), Files.readAllLines(target));
+		assertEquals(1, directory.toFile().listFiles().length);
+	}
+
+	/**
+	 * Tests writing binary records, which are written without line separators.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	@Test
+	public void testWriteBytes() throws IOException {
+		byte[] bytes = { 'P', 'S', 0, 1, 2, (byte) 0xFF };
+		try (RecordWriter writer = RecordWriter.open(target.toString(), false)) {
+			writer.write(bytes, 0, 2);
+			writer.write(bytes, 2, 4);
+			assertThrows(IndexOutOfBoundsException.class, () -> writer.write(bytes, 4, 3));
+			WriteStats stats = writer.commit();
+			assertEquals(2, stats.getRecords());
+			assertEquals(6, stats.getBytes());
+		}
+		assertArrayEquals(bytes, Files.readAllBytes(target));
+	}
+
+	/**
+	 * Tests writing more records than fit in the buffer, with sync on, to a file
+	 * that does not exist yet.
+	 *
+	 * @throws IOException if the records cannot be written
+	 */
+	@Test
+	public void testCommitLarge() throws IOException {
+		Path created = directory.resolve("created.txt");
+		String record = "x".repeat(1000);
+		try (RecordWriter writer = RecordWriter.open(created.toString(), true)) {
+			for (int i = 0; i < 200; i++) {
+				writer.write(record);
+			}
+			assertEquals(200, writer.commit().getRecords());
+		}
+		List<String> lines = Files.readAllLines(created);
+		assertEquals(200, lines.size());
+		assertEquals(record, lines.get(199));
+	}
+
+	/**
+	 * Tests opening a writer in a directory that does not exist.
+	 */
+	@Test
+	public void testOpenInvalid() {
+		assertThrows(IOException.class,
+				() -> RecordWriter.open(directory.resolve("missing").resolve("records.txt").toString(), false));
+	}
+}
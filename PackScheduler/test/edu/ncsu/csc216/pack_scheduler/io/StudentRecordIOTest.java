@@ -8,10 +8,11 @@ import java.util.Base64;
 import java.util.Scanner;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 /**
  * Tests StudentRecordIO
@@ -125,6 +126,49 @@ class StudentRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests that readStudentRecords() keeps only the first Student with a given
+	 * first and last name.
+	 */
+	@Test
+	void testReadStudentRecordsDuplicates() {
+		try {
+			SortedList<Student> students = StudentRecordIO.readStudentRecords("test-files/duplicate_student_records.txt");
+			assertEquals(2, students.size());
+			assertEquals("zking", students.get(0).getId());
+			assertEquals(15, students.get(0).getMaxCredits());
+			assertEquals("cschwartz", students.get(1).getId());
+		} catch (final FileNotFoundException e) {
+			fail("Unexpected FileNotFoundException");
+		}
+	}
+
+	/**
+	 * Tests that reading Student records on a pool gives the same Students as
+	 * reading them on one thread.
+	 */
+	@Test
+	void testReadStudentRecordsParallel() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			String[] files = { validTestFile, invalidTestFile, "test-files/duplicate_student_records.txt" };
+			for (String file : files) {
+				SortedList<Student> expected = StudentRecordIO.readStudentRecords(file);
+				SortedList<Student> students = StudentRecordIO.readStudentRecords(file, pool);
+				assertEquals(expected.size(), students.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(expected.get(i).toString(), students.get(i).toString());
+				}
+			}
+		} catch (final FileNotFoundException e) {
+			fail("Unexpected FileNotFoundException");
+		} finally {
+			pool.shutdown();
+		}
+		assertThrows(FileNotFoundException.class,
+				() -> StudentRecordIO.readStudentRecords("test-files/no_such_file.txt", ForkJoinPool.commonPool()));
+	}
+
 	/**
 	 * Tests writeStudentRecords().
 	 */
@@ -0,0 +1,28 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests WriteStats.
+ *
+ * @author Dania Swelam
+ */
+public class WriteStatsTest {
+
+	/**
+	 * Tests the throughput and the text of the statistics.
+	 */
+	@Test
+	public void testWriteStats() {
+		WriteStats stats = new WriteStats(10, 5000000, 250000000L);
+		assertEquals(10, stats.getRecords());
+		assertEquals(5000000, stats.getBytes());
+		assertEquals(250000000L, stats.getNanos());
+		assertEquals(20.0, stats.getMegabytesPerSecond(), 1e-9);
+		assertEquals(String.format("10 records, 5000000 bytes in %.1f ms (%.1f MB/s)", 250.0, 20.0), stats.toString());
+
+		assertEquals(0.0, new WriteStats(0, 0, 0).getMegabytesPerSecond());
+	}
+}
@@ -4,7 +4,21 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -616,4 +630,689 @@ public class RegistrationManagerTest {
 
 		assertEquals(0, faculty.getSchedule().getNumScheduledCourses());
 	}
+
+	/**
+	 * Tests that several users can be logged in to sessions at once, and that a
+	 * closed session can no longer be used.
+	 */
+	@Test
+	public void testSessions() {
+		StudentDirectory sd = manager.getStudentDirectory();
+		sd.addStudent("Demetrius", "Austin", "daustin", "daustin@ncsu.edu", "pw", "pw", 18);
+		sd.addStudent("Zahir", "King", "zking", "zking@ncsu.edu", "pw", "pw", 15);
+		FacultyDirectory fd = manager.getFacultyDirectory();
+		fd.addFaculty("Ashley", "Witt", "awitt", "awitt@ncsu.edu", "pw", "pw", 2);
+
+		CourseCatalog cc = manager.getCourseCatalog();
+		cc.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "TH", 1330,
+				1445);
+		Course course = cc.getCourseFromCatalog("CSC216", "001");
+
+		String austin = manager.openSession("daustin", "pw");
+		String king = manager.openSession("zking", "pw");
+		String registrar = manager.openSession(registrarUsername, registrarPassword);
+		assertNotNull(austin);
+		assertNotNull(king);
+		assertNotEquals(austin, king);
+		assertNull(manager.openSession("zking", "wrongPassword"));
+		assertThrows(IllegalArgumentException.class, () -> manager.openSession("wrongId", "pw"));
+		assertNull(manager.getCurrentUser());
+
+		assertEquals("daustin", manager.getSessionUser(austin).getId());
+		assertEquals("zking", manager.getSessionUser(king).getId());
+
+		assertTrue(manager.enrollStudentInCourse(austin, course));
+		assertTrue(manager.enrollStudentInCourse(king, course));
+		assertEquals(8, course.getCourseRoll().getOpenSeats());
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(registrar, course));
+
+		Faculty faculty = fd.getFacultyById("awitt");
+		assertTrue(manager.addFacultyToCourse(registrar, course, faculty));
+		assertEquals(1, faculty.getSchedule().getNumScheduledCourses());
+		assertThrows(IllegalArgumentException.class, () -> manager.removeFacultyFromCourse(king, course, faculty));
+		assertTrue(manager.removeFacultyFromCourse(registrar, course, faculty));
+		manager.resetFacultySchedule(registrar, faculty);
+		assertEquals(0, faculty.getSchedule().getNumScheduledCourses());
+
+		assertTrue(manager.dropStudentFromCourse(king, course));
+		manager.resetSchedule(austin);
+		assertEquals(10, course.getCourseRoll().getOpenSeats());
+
+		manager.closeSession(austin);
+		assertNull(manager.getSessionUser(austin));
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(austin, course));
+		assertEquals("zking", manager.getSessionUser(king).getId());
+		manager.closeSession(king);
+		manager.closeSession(registrar);
+	}
+
+	/**
+	 * Stress tests enrolling in, dropping, and resetting a few small courses from
+	 * many sessions on many threads at once. Afterwards no course may have more
+	 * students than seats and waitlist spots, and every course in a student's
+	 * schedule must be matched by a spot in that course's roll or waitlist.
+	 *
+	 * @throws Exception if a thread fails or does not finish
+	 */
+	@Test
+	public void testConcurrentRegistration() throws Exception {
+		CourseCatalog cc = manager.getCourseCatalog();
+		String[] days = { "M", "T", "W", "H", "F" };
+		Course[] courses = new Course[days.length];
+		for (int i = 0; i < days.length; i++) {
+			cc.addCourseToCatalog("CSC" + (101 + i), "Course " + i, "001", 3, null, 10, days[i], 910, 1000);
+			courses[i] = cc.getCourseFromCatalog("CSC" + (101 + i), "001");
+		}
+
+		int numStudents = 100;
+		StudentDirectory sd = manager.getStudentDirectory();
+		String[] sessions = new String[numStudents];
+		Student[] students = new Student[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			sd.addStudent("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "pw", "pw", 18);
+			sessions[i] = manager.openSession("s" + i, "pw");
+			students[i] = (Student) manager.getSessionUser(sessions[i]);
+		}
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int t = 0; t < numStudents; t++) {
+				final int student = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					Random random = new Random(student);
+					for (int i = 0; i < 200; i++) {
+						Course course = courses[random.nextInt(courses.length)];
+						int action = random.nextInt(10);
+						if (action < 6) {
+							manager.enrollStudentInCourse(sessions[student], course);
+						} else if (action < 9) {
+							manager.dropStudentFromCourse(sessions[student], course);
+						} else {
+							manager.resetSchedule(sessions[student]);
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		int spots = 0;
+		for (Course course : courses) {
+			int openSeats = course.getCourseRoll().getOpenSeats();
+			assertTrue(openSeats >= 0 && openSeats <= 10, "Course is overbooked");
+			assertTrue(course.getCourseRoll().getNumberOnWaitlist() <= 10, "Waitlist is overbooked");
+			spots += 10 - openSeats + course.getCourseRoll().getNumberOnWaitlist();
+		}
+		int scheduled = 0;
+		for (int i = 0; i < numStudents; i++) {
+			for (String[] course : students[i].getSchedule().getScheduledCourses()) {
+				assertFalse(cc.getCourseFromCatalog(course[0], course[1]).getCourseRoll().canEnroll(students[i]));
+				scheduled++;
+			}
+			manager.closeSession(sessions[i]);
+		}
+		assertEquals(spots, scheduled);
+	}
+
+	/**
+	 * Tests that registrations made from many threads while the journal is open
+	 * are replayed onto freshly loaded data, leaving every roll, waitlist, and
+	 * schedule as it was.
+	 *
+	 * @throws Exception if a thread fails or the journal cannot be written
+	 */
+	@Test
+	public void testJournal() throws Exception {
+		Path directory = Files.createTempDirectory("journal");
+		Path file = directory.resolve("registration.journal");
+		try {
+			addJournalData();
+			manager.openJournal(file.toString(), false);
+			CourseCatalog cc = manager.getCourseCatalog();
+			FacultyDirectory fd = manager.getFacultyDirectory();
+			String registrar = manager.openSession(registrarUsername, registrarPassword);
+			Faculty faculty = fd.getFacultyById("awitt");
+			assertTrue(manager.addFacultyToCourse(registrar, cc.getCourseFromCatalog("CSC101", "001"), faculty));
+			assertTrue(manager.addFacultyToCourse(registrar, cc.getCourseFromCatalog("CSC102", "001"), faculty));
+			assertTrue(manager.removeFacultyFromCourse(registrar, cc.getCourseFromCatalog("CSC101", "001"), faculty));
+			manager.closeSession(registrar);
+
+			int numStudents = 30;
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+			try {
+				List<Future<?>> futures = new ArrayList<Future<?>>();
+				for (int t = 0; t < numStudents; t++) {
+					final int student = t;
+					futures.add(executor.submit(() -> {
+						String session = manager.openSession("s" + student, "pw");
+						Random random = new Random(student);
+						for (int i = 0; i < 100; i++) {
+							Course course = cc.getCourseFromCatalog("CSC" + (101 + random.nextInt(3)), "001");
+							int action = random.nextInt(10);
+							if (action < 6) {
+								manager.enrollStudentInCourse(session, course);
+							} else if (action < 9) {
+								manager.dropStudentFromCourse(session, course);
+							} else {
+								manager.resetSchedule(session);
+							}
+						}
+						manager.closeSession(session);
+						return null;
+					}));
+				}
+				for (Future<?> future : futures) {
+					future.get(60, TimeUnit.SECONDS);
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+			List<String> expected = journalState();
+			manager.closeJournal();
+
+			manager.clearData();
+			addJournalData();
+			assertNotEquals(expected, journalState());
+			manager.openJournal(file.toString(), false);
+			assertEquals(expected, journalState());
+			manager.closeJournal();
+		} finally {
+			manager.closeJournal();
+			Files.deleteIfExists(file);
+			Files.delete(directory);
+		}
+	}
+
+	/**
+	 * Tests that a snapshot and the journal after it restore all registration
+	 * data, and that journals the snapshot holds are deleted.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testSnapshot() throws Exception {
+		Path directory = Files.createTempDirectory("snapshot");
+		Path file = directory.resolve("registration.journal");
+		Path snapshot = directory.resolve("registration.snapshot");
+		try {
+			assertThrows(IllegalStateException.class, () -> manager.saveSnapshot());
+			addJournalData();
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			assertFalse(Files.exists(snapshot));
+			for (int i = 0; i < 15; i++) {
+				String session = manager.openSession("s" + i, "pw");
+				manager.enrollStudentInCourse(session, manager.getCourseCatalog().getCourseFromCatalog("CSC101", "001"));
+				manager.closeSession(session);
+			}
+			manager.saveSnapshot().get(60, TimeUnit.SECONDS);
+			assertTrue(Files.exists(snapshot));
+			assertFalse(Files.exists(directory.resolve("registration.journal.0")));
+
+			String session = manager.openSession("s0", "pw");
+			manager.dropStudentFromCourse(session, manager.getCourseCatalog().getCourseFromCatalog("CSC101", "001"));
+			manager.enrollStudentInCourse(session, manager.getCourseCatalog().getCourseFromCatalog("CSC102", "001"));
+			manager.closeSession(session);
+			List<String> expected = journalState();
+			manager.closeJournal();
+
+			manager.clearData();
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			assertEquals(expected, journalState());
+			manager.closeJournal();
+		} finally {
+			manager.closeJournal();
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+				for (Path f : files) {
+					Files.delete(f);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
+
+	/**
+	 * Tests that a course added after the last snapshot, and an enrollment in
+	 * it, are both there when the manager is started again from the snapshot,
+	 * as are a student and a faculty added after it and a course and a student
+	 * removed after it. The changes are journaled rather than snapshotted.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testRestartAfterCatalogChange() throws Exception {
+		Path directory = Files.createTempDirectory("snapshot");
+		Path file = directory.resolve("registration.journal");
+		Path snapshot = directory.resolve("registration.snapshot");
+		try {
+			addJournalData();
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			manager.saveSnapshot().get(60, TimeUnit.SECONDS);
+			byte[] taken = Files.readAllBytes(snapshot);
+
+			CourseCatalog cc = manager.getCourseCatalog();
+			cc.addCourseToCatalog("CSC104", "Course 3", "001", 3, null, 10, "F", 910, 1000);
+			assertTrue(cc.removeCourseFromCatalog("CSC103", "001"));
+			manager.getStudentDirectory().addStudent("First", "Last", "snew", "snew@ncsu.edu", "pw", "pw", 6);
+			assertTrue(manager.getStudentDirectory().removeStudent("s1"));
+			manager.getFacultyDirectory().addFaculty("First", "Last", "fnew", "fnew@ncsu.edu", "pw", "pw", 2);
+			String session = manager.openSession("snew", "pw");
+			assertTrue(manager.enrollStudentInCourse(session, cc.getCourseFromCatalog("CSC104", "001")));
+			manager.closeSession(session);
+			manager.closeJournal();
+			assertArrayEquals(taken, Files.readAllBytes(snapshot));
+
+			manager.clearData();
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			cc = manager.getCourseCatalog();
+			Course csc104 = cc.getCourseFromCatalog("CSC104", "001");
+			assertNotNull(csc104);
+			assertNull(cc.getCourseFromCatalog("CSC103", "001"));
+			assertEquals(9, csc104.getCourseRoll().getOpenSeats());
+			Student snew = manager.getStudentDirectory().getStudentById("snew");
+			assertNotNull(snew);
+			assertEquals("CSC104", snew.getSchedule().getScheduledCourses()[0][0]);
+			assertNull(manager.getStudentDirectory().getStudentById("s1"));
+			session = manager.openSession("fnew", "pw");
+			assertNotNull(session);
+			manager.closeSession(session);
+			manager.closeJournal();
+		} finally {
+			manager.closeJournal();
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+				for (Path f : files) {
+					Files.delete(f);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
+
+	/**
+	 * Tests that replacing the catalog takes no snapshot right away, and that
+	 * the next periodic snapshot holds the new catalog even though nothing was
+	 * journaled.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testPeriodicSnapshotAfterLoad() throws Exception {
+		Path directory = Files.createTempDirectory("snapshot");
+		Path file = directory.resolve("registration.journal");
+		Path snapshot = directory.resolve("registration.snapshot");
+		try {
+			addJournalData();
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			manager.saveSnapshot().get(60, TimeUnit.SECONDS);
+			byte[] taken = Files.readAllBytes(snapshot);
+
+			CourseCatalog cc = manager.getCourseCatalog();
+			cc.loadCoursesFromFile(prop.getProperty("course.records", "test-files/course_records.txt"));
+			int courses = cc.getCourseCatalog().length;
+			assertArrayEquals(taken, Files.readAllBytes(snapshot));
+
+			manager.scheduleSnapshots(10, TimeUnit.MILLISECONDS);
+			long deadline = System.currentTimeMillis() + 60000;
+			while (Arrays.equals(taken, Files.readAllBytes(snapshot)) && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertFalse(Arrays.equals(taken, Files.readAllBytes(snapshot)));
+			manager.scheduleSnapshots(0, TimeUnit.SECONDS);
+			// Written after the periodic snapshot has deleted the journals it holds
+			manager.saveSnapshot().get(60, TimeUnit.SECONDS);
+			manager.closeJournal();
+
+			manager.clearData();
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			assertEquals(courses, manager.getCourseCatalog().getCourseCatalog().length);
+			assertNull(manager.getCourseCatalog().getCourseFromCatalog("CSC101", "001"));
+			manager.closeJournal();
+		} finally {
+			manager.scheduleSnapshots(0, TimeUnit.SECONDS);
+			manager.closeJournal();
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+				for (Path f : files) {
+					Files.delete(f);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
+
+	/**
+	 * Tests that a record file written after the snapshot replaces the data the
+	 * snapshot holds for it, and that the registrations the snapshot holds are
+	 * made again on the data loaded from the file.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testRestartWithNewerRecordFile() throws Exception {
+		Path directory = Files.createTempDirectory("snapshot");
+		Path file = directory.resolve("registration.journal");
+		Path snapshot = directory.resolve("registration.snapshot");
+		Path records = Paths.get(prop.getProperty("course.records", "test-files/course_records.txt"));
+		FileTime written = Files.getLastModifiedTime(records);
+		try {
+			manager.closeJournal();
+			manager.getStudentDirectory().addStudent("First", "Last", "snew", "snew@ncsu.edu", "pw", "pw", 18);
+			manager.getCourseCatalog().loadCoursesFromFile(records.toString());
+			manager.getCourseCatalog().addCourseToCatalog("CSC104", "Course 3", "001", 3, null, 10, "F", 910, 1000);
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			String session = manager.openSession("snew", "pw");
+			CourseCatalog cc = manager.getCourseCatalog();
+			assertTrue(manager.enrollStudentInCourse(session, cc.getCourseFromCatalog("CSC216", "001")));
+			assertTrue(manager.enrollStudentInCourse(session, cc.getCourseFromCatalog("CSC104", "001")));
+			manager.closeSession(session);
+			manager.saveSnapshot().get(60, TimeUnit.SECONDS);
+			manager.closeJournal();
+
+			Files.setLastModifiedTime(records,
+					FileTime.fromMillis(Files.getLastModifiedTime(snapshot).toMillis() + 60000));
+			manager.clearData();
+			manager.openJournal(file.toString(), snapshot.toString(), false);
+			cc = manager.getCourseCatalog();
+			assertNull(cc.getCourseFromCatalog("CSC104", "001"));
+			assertEquals(9, cc.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+			Student snew = manager.getStudentDirectory().getStudentById("snew");
+			assertNotNull(snew);
+			assertEquals(1, snew.getSchedule().getScheduledCourses().length);
+			assertEquals("CSC216", snew.getSchedule().getScheduledCourses()[0][0]);
+			// Snapshots are written in order, so this one waits for the one taken on opening
+			manager.saveSnapshot().get(60, TimeUnit.SECONDS);
+			manager.closeJournal();
+		} finally {
+			manager.closeJournal();
+			Files.setLastModifiedTime(records, written);
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+				for (Path f : files) {
+					Files.delete(f);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
+
+	/**
+	 * Tests that a change whose journal record cannot be written is made and
+	 * then reported, and that every change after it is refused without being
+	 * made, so only the changes whose records were written are replayed.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testJournalFailure() throws Exception {
+		Path directory = Files.createTempDirectory("journal");
+		Path file = directory.resolve("registration.journal");
+		try {
+			addJournalData();
+			manager.openJournal(file.toString(), false);
+			CourseCatalog cc = manager.getCourseCatalog();
+			Course csc101 = cc.getCourseFromCatalog("CSC101", "001");
+			Course csc102 = cc.getCourseFromCatalog("CSC102", "001");
+			Course csc103 = cc.getCourseFromCatalog("CSC103", "001");
+			Student s0 = manager.getStudentDirectory().getStudentById("s0");
+			Faculty faculty = manager.getFacultyDirectory().getFacultyById("awitt");
+			String session = manager.openSession("s0", "pw");
+			String registrar = manager.openSession(registrarUsername, registrarPassword);
+			assertTrue(manager.enrollStudentInCourse(session, csc101));
+			assertTrue(manager.addFacultyToCourse(registrar, csc103, faculty));
+
+			// Interrupting a thread writing to the journal closes the journal's file
+			Thread.currentThread().interrupt();
+			Exception e;
+			try {
+				e = assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(session, csc102));
+			} finally {
+				Thread.interrupted();
+			}
+			assertEquals("Unable to write to journal.", e.getMessage());
+			assertEquals(2, s0.getSchedule().getScheduledCourses().length);
+			assertEquals(9, csc102.getCourseRoll().getOpenSeats());
+
+			e = assertThrows(IllegalArgumentException.class, () -> manager.dropStudentFromCourse(session, csc101));
+			assertEquals("Unable to write to journal.", e.getMessage());
+			assertThrows(IllegalArgumentException.class, () -> manager.resetSchedule(session));
+			assertEquals(2, s0.getSchedule().getScheduledCourses().length);
+			assertEquals(9, csc101.getCourseRoll().getOpenSeats());
+			assertEquals(9, csc102.getCourseRoll().getOpenSeats());
+
+			assertThrows(IllegalArgumentException.class, () -> manager.addFacultyToCourse(registrar, csc101, faculty));
+			assertThrows(IllegalArgumentException.class, () -> manager.removeFacultyFromCourse(registrar, csc103, faculty));
+			assertThrows(IllegalArgumentException.class, () -> manager.resetFacultySchedule(registrar, faculty));
+			assertNull(csc101.getInstructorId());
+			assertEquals("awitt", csc103.getInstructorId());
+			assertEquals(1, faculty.getSchedule().getScheduledCourses().length);
+			manager.closeSession(session);
+			manager.closeSession(registrar);
+			manager.closeJournal();
+
+			manager.clearData();
+			addJournalData();
+			manager.openJournal(file.toString(), false);
+			s0 = manager.getStudentDirectory().getStudentById("s0");
+			assertEquals(1, s0.getSchedule().getScheduledCourses().length);
+			assertEquals(10, manager.getCourseCatalog().getCourseFromCatalog("CSC102", "001").getCourseRoll().getOpenSeats());
+			assertEquals("awitt", manager.getCourseCatalog().getCourseFromCatalog("CSC103", "001").getInstructorId());
+			manager.closeJournal();
+		} finally {
+			Thread.interrupted();
+			manager.closeJournal();
+			Files.deleteIfExists(file);
+			Files.delete(directory);
+		}
+	}
+
+	/**
+	 * Tests that a manager reads no record file until its data is first used,
+	 * that the catalog reads the faculty records to bind its instructors but
+	 * not the student records, and that a load that fails is run again the
+	 * next time the data is used.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testLoadOnFirstUse() throws Exception {
+		Path directory = Files.createTempDirectory("records");
+		try {
+			RegistrationManager loading = new RegistrationManager(recordProperties(directory));
+			copyRecords(directory, "course_records.txt", "faculty_records.txt");
+
+			assertEquals(13, loading.getCourseCatalog().getCourseCatalog().length);
+			Files.delete(directory.resolve("faculty_records.txt"));
+			assertEquals(8, loading.getFacultyDirectory().getFacultyDirectory().length);
+			Exception e = assertThrows(IllegalArgumentException.class, () -> loading.getStudentDirectory());
+			assertEquals("Unable to read file " + directory.resolve("student_records.txt"), e.getMessage());
+
+			copyRecords(directory, "student_records.txt");
+			assertEquals(10, loading.getStudentDirectory().getStudentDirectory().length);
+		} finally {
+			deleteRecords(directory);
+		}
+	}
+
+	/**
+	 * Tests that a record file property with an empty value starts that data
+	 * empty while the rest is loaded from its files.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testEmptyRecordsProperty() throws Exception {
+		Path directory = Files.createTempDirectory("records");
+		try {
+			copyRecords(directory, "course_records.txt", "student_records.txt", "faculty_records.txt");
+			Properties records = recordProperties(directory);
+			records.setProperty("student.records", "");
+			records.setProperty("faculty.records", "");
+			RegistrationManager loading = new RegistrationManager(records);
+
+			assertEquals(0, loading.getStudentDirectory().getStudentDirectory().length);
+			assertEquals(0, loading.getFacultyDirectory().getFacultyDirectory().length);
+			assertEquals(13, loading.getCourseCatalog().getCourseCatalog().length);
+			assertNull(loading.getCourseCatalog().getCourseFromCatalog("CSC116", "001").getInstructorId());
+		} finally {
+			deleteRecords(directory);
+		}
+	}
+
+	/**
+	 * Tests that clearing the data before it is loaded leaves it empty, rather
+	 * than loaded from its record files when it is next used.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testClearDataBeforeLoad() throws Exception {
+		Path directory = Files.createTempDirectory("records");
+		try {
+			copyRecords(directory, "course_records.txt", "student_records.txt", "faculty_records.txt");
+			RegistrationManager loading = new RegistrationManager(recordProperties(directory));
+			loading.clearData();
+
+			assertEquals(0, loading.getCourseCatalog().getCourseCatalog().length);
+			assertEquals(0, loading.getStudentDirectory().getStudentDirectory().length);
+			assertEquals(0, loading.getFacultyDirectory().getFacultyDirectory().length);
+			loading.getStudentDirectory().addStudent("First", "Last", "snew", "snew@ncsu.edu", "pw", "pw", 18);
+			assertEquals(1, loading.getStudentDirectory().getStudentDirectory().length);
+		} finally {
+			deleteRecords(directory);
+		}
+	}
+
+	/**
+	 * Tests that opening a journal while the data is being preloaded neither
+	 * deadlocks nor loads anything twice, since the loads finish before the
+	 * manager is locked to replay the journal.
+	 *
+	 * @throws Exception if the files cannot be read or written
+	 */
+	@Test
+	public void testOpenJournalDuringPreload() throws Exception {
+		Path directory = Files.createTempDirectory("records");
+		try {
+			copyRecords(directory, "course_records.txt", "faculty_records.txt");
+			int numStudents = 50000;
+			List<String> lines = new ArrayList<String>(numStudents);
+			for (int i = 0; i < numStudents; i++) {
+				lines.add("First,Last,s" + i + ",s" + i + "@ncsu.edu,pw,6");
+			}
+			Files.write(directory.resolve("student_records.txt"), lines);
+			Properties records = recordProperties(directory);
+			records.setProperty("preload", "true");
+			RegistrationManager loading = new RegistrationManager(records);
+
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			try {
+				Future<?> opened = executor.submit(() -> loading.openJournal(
+						directory.resolve("registration.journal").toString(),
+						directory.resolve("registration.snapshot").toString(), false));
+				opened.get(60, TimeUnit.SECONDS);
+			} finally {
+				executor.shutdownNow();
+			}
+			assertEquals(numStudents, loading.getStudentDirectory().getStudentDirectory().length);
+			assertEquals(13, loading.getCourseCatalog().getCourseCatalog().length);
+			loading.closeJournal();
+		} finally {
+			deleteRecords(directory);
+		}
+	}
+
+	/**
+	 * Returns the properties of the properties file, without a journal and
+	 * without preloading, naming record files in the given directory.
+	 *
+	 * @param directory the directory of the record files
+	 * @return the properties
+	 */
+	private Properties recordProperties(Path directory) {
+		Properties records = new Properties();
+		records.putAll(prop);
+		records.remove("journal");
+		records.remove("snapshot");
+		records.remove("snapshot.interval");
+		records.setProperty("preload", "false");
+		records.setProperty("course.records", directory.resolve("course_records.txt").toString());
+		records.setProperty("student.records", directory.resolve("student_records.txt").toString());
+		records.setProperty("faculty.records", directory.resolve("faculty_records.txt").toString());
+		return records;
+	}
+
+	/**
+	 * Copies record files from test-files into the given directory.
+	 *
+	 * @param directory the directory to copy into
+	 * @param names     the names of the files to copy
+	 * @throws IOException if a file cannot be copied
+	 */
+	private static void copyRecords(Path directory, String... names) throws IOException {
+		for (String name : names) {
+			Files.copy(Paths.get("test-files", name), directory.resolve(name));
+		}
+	}
+
+	/**
+	 * Deletes the given directory and the record files in it.
+	 *
+	 * @param directory the directory to delete
+	 * @throws IOException if a file cannot be deleted
+	 */
+	private static void deleteRecords(Path directory) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path f : files) {
+				Files.delete(f);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	/**
+	 * Adds the courses, students, and faculty used by testJournal().
+	 */
+	private void addJournalData() {
+		CourseCatalog cc = manager.getCourseCatalog();
+		String[] days = { "M", "T", "W" };
+		for (int i = 0; i < days.length; i++) {
+			cc.addCourseToCatalog("CSC" + (101 + i), "Course " + i, "001", 3, null, 10, days[i], 910, 1000);
+		}
+		StudentDirectory sd = manager.getStudentDirectory();
+		for (int i = 0; i < 30; i++) {
+			sd.addStudent("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "pw", "pw", 6);
+		}
+		manager.getFacultyDirectory().addFaculty("Ashley", "Witt", "awitt", "awitt@ncsu.edu", "pw", "pw", 2);
+	}
+
+	/**
+	 * Describes the rolls, waitlists, and schedules of the data added by
+	 * addJournalData().
+	 *
+	 * @return a line for every course, student, and faculty
+	 */
+	private List<String> journalState() {
+		List<String> state = new ArrayList<String>();
+		CourseCatalog cc = manager.getCourseCatalog();
+		for (int i = 0; i < 3; i++) {
+			Course course = cc.getCourseFromCatalog("CSC" + (101 + i), "001");
+			Student next = course.getCourseRoll().getNextOnWaitlist();
+			state.add(course.getName() + " " + course.getInstructorId() + " " + course.getCourseRoll().getOpenSeats()
+					+ " " + course.getCourseRoll().getNumberOnWaitlist() + " " + (next == null ? null : next.getId()));
+		}
+		StudentDirectory sd = manager.getStudentDirectory();
+		for (int i = 0; i < 30; i++) {
+			Schedule schedule = sd.getStudentById("s" + i).getSchedule();
+			state.add("s" + i + " " + Arrays.deepToString(schedule.getScheduledCourses()));
+		}
+		Faculty faculty = manager.getFacultyDirectory().getFacultyById("awitt");
+		state.add("awitt " + Arrays.deepToString(faculty.getSchedule().getScheduledCourses()));
+		return state;
+	}
 }
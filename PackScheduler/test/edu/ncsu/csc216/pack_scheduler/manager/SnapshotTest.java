@@ -0,0 +1,195 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.WriteStats;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests Snapshot.
+ *
+ * @author Dania Swelam
+ */
+public class SnapshotTest {
+
+	/** Directory holding the snapshot */
+	private Path directory;
+	/** Snapshot file */
+	private Path file;
+	/** Catalog captured */
+	private CourseCatalog catalog;
+	/** Students captured */
+	private StudentDirectory students;
+	/** Faculty captured */
+	private FacultyDirectory faculty;
+
+	/**
+	 * Creates an empty directory for the snapshot and registration data to
+	 * capture: two courses, one with a waitlist and an instructor, and students
+	 * enrolled in them.
+	 *
+	 * @throws IOException if the directory cannot be created
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("snapshot");
+		file = directory.resolve("registration.snapshot");
+
+		catalog = new CourseCatalog();
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "TH", 1330,
+				1445);
+		catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "A", 0, 0);
+		students = new StudentDirectory();
+		for (int i = 0; i < 12; i++) {
+			students.addStudent("First" + i, "Last" + i, "s" + i, "s" + i + "@ncsu.edu", "pw", "pw", 15);
+		}
+		faculty = new FacultyDirectory();
+		faculty.addFaculty("Ashely", "Witt", "awitt", "awitt@ncsu.edu", "pw", "pw", 2);
+
+		Course course = catalog.getCourseFromCatalog("CSC216", "001");
+		for (int i = 0; i < 12; i++) {
+			Student student = students.getStudentById("s" + i);
+			course.getCourseRoll().enroll(student);
+			if (i < 10) {
+				student.getSchedule().addCourseToSchedule(course);
+			}
+		}
+		Course online = catalog.getCourseFromCatalog("CSC116", "001");
+		online.getCourseRoll().enroll(students.getStudentById("s0"));
+		students.getStudentById("s0").getSchedule().addCourseToSchedule(online);
+		faculty.getFacultyById("awitt").getSchedule().addCourseToSchedule(course);
+	}
+
+	/**
+	 * Deletes the directory and the snapshot.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.delete(directory);
+	}
+
+	/**
+	 * Tests that a snapshot written and read back restores every course, user,
+	 * roll, waitlist, and schedule into empty data.
+	 *
+	 * @throws IOException if the snapshot cannot be read or written
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		Snapshot snapshot = Snapshot.capture(7, catalog, students, faculty);
+		assertEquals(7, snapshot.getGeneration());
+		WriteStats stats = snapshot.write(file.toString(), false);
+		assertEquals(snapshot.getSize(), stats.getBytes());
+		assertEquals(snapshot.getSize(), Files.size(file));
+
+		Snapshot read = Snapshot.read(file.toString());
+		assertEquals(7, read.getGeneration());
+		CourseCatalog restoredCatalog = new CourseCatalog();
+		restoredCatalog.addCourseToCatalog("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, null,
+				10, "MWF", 935, 1025);
+		StudentDirectory restoredStudents = new StudentDirectory();
+		FacultyDirectory restoredFaculty = new FacultyDirectory();
+		read.restore(restoredCatalog, restoredStudents, restoredFaculty);
+
+		assertArrayEquals(catalog.getCourseCatalog(), restoredCatalog.getCourseCatalog());
+		assertArrayEquals(students.getStudentDirectory(), restoredStudents.getStudentDirectory());
+		assertArrayEquals(faculty.getFacultyDirectory(), restoredFaculty.getFacultyDirectory());
+
+		Course course = restoredCatalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals("awitt", course.getInstructorId());
+		assertEquals(0, course.getCourseRoll().getOpenSeats());
+		assertEquals(2, course.getCourseRoll().getNumberOnWaitlist());
+		assertSame(restoredStudents.getStudentById("s10"), course.getCourseRoll().getNextOnWaitlist());
+		assertEquals(1330, course.getStartTime());
+		assertEquals(1445, course.getEndTime());
+
+		Student s0 = restoredStudents.getStudentById("s0");
+		assertNotSame(students.getStudentById("s0"), s0);
+		assertEquals(students.getStudentById("s0").getPassword(), s0.getPassword());
+		assertArrayEquals(students.getStudentById("s0").getSchedule().getScheduledCourses(),
+				s0.getSchedule().getScheduledCourses());
+		assertTrue(restoredCatalog.getCourseFromCatalog("CSC116", "001").getCourseRoll().getEnrolledStudents()[0] == s0);
+
+		Faculty witt = restoredFaculty.getFacultyById("awitt");
+		assertEquals(2, witt.getMaxCourses());
+		assertEquals(1, witt.getSchedule().getNumScheduledCourses());
+	}
+
+	/**
+	 * Tests restoring only the courses and users of a snapshot, with its
+	 * registrations listed instead of made.
+	 */
+	@Test
+	public void testRestoreRecords() {
+		Snapshot snapshot = Snapshot.capture(1, catalog, students, faculty);
+		CourseCatalog restoredCatalog = new CourseCatalog();
+		StudentDirectory restoredStudents = new StudentDirectory();
+		FacultyDirectory restoredFaculty = new FacultyDirectory();
+		List<String[]> assignments = new ArrayList<String[]>();
+		List<String[]> enrollments = new ArrayList<String[]>();
+		snapshot.restoreRecords(restoredCatalog, restoredStudents, restoredFaculty, assignments, enrollments);
+
+		assertArrayEquals(students.getStudentDirectory(), restoredStudents.getStudentDirectory());
+		Course course = restoredCatalog.getCourseFromCatalog("CSC216", "001");
+		assertNull(course.getInstructorId());
+		assertEquals(10, course.getCourseRoll().getOpenSeats());
+		assertEquals(0, restoredStudents.getStudentById("s0").getSchedule().getScheduledCourses().length);
+		assertEquals(0, restoredFaculty.getFacultyById("awitt").getSchedule().getNumScheduledCourses());
+
+		assertEquals(1, assignments.size());
+		assertArrayEquals(new String[] { "awitt", "CSC216", "001" }, assignments.get(0));
+		assertEquals(13, enrollments.size());
+		assertArrayEquals(new String[] { "s0", "CSC116", "001" }, enrollments.get(0));
+		assertArrayEquals(new String[] { "s10", "CSC216", "001" }, enrollments.get(11));
+		assertArrayEquals(new String[] { "s11", "CSC216", "001" }, enrollments.get(12));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> snapshot.restoreRecords(restoredCatalog, restoredStudents, restoredFaculty, null, enrollments));
+	}
+
+	/**
+	 * Tests that a snapshot with a damaged byte or cut short is not read.
+	 *
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@Test
+	public void testCorrupt() throws IOException {
+		Snapshot.capture(1, catalog, students, faculty).write(file.toString(), false);
+		long size = Files.size(file);
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.seek(size / 2);
+			int b = raf.read();
+			raf.seek(size / 2);
+			raf.write(b ^ 0xFF);
+		}
+		assertThrows(IOException.class, () -> Snapshot.read(file.toString()));
+
+		Snapshot.capture(1, catalog, students, faculty).write(file.toString(), false);
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.setLength(size - 1);
+		}
+		assertThrows(IOException.class, () -> Snapshot.read(file.toString()));
+
+		Files.write(file, new byte[] { 'P', 'S' });
+		assertThrows(IOException.class, () -> Snapshot.read(file.toString()));
+	}
+}
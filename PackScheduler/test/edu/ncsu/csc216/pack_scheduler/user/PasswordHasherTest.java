@@ -0,0 +1,45 @@
+package edu.ncsu.csc216.pack_scheduler.user;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests PasswordHasher.
+ *
+ * @author Dania Swelam
+ */
+public class PasswordHasherTest {
+
+	/** Hash of the password "pw" used by the test record files */
+	private static final String HASHED_PW = "MMlS+rEiw/l1nwKm2Vw3WLJGtP7iOZV7LU/uRuJhcMQ=";
+
+	/**
+	 * Tests hash().
+	 */
+	@Test
+	public void testHash() {
+		assertEquals(HASHED_PW, PasswordHasher.hash("pw"));
+		assertEquals(PasswordHasher.hash("password"), PasswordHasher.hash("password"));
+		assertNotEquals(PasswordHasher.hash("pw"), PasswordHasher.hash("pw2"));
+	}
+
+	/**
+	 * Tests hashAll().
+	 */
+	@Test
+	public void testHashAll() {
+		String[] passwords = new String[1000];
+		for (int i = 0; i < passwords.length; i++) {
+			passwords[i] = i % 2 == 0 ? "pw" : "pw" + i;
+		}
+
+		String[] hashes = PasswordHasher.hashAll(passwords);
+		assertEquals(passwords.length, hashes.length);
+		for (int i = 0; i < passwords.length; i++) {
+			assertEquals(PasswordHasher.hash(passwords[i]), hashes[i]);
+		}
+		assertEquals(HASHED_PW, hashes[0]);
+		assertEquals(0, PasswordHasher.hashAll(new String[0]).length);
+	}
+}
@@ -210,4 +210,20 @@ public class FacultyScheduleTest {
 		schedule.addCourseToSchedule(catalog.getCourseFromCatalog("CSC230", "001"));
 		assertEquals("Schedule.resetSchedule() - Added CSC216-001, CSC226-001, and CSC116-002.  Reset schedule.  Added CSC230-001 to ensure schedule is not broken.  Length should be 1, but was not.", 1, schedule.getScheduledCourses().length);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests FacultySchedule.hasConflict().
+	 */
+	@Test
+	public void testHasConflict() {
+		FacultySchedule schedule = new FacultySchedule("sesmith5");
+		Course csc116001 = catalog.getCourseFromCatalog("CSC116", "001");
+		Course csc226001 = catalog.getCourseFromCatalog("CSC226", "001");
+		Course csc216001 = catalog.getCourseFromCatalog("CSC216", "001");
+		assertFalse("An empty schedule has no conflicts.", schedule.hasConflict(csc226001, catalog.getConflictGraph()));
+
+		schedule.addCourseToSchedule(csc116001);
+		assertTrue("CSC226-001 overlaps CSC116-001.", schedule.hasConflict(csc226001, catalog.getConflictGraph()));
+		assertFalse("CSC216-001 does not overlap CSC116-001.", schedule.hasConflict(csc216001, catalog.getConflictGraph()));
+	}
+}
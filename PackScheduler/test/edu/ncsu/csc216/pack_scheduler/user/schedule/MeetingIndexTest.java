@@ -0,0 +1,75 @@
+package edu.ncsu.csc216.pack_scheduler.user.schedule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests for the MeetingIndex class.
+ *
+ * @author Dania Swelam
+ */
+public class MeetingIndexTest {
+
+	/**
+	 * Tests that overlaps are found on shared days only, including meetings that
+	 * touch at a single minute.
+	 */
+	@Test
+	public void testOverlaps() {
+		MeetingIndex index = new MeetingIndex();
+		index.add(new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "MW", 910, 1100));
+		index.add(new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH", 1330, 1445));
+
+		assertFalse(index.overlaps(new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "F", 800, 1200)));
+		assertTrue(index.overlaps(new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "WF", 1100, 1200)));
+		assertTrue(index.overlaps(new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "H", 1200, 1330)));
+		assertTrue(index.overlaps(new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "T", 1400, 1415)));
+		assertFalse(index.overlaps(new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "MTWH", 1101, 1329)));
+		assertFalse(index.overlaps(new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "A")));
+	}
+
+	/**
+	 * Tests that a long meeting is still found when later meetings on the same
+	 * day start inside it.
+	 */
+	@Test
+	public void testOverlapsEarlierLongMeeting() {
+		MeetingIndex index = new MeetingIndex();
+		index.add(new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", 10, "M", 800, 1700));
+		index.add(new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "M", 900, 930));
+		index.add(new Course("CSC226", "Discrete Mathematics", "001", 3, "tmbarnes", 10, "M", 1000, 1030));
+
+		assertTrue(index.overlaps(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "M", 1600, 1800)));
+		assertFalse(index.overlaps(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "M", 1701, 1800)));
+	}
+
+	/**
+	 * Tests removing meetings, growing a day past its initial size, and clearing
+	 * the index.
+	 */
+	@Test
+	public void testRemoveAndClear() {
+		MeetingIndex index = new MeetingIndex();
+		Course[] courses = new Course[10];
+		for (int i = 0; i < courses.length; i++) {
+			courses[i] = new Course("CSC" + (100 + i), "Course", "001", 3, "sesmith5", 10, "MW", 800 + i * 100, 830 + i * 100);
+			index.add(courses[i]);
+		}
+		Course probe = new Course("CSC999", "Course", "001", 3, "sesmith5", 10, "W", 1210, 1220);
+		assertTrue(index.overlaps(probe));
+
+		index.remove(courses[4]);
+		assertFalse(index.overlaps(probe));
+		index.remove(courses[4]);
+		assertFalse(index.overlaps(probe));
+		assertTrue(index.overlaps(courses[5]));
+
+		index.clear();
+		for (Course course : courses) {
+			assertFalse(index.overlaps(course));
+		}
+	}
+}
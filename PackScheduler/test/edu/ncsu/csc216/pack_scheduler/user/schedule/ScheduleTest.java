@@ -1,6 +1,10 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
+import java.util.Arrays;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.ConflictGraph;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.util.ListChangeRecorder;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -158,4 +162,73 @@ public class ScheduleTest {
         schedule.addCourseToSchedule(course2);
         assertFalse(schedule.canAdd(course3)); // Conflict course
     }
+
+    /**
+     * Test for hasConflict() as courses are added to and removed from the schedule.
+     */
+    @Test
+    public void testHasConflict() {
+        Course course1 = new Course("CSC216", "Software Development", "001", 4, "instructor", 10, "MW", 1330, 1445);
+        Course course2 = new Course("CSC226", "Discrete Math", "001", 3, "instructor", 10, "WF", 1445, 1530);
+        Course course3 = new Course("CSC230", "C and Software Tools", "001", 3, "instructor", 10, "A");
+
+        assertFalse(schedule.hasConflict(course2));
+        schedule.addCourseToSchedule(course1);
+        assertTrue(schedule.hasConflict(course2)); // Starts the minute course1 ends
+        assertFalse(schedule.hasConflict(course3));
+        assertFalse(schedule.hasConflict(null));
+
+        schedule.removeCourseFromSchedule(course1);
+        assertFalse(schedule.hasConflict(course2));
+        schedule.addCourseToSchedule(course2);
+        assertTrue(schedule.hasConflict(course1));
+        schedule.resetSchedule();
+        assertFalse(schedule.hasConflict(course1));
+    }
+
+    /**
+     * Test for hasConflict() with a catalog's conflict graph.
+     */
+    @Test
+    public void testHasConflictGraph() {
+        Course course1 = new Course("CSC216", "Software Development", "001", 4, "instructor", 10, "MW", 1330, 1445);
+        Course course2 = new Course("CSC226", "Discrete Math", "001", 3, "instructor", 10, "WF", 1445, 1530);
+        Course course3 = new Course("CSC230", "C and Software Tools", "001", 3, "instructor", 10, "TH", 1330, 1445);
+        ConflictGraph graph = new ConflictGraph();
+        graph.build(new Course[] { course1, course2, course3 });
+
+        assertFalse(schedule.hasConflict(course2, graph));
+        schedule.addCourseToSchedule(course1);
+        assertTrue(schedule.hasConflict(course2, graph));
+        assertFalse(schedule.hasConflict(course3, graph));
+        assertFalse(schedule.hasConflict(null, graph));
+    }
+
+    /**
+     * Tests that listeners are told which rows each change to the schedule
+     * touches, and that a single row matches the whole schedule.
+     */
+    @Test
+    public void testListChangeListener() {
+        ListChangeRecorder listener = new ListChangeRecorder();
+        schedule.addListChangeListener(listener);
+
+        schedule.addCourseToSchedule(c1);
+        schedule.addCourseToSchedule(c2);
+        assertEquals(Arrays.asList("inserted 0 0", "inserted 1 1"), listener.take());
+        assertArrayEquals(schedule.getScheduledCourses()[1], schedule.getScheduledCourseRow(1));
+
+        assertTrue(schedule.removeCourseFromSchedule(c1));
+        assertFalse(schedule.removeCourseFromSchedule(c1));
+        assertEquals(Arrays.asList("deleting 0 0", "deleted 0 0"), listener.take());
+        assertEquals(3, schedule.getScheduleCredits());
+        assertTrue(schedule.canAdd(c1));
+
+        schedule.resetSchedule();
+        assertEquals(Arrays.asList("changed"), listener.take());
+
+        schedule.removeListChangeListener(listener);
+        schedule.addCourseToSchedule(c1);
+        assertTrue(listener.take().isEmpty());
+    }
 }
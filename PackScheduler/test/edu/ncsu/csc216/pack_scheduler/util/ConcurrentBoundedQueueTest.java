@@ -0,0 +1,163 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the ConcurrentBoundedQueue class.
+ *
+ * @author Dania Swelam
+ */
+public class ConcurrentBoundedQueueTest {
+
+	/** Queue under test */
+	private ConcurrentBoundedQueue<Integer> queue;
+
+	/**
+	 * Test setup method
+	 */
+	@BeforeEach
+	public void setUp() {
+		queue = new ConcurrentBoundedQueue<>(3);
+	}
+
+	/**
+	 * Tests enqueue, dequeue, poll and peek.
+	 */
+	@Test
+	public void testEnqueueDequeue() {
+		assertTrue(queue.isEmpty());
+		assertNull(queue.peek());
+		assertNull(queue.poll());
+		assertThrows(NoSuchElementException.class, () -> queue.dequeue());
+		assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+
+		queue.enqueue(1);
+		queue.enqueue(2);
+		queue.enqueue(3);
+		assertThrows(IllegalArgumentException.class, () -> queue.enqueue(4));
+		assertEquals(3, queue.size());
+
+		assertEquals(1, queue.peek());
+		assertEquals(1, queue.dequeue());
+		assertEquals(2, queue.poll());
+		assertEquals(1, queue.size());
+		queue.enqueue(4);
+		assertEquals(3, queue.dequeue());
+		assertEquals(4, queue.dequeue());
+		assertTrue(queue.isEmpty());
+	}
+
+	/**
+	 * Tests contains and remove.
+	 */
+	@Test
+	public void testContainsRemove() {
+		queue.enqueue(1);
+		queue.enqueue(2);
+		queue.enqueue(3);
+		assertTrue(queue.contains(2));
+		assertTrue(queue.remove(2));
+		assertFalse(queue.contains(2));
+		assertFalse(queue.remove(2));
+		assertEquals(2, queue.size());
+		queue.enqueue(4);
+		assertEquals(1, queue.dequeue());
+		assertEquals(3, queue.dequeue());
+		assertEquals(4, queue.dequeue());
+	}
+
+	/**
+	 * Tests setCapacity.
+	 */
+	@Test
+	public void testSetCapacity() {
+		queue.enqueue(1);
+		queue.enqueue(2);
+		assertThrows(IllegalArgumentException.class, () -> queue.setCapacity(1));
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrentBoundedQueue<Integer>(-1));
+		queue.setCapacity(2);
+		assertThrows(IllegalArgumentException.class, () -> queue.enqueue(3));
+		queue.setCapacity(5);
+		queue.enqueue(3);
+		assertEquals(3, queue.size());
+	}
+
+	/**
+	 * Tests that concurrent producers never exceed the capacity and that
+	 * concurrent consumers receive every element exactly once.
+	 *
+	 * @throws Exception if a thread fails or does not finish
+	 */
+	@Test
+	public void testConcurrentProducersConsumers() throws Exception {
+		ConcurrentBoundedQueue<Integer> shared = new ConcurrentBoundedQueue<>(64);
+		int perProducer = 20000;
+		AtomicInteger consumed = new AtomicInteger();
+		AtomicInteger sum = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < perProducer; i++) {
+						while (true) {
+							try {
+								shared.enqueue(1);
+								break;
+							} catch (IllegalArgumentException e) {
+								assertTrue(shared.size() <= 64);
+								Thread.yield();
+							}
+						}
+					}
+					return null;
+				}));
+			}
+			for (int t = 4; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					while (consumed.get() < 4 * perProducer) {
+						Integer element = shared.poll();
+						if (element != null) {
+							sum.addAndGet(element);
+							consumed.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(4 * perProducer, sum.get());
+		assertTrue(shared.isEmpty());
+	}
+
+	/**
+	 * Tests that toArray() returns the elements from front to back.
+	 */
+	@Test
+	public void testToArray() {
+		ConcurrentBoundedQueue<String> queue = new ConcurrentBoundedQueue<String>(5);
+		assertEquals(0, queue.toArray(new String[0]).length);
+		queue.enqueue("a");
+		queue.enqueue("b");
+		queue.enqueue("c");
+		queue.poll();
+		assertArrayEquals(new String[] { "b", "c" }, queue.toArray(new String[0]));
+	}
+}
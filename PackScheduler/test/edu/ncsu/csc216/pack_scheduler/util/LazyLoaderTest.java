@@ -0,0 +1,128 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests LazyLoader.
+ *
+ * @author Dania Swelam
+ */
+public class LazyLoaderTest {
+
+	/**
+	 * Tests that the load runs only the first time it is asked for.
+	 */
+	@Test
+	public void testLoad() {
+		AtomicInteger runs = new AtomicInteger();
+		LazyLoader loader = new LazyLoader(runs::incrementAndGet);
+		assertFalse(loader.isLoaded());
+		assertEquals(0, runs.get());
+		loader.load();
+		assertTrue(loader.isLoaded());
+		loader.load();
+		assertEquals(1, runs.get());
+
+		LazyLoader empty = new LazyLoader(null);
+		assertTrue(empty.isLoaded());
+		empty.load();
+	}
+
+	/**
+	 * Tests that a load asking for itself does not run again or wait.
+	 */
+	@Test
+	public void testReentrant() {
+		AtomicInteger runs = new AtomicInteger();
+		LazyLoader[] loader = new LazyLoader[1];
+		loader[0] = new LazyLoader(() -> {
+			runs.incrementAndGet();
+			loader[0].load();
+		});
+		loader[0].load();
+		assertEquals(1, runs.get());
+		assertTrue(loader[0].isLoaded());
+	}
+
+	/**
+	 * Tests that a load that throws is run again by the next call.
+	 */
+	@Test
+	public void testFailure() {
+		AtomicInteger runs = new AtomicInteger();
+		LazyLoader loader = new LazyLoader(() -> {
+			if (runs.incrementAndGet() == 1) {
+				throw new IllegalArgumentException("Cannot find file.");
+			}
+		});
+		Exception e = assertThrows(IllegalArgumentException.class, () -> loader.load());
+		assertEquals("Cannot find file.", e.getMessage());
+		assertFalse(loader.isLoaded());
+		loader.load();
+		assertTrue(loader.isLoaded());
+		assertEquals(2, runs.get());
+	}
+
+	/**
+	 * Tests that a skipped load never runs.
+	 */
+	@Test
+	public void testSkip() {
+		LazyLoader loader = new LazyLoader(() -> fail("Skipped load ran"));
+		loader.skip();
+		assertTrue(loader.isLoaded());
+		loader.load();
+	}
+
+	/**
+	 * Tests that threads asking while the load is running wait for it, and that
+	 * skipping waits for it too.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentLoad() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		LazyLoader loader = new LazyLoader(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			runs.incrementAndGet();
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			Future<?> first = executor.submit(loader::load);
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+			Future<?> second = executor.submit(() -> {
+				loader.load();
+				return runs.get();
+			});
+			Future<?> skipped = executor.submit(() -> {
+				loader.skip();
+				return runs.get();
+			});
+			assertFalse(second.isDone());
+			release.countDown();
+			first.get(10, TimeUnit.SECONDS);
+			assertEquals(1, second.get(10, TimeUnit.SECONDS));
+			assertEquals(1, skipped.get(10, TimeUnit.SECONDS));
+			assertEquals(1, runs.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -2,6 +2,7 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.ListIterator;
 
 import org.junit.Before;
@@ -152,4 +153,29 @@ public class LinkedListTest {
             // expected
         }
     }
+
+    /**
+     * Tests appendDistinct method.
+     */
+    @Test
+    public void testAppendDistinct() {
+        list.add(0, "Apple");
+        list.appendDistinct(Arrays.asList("Banana", "Cherry"));
+
+        assertEquals(3, list.size());
+        assertEquals("Apple", list.get(0));
+        assertEquals("Cherry", list.get(2));
+        ListIterator<String> it = list.listIterator(3);
+        assertEquals("Cherry", it.previous());
+        assertEquals("Banana", it.previous());
+
+        try {
+            list.appendDistinct(Arrays.asList("Date", null));
+            fail();
+        } catch (NullPointerException e) {
+            assertEquals(3, list.size());
+        }
+        list.add(3, "Date");
+        assertEquals("Date", list.get(3));
+    }
 }
@@ -0,0 +1,52 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ListChangeListener for tests that records each change it is told about as a
+ * short String, such as "inserted 0 2" or "changed", in the order told.
+ *
+ * @author Dania Swelam
+ */
+public class ListChangeRecorder implements ListChangeListener {
+
+	/** Changes told so far */
+	private final List<String> changes = new ArrayList<String>();
+
+	@Override
+	public void rowsInserted(int first, int last) {
+		changes.add("inserted " + first + " " + last);
+	}
+
+	@Override
+	public void rowsUpdated(int first, int last) {
+		changes.add("updated " + first + " " + last);
+	}
+
+	@Override
+	public void rowsDeleting(int first, int last) {
+		changes.add("deleting " + first + " " + last);
+	}
+
+	@Override
+	public void rowsDeleted(int first, int last) {
+		changes.add("deleted " + first + " " + last);
+	}
+
+	@Override
+	public void listChanged() {
+		changes.add("changed");
+	}
+
+	/**
+	 * Returns the changes told since the last call, and forgets them.
+	 *
+	 * @return the changes, oldest first
+	 */
+	public List<String> take() {
+		List<String> taken = new ArrayList<String>(changes);
+		changes.clear();
+		return taken;
+	}
+}
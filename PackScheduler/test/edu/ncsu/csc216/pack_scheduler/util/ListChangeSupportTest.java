@@ -0,0 +1,78 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests ListChangeSupport.
+ *
+ * @author Dania Swelam
+ */
+public class ListChangeSupportTest {
+
+	/**
+	 * Tests that every listener is told about every change, in order.
+	 */
+	@Test
+	public void testFire() {
+		ListChangeSupport support = new ListChangeSupport();
+		assertFalse(support.hasListeners());
+		support.fireListChanged();
+
+		ListChangeRecorder first = new ListChangeRecorder();
+		ListChangeRecorder second = new ListChangeRecorder();
+		support.addListener(first);
+		support.addListener(second);
+		assertTrue(support.hasListeners());
+		support.fireRowsInserted(0, 2);
+		support.fireRowsUpdated(1, 1);
+		support.fireRowsDeleting(2, 2);
+		support.fireRowsDeleted(2, 2);
+		support.fireListChanged();
+		assertEquals(Arrays.asList("inserted 0 2", "updated 1 1", "deleting 2 2", "deleted 2 2", "changed"),
+				first.take());
+		assertEquals(Arrays.asList("inserted 0 2", "updated 1 1", "deleting 2 2", "deleted 2 2", "changed"),
+				second.take());
+	}
+
+	/**
+	 * Tests that a removed listener is no longer told about changes, and that a
+	 * null listener is not added.
+	 */
+	@Test
+	public void testRemoveListener() {
+		ListChangeSupport support = new ListChangeSupport();
+		ListChangeRecorder listener = new ListChangeRecorder();
+		support.addListener(listener);
+		support.removeListener(listener);
+		assertFalse(support.hasListeners());
+		support.fireRowsInserted(0, 0);
+		assertTrue(listener.take().isEmpty());
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> support.addListener(null));
+		assertEquals("Invalid listener.", e.getMessage());
+	}
+
+	/**
+	 * Tests that a listener removing itself while being told about a change
+	 * does not stop the other listeners from being told.
+	 */
+	@Test
+	public void testRemoveWhileFiring() {
+		ListChangeSupport support = new ListChangeSupport();
+		ListChangeRecorder other = new ListChangeRecorder();
+		support.addListener(new ListChangeRecorder() {
+			@Override
+			public void listChanged() {
+				support.removeListener(this);
+			}
+		});
+		support.addListener(other);
+		support.fireListChanged();
+		support.fireListChanged();
+		assertEquals(Arrays.asList("changed", "changed"), other.take());
+	}
+}
@@ -0,0 +1,165 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests SortedList.
+ *
+ * @author Dania Swelam
+ */
+public class SortedListTest {
+
+	/**
+	 * Tests that added elements are kept in order, and that null and duplicate
+	 * elements are rejected.
+	 */
+	@Test
+	public void testAdd() {
+		SortedList<String> list = new SortedList<String>();
+		assertTrue(list.isEmpty());
+		for (String element : new String[] { "banana", "apple", "orange", "grape" }) {
+			assertTrue(list.add(element));
+		}
+		assertEquals(4, list.size());
+		assertEquals("apple", list.get(0));
+		assertEquals("banana", list.get(1));
+		assertEquals("grape", list.get(2));
+		assertEquals("orange", list.get(3));
+
+		assertThrows(NullPointerException.class, () -> list.add(null));
+		assertThrows(IllegalArgumentException.class, () -> list.add("banana"));
+		assertEquals(4, list.size());
+
+		for (int i = 0; i < 20; i++) {
+			list.add("z" + (char) ('a' + i));
+		}
+		assertEquals(24, list.size());
+		assertEquals("zt", list.get(23));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(24));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+	}
+
+	/**
+	 * Tests adding unsorted elements to an empty list.
+	 */
+	@Test
+	public void testAddAll() {
+		SortedList<String> list = new SortedList<String>();
+		list.addAll(Arrays.asList("pear", "apple", "fig", "banana"));
+
+		assertEquals(4, list.size());
+		assertEquals("apple", list.get(0));
+		assertEquals("banana", list.get(1));
+		assertEquals("fig", list.get(2));
+		assertEquals("pear", list.get(3));
+		assertEquals(2, list.indexOf("fig"));
+	}
+
+	/**
+	 * Tests adding elements to a list that already has elements, including
+	 * duplicates of elements in the list and of each other, which are skipped
+	 * so that the first one wins.
+	 */
+	@Test
+	public void testAddAllToExistingList() {
+		SortedList<Name> list = new SortedList<Name>();
+		list.add(new Name("cherry", 1));
+		list.add(new Name("apple", 1));
+		List<Name> elements = Arrays.asList(new Name("date", 1), new Name("apple", 2), new Name("banana", 1),
+				new Name("date", 2));
+		list.addAll(elements);
+
+		assertEquals(4, list.size());
+		assertEquals("apple 1", list.get(0).toString());
+		assertEquals("banana 1", list.get(1).toString());
+		assertEquals("cherry 1", list.get(2).toString());
+		assertEquals("date 1", list.get(3).toString());
+
+		list.addAll(Arrays.asList());
+		assertEquals(4, list.size());
+		assertThrows(NullPointerException.class, () -> list.addAll(Arrays.asList(new Name("egg", 1), null)));
+	}
+
+	/**
+	 * Tests removing elements and finding them.
+	 */
+	@Test
+	public void testRemoveAndIndexOf() {
+		SortedList<String> list = new SortedList<String>();
+		list.addAll(Arrays.asList("d", "b", "a", "c"));
+		assertEquals(-1, list.indexOf("e"));
+		assertThrows(NullPointerException.class, () -> list.indexOf(null));
+		assertTrue(list.contains("c"));
+
+		assertEquals("b", list.remove(1));
+		assertEquals(3, list.size());
+		assertEquals(-1, list.indexOf("b"));
+		assertFalse(list.contains("b"));
+		assertEquals(1, list.indexOf("c"));
+		assertEquals("d", list.remove(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.remove(2));
+
+		list.clear();
+		assertTrue(list.isEmpty());
+		list.add("a");
+		assertEquals(1, list.size());
+	}
+
+	/**
+	 * Tests that lists with the same elements are equal and have the same hash
+	 * code however the elements were added.
+	 */
+	@Test
+	public void testEqualsAndHashCode() {
+		SortedList<String> added = new SortedList<String>();
+		added.add("b");
+		added.add("a");
+		SortedList<String> merged = new SortedList<String>();
+		merged.addAll(Arrays.asList("a", "b"));
+		SortedList<String> other = new SortedList<String>();
+		other.add("a");
+
+		assertEquals(added, merged);
+		assertEquals(added.hashCode(), merged.hashCode());
+		assertNotEquals(added, other);
+		assertNotEquals(added, null);
+	}
+
+	/**
+	 * Element compared by its name alone, so that elements with the same name
+	 * and different numbers are duplicates that can be told apart.
+	 */
+	private static class Name implements Comparable<Name> {
+
+		/** Name compared */
+		private final String name;
+		/** Number telling duplicates apart */
+		private final int number;
+
+		/**
+		 * Constructs a Name.
+		 *
+		 * @param name   the name
+		 * @param number the number
+		 */
+		Name(String name, int number) {
+			this.name = name;
+			this.number = number;
+		}
+
+		@Override
+		public int compareTo(Name other) {
+			return name.compareTo(other.name);
+		}
+
+		@Override
+		public String toString() {
+			return name + " " + number;
+		}
+	}
+}
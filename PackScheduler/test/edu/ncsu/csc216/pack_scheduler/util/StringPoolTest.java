@@ -0,0 +1,66 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the StringPool class.
+ *
+ * @author Dania Swelam
+ */
+public class StringPoolTest {
+
+	/**
+	 * Tests that equal Strings are pooled as one instance.
+	 */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool();
+		String title = new String("Software Development Fundamentals");
+		assertSame(title, pool.intern(title));
+		assertSame(title, pool.intern(new String("Software Development Fundamentals")));
+		assertNull(pool.intern(null));
+		assertEquals(1, pool.size());
+
+		pool.clear();
+		assertEquals(0, pool.size());
+		assertNotSame(title, pool.intern(new String("Software Development Fundamentals")));
+	}
+
+	/**
+	 * Tests pooling ranges of a char array, including the empty range.
+	 */
+	@Test
+	public void testInternChars() {
+		StringPool pool = new StringPool();
+		char[] line = "CSC216,MW,CSC216,".toCharArray();
+		String name = pool.intern(line, 0, 6);
+		assertEquals("CSC216", name);
+		assertSame(name, pool.intern(line, 10, 6));
+		assertSame(name, pool.intern("CSC216"));
+		assertEquals("MW", pool.intern(line, 7, 2));
+		assertEquals("", pool.intern(line, 17, 0));
+		assertEquals(3, pool.size());
+
+		assertThrows(IndexOutOfBoundsException.class, () -> pool.intern(line, 15, 3));
+		assertThrows(IndexOutOfBoundsException.class, () -> pool.intern(line, -1, 2));
+	}
+
+	/**
+	 * Tests that the pool keeps every String as it grows.
+	 */
+	@Test
+	public void testGrow() {
+		StringPool pool = new StringPool();
+		String[] strings = new String[1000];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = pool.intern("faculty" + i);
+		}
+		assertEquals(1000, pool.size());
+		for (int i = 0; i < strings.length; i++) {
+			assertSame(strings[i], pool.intern(("faculty" + i).toCharArray(), 0, strings[i].length()));
+		}
+		assertEquals(1000, pool.size());
+	}
+}
@@ -0,0 +1,112 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the StripedLock class.
+ *
+ * @author Dania Swelam
+ */
+public class StripedLockTest {
+
+	/**
+	 * Tests that the number of stripes is rounded up to a power of two.
+	 */
+	@Test
+	public void testSize() {
+		assertEquals(1, new StripedLock(1).size());
+		assertEquals(16, new StripedLock(16).size());
+		assertEquals(32, new StripedLock(17).size());
+		assertThrows(IllegalArgumentException.class, () -> new StripedLock(0));
+	}
+
+	/**
+	 * Tests locking and unlocking several objects, including null objects and
+	 * objects sharing a stripe.
+	 */
+	@Test
+	public void testLockUnlock() {
+		StripedLock locks = new StripedLock(4);
+		Object a = new Object();
+		Object b = new Object();
+
+		int[] held = locks.lock(a, b, null, a);
+		assertTrue(held.length >= 1 && held.length <= 2);
+		for (int i = 1; i < held.length; i++) {
+			assertTrue(held[i - 1] < held[i]);
+		}
+		assertTrue(locks.isHeldByCurrentThread(a));
+		assertTrue(locks.isHeldByCurrentThread(b));
+
+		locks.unlock(held);
+		assertFalse(locks.isHeldByCurrentThread(a));
+		assertFalse(locks.isHeldByCurrentThread(b));
+		assertEquals(locks.stripeFor(a), locks.stripeFor(a));
+	}
+
+	/**
+	 * Tests that threads locking the same objects in opposite orders neither
+	 * deadlock nor lose updates.
+	 *
+	 * @throws Exception if a thread fails or does not finish
+	 */
+	@Test
+	public void testNoDeadlock() throws Exception {
+		StripedLock locks = new StripedLock(64);
+		Object[] keys = new Object[8];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = new Object();
+		}
+		int[] counter = new int[1];
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int t = 0; t < 8; t++) {
+				final int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10000; i++) {
+						Object first = keys[(thread + i) % keys.length];
+						Object second = keys[(thread + 2 * i + 1) % keys.length];
+						int[] held = thread % 2 == 0 ? locks.lock(first, second, keys[0]) : locks.lock(keys[0], second, first);
+						try {
+							counter[0]++;
+						} finally {
+							locks.unlock(held);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(80000, counter[0]);
+	}
+
+	/**
+	 * Tests that lockAll() holds every stripe until they are unlocked.
+	 */
+	@Test
+	public void testLockAll() {
+		StripedLock locks = new StripedLock(8);
+		Object key = new Object();
+		int[] held = locks.lockAll();
+		assertEquals(8, held.length);
+		assertTrue(locks.isHeldByCurrentThread(key));
+		assertTrue(locks.isHeldByCurrentThread(new Object()));
+		locks.unlock(held);
+		assertFalse(locks.isHeldByCurrentThread(key));
+	}
+}